@@ -7,6 +7,9 @@
 %%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%
 
 :- use_module(library(clpfd)).
+:- use_module(library(time)).
+
+:- dynamic sudoku_running/2.
 
 sudoku(Rows) :-
   length(Rows, 9), maplist(same_length(Rows), Rows),
@@ -22,3 +25,143 @@ blocks([], [], []).
 blocks([A,B,C|Bs1], [D,E,F|Bs2], [G,H,I|Bs3]) :-
   all_distinct([A,B,C,D,E,F,G,H,I]), 
   blocks(Bs1, Bs2, Bs3).
+
+%% Solves Sudoku of any size N = B*B (4x4, 9x9, 16x16, 25x25 ...).
+%% Boxes have B rows and B columns. Variables are labeled first-fail,
+%% which keeps the search small for large Sudoku.
+sudoku_n(Rows) :-
+  sudoku_constraints(Rows),
+  append(Rows, Vs),
+  labeling([ff], Vs).
+
+%% Posts the constraints of a Sudoku of any size without labeling.
+sudoku_constraints(Rows) :-
+  sudoku_constraints(Rows, all_distinct).
+
+%% Posts the constraints with Propagation, which is all_distinct (strong
+%% propagation) or all_different (weaker and cheaper propagation).
+sudoku_constraints(Rows, Propagation) :-
+  length(Rows, N), N > 0, B is truncate(sqrt(N)), B*B =:= N,
+  maplist(same_length(Rows), Rows),
+  append(Rows, Vs), Vs ins 1..N,
+  maplist(Propagation, Rows),
+  transpose(Rows, Columns),
+  maplist(Propagation, Columns),
+  boxes(Rows, B, Propagation).
+
+boxes([], _, _).
+boxes(Rows, B, Propagation) :-
+  length(Band, B), append(Band, Rest, Rows),
+  band_boxes(Band, B, Propagation),
+  boxes(Rest, B, Propagation).
+
+band_boxes(Band, _, _) :- maplist(=([]), Band), !.
+band_boxes(Band, B, Propagation) :-
+  maplist(split_row(B), Band, Heads, Tails),
+  append(Heads, Box), call(Propagation, Box),
+  band_boxes(Tails, B, Propagation).
+
+split_row(B, Row, Head, Tail) :-
+  length(Head, B), append(Head, Tail, Row).
+
+%% Solves a Sudoku of any size, 9x9 Sudoku with sudoku/1.
+sudoku_any(Rows) :-
+  (   length(Rows, 9)
+  ->  sudoku(Rows)
+  ;   sudoku_n(Rows)
+  ).
+
+%% Solves a Sudoku of any size with a labeling strategy. Strategy is
+%% default (sudoku_any/1) or strategy(Options, Propagation) with the
+%% options of labeling/2 and all_distinct or all_different.
+sudoku_strategy(Rows, default) :- !,
+  sudoku_any(Rows).
+sudoku_strategy(Rows, strategy(Options, Propagation)) :-
+  sudoku_constraints(Rows, Propagation),
+  append(Rows, Vs),
+  labeling(Options, Vs).
+
+%% Solves a list of Sudoku in one goal. Each result is solved(Rows)
+%% with the labeled rows or failed when that Sudoku has no solution.
+sudoku_batch(Puzzles, Results) :-
+  maplist(=(default), Puzzles, Strategies),
+  sudoku_batch(Puzzles, Strategies, Results).
+
+%% Solves a list of Sudoku, each with its own labeling strategy.
+sudoku_batch([], [], []).
+sudoku_batch([Rows|Puzzles], [Strategy|Strategies], [Result|Results]) :-
+  (   sudoku_strategy(Rows, Strategy)
+  ->  Result = solved(Rows)
+  ;   Result = failed
+  ),
+  sudoku_batch(Puzzles, Strategies, Results).
+
+%% Solves a Sudoku of any size within TimeLimit milliseconds (0 for no
+%% limit). Result is solved(Rows), failed, timed_out or cancelled. While
+%% it runs the goal can be cancelled from another thread with
+%% sudoku_cancel(Token).
+sudoku_controlled(Rows, Token, TimeLimit, Result) :-
+  sudoku_controlled(Rows, default, Token, TimeLimit, Result).
+
+%% Like sudoku_controlled/4 with a labeling strategy of sudoku_strategy/2.
+sudoku_controlled(Rows, Strategy, Token, TimeLimit, Result) :-
+  thread_self(Thread),
+  setup_call_cleanup(
+      assertz(sudoku_running(Token, Thread)),
+      catch(controlled_goal(Rows, Strategy, TimeLimit, Result),
+            Error, stopped_result(Error, Result)),
+      retractall(sudoku_running(Token, _))).
+
+controlled_goal(Rows, Strategy, TimeLimit, Result) :-
+  (   TimeLimit > 0
+  ->  Seconds is TimeLimit / 1000,
+      Goal = call_with_time_limit(Seconds, sudoku_strategy(Rows, Strategy))
+  ;   Goal = sudoku_strategy(Rows, Strategy)
+  ),
+  (   call(Goal)
+  ->  Result = solved(Rows)
+  ;   Result = failed
+  ).
+
+stopped_result(time_limit_exceeded, timed_out) :- !.
+stopped_result(sudoku_cancelled, cancelled) :- !.
+stopped_result(Error, _) :- throw(Error).
+
+%% Calls Goal once and measures its inferences and CPU milliseconds of
+%% this thread with statistics/2.
+sudoku_measured(Goal, Inferences, CpuMillis) :-
+  statistics(inferences, Inferences0),
+  statistics(cputime, Cpu0),
+  once(Goal),
+  statistics(inferences, Inferences1),
+  statistics(cputime, Cpu1),
+  Inferences is Inferences1 - Inferences0,
+  CpuMillis is round((Cpu1 - Cpu0) * 1000).
+
+%% Aborts a running sudoku_controlled/4 goal of Token.
+sudoku_cancel(Token) :-
+  forall(sudoku_running(Token, Thread),
+         catch(thread_signal(Thread, sudoku_cancel_signal(Token)), _, true)).
+
+%% Runs in the signalled thread. The signal may arrive after the goal of
+%% Token has finished, then it must not abort the next goal of the thread.
+sudoku_cancel_signal(Token) :-
+  (   thread_self(Thread),
+      sudoku_running(Token, Thread)
+  ->  throw(sudoku_cancelled)
+  ;   true
+  ).
+
+%% Remaining values of every position after propagation, without
+%% labeling (pencil marks). Fails if propagation finds no solution.
+sudoku_candidates(Rows, Candidates) :-
+  sudoku_constraints(Rows),
+  append(Rows, Vs),
+  maplist(var_candidates, Vs, Candidates).
+
+var_candidates(V, Values) :-
+  (   integer(V)
+  ->  Values = [V]
+  ;   fd_dom(V, Dom),
+      findall(X, (X in Dom, indomain(X)), Values)
+  ).
@@ -0,0 +1,87 @@
+%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%
+%%                                                                 %%
+%%   Worker for solving Sudoku in a separate SWI-Prolog process.   %%
+%%   It reads one request per line from standard input and         %%
+%%   writes one answer line to standard output :                   %%
+%%                                                                 %%
+%%     solve <81 characters>          ->  solved <81 digits>       %%
+%%                                        or none                  %%
+%%     count <limit> <81 characters>  ->  count <number>           %%
+%%                                                                 %%
+%%   A Sudoku has digits 1-9 for values, any other character is    %%
+%%   an empty position. Failed requests are answered with         %%
+%%   error <message>. Run it with                                  %%
+%%     swipl -q -g worker_main -t halt solver_worker.pl            %%
+%%                                                                 %%
+%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%
+
+:- ensure_loaded(solver).
+
+worker_main :-
+  prompt(_, ''),
+  repeat,
+  read_line_to_string(user_input, Line),
+  (   Line == end_of_file
+  ->  !
+  ;   catch(answer(Line, Answer), Error, error_answer(Error, Answer)),
+      format("~w~n", [Answer]),
+      flush_output,
+      fail
+  ).
+
+answer(Line, Answer) :-
+  split_string(Line, " ", " ", Parts),
+  request(Parts, Answer).
+
+request(["solve", Puzzle], Answer) :- !,
+  puzzle_rows(Puzzle, Rows),
+  (   sudoku(Rows)
+  ->  rows_line(Rows, Solution),
+      format(string(Answer), "solved ~w", [Solution])
+  ;   Answer = "none"
+  ).
+request(["count", LimitText, Puzzle], Answer) :- !,
+  number_string(Limit, LimitText),
+  puzzle_rows(Puzzle, Rows),
+  count_solutions(Rows, Limit, Count),
+  format(string(Answer), "count ~w", [Count]).
+request(_, "error unknown request").
+
+error_answer(Error, Answer) :-
+  format(string(Answer), "error ~q", [Error]).
+
+%% counts solutions and stops after Limit solutions
+count_solutions(_, Limit, 0) :- Limit < 1, !.
+count_solutions(Rows, Limit, Count) :-
+  State = count(0),
+  (   sudoku(Rows),
+      arg(1, State, Count0),
+      Count1 is Count0 + 1,
+      nb_setarg(1, State, Count1),
+      Count1 >= Limit
+  ->  true
+  ;   true
+  ),
+  arg(1, State, Count).
+
+puzzle_rows(Puzzle, Rows) :-
+  string_chars(Puzzle, Chars),
+  length(Chars, 81),
+  maplist(char_value, Chars, Values),
+  rows(Values, Rows).
+
+char_value(Char, Value) :-
+  (   char_type(Char, digit(Weight)), Weight > 0
+  ->  Value = Weight
+  ;   true
+  ).
+
+rows([], []).
+rows(Values, [Row|Rows]) :-
+  length(Row, 9),
+  append(Row, Rest, Values),
+  rows(Rest, Rows).
+
+rows_line(Rows, Line) :-
+  append(Rows, Values),
+  atomic_list_concat(Values, Line).
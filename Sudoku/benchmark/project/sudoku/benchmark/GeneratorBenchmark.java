@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.benchmark;
+
+import java.io.File;
+import java.util.List;
+import java.util.Random;
+
+import project.sudoku.board.generator.SudokuGenerator;
+import project.sudoku.board.solver.DancingLinksSolverEngine;
+
+/**
+ * Benchmark of {@link SudokuGenerator} with one thread and with all cores
+ * <p>
+ * It reports puzzles generated per second and checks that every generated
+ * puzzle has the requested clues and a unique solution with
+ * {@link DancingLinksSolverEngine}, which is not used by the generator.
+ * When an output file is given, puzzles generated with all cores are also
+ * written to it in 81 character line format.
+ * </p>
+ * <p>
+ * Usage :
+ * <pre>
+ * java -cp Sudoku.jar:../benchmark-bin project.sudoku.benchmark.GeneratorBenchmark [count] [clues] [output file]
+ * </pre>
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class GeneratorBenchmark
+{
+    public static void main(String[] args) throws Exception
+    {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int clues = args.length > 1 ? Integer.parseInt(args[1]) : 26;
+        int cores = Runtime.getRuntime().availableProcessors();
+        long seed = new Random().nextLong();
+
+        System.out.println("Puzzles : " + count + ", clues : " + clues + ", cores : " + cores);
+
+        // warm up
+        new SudokuGenerator(cores, seed).generate(Math.min(count, 1000), clues);
+
+        for(int threads : cores > 1 ? new int[] {1, cores} : new int[] {1})
+        {
+            SudokuGenerator generator = new SudokuGenerator(threads, seed + threads);
+            long startTime = System.nanoTime();
+            List<int[]> puzzles = generator.generate(count, clues);
+            double seconds = (System.nanoTime() - startTime) / 1e9;
+
+            System.out.printf("%2d thread(s) : %8.0f puzzles/s (%.2f s), %s%n", threads,
+                    count / seconds, seconds, check(puzzles, clues) ? "all unique" : "CHECK FAILED");
+        }
+
+        if(args.length > 2)
+        {
+            File outputFile = new File(args[2]);
+            new SudokuGenerator(cores, seed).generate(count, clues, outputFile);
+            System.out.println("Written to " + outputFile.getPath());
+        }
+    }
+
+    // every puzzle has the clues and a unique solution
+    private static boolean check(List<int[]> puzzles, int clues)
+    {
+        DancingLinksSolverEngine engine = new DancingLinksSolverEngine();
+        for(int[] puzzle : puzzles)
+        {
+            int clueCount = 0;
+            for(int value : puzzle)
+            {
+                if(value > 0)
+                    clueCount++;
+            }
+
+            if(clueCount != clues || engine.countSolutions(puzzle, 2) != 1)
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.benchmark;
+
+import java.io.File;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import project.sudoku.board.generator.SudokuGenerator;
+import project.sudoku.board.solver.DifficultyGrade;
+import project.sudoku.board.solver.DifficultyGrader;
+import project.sudoku.util.SudokuLineFormat;
+
+/**
+ * Benchmark of {@link DifficultyGrader} with all cores
+ * <p>
+ * Puzzles are read from a file in 81 character line format, or generated by
+ * {@link SudokuGenerator} when no file is given. It reports puzzles graded
+ * per minute, the number of puzzles of each level and the counters of each
+ * technique.
+ * </p>
+ * <p>
+ * Usage :
+ * <pre>
+ * java -cp Sudoku.jar:../benchmark-bin project.sudoku.benchmark.GraderBenchmark [puzzle file | count] [rounds]
+ * </pre>
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class GraderBenchmark
+{
+    public static void main(String[] args) throws Exception
+    {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        List<int[]> puzzles;
+        if(args.length > 0 && new File(args[0]).isFile())
+        {
+            puzzles = SudokuLineFormat.readFile(new File(args[0]));
+            System.out.println("Puzzles : " + puzzles.size() + " from " + args[0]);
+        }
+        else
+        {
+            int count = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+            puzzles = new SudokuGenerator(cores, new Random().nextLong()).generate(count, 24);
+            System.out.println("Puzzles : " + puzzles.size() + " generated with 24 clues");
+        }
+
+        // warm up
+        new DifficultyGrader().gradeAll(puzzles, cores);
+
+        DifficultyGrader grader = new DifficultyGrader();
+        List<DifficultyGrade> grades = null;
+        long startTime = System.nanoTime();
+        for(int round = 0; round < rounds; round++)
+        {
+            grades = grader.gradeAll(puzzles, cores);
+        }
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        System.out.printf("%d thread(s) : %.0f puzzles/min (%.2f s for %d rounds)%n", cores,
+                60 * rounds * puzzles.size() / seconds, seconds, rounds);
+
+        Map<DifficultyGrade.Level, Integer> levelCounts =
+                new EnumMap<DifficultyGrade.Level, Integer>(DifficultyGrade.Level.class);
+        for(DifficultyGrade grade : grades)
+        {
+            Integer levelCount = levelCounts.get(grade.getLevel());
+            levelCounts.put(grade.getLevel(), levelCount == null ? 1 : levelCount + 1);
+        }
+        System.out.println("Levels : " + levelCounts);
+        System.out.println();
+        grader.printCounters(System.out);
+    }
+}
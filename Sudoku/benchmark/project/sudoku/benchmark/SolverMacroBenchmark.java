@@ -0,0 +1,479 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import project.sudoku.board.solver.BitboardSolverEngine;
+import project.sudoku.board.solver.BitsetSolverEngine;
+import project.sudoku.board.solver.DancingLinksSolverEngine;
+import project.sudoku.board.solver.LabelingStrategy;
+import project.sudoku.board.solver.PortfolioSolverEngine;
+import project.sudoku.board.solver.PrologSolverEngine;
+import project.sudoku.board.solver.SolveControl;
+import project.sudoku.board.solver.SolveResult;
+import project.sudoku.board.solver.SolverEngine;
+import project.sudoku.board.solver.StrategySelector;
+import project.sudoku.board.solver.SudokuSolver;
+import project.sudoku.config.Config;
+import project.sudoku.exception.ResourceLoadingException;
+import project.sudoku.util.PuzzleCorpus;
+
+/**
+ * Macro benchmark of solver engines over a large puzzle file
+ * <p>
+ * The puzzle file (81 character lines, for example tens of thousands of
+ * 17-clue puzzles) is memory-mapped with {@link PuzzleCorpus}. Every puzzle
+ * is solved by each engine registered in {@link SudokuSolver}, first on one
+ * thread and then on several threads. For every run it reports puzzles per
+ * second, p50, p99 and p999 latency of a single solve and failures (no
+ * solution, a wrong solution, an exception, or no solution within the timeout).
+ * Results are written to &lt;output&gt;.csv and &lt;output&gt;.json, so
+ * runs of different releases can be compared.
+ * </p>
+ * <p>
+ * Engines that solve one grid at a time ({@code bitboard}, {@code bitset} and
+ * {@code dlx}) get an instance for each thread, other engines are shared by
+ * all threads. Engines are chosen with the system property
+ * {@value Config#BENCHMARK_ENGINES_PROPERTY}, the number of threads with
+ * {@value Config#BENCHMARK_THREADS_PROPERTY} (all cores by default) and the
+ * timeout of a puzzle in milliseconds with {@value Config#BENCHMARK_TIMEOUT_PROPERTY}.
+ * After the runs of the {@code portfolio} engine, wins, losses and latencies
+ * of each engine it races are printed.
+ * </p>
+ * <p>
+ * When {@value Config#BENCHMARK_LABELING_PROPERTY} names a statistics file,
+ * the {@code prolog} engine also solves every puzzle with each of the
+ * {@link LabelingStrategy#getStandardStrategies() standard labeling strategies}.
+ * Their inferences are added to the file, which is read by
+ * {@link StrategySelector} with <code>-Dsudoku.prolog.labeling=adaptive</code>,
+ * and the best single strategy is compared with the adaptive choice.
+ * </p>
+ * <p>
+ * Usage :
+ * <pre>
+ * java -Dsudoku.benchmark.engines=bitboard,dlx -cp Sudoku.jar:../benchmark-bin project.sudoku.benchmark.SolverMacroBenchmark [puzzle file] [puzzle limit] [output]
+ * </pre>
+ * or {@code ant -Dpuzzles=<file> benchmark-solvers}
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class SolverMacroBenchmark
+{
+    // puzzles solved before measuring each engine
+    private static final int WARM_UP_PUZZLES = 200;
+
+    public static void main(String[] args) throws Exception
+    {
+        Logger.getLogger("").setLevel(Level.WARNING);
+
+        File puzzleFile = new File(args.length > 0 ? args[0] : Config.BENCHMARK_PUZZLES_FILE);
+        PuzzleCorpus corpus = new PuzzleCorpus(puzzleFile);
+        int puzzleCount = args.length > 1 ? Math.min(Integer.parseInt(args[1]), corpus.size())
+                : corpus.size();
+        String output = args.length > 2 ? args[2] : "solver-benchmark";
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        int threads = Integer.getInteger(Config.BENCHMARK_THREADS_PROPERTY, cores);
+        long timeout = Long.getLong(Config.BENCHMARK_TIMEOUT_PROPERTY, Config.DEFAULT_BENCHMARK_TIMEOUT);
+
+        List<SolverEngine> engines = new ArrayList<SolverEngine>();
+        String engineNames = System.getProperty(Config.BENCHMARK_ENGINES_PROPERTY);
+        if(engineNames == null)
+        {
+            engines.addAll(SudokuSolver.getEngines());
+        }
+        else
+        {
+            for(String engineName : engineNames.split("\\s*,\\s*"))
+            {
+                SolverEngine engine = SudokuSolver.getEngine(engineName);
+                if(engine == null)
+                    System.out.println("Unknown engine : " + engineName);
+                else
+                    engines.add(engine);
+            }
+        }
+
+        System.out.println("Puzzles : " + puzzleCount + " of " + corpus.size() + " from "
+                + puzzleFile.getPath() + ", threads : " + threads + ", timeout : " + timeout + " ms");
+        System.out.println(String.format("%-10s %7s %10s %8s %10s %10s %10s %10s",
+                "engine", "threads", "puzzles/s", "failures", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+
+        List<RunResult> results = new ArrayList<RunResult>();
+        for(SolverEngine engine : engines)
+        {
+            // engines that can not start (missing native library or binary) are skipped
+            String warmUpError = warmUp(engine, corpus, Math.min(puzzleCount, WARM_UP_PUZZLES), timeout);
+            if(warmUpError != null)
+            {
+                System.out.println(String.format("%-10s skipped : %s", engine.getName(), warmUpError));
+                continue;
+            }
+
+            for(int runThreads : threads > 1 ? new int[] {1, threads} : new int[] {1})
+            {
+                RunResult result = run(engine, corpus, puzzleCount, runThreads, timeout);
+                results.add(result);
+                System.out.println(result);
+            }
+
+            // wins, losses and latencies of each engine raced by the portfolio
+            if(engine instanceof PortfolioSolverEngine)
+            {
+                for(PortfolioSolverEngine.BackendStatistics backendStatistics
+                        : ((PortfolioSolverEngine) engine).getStatistics().values())
+                {
+                    System.out.println("    " + backendStatistics);
+                }
+            }
+        }
+
+        writeCsv(new File(output + ".csv"), results);
+        writeJson(new File(output + ".json"), results, puzzleFile, puzzleCount, cores, timeout);
+        System.out.println("Results written to " + output + ".csv and " + output + ".json");
+
+        String labelingStatistics = System.getProperty(Config.BENCHMARK_LABELING_PROPERTY);
+        if(labelingStatistics != null)
+            recordLabeling(corpus, puzzleCount, new File(labelingStatistics), timeout);
+    }
+
+    // solves puzzles with every standard labeling strategy and adds their
+    // inferences to the statistics of the strategy selector
+    private static void recordLabeling(PuzzleCorpus corpus, int puzzleCount, File statisticsFile,
+            long timeout) throws IOException, ResourceLoadingException
+    {
+        List<LabelingStrategy> strategies = LabelingStrategy.getStandardStrategies();
+        StrategySelector selector = StrategySelector.load(statisticsFile);
+        PrologSolverEngine engine = new PrologSolverEngine();
+
+        // inferences of each puzzle with each strategy
+        long[][] inferences = new long[puzzleCount][strategies.size()];
+        long[] totalNanos = new long[strategies.size()];
+        int[] timeouts = new int[strategies.size()];
+        int[] wins = new int[strategies.size()];
+        for(int index = 0; index < puzzleCount; index++)
+        {
+            int[] grid = corpus.getGrid(index);
+            int best = 0;
+            for(int strategyIndex = 0; strategyIndex < strategies.size(); strategyIndex++)
+            {
+                LabelingStrategy strategy = strategies.get(strategyIndex);
+                engine.setLabelingStrategy(strategy);
+                SolveResult result = engine.solve(grid, new SolveControl(timeout, TimeUnit.MILLISECONDS));
+                selector.record(grid, strategy, result.getStatistics());
+
+                inferences[index][strategyIndex] = result.getStatistics().getInferences();
+                totalNanos[strategyIndex] += result.getStatistics().getWallNanos();
+                if(result.getStatus() == SolveResult.Status.TIMED_OUT)
+                    timeouts[strategyIndex]++;
+                if(inferences[index][strategyIndex] < inferences[index][best])
+                    best = strategyIndex;
+            }
+            wins[best]++;
+        }
+        selector.save(statisticsFile);
+
+        System.out.println(String.format("%-28s %14s %10s %9s %6s", "labeling", "inferences",
+                "mean ms", "timeouts", "wins"));
+        long bestTotal = Long.MAX_VALUE;
+        for(int strategyIndex = 0; strategyIndex < strategies.size(); strategyIndex++)
+        {
+            long total = 0;
+            for(int index = 0; index < puzzleCount; index++)
+            {
+                total += inferences[index][strategyIndex];
+            }
+            bestTotal = Math.min(bestTotal, total);
+            System.out.println(String.format("%-28s %14d %10.2f %9d %6d", strategies.get(strategyIndex),
+                    total, totalNanos[strategyIndex] / 1e6 / Math.max(1, puzzleCount),
+                    timeouts[strategyIndex], wins[strategyIndex]));
+        }
+
+        // chosen by the selector from the statistics (including this run) and best of each puzzle
+        int fallbackIndex = strategies.indexOf(StrategySelector.FALLBACK);
+        long adaptiveTotal = 0, oracleTotal = 0;
+        for(int index = 0; index < puzzleCount; index++)
+        {
+            int chosen = strategies.indexOf(selector.select(corpus.getGrid(index)));
+            long oracle = Long.MAX_VALUE;
+            for(long strategyInferences : inferences[index])
+            {
+                oracle = Math.min(oracle, strategyInferences);
+            }
+            adaptiveTotal += inferences[index][chosen < 0 ? fallbackIndex : chosen];
+            oracleTotal += oracle;
+        }
+        System.out.println(String.format("Inferences - best single strategy : %d, adaptive : %d, "
+                + "best per puzzle : %d", bestTotal, adaptiveTotal, oracleTotal));
+        System.out.println("Statistics of " + selector.getBuckets().size() + " buckets written to "
+                + statisticsFile.getPath());
+    }
+
+    // solves first puzzles, returns the error if the engine can not solve at all
+    private static String warmUp(SolverEngine engine, PuzzleCorpus corpus, int count, long timeout)
+    {
+        int failures = 0;
+        boolean solved = false;
+        String error = null;
+        for(int index = 0; index < count; index++)
+        {
+            try
+            {
+                SolveResult result = engine.solve(corpus.getGrid(index),
+                        new SolveControl(timeout, TimeUnit.MILLISECONDS));
+                if(result.isSolved())
+                    solved = true;
+                else
+                    error = "no solution (" + result.getStatus() + ")";
+            }
+            catch (Exception | LinkageError e)
+            {
+                error = e.toString();
+            }
+
+            // an engine failing its first puzzles is skipped
+            if(error != null && !solved && ++failures >= 3)
+                return error;
+        }
+        return solved || count == 0 ? null : error;
+    }
+
+    // solves puzzles on the given number of threads
+    private static RunResult run(final SolverEngine engine, final PuzzleCorpus corpus,
+            final int puzzleCount, int threads, final long timeout) throws InterruptedException
+    {
+        final long[] latencies = new long[puzzleCount];
+        final AtomicInteger failures = new AtomicInteger();
+        final AtomicInteger nextIndex = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        long startTime = System.nanoTime();
+        for(int worker = 0; worker < threads; worker++)
+        {
+            final SolverEngine threadEngine = threads > 1 ? newThreadEngine(engine) : engine;
+            futures.add(executor.submit(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    for(int index = nextIndex.getAndIncrement(); index < puzzleCount;
+                            index = nextIndex.getAndIncrement())
+                    {
+                        int[] grid = corpus.getGrid(index);
+                        int[] solution = null;
+                        long solveStart = System.nanoTime();
+                        try
+                        {
+                            solution = threadEngine.solve(grid,
+                                    new SolveControl(timeout, TimeUnit.MILLISECONDS)).getSolution();
+                        }
+                        catch (Exception | LinkageError e)
+                        {
+                            // counted as failure below
+                        }
+                        latencies[index] = System.nanoTime() - solveStart;
+
+                        if(!isSolutionOf(grid, solution))
+                            failures.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        for(Future<?> future : futures)
+        {
+            try
+            {
+                future.get();
+            }
+            catch (ExecutionException e)
+            {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startTime;
+        executor.shutdown();
+
+        return new RunResult(engine.getName(), threads, puzzleCount, failures.get(),
+                elapsedNanos, latencies);
+    }
+
+    // engines that solve one grid at a time get a new instance for each thread
+    private static SolverEngine newThreadEngine(SolverEngine engine)
+    {
+        if(engine instanceof BitboardSolverEngine)
+            return new BitboardSolverEngine();
+        if(engine instanceof BitsetSolverEngine)
+            return new BitsetSolverEngine();
+        if(engine instanceof DancingLinksSolverEngine)
+            return new DancingLinksSolverEngine();
+        return engine;
+    }
+
+    // solution is complete, keeps the givens and has no repeated value in a unit
+    static boolean isSolutionOf(int[] grid, int[] solution)
+    {
+        if(solution == null || solution.length != grid.length)
+            return false;
+
+        int size = (int) Math.round(Math.sqrt(grid.length));
+        int boxSize = (int) Math.round(Math.sqrt(size));
+        for(int position = 0; position < grid.length; position++)
+        {
+            if(solution[position] < 1 || solution[position] > size
+                    || (grid[position] > 0 && grid[position] != solution[position]))
+                return false;
+        }
+
+        boolean[] seen = new boolean[3*size*size];
+        for(int position = 0; position < grid.length; position++)
+        {
+            int row = position / size, col = position % size;
+            int box = boxSize*(row / boxSize) + col / boxSize;
+            int value = solution[position] - 1;
+            int rowIndex = size*row + value;
+            int colIndex = size*(size + col) + value;
+            int boxIndex = size*(2*size + box) + value;
+            if(seen[rowIndex] || seen[colIndex] || seen[boxIndex])
+                return false;
+            seen[rowIndex] = seen[colIndex] = seen[boxIndex] = true;
+        }
+        return true;
+    }
+
+    private static void writeCsv(File file, List<RunResult> results) throws IOException
+    {
+        try (PrintWriter writer = new PrintWriter(file, "UTF-8"))
+        {
+            writer.println("engine,threads,puzzles,failures,seconds,puzzles_per_second,"
+                    + "p50_ms,p99_ms,p999_ms,max_ms");
+            for(RunResult result : results)
+            {
+                writer.println(String.format(Locale.ROOT, "%s,%d,%d,%d,%.3f,%.1f,%.4f,%.4f,%.4f,%.4f",
+                        result.engineName, result.threads, result.puzzles, result.failures,
+                        result.elapsedNanos / 1e9, result.getPuzzlesPerSecond(),
+                        result.getPercentileMillis(0.50), result.getPercentileMillis(0.99),
+                        result.getPercentileMillis(0.999), result.getPercentileMillis(1.0)));
+            }
+        }
+    }
+
+    private static void writeJson(File file, List<RunResult> results, File puzzleFile,
+            int puzzleCount, int cores, long timeout) throws IOException
+    {
+        try (PrintWriter writer = new PrintWriter(file, "UTF-8"))
+        {
+            writer.println("{");
+            writer.println("  \"corpus\": \"" + escape(puzzleFile.getPath()) + "\",");
+            writer.println("  \"puzzles\": " + puzzleCount + ",");
+            writer.println("  \"cores\": " + cores + ",");
+            writer.println("  \"timeout_ms\": " + timeout + ",");
+            writer.println("  \"java\": \"" + escape(System.getProperty("java.version")) + "\",");
+            writer.println("  \"date\": \"" + escape(new Date().toString()) + "\",");
+            writer.println("  \"results\": [");
+            for(int index = 0; index < results.size(); index++)
+            {
+                RunResult result = results.get(index);
+                writer.print(String.format(Locale.ROOT, "    {\"engine\": \"%s\", \"threads\": %d, "
+                        + "\"puzzles\": %d, \"failures\": %d, \"seconds\": %.3f, "
+                        + "\"puzzles_per_second\": %.1f, \"p50_ms\": %.4f, \"p99_ms\": %.4f, "
+                        + "\"p999_ms\": %.4f, \"max_ms\": %.4f}",
+                        escape(result.engineName), result.threads, result.puzzles, result.failures,
+                        result.elapsedNanos / 1e9, result.getPuzzlesPerSecond(),
+                        result.getPercentileMillis(0.50), result.getPercentileMillis(0.99),
+                        result.getPercentileMillis(0.999), result.getPercentileMillis(1.0)));
+                writer.println(index + 1 < results.size() ? "," : "");
+            }
+            writer.println("  ]");
+            writer.println("}");
+        }
+    }
+
+    private static String escape(String text)
+    {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Measurements of one engine with one number of threads
+     */
+    private static class RunResult
+    {
+        private final String engineName;
+        private final int threads;
+        private final int puzzles;
+        private final int failures;
+        private final long elapsedNanos;
+        private final long[] sortedLatencies;
+
+        private RunResult(String engineName, int threads, int puzzles, int failures,
+                long elapsedNanos, long[] latencies)
+        {
+            this.engineName = engineName;
+            this.threads = threads;
+            this.puzzles = puzzles;
+            this.failures = failures;
+            this.elapsedNanos = elapsedNanos;
+            this.sortedLatencies = latencies.clone();
+            Arrays.sort(sortedLatencies);
+        }
+
+        private double getPuzzlesPerSecond()
+        {
+            return puzzles / (elapsedNanos / 1e9);
+        }
+
+        // latency below which the given fraction of solves finished (nearest rank)
+        private double getPercentileMillis(double fraction)
+        {
+            if(sortedLatencies.length == 0)
+                return 0;
+
+            int rank = (int) Math.ceil(fraction * sortedLatencies.length);
+            return sortedLatencies[Math.max(0, Math.min(rank, sortedLatencies.length) - 1)] / 1e6;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("%-10s %7d %10.0f %8d %10.3f %10.3f %10.3f %10.3f",
+                    engineName, threads, getPuzzlesPerSecond(), failures, getPercentileMillis(0.50),
+                    getPercentileMillis(0.99), getPercentileMillis(0.999), getPercentileMillis(1.0));
+        }
+    }
+}
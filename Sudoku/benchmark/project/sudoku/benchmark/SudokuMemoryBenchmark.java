@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.benchmark;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Random;
+
+import project.sudoku.board.generator.SudokuGenerator;
+import project.sudoku.board.model.LikelyValue;
+import project.sudoku.board.model.Sudoku;
+import project.sudoku.board.model.SudokuSnapshot;
+import project.sudoku.util.SudokuLineFormat;
+
+/**
+ * Benchmark of memory and allocation of {@link Sudoku} boards
+ * <p>
+ * It keeps count boards with the givens of generated puzzles (or of the
+ * puzzles of a file, repeated) and reports the heap used per board. Then it
+ * reads and writes every position of a board many times and reports the bytes
+ * allocated by the reads and writes, which should be 0 (allocation is only
+ * reported on JVMs that measure it per thread). At last it reports the cost
+ * of taking a snapshot followed by a change, which copies the board.
+ * </p>
+ * <p>
+ * Usage :
+ * <pre>
+ * java -cp Sudoku.jar:../benchmark-bin project.sudoku.benchmark.SudokuMemoryBenchmark [count] [puzzle file]
+ * </pre>
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class SudokuMemoryBenchmark
+{
+    // rounds of reading and writing all positions
+    private static final int ROUNDS = 100000;
+
+    public static void main(String[] args) throws Exception
+    {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        List<int[]> puzzles = args.length > 1
+                ? SudokuLineFormat.readFile(new File(args[1]))
+                : new SudokuGenerator(Runtime.getRuntime().availableProcessors(),
+                        new Random().nextLong()).generate(1000, 26);
+
+        long heapBefore = getUsedHeap();
+        Sudoku[] boards = new Sudoku[count];
+        for(int index = 0; index < count; index++)
+        {
+            int[] puzzle = puzzles.get(index % puzzles.size());
+            Sudoku sudoku = new Sudoku();
+            for(int position = 0; position < puzzle.length; position++)
+            {
+                if(puzzle[position] > 0)
+                    sudoku.setFixedValueAt(position, new LikelyValue(puzzle[position]));
+            }
+            boards[index] = sudoku;
+        }
+        long heapAfter = getUsedHeap();
+        System.out.println(String.format("Boards : %d, heap used : %.1f MB, %.0f bytes per board",
+                count, (heapAfter - heapBefore) / 1e6, (double) (heapAfter - heapBefore) / count));
+
+        // reads and writes of every position
+        Sudoku sudoku = boards[0];
+        long checksum = 0;
+        readWrite(sudoku, 1000);
+        getAllocatedBytes();
+        long allocatedBefore = getAllocatedBytes();
+        long startTime = System.nanoTime();
+        checksum += readWrite(sudoku, ROUNDS);
+        long elapsed = System.nanoTime() - startTime;
+        long allocated = getAllocatedBytes() - allocatedBefore;
+
+        long operations = 2L * ROUNDS * sudoku.getPositionCount();
+        System.out.println(String.format("Reads and writes : %d, %.1f ns each, %s bytes allocated each "
+                + "(checksum %d)", operations, (double) elapsed / operations, allocatedBefore < 0 ? "unknown"
+                        : String.format("%.4f", (double) allocated / operations), checksum));
+
+        // snapshots, each followed by a change copying the arrays
+        snapshotAndChange(sudoku, ROUNDS);
+        startTime = System.nanoTime();
+        checksum += snapshotAndChange(sudoku, ROUNDS);
+        elapsed = System.nanoTime() - startTime;
+        System.out.println(String.format("Snapshots and changes : %d, %.1f ns each (checksum %d)",
+                ROUNDS, (double) elapsed / ROUNDS, checksum));
+
+        // keep boards reachable until measured
+        System.out.println("Boards kept : " + boards.length);
+    }
+
+    private static long readWrite(Sudoku sudoku, int rounds)
+    {
+        long checksum = 0;
+        for(int round = 0; round < rounds; round++)
+        {
+            for(int position = 0; position < sudoku.getPositionCount(); position++)
+            {
+                int value = sudoku.getValueAt(position);
+                checksum += value;
+                sudoku.setValueAt(position, value > 0 ? value : round % 9 + 1);
+            }
+        }
+        sudoku.clear();
+        return checksum;
+    }
+
+    private static long snapshotAndChange(Sudoku sudoku, int rounds)
+    {
+        long checksum = 0;
+        for(int round = 0; round < rounds; round++)
+        {
+            SudokuSnapshot snapshot = sudoku.snapshot();
+            int position = round % sudoku.getPositionCount();
+            sudoku.setValueAt(position, sudoku.getValueAt(position) > 0 ? 0 : round % 9 + 1);
+            checksum += snapshot.getCandidateMask(position);
+        }
+        return checksum;
+    }
+
+    private static long getUsedHeap() throws InterruptedException
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for(int attempt = 0; attempt < 5; attempt++)
+        {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // bytes allocated by this thread, or -1 if the JVM does not measure it
+    private static long getAllocatedBytes()
+    {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if(threadBean instanceof com.sun.management.ThreadMXBean)
+        {
+            return ((com.sun.management.ThreadMXBean) threadBean)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
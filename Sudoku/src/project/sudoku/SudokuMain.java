@@ -26,6 +26,8 @@ import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 
 import project.sudoku.board.scanner.SudokuScanner;
+import project.sudoku.board.solver.PrologQueryLimiter;
+import project.sudoku.board.solver.SudokuSolver;
 import project.sudoku.board.ui.SudokuBoard;
 import project.sudoku.config.Config;
 import project.sudoku.exception.ResourceLoadingException;
@@ -97,6 +99,14 @@ public class SudokuMain
                 System.exit(-1);
             }
 
+            // start Prolog in the background, so the first solve does not wait for it,
+            // only when the selected engine solves with it
+            if(Boolean.parseBoolean(System.getProperty(Config.PROLOG_WARMUP_PROPERTY, "true"))
+                    && SudokuSolver.usesPrologEngine())
+            {
+                PrologQueryLimiter.warmUp();
+            }
+
             // load sudoku window
             EventQueue.invokeLater(new Runnable()
             {
@@ -26,6 +26,10 @@ package project.sudoku.board.model;
  * of a neural network. The confidence margin is also a double value between 0 and 1 and
  * is the difference in confidence from next higher confident value.
  * </p>
+ * <p>
+ * A likely value may also hold the distribution of the classifier, the
+ * confidence of every value, from which misread values are repaired.
+ * </p>
  * 
  * @see {@link #confidence}, {@link #confidenceMargin}
  * 
@@ -52,6 +56,13 @@ public class LikelyValue
      */
     private Double confidenceMargin = 1.0;
 
+    /**
+     * Confidence of every value 1 to N of the classifier output (index
+     * value-1), or null if it is not known. A {@link Sudoku} keeps it in a
+     * compact form for its fixed values.
+     */
+    private double[] distribution = null;
+
     /**
      * The constructor for creating a likely value with confidence and confidence margin
      * @param value likely value
@@ -127,4 +138,22 @@ public class LikelyValue
     {
         this.confidenceMargin = confidenceMargin;
     }
+
+    /**
+     * @return confidence of every value (index value-1) or null if not known
+     * @see #distribution
+     */
+    public double[] getDistribution()
+    {
+        return distribution;
+    }
+
+    /**
+     * @param distribution confidence of every value (index value-1), it is not copied
+     * @see #distribution
+     */
+    public void setDistribution(double[] distribution)
+    {
+        this.distribution = distribution;
+    }
 }
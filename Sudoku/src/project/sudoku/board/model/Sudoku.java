@@ -16,15 +16,35 @@
 package project.sudoku.board.model;
 
 import java.io.File;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Container class for Sudoku
  * <p>
- * It uses two maps, one to store fixed values and another to store values
- * that can be reset. The position of a grid in Sudoku is used as a key in
- * each of the two maps.
+ * Values are stored in a byte array indexed by position (0 for an empty
+ * position) and positions with fixed values are marked in a bitset. Values
+ * used by each row, column and box are kept as bit masks (bit v-1 for value
+ * v), so candidates of a position are found without scanning the grid.
+ * Reading and writing values does not allocate. Likely values of fixed
+ * values are only kept when their confidence is less than 1.
+ * </p>
+ * <p>
+ * When the likely value of a fixed value has the confidence of every value
+ * ({@link LikelyValue#getDistribution()}), the distribution is kept instead,
+ * quantized to a byte per value in one flat array, and its most likely
+ * values are read with {@link #getTopValues(int, int, int[])}.
+ * </p>
+ * <p>
+ * A Sudoku is not thread-safe, it should be changed and read by one thread
+ * (the event dispatch thread for the board). Other threads work on a
+ * {@link SudokuSnapshot}, which shares the arrays of this Sudoku until its
+ * next change copies them (copy-on-write).
+ * </p>
+ * <p>
+ * A Sudoku has N rows and N columns with values 1 to N, where N is a square
+ * (4x4, 9x9, 16x16 or 25x25) and boxes have sqrt(N) rows and columns.
+ * Position of a grid is N*row + col. The default size is 9.
  * </p>
  * 
  * @since
@@ -38,61 +58,254 @@ public class Sudoku
     private static final double LOW_CONFIDENCE_CUTOFF = 0.8;
     private static final double LOW_CONFIDENCE_MARGIN_CUTOFF = 0.7;
 
+    // default number of rows and columns
+    public static final int DEFAULT_SIZE = 9;
+
+    // largest number of rows and columns, values of a unit fit in an int mask
+    public static final int MAX_SIZE = 25;
+
+    // largest quantized confidence of a distribution
+    private static final int QUANTIZATION_LEVELS = 255;
+
+    private final int size;
+    private final int boxSize;
     private File sudokuImageFile = null;
-    private Map<Integer, LikelyValue> fixedValueMap = new HashMap<Integer, LikelyValue>();
-    private Map<Integer, Integer> otherValueMap = new HashMap<Integer, Integer>();
+
+    // value of each position, 0 for empty
+    private byte[] values;
+
+    // bit of each position with a fixed value
+    private long[] fixedPositions;
+
+    // used values of rows 0 to N-1, columns N to 2N-1 and boxes 2N to 3N-1
+    private int[] unitMasks;
+
+    // likely values of fixed positions with confidence less than 1, created when first needed
+    private LikelyValue[] likelyValues = null;
+
+    // confidence of value v of a fixed position at N*position + v - 1 quantized
+    // to a byte, all 0 for positions without distribution, created when first needed
+    private byte[] distributions = null;
+
+    // snapshot sharing the arrays above, null after a change copied them
+    private SudokuSnapshot snapshot = null;
+
+    /**
+     * It creates a 9x9 Sudoku
+     */
+    public Sudoku()
+    {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * It creates a Sudoku of given size
+     * @param size number of rows and columns, it should be a square number
+     */
+    public Sudoku(int size)
+    {
+        int boxSize = (int) Math.round(Math.sqrt(size));
+        if(size < 1 || size > MAX_SIZE || boxSize*boxSize != size)
+        {
+            throw new IllegalArgumentException("Sudoku size should be a square number up to "
+                    + MAX_SIZE + " : " + size);
+        }
+        this.size = size;
+        this.boxSize = boxSize;
+        this.values = new byte[size*size];
+        this.fixedPositions = new long[(size*size + 63) / 64];
+        this.unitMasks = new int[3*size];
+    }
 
     /**
-     * It clears values in otherValueMap (value that is not fixed).
+     * It creates a Sudoku with values of a snapshot, sharing its arrays
+     * until the first change
+     * @param snapshot the snapshot
+     */
+    Sudoku(SudokuSnapshot snapshot)
+    {
+        this.size = snapshot.getSize();
+        this.boxSize = snapshot.getBoxSize();
+        this.values = snapshot.values;
+        this.fixedPositions = snapshot.fixedPositions;
+        this.unitMasks = snapshot.unitMasks;
+        this.likelyValues = snapshot.likelyValues;
+        this.distributions = snapshot.distributions;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * @return number of rows (and columns) of this Sudoku
+     */
+    public int getSize()
+    {
+        return size;
+    }
+
+    /**
+     * @return number of rows (and columns) of a box of this Sudoku
+     */
+    public int getBoxSize()
+    {
+        return boxSize;
+    }
+
+    /**
+     * @return number of positions of this Sudoku (size*size)
+     */
+    public int getPositionCount()
+    {
+        return values.length;
+    }
+
+    /**
+     * It clears values that are not fixed. A Sudoku without such values is
+     * left as it is, so it is not copied away from its snapshot.
      */
     public void clear()
     {
-        otherValueMap.clear();
+        boolean changed = false;
+        for(int position = 0; position < values.length && !changed; position++)
+        {
+            changed = values[position] != 0 && !hasFixedValueAt(position);
+        }
+        if(!changed)
+            return;
+
+        beforeChange();
+        for(int position = 0; position < values.length; position++)
+        {
+            if(!hasFixedValueAt(position))
+                values[position] = 0;
+        }
+
+        // rebuild masks from the fixed values
+        for(int unit = 0; unit < unitMasks.length; unit++)
+        {
+            unitMasks[unit] = 0;
+        }
+        for(int position = 0; position < values.length; position++)
+        {
+            if(values[position] > 0)
+                addToUnits(position, values[position]);
+        }
     }
 
     /**
-     * It sets values to otherValueMap (only if the position has no value
-     * set in fixedValueMap)
+     * It sets a value that can be reset (only if the position has no fixed
+     * value). Values outside 1 to N empty the position.
      * @param position position at which value is to be set
-     * @param integerValue value to be set
+     * @param value value to be set
      */
-    public void setValueAt(Integer position, Integer integerValue)
+    public void setValueAt(int position, int value)
     {
-        if(!fixedValueMap.containsKey(position))
+        if(!hasFixedValueAt(position))
         {
-            otherValueMap.put(position, integerValue);
+            putValue(position, value);
         }
     }
 
     /**
      * It sets fixed value for Sudoku.
-     * @param positionIndex
-     * @param likelyValue
+     * @param position position at which value is to be set
+     * @param likelyValue value with its confidence
      */
-    public void setFixedValueAt(Integer position, LikelyValue likelyValue)
+    public void setFixedValueAt(int position, LikelyValue likelyValue)
     {
-        this.fixedValueMap.put(position, likelyValue);
+        beforeChange();
+        fixedPositions[position >>> 6] |= 1L << position;
+        putValue(position, likelyValue.getValue());
+
+        if(setDistribution(position, likelyValue.getDistribution()))
+        {
+            // confidences are read from the distribution
+            if(likelyValues != null)
+                likelyValues[position] = null;
+        }
+        else if(likelyValue.getConfidence() < 1 || likelyValue.getConfidenceMargin() < 1)
+        {
+            if(likelyValues == null)
+                likelyValues = new LikelyValue[values.length];
+            // a copy, so changes of the caller's value do not reach snapshots
+            likelyValues[position] = copyOf(likelyValue);
+        }
+        else if(likelyValues != null)
+        {
+            likelyValues[position] = null;
+        }
     }
 
     /**
-     * It returns value at a given position. It first checks
-     * fixed value map and then the other value map
+     * It returns value at a given position, either fixed or set.
      * @param position position for which value is to be found
      * @return value at given position,
-     * <b>default value is -1</b> (if position is not found in either map)
+     * <b>default value is -1</b> (if the position is empty)
      */
-    public Integer getValueAt(Integer position)
+    public int getValueAt(int position)
     {
-        Integer value = -1;
-        if(fixedValueMap.containsKey(position))
-        {
-            value = fixedValueMap.get(position).getValue();
-        }
-        else if(otherValueMap.containsKey(position))
+        int value = values[position];
+        return value == 0 ? -1 : value;
+    }
+
+    /**
+     * It returns the values of the row, column and box of a position as a
+     * mask, with bit v-1 set if value v is used
+     * @param position a position
+     * @return mask of used values
+     */
+    public int getUsedMask(int position)
+    {
+        return getUsedMask(unitMasks, size, boxSize, position);
+    }
+
+    /**
+     * It returns the values not used by the row, column and box of an
+     * empty position
+     * @param position a position
+     * @return mask with bit v-1 set if value v is a candidate, 0 for a position with a value
+     */
+    public int getCandidateMask(int position)
+    {
+        if(values[position] != 0)
+            return 0;
+
+        return ~getUsedMask(position) & ((1 << size) - 1);
+    }
+
+    /**
+     * It copies values to a grid, 0 for empty positions
+     * @param grid array of at least N*N values
+     */
+    public void copyValuesTo(int[] grid)
+    {
+        for(int position = 0; position < values.length; position++)
         {
-            value = otherValueMap.get(position);
+            grid[position] = values[position];
         }
-        return value;
+    }
+
+    /**
+     * It returns an immutable view of the current values of this Sudoku. It
+     * does not copy values, the next change of this Sudoku does. Snapshots
+     * taken without a change in between are the same object.
+     * @return snapshot of this Sudoku
+     */
+    public SudokuSnapshot snapshot()
+    {
+        if(snapshot == null)
+            snapshot = new SudokuSnapshot(size, boxSize, values, fixedPositions, unitMasks,
+                    likelyValues, distributions);
+        return snapshot;
+    }
+
+    /**
+     * It returns true if this Sudoku was changed after a snapshot was taken
+     * @param sudokuSnapshot a snapshot of this Sudoku
+     * @return false if the snapshot still has the current values
+     */
+    public boolean hasChangedSince(SudokuSnapshot sudokuSnapshot)
+    {
+        return snapshot != sudokuSnapshot;
     }
 
     /**
@@ -123,23 +336,80 @@ public class Sudoku
      * @return likely value or null if empty position or value at this position
      * is not a low confidence value
      */
-    public LikelyValue getLowConfidenceValue(Integer position)
+    public LikelyValue getLowConfidenceValue(int position)
     {
-        LikelyValue likelyValue = fixedValueMap.get(position);
-
-        if(likelyValue != null)
-        {
-            // check if it is below low confidence cutoffs
-            if(likelyValue.getConfidence() < LOW_CONFIDENCE_CUTOFF
-                    || likelyValue.getConfidenceMargin() < LOW_CONFIDENCE_MARGIN_CUTOFF)
-            {
-                return likelyValue;
-            }
-        }
-
         // return null for empty positions or value at this position
         // is not a low confidence value
-        return null;
+        return getLowConfidenceValue(values, likelyValues, distributions, size, position);
+    }
+
+    /**
+     * It returns confidence of the value at a position
+     * @param position a position
+     * @return confidence of a fixed value, 1 for other values
+     */
+    public double getConfidenceAt(int position)
+    {
+        return getConfidence(values, likelyValues, distributions, size, position);
+    }
+
+    /**
+     * It returns confidence margin of the value at a position, the difference
+     * from confidence of the next most likely value
+     * @param position a position
+     * @return confidence margin of a fixed value, 1 for other values
+     */
+    public double getConfidenceMarginAt(int position)
+    {
+        return getConfidenceMargin(values, likelyValues, distributions, size, position);
+    }
+
+    /**
+     * @param position a position
+     * @return true if the fixed value of the position has a distribution of
+     * confidences of all values
+     */
+    public boolean hasDistributionAt(int position)
+    {
+        return hasDistribution(distributions, size, position);
+    }
+
+    /**
+     * It returns confidence that a position has a value. Without a
+     * distribution it is the confidence of the fixed value, and 0 for other values.
+     * @param position a position
+     * @param value a value 1 to N
+     * @return confidence between 0 and 1
+     */
+    public double getProbabilityAt(int position, int value)
+    {
+        return getProbability(values, likelyValues, distributions, size, position, value);
+    }
+
+    /**
+     * It finds the most likely values of a position in decreasing confidence,
+     * without allocating. Without a distribution it is only the fixed value.
+     * @param position a position
+     * @param k number of values wanted
+     * @param topValues array of at least k values to be filled
+     * @return number of values filled, at most k (0 for positions without fixed value)
+     */
+    public int getTopValues(int position, int k, int[] topValues)
+    {
+        return getTopValues(values, likelyValues, distributions, size, position, k, topValues);
+    }
+
+    /**
+     * It returns the most likely values of a position in decreasing
+     * confidence. The confidence margin of the first value is the difference
+     * from the second, that of the others is the difference from the first.
+     * @param position a position
+     * @param k number of values wanted
+     * @return at most k likely values (empty for positions without fixed value)
+     */
+    public List<LikelyValue> getTopLikelyValues(int position, int k)
+    {
+        return getTopLikelyValues(values, likelyValues, distributions, size, position, k);
     }
 
     /**
@@ -147,14 +417,13 @@ public class Sudoku
      * @param position position which is to be checked
      * @return true if it is low confidence position
      */
-    public boolean isLowConfidencePosition(Integer position)
+    public boolean isLowConfidencePosition(int position)
     {
-        LikelyValue likelyValue = fixedValueMap.get(position);
-
-        // mark low confidence positions
-        return likelyValue != null &&
-                (likelyValue.getConfidence() < LOW_CONFIDENCE_CUTOFF
-                || likelyValue.getConfidenceMargin() < LOW_CONFIDENCE_MARGIN_CUTOFF);
+        // without creating a likely value from the distribution
+        if(hasDistributionAt(position))
+            return getConfidenceAt(position) < LOW_CONFIDENCE_CUTOFF
+                    || getConfidenceMarginAt(position) < LOW_CONFIDENCE_MARGIN_CUTOFF;
+        return getLowConfidenceValue(position) != null;
     }
 
     /**
@@ -163,8 +432,258 @@ public class Sudoku
      * @param position position which is to be checked for fixed value
      * @return true if the position has fixed value else returns false
      */
-    public boolean hasFixedValueAt(Integer position)
+    public boolean hasFixedValueAt(int position)
     {
-        return fixedValueMap.containsKey(position);
+        return (fixedPositions[position >>> 6] & (1L << position)) != 0;
+    }
+
+    // likely value of a low confidence position, read from its distribution if any
+    static LikelyValue getLowConfidenceValue(byte[] values, LikelyValue[] likelyValues,
+            byte[] distributions, int size, int position)
+    {
+        if(!hasDistribution(distributions, size, position))
+        {
+            LikelyValue likelyValue = likelyValues == null ? null : likelyValues[position];
+            return likelyValue != null && isLowConfidence(likelyValue) ? copyOf(likelyValue) : null;
+        }
+
+        double confidence = getConfidence(values, likelyValues, distributions, size, position);
+        double confidenceMargin = getConfidenceMargin(values, likelyValues, distributions, size, position);
+        if(confidence >= LOW_CONFIDENCE_CUTOFF && confidenceMargin >= LOW_CONFIDENCE_MARGIN_CUTOFF)
+            return null;
+        // other likely values are read with getTopLikelyValues
+        return new LikelyValue(values[position], confidence, confidenceMargin);
+    }
+
+    static double getConfidence(byte[] values, LikelyValue[] likelyValues, byte[] distributions,
+            int size, int position)
+    {
+        if(hasDistribution(distributions, size, position))
+            return dequantize(distributions[size*position + values[position] - 1]);
+
+        LikelyValue likelyValue = likelyValues == null ? null : likelyValues[position];
+        return likelyValue == null ? 1 : likelyValue.getConfidence();
+    }
+
+    // difference from confidence of the most likely other value
+    static double getConfidenceMargin(byte[] values, LikelyValue[] likelyValues, byte[] distributions,
+            int size, int position)
+    {
+        if(hasDistribution(distributions, size, position))
+        {
+            int start = size*position, valueIndex = start + values[position] - 1;
+            int runnerUp = 0;
+            for(int index = start; index < start + size; index++)
+            {
+                if(index != valueIndex)
+                    runnerUp = Math.max(runnerUp, distributions[index] & 0xFF);
+            }
+            return Math.max(0, ((distributions[valueIndex] & 0xFF) - runnerUp) / (double) QUANTIZATION_LEVELS);
+        }
+
+        LikelyValue likelyValue = likelyValues == null ? null : likelyValues[position];
+        return likelyValue == null ? 1 : likelyValue.getConfidenceMargin();
+    }
+
+    static boolean hasDistribution(byte[] distributions, int size, int position)
+    {
+        if(distributions == null)
+            return false;
+
+        for(int index = size*position; index < size*(position + 1); index++)
+        {
+            if(distributions[index] != 0)
+                return true;
+        }
+        return false;
+    }
+
+    static double getProbability(byte[] values, LikelyValue[] likelyValues, byte[] distributions,
+            int size, int position, int value)
+    {
+        if(value < 1 || value > size || values[position] == 0)
+            return 0;
+
+        if(hasDistribution(distributions, size, position))
+            return dequantize(distributions[size*position + value - 1]);
+
+        if(value == values[position])
+            return getConfidence(values, likelyValues, distributions, size, position);
+        return 0;
+    }
+
+    static int getTopValues(byte[] values, LikelyValue[] likelyValues, byte[] distributions,
+            int size, int position, int k, int[] topValues)
+    {
+        int count = 0;
+        if(hasDistribution(distributions, size, position))
+        {
+            // selection of the k largest, smaller value first for equal confidence
+            int start = size*position, taken = 0;
+            for(; count < k && count < size; count++)
+            {
+                int best = -1;
+                for(int index = 0; index < size; index++)
+                {
+                    if((taken & 1 << index) == 0 && (best < 0
+                            || (distributions[start + index] & 0xFF) > (distributions[start + best] & 0xFF)))
+                        best = index;
+                }
+                taken |= 1 << best;
+                topValues[count] = best + 1;
+            }
+            return count;
+        }
+
+        if(values[position] == 0 || k < 1)
+            return 0;
+
+        topValues[count++] = values[position];
+        return count;
+    }
+
+    static List<LikelyValue> getTopLikelyValues(byte[] values, LikelyValue[] likelyValues,
+            byte[] distributions, int size, int position, int k)
+    {
+        int[] topValues = new int[Math.max(0, k)];
+        int count = getTopValues(values, likelyValues, distributions, size, position, k, topValues);
+
+        List<LikelyValue> topLikelyValues = new ArrayList<LikelyValue>(count);
+        double first = 0, second = 0;
+        for(int index = 0; index < count; index++)
+        {
+            double confidence = getProbability(values, likelyValues, distributions, size, position,
+                    topValues[index]);
+            if(index == 0)
+                first = confidence;
+            else if(index == 1)
+                second = confidence;
+            topLikelyValues.add(new LikelyValue(topValues[index], confidence, first - confidence));
+        }
+        if(count > 0)
+            topLikelyValues.get(0).setConfidenceMargin(count > 1 ? first - second
+                    : getConfidenceMargin(values, likelyValues, distributions, size, position));
+        return topLikelyValues;
+    }
+
+    private static double dequantize(byte quantized)
+    {
+        return (quantized & 0xFF) / (double) QUANTIZATION_LEVELS;
+    }
+
+    // used values of the units of a position
+    static int getUsedMask(int[] unitMasks, int size, int boxSize, int position)
+    {
+        int row = position / size, col = position % size;
+        int box = boxSize*(row / boxSize) + col / boxSize;
+        return unitMasks[row] | unitMasks[size + col] | unitMasks[2*size + box];
+    }
+
+    // copies a likely value, keeping stored values unchanged
+    private static LikelyValue copyOf(LikelyValue likelyValue)
+    {
+        return new LikelyValue(likelyValue.getValue(), likelyValue.getConfidence(),
+                likelyValue.getConfidenceMargin());
+    }
+
+    // checks if it is below low confidence cutoffs
+    private static boolean isLowConfidence(LikelyValue likelyValue)
+    {
+        return likelyValue.getConfidence() < LOW_CONFIDENCE_CUTOFF
+                || likelyValue.getConfidenceMargin() < LOW_CONFIDENCE_MARGIN_CUTOFF;
+    }
+
+    // copies arrays shared with a snapshot before they are changed
+    private void beforeChange()
+    {
+        if(snapshot != null)
+        {
+            values = values.clone();
+            fixedPositions = fixedPositions.clone();
+            unitMasks = unitMasks.clone();
+            if(likelyValues != null)
+                likelyValues = likelyValues.clone();
+            if(distributions != null)
+                distributions = distributions.clone();
+            snapshot = null;
+        }
+    }
+
+    // keeps a distribution of a fixed value, false if there is none to keep
+    private boolean setDistribution(int position, double[] distribution)
+    {
+        boolean kept = false;
+        if(distribution != null && distribution.length == size && values[position] != 0)
+        {
+            if(distributions == null)
+                distributions = new byte[size*values.length];
+            for(int index = 0; index < size; index++)
+            {
+                double confidence = Math.max(0, Math.min(1, distribution[index]));
+                distributions[size*position + index] = (byte) Math.round(confidence * QUANTIZATION_LEVELS);
+                kept |= distributions[size*position + index] != 0;
+            }
+        }
+        else if(distributions != null)
+        {
+            for(int index = size*position; index < size*(position + 1); index++)
+            {
+                distributions[index] = 0;
+            }
+        }
+        return kept;
+    }
+
+    private int getBox(int row, int col)
+    {
+        return boxSize*(row / boxSize) + col / boxSize;
+    }
+
+    // stores a value and updates masks of its units
+    private void putValue(int position, int value)
+    {
+        int newValue = value >= 1 && value <= size ? value : 0;
+        int oldValue = values[position];
+        if(oldValue == newValue)
+            return;
+
+        beforeChange();
+        values[position] = (byte) newValue;
+        if(oldValue > 0)
+            removeFromUnits(position, oldValue);
+        if(newValue > 0)
+            addToUnits(position, newValue);
+    }
+
+    private void addToUnits(int position, int value)
+    {
+        int row = position / size, col = position % size;
+        int bit = 1 << (value - 1);
+        unitMasks[row] |= bit;
+        unitMasks[size + col] |= bit;
+        unitMasks[2*size + getBox(row, col)] |= bit;
+    }
+
+    // clears the value from masks of units where no other position has it
+    private void removeFromUnits(int position, int value)
+    {
+        int row = position / size, col = position % size;
+        int box = getBox(row, col);
+        int boxStart = size*(boxSize*(box / boxSize)) + boxSize*(box % boxSize);
+        boolean inRow = false, inCol = false, inBox = false;
+        for(int index = 0; index < size; index++)
+        {
+            inRow |= values[size*row + index] == value;
+            inCol |= values[size*index + col] == value;
+            inBox |= values[boxStart + size*(index / boxSize) + index % boxSize] == value;
+        }
+
+        int bit = 1 << (value - 1);
+        if(!inRow)
+            unitMasks[row] &= ~bit;
+        if(!inCol)
+            unitMasks[size + col] &= ~bit;
+        if(!inBox)
+            unitMasks[2*size + box] &= ~bit;
     }
 }
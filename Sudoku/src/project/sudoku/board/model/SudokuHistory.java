@@ -0,0 +1,387 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Undo and redo history of values set in a {@link Sudoku}
+ * <p>
+ * Values are set through the history, which records each change as one
+ * <code>int</code> delta (position, old value and new value) in a growing
+ * array, and marks where each step ends. A step is one entry of the user
+ * or all values of a solver fill. So memory grows with the number of
+ * changed positions, not with copies of the board, and undo or redo of a
+ * step only sets its positions again. Setting a value after undo drops the
+ * steps that could be redone.
+ * </p>
+ * <p>
+ * Fixed values are not part of the history. The history is written by
+ * {@link #write(DataOutput)} with a few bytes per change and read back for
+ * a Sudoku with the values of its current step, after which any step can
+ * be reached with {@link #goTo(int)}. Like {@link Sudoku}, a history is not
+ * thread-safe.
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class SudokuHistory
+{
+    // header of a written history
+    private static final int MAGIC = 0x53444b48;
+    private static final int VERSION = 1;
+
+    // delta of a change is position << 10 | old value << 5 | new value
+    private static final int VALUE_BITS = 5;
+    private static final int VALUE_MASK = (1 << VALUE_BITS) - 1;
+
+    private final Sudoku sudoku;
+
+    // deltas of all steps, including undone steps that can be redone
+    private int[] deltas = new int[64];
+    private int deltaCount = 0;
+
+    // index after the last delta of each step
+    private int[] stepEnds = new int[64];
+    private int stepCount = 0;
+
+    // number of steps applied to the Sudoku
+    private int currentStep = 0;
+
+    /**
+     * It creates an empty history of a Sudoku
+     * @param sudoku the Sudoku whose values are set through this history
+     */
+    public SudokuHistory(Sudoku sudoku)
+    {
+        this.sudoku = sudoku;
+    }
+
+    /**
+     * @return the Sudoku of this history
+     */
+    public Sudoku getSudoku()
+    {
+        return sudoku;
+    }
+
+    /**
+     * It sets a value as one step (only if the position has no fixed value)
+     * @param position position at which value is to be set
+     * @param value value to be set, values outside 1 to N empty the position
+     * @return true if the value was changed
+     */
+    public boolean setValueAt(int position, int value)
+    {
+        change(position, value);
+        return endStep();
+    }
+
+    /**
+     * It sets values of a grid as one step, like a solver fill (fixed values
+     * are not changed)
+     * @param grid grid of N*N values
+     * @return true if a value was changed
+     */
+    public boolean setValues(int[] grid)
+    {
+        for(int position = 0; position < grid.length; position++)
+        {
+            change(position, grid[position]);
+        }
+        return endStep();
+    }
+
+    /**
+     * It clears values that are not fixed as one step
+     * @return true if a value was cleared
+     */
+    public boolean clear()
+    {
+        for(int position = 0; position < sudoku.getPositionCount(); position++)
+        {
+            change(position, 0);
+        }
+        return endStep();
+    }
+
+    /**
+     * @return true if there is a step to be undone
+     */
+    public boolean canUndo()
+    {
+        return currentStep > 0;
+    }
+
+    /**
+     * @return true if there is an undone step to be redone
+     */
+    public boolean canRedo()
+    {
+        return currentStep < stepCount;
+    }
+
+    /**
+     * It sets old values of the last applied step
+     * @return false if there is no step to be undone
+     */
+    public boolean undo()
+    {
+        if(!canUndo())
+            return false;
+
+        currentStep--;
+        for(int index = stepEnds[currentStep] - 1; index >= getStepStart(currentStep); index--)
+        {
+            int delta = deltas[index];
+            sudoku.setValueAt(delta >>> (2*VALUE_BITS), (delta >>> VALUE_BITS) & VALUE_MASK);
+        }
+        return true;
+    }
+
+    /**
+     * It sets new values of the next undone step
+     * @return false if there is no step to be redone
+     */
+    public boolean redo()
+    {
+        if(!canRedo())
+            return false;
+
+        for(int index = getStepStart(currentStep); index < stepEnds[currentStep]; index++)
+        {
+            int delta = deltas[index];
+            sudoku.setValueAt(delta >>> (2*VALUE_BITS), delta & VALUE_MASK);
+        }
+        currentStep++;
+        return true;
+    }
+
+    /**
+     * It undoes or redoes steps until the given number of steps is applied
+     * @param step number of applied steps, 0 for the Sudoku before any step
+     */
+    public void goTo(int step)
+    {
+        if(step < 0 || step > stepCount)
+            throw new IndexOutOfBoundsException("Step " + step + " of " + stepCount);
+
+        while(currentStep > step)
+        {
+            undo();
+        }
+        while(currentStep < step)
+        {
+            redo();
+        }
+    }
+
+    /**
+     * @return number of steps applied to the Sudoku
+     */
+    public int getCurrentStep()
+    {
+        return currentStep;
+    }
+
+    /**
+     * @return number of steps, including undone steps
+     */
+    public int getStepCount()
+    {
+        return stepCount;
+    }
+
+    /**
+     * @return number of changed positions of all steps
+     */
+    public int getChangeCount()
+    {
+        return deltaCount;
+    }
+
+    /**
+     * It writes steps of this history. Each step takes a byte for its number
+     * of changes and each change of a 9x9 Sudoku takes 2 bytes.
+     * @param output output to which history is written
+     * @throws IOException when the output could not be written
+     */
+    public void write(DataOutput output) throws IOException
+    {
+        int size = sudoku.getSize();
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+        output.writeByte(size);
+        writeVarInt(output, stepCount);
+        writeVarInt(output, currentStep);
+
+        for(int step = 0; step < stepCount; step++)
+        {
+            writeVarInt(output, stepEnds[step] - getStepStart(step));
+            for(int index = getStepStart(step); index < stepEnds[step]; index++)
+            {
+                int delta = deltas[index];
+                int oldValue = (delta >>> VALUE_BITS) & VALUE_MASK, newValue = delta & VALUE_MASK;
+                writeVarInt(output, delta >>> (2*VALUE_BITS));
+                if(size < 16)
+                {
+                    // both values in one byte
+                    output.writeByte(oldValue << 4 | newValue);
+                }
+                else
+                {
+                    output.writeByte(oldValue);
+                    output.writeByte(newValue);
+                }
+            }
+        }
+    }
+
+    /**
+     * It reads a history written by {@link #write(DataOutput)}
+     * @param input input from which history is read
+     * @param sudoku Sudoku with values of the current step of the written history
+     * @return history of the Sudoku
+     * @throws IOException when the input could not be read or is not a history of the Sudoku size
+     */
+    public static SudokuHistory read(DataInput input, Sudoku sudoku) throws IOException
+    {
+        if(input.readInt() != MAGIC)
+            throw new IOException("Not a Sudoku history");
+        int version = input.readUnsignedByte();
+        if(version != VERSION)
+            throw new IOException("Unsupported Sudoku history version : " + version);
+        int size = input.readUnsignedByte();
+        if(size != sudoku.getSize())
+            throw new IOException("Sudoku history of size " + size + " for Sudoku of size "
+                    + sudoku.getSize());
+
+        SudokuHistory history = new SudokuHistory(sudoku);
+        int stepCount = readVarInt(input);
+        int currentStep = readVarInt(input);
+        if(stepCount < 0 || currentStep < 0 || currentStep > stepCount)
+            throw new IOException("Sudoku history is damaged");
+
+        for(int step = 0; step < stepCount; step++)
+        {
+            int changeCount = readVarInt(input);
+            for(int change = 0; change < changeCount; change++)
+            {
+                int position = readVarInt(input);
+                int oldValue, newValue;
+                if(size < 16)
+                {
+                    int values = input.readUnsignedByte();
+                    oldValue = values >>> 4;
+                    newValue = values & 0xF;
+                }
+                else
+                {
+                    oldValue = input.readUnsignedByte();
+                    newValue = input.readUnsignedByte();
+                }
+                if(position < 0 || position >= sudoku.getPositionCount() || oldValue > size || newValue > size)
+                    throw new IOException("Sudoku history is damaged");
+                history.addDelta(position, oldValue, newValue);
+            }
+            history.addStep();
+        }
+        history.currentStep = currentStep;
+        return history;
+    }
+
+    // sets a value, recording it if it changed
+    private void change(int position, int value)
+    {
+        if(sudoku.hasFixedValueAt(position))
+            return;
+
+        int oldValue = Math.max(0, sudoku.getValueAt(position));
+        int newValue = value >= 1 && value <= sudoku.getSize() ? value : 0;
+        if(oldValue != newValue)
+        {
+            // the first change of a step drops undone steps
+            if(stepCount > currentStep)
+            {
+                deltaCount = getStepStart(currentStep);
+                stepCount = currentStep;
+            }
+            sudoku.setValueAt(position, newValue);
+            addDelta(position, oldValue, newValue);
+        }
+    }
+
+    // adds a step of the changes since its beginning, if any
+    private boolean endStep()
+    {
+        if(deltaCount == getStepStart(stepCount))
+            return false;
+
+        addStep();
+        currentStep = stepCount;
+        return true;
+    }
+
+    private void addDelta(int position, int oldValue, int newValue)
+    {
+        if(deltaCount == deltas.length)
+            deltas = Arrays.copyOf(deltas, 2*deltaCount);
+        deltas[deltaCount++] = position << (2*VALUE_BITS) | oldValue << VALUE_BITS | newValue;
+    }
+
+    private void addStep()
+    {
+        if(stepCount == stepEnds.length)
+            stepEnds = Arrays.copyOf(stepEnds, 2*stepCount);
+        stepEnds[stepCount++] = deltaCount;
+    }
+
+    private int getStepStart(int step)
+    {
+        return step == 0 ? 0 : stepEnds[step - 1];
+    }
+
+    // writes 7 bits per byte, high bit set if more bytes follow
+    private static void writeVarInt(DataOutput output, int value) throws IOException
+    {
+        while((value & ~0x7F) != 0)
+        {
+            output.writeByte(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    private static int readVarInt(DataInput input) throws IOException
+    {
+        int value = 0;
+        for(int shift = 0; shift < 32; shift += 7)
+        {
+            int next = input.readUnsignedByte();
+            value |= (next & 0x7F) << shift;
+            if((next & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("Sudoku history is damaged");
+    }
+}
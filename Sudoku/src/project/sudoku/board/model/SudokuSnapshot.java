@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.model;
+
+import java.util.List;
+
+/**
+ * Immutable view of the values of a {@link Sudoku}
+ * <p>
+ * A snapshot is taken with {@link Sudoku#snapshot()} without copying, it
+ * shares the compact arrays of the Sudoku and the Sudoku copies them before
+ * its next change. So a snapshot can be read by background threads (solving,
+ * candidates) while the Sudoku keeps being changed by the board, without
+ * locks. A new Sudoku with the values of a snapshot is made by
+ * {@link #toSudoku()}.
+ * </p>
+ * <p>
+ * Likely values are copied when they are set as fixed values and copied
+ * again when they are read, so neither the caller nor a reader of the
+ * Sudoku can change the values seen by a snapshot.
+ * </p>
+ *
+ * @see Sudoku#hasChangedSince(SudokuSnapshot)
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public final class SudokuSnapshot
+{
+    private final int size;
+    private final int boxSize;
+
+    // arrays of the Sudoku when the snapshot was taken, never changed
+    final byte[] values;
+    final long[] fixedPositions;
+    final int[] unitMasks;
+    final LikelyValue[] likelyValues;
+    final byte[] distributions;
+
+    SudokuSnapshot(int size, int boxSize, byte[] values, long[] fixedPositions, int[] unitMasks,
+            LikelyValue[] likelyValues, byte[] distributions)
+    {
+        this.size = size;
+        this.boxSize = boxSize;
+        this.values = values;
+        this.fixedPositions = fixedPositions;
+        this.unitMasks = unitMasks;
+        this.likelyValues = likelyValues;
+        this.distributions = distributions;
+    }
+
+    /**
+     * @return number of rows (and columns) of the Sudoku
+     */
+    public int getSize()
+    {
+        return size;
+    }
+
+    /**
+     * @return number of rows (and columns) of a box of the Sudoku
+     */
+    public int getBoxSize()
+    {
+        return boxSize;
+    }
+
+    /**
+     * @return number of positions of the Sudoku (size*size)
+     */
+    public int getPositionCount()
+    {
+        return values.length;
+    }
+
+    /**
+     * @see Sudoku#getValueAt(int)
+     */
+    public int getValueAt(int position)
+    {
+        int value = values[position];
+        return value == 0 ? -1 : value;
+    }
+
+    /**
+     * @see Sudoku#hasFixedValueAt(int)
+     */
+    public boolean hasFixedValueAt(int position)
+    {
+        return (fixedPositions[position >>> 6] & (1L << position)) != 0;
+    }
+
+    /**
+     * @see Sudoku#getUsedMask(int)
+     */
+    public int getUsedMask(int position)
+    {
+        return Sudoku.getUsedMask(unitMasks, size, boxSize, position);
+    }
+
+    /**
+     * @see Sudoku#getCandidateMask(int)
+     */
+    public int getCandidateMask(int position)
+    {
+        if(values[position] != 0)
+            return 0;
+
+        return ~getUsedMask(position) & ((1 << size) - 1);
+    }
+
+    /**
+     * @see Sudoku#getLowConfidenceValue(int)
+     */
+    public LikelyValue getLowConfidenceValue(int position)
+    {
+        return Sudoku.getLowConfidenceValue(values, likelyValues, distributions, size, position);
+    }
+
+    /**
+     * @see Sudoku#getConfidenceAt(int)
+     */
+    public double getConfidenceAt(int position)
+    {
+        return Sudoku.getConfidence(values, likelyValues, distributions, size, position);
+    }
+
+    /**
+     * @see Sudoku#getConfidenceMarginAt(int)
+     */
+    public double getConfidenceMarginAt(int position)
+    {
+        return Sudoku.getConfidenceMargin(values, likelyValues, distributions, size, position);
+    }
+
+    /**
+     * @see Sudoku#hasDistributionAt(int)
+     */
+    public boolean hasDistributionAt(int position)
+    {
+        return Sudoku.hasDistribution(distributions, size, position);
+    }
+
+    /**
+     * @see Sudoku#getProbabilityAt(int, int)
+     */
+    public double getProbabilityAt(int position, int value)
+    {
+        return Sudoku.getProbability(values, likelyValues, distributions, size, position, value);
+    }
+
+    /**
+     * @see Sudoku#getTopValues(int, int, int[])
+     */
+    public int getTopValues(int position, int k, int[] topValues)
+    {
+        return Sudoku.getTopValues(values, likelyValues, distributions, size, position, k, topValues);
+    }
+
+    /**
+     * @see Sudoku#getTopLikelyValues(int, int)
+     */
+    public List<LikelyValue> getTopLikelyValues(int position, int k)
+    {
+        return Sudoku.getTopLikelyValues(values, likelyValues, distributions, size, position, k);
+    }
+
+    /**
+     * It copies values to a grid, 0 for empty positions
+     * @param grid array of at least N*N values
+     */
+    public void copyValuesTo(int[] grid)
+    {
+        for(int position = 0; position < values.length; position++)
+        {
+            grid[position] = values[position];
+        }
+    }
+
+    /**
+     * @return grid of N*N values with index = N*row + col (0 for empty)
+     */
+    public int[] getGrid()
+    {
+        int[] grid = new int[values.length];
+        copyValuesTo(grid);
+        return grid;
+    }
+
+    /**
+     * It returns a Sudoku with the values of this snapshot, which can be
+     * changed without changing this snapshot
+     * @return a new Sudoku
+     */
+    public Sudoku toSudoku()
+    {
+        return new Sudoku(this);
+    }
+}
@@ -125,7 +125,7 @@ public class NNClassifier implements IDigitClassifier
     @Override
     public LikelyValue getLikelyValueForMax(double[] confidenceValues)
     {
-        double maxConfidenceValue = 0d, smallestConfidenceMargin = 0d;
+        double maxConfidenceValue = 0d, secondConfidenceValue = 0d;
         // index starts with 1, default digit is - 1
         int index = 1, digit = -1;
         for(double confidenceValue : confidenceValues)
@@ -135,16 +135,27 @@ public class NNClassifier implements IDigitClassifier
                 // digit is the index (index starting from 1)
                 // corresponding to the maximum confidence value
                 digit = index;
-                smallestConfidenceMargin = confidenceValue - maxConfidenceValue;
+                secondConfidenceValue = maxConfidenceValue;
                 maxConfidenceValue = confidenceValue;
             }
+            else if(secondConfidenceValue < confidenceValue)
+            {
+                // the runner-up may come after the maximum
+                secondConfidenceValue = confidenceValue;
+            }
 
             index++;
         }
 
+        // margin from the runner-up, not from the previous running maximum
+        double smallestConfidenceMargin = maxConfidenceValue - secondConfidenceValue;
         LikelyValue likelyValue = new LikelyValue(digit,
                 maxConfidenceValue, smallestConfidenceMargin);
 
+        // whole output, so alternatives need no second inference
+        if(digit > 0)
+            likelyValue.setDistribution(confidenceValues.clone());
+
         logger.info("Digit : " + digit
                 + " Confidence : " + maxConfidenceValue
                 + " Confidence Margin : " + smallestConfidenceMargin);
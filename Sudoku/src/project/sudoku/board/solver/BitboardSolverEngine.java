@@ -0,0 +1,399 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+/**
+ * Solver engine that solves Sudoku inside the JVM
+ * <p>
+ * Digits used by each row, column and 3x3 box are kept as 9 bit masks,
+ * so candidates of a position are found with a couple of bitwise operations.
+ * The search repeatedly places naked singles (position with one candidate)
+ * and hidden singles (digit with one position in a row, column or box) and
+ * then branches on the empty position with minimum remaining candidates.
+ * </p>
+ * <p>
+ * Search state of every depth is kept in arrays allocated once for the engine,
+ * so an instance is reused between puzzles but it is not meant to be shared
+ * between threads without synchronization (solving methods are synchronized).
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class BitboardSolverEngine implements SolverEngine
+{
+    // name of this engine
+    public static final String NAME = "bitboard";
+
+    // mask with all 9 digits, bit (d-1) stands for digit d
+    static final int ALL_DIGITS = 0x1FF;
+
+    // tables of 9x9 Sudoku, shared with the bitset engine
+    static final SudokuGeometry GEOMETRY = SudokuGeometry.of(9);
+
+    // row, column and box of each of the 81 positions
+    static final int[] ROW_OF = GEOMETRY.rowOf;
+    static final int[] COL_OF = GEOMETRY.colOf;
+    static final int[] BOX_OF = GEOMETRY.boxOf;
+
+    // positions of the 27 units - rows 0-8, columns 9-17 and boxes 18-26
+    static final int[][] UNITS = GEOMETRY.units;
+
+    // values and used digits of units for each search depth
+    private final int[][] valueStack = new int[82][81];
+    private final int[][] usedStack = new int[82][27];
+
+    // solutions and stop flag of the running search
+    private SearchContext context = null;
+
+    // statistics of the running search
+    private long nodeCount = 0;
+    private long backtrackCount = 0;
+    private long propagationCount = 0;
+    private int maxDepth = 0;
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public synchronized int[] solve(int[] grid)
+    {
+        checkGrid(grid);
+
+        SearchContext searchContext = new SearchContext(1);
+        if(load(grid, valueStack[0], usedStack[0]))
+        {
+            search(searchContext);
+        }
+        return searchContext.getSolution();
+    }
+
+    @Override
+    public synchronized SolveResult solve(int[] grid, SolveControl control)
+    {
+        checkGrid(grid);
+
+        long startNanos = System.nanoTime(), startCpuNanos = SolveStatistics.getCpuTime();
+        SearchContext searchContext = new SearchContext(1, control);
+        if(load(grid, valueStack[0], usedStack[0]))
+        {
+            search(searchContext);
+        }
+        return searchContext.getResult().withStatistics(
+                new SolveStatistics(NAME, searchContext, startNanos, startCpuNanos));
+    }
+
+    @Override
+    public synchronized int countSolutions(int[] grid, int limit)
+    {
+        checkGrid(grid);
+
+        SearchContext searchContext = new SearchContext(limit);
+        if(load(grid, valueStack[0], usedStack[0]))
+        {
+            search(searchContext);
+        }
+        return searchContext.getSolutionCount();
+    }
+
+    /**
+     * Candidates after placing naked and hidden singles
+     */
+    @Override
+    public long[] getCandidates(int[] grid)
+    {
+        checkGrid(grid);
+
+        int[] values = new int[81];
+        int[] used = new int[27];
+        if(!load(grid, values, used) || propagate(values, used) < 0)
+            return null;
+
+        long[] candidateMasks = new long[81];
+        for(int position = 0; position < 81; position++)
+        {
+            candidateMasks[position] = values[position] != 0
+                    ? 1L << (values[position] - 1)
+                    : candidates(used, position);
+        }
+        return candidateMasks;
+    }
+
+    /**
+     * It searches from the given state, adding solutions to the context
+     * until the context is stopped
+     * @param values values of positions (0 for empty)
+     * @param used used digits of each unit
+     * @param depth depth of the given state in the whole search
+     * @param searchContext context of the search
+     */
+    synchronized void search(int[] values, int[] used, int depth, SearchContext searchContext)
+    {
+        System.arraycopy(values, 0, valueStack[0], 0, 81);
+        System.arraycopy(used, 0, usedStack[0], 0, 27);
+        search(searchContext, depth);
+    }
+
+    // searches from state at depth 0
+    private void search(SearchContext searchContext)
+    {
+        search(searchContext, 0);
+    }
+
+    // searches from state at depth 0, which is the given depth of the whole search
+    private void search(SearchContext searchContext, int startDepth)
+    {
+        context = searchContext;
+        nodeCount = backtrackCount = propagationCount = 0;
+        maxDepth = 0;
+        if(!context.isStopped())
+            search(0);
+        context.addStatistics(nodeCount, backtrackCount, propagationCount, startDepth + maxDepth);
+        context = null;
+    }
+
+    /**
+     * It checks that the grid has 81 positions
+     * @param grid the grid to be checked
+     */
+    static void checkGrid(int[] grid)
+    {
+        if(grid == null || grid.length != 81)
+        {
+            throw new IllegalArgumentException("Sudoku grid should have 81 positions");
+        }
+    }
+
+    /**
+     * It loads values of the grid and used digits of each unit.
+     * @param grid the grid to be loaded
+     * @param values values of positions to be filled (0 for empty)
+     * @param used used digits of each unit to be filled
+     * @return false if the given values already contradict each other
+     */
+    static boolean load(int[] grid, int[] values, int[] used)
+    {
+        for(int unit = 0; unit < 27; unit++)
+        {
+            used[unit] = 0;
+        }
+
+        for(int position = 0; position < 81; position++)
+        {
+            int value = grid[position];
+            if(value < 1)
+            {
+                values[position] = 0;
+                continue;
+            }
+
+            if(value > 9)
+                return false;
+
+            int bit = 1 << (value - 1);
+            if((usedMask(used, position) & bit) != 0)
+                return false;
+
+            assign(values, used, position, bit);
+        }
+        return true;
+    }
+
+    /**
+     * It searches from the given depth until solution limit is reached
+     * @param depth index of the search state in stack
+     * @return true if the search should stop
+     */
+    private boolean search(int depth)
+    {
+        int[] values = valueStack[depth];
+        int[] used = usedStack[depth];
+
+        // another part of the search may have stopped it
+        if(context.isStopped())
+            return true;
+
+        nodeCount++;
+        if(depth > maxDepth)
+            maxDepth = depth;
+
+        int placedCount = propagate(values, used);
+        if(placedCount < 0)
+        {
+            backtrackCount++;
+            return false;
+        }
+        propagationCount += placedCount;
+
+        // no empty position left, this is a solution
+        int branchPosition = chooseBranchPosition(values, used);
+        if(branchPosition < 0)
+            return context.addSolution(values);
+
+        int branchMask = candidates(used, branchPosition);
+        int[] nextValues = valueStack[depth + 1];
+        int[] nextUsed = usedStack[depth + 1];
+        while(branchMask != 0)
+        {
+            int bit = branchMask & -branchMask;
+            branchMask ^= bit;
+
+            System.arraycopy(values, 0, nextValues, 0, 81);
+            System.arraycopy(used, 0, nextUsed, 0, 27);
+            assign(nextValues, nextUsed, branchPosition, bit);
+
+            if(search(depth + 1))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * It chooses the empty position with minimum remaining candidates
+     * @param values values of positions (0 for empty)
+     * @param used used digits of each unit
+     * @return position to branch on or -1 if there is no empty position
+     */
+    static int chooseBranchPosition(int[] values, int[] used)
+    {
+        int branchPosition = -1, branchCount = 10;
+        for(int position = 0; position < 81 && branchCount > 2; position++)
+        {
+            if(values[position] == 0)
+            {
+                int count = Integer.bitCount(candidates(used, position));
+                if(count < branchCount)
+                {
+                    branchPosition = position;
+                    branchCount = count;
+                }
+            }
+        }
+        return branchPosition;
+    }
+
+    /**
+     * It places naked and hidden singles until nothing changes
+     * @param values values of positions (0 for empty)
+     * @param used used digits of each unit
+     * @return number of values placed or -1 if a contradiction is found
+     */
+    static int propagate(int[] values, int[] used)
+    {
+        int placedCount = 0;
+        boolean changed = true;
+        while(changed)
+        {
+            changed = false;
+
+            // naked singles
+            for(int position = 0; position < 81; position++)
+            {
+                if(values[position] == 0)
+                {
+                    int mask = candidates(used, position);
+                    if(mask == 0)
+                        return -1;
+
+                    if((mask & (mask - 1)) == 0)
+                    {
+                        assign(values, used, position, mask);
+                        placedCount++;
+                        changed = true;
+                    }
+                }
+            }
+
+            // hidden singles
+            for(int unit = 0; unit < 27; unit++)
+            {
+                int once = 0, twice = 0;
+                for(int position : UNITS[unit])
+                {
+                    if(values[position] == 0)
+                    {
+                        int mask = candidates(used, position);
+                        twice |= once & mask;
+                        once |= mask;
+                    }
+                }
+
+                // some digit has no place left in this unit
+                if((once | used[unit]) != ALL_DIGITS)
+                    return -1;
+
+                int singles = once & ~twice;
+                while(singles != 0)
+                {
+                    int bit = singles & -singles;
+                    singles ^= bit;
+
+                    boolean placed = false;
+                    for(int position : UNITS[unit])
+                    {
+                        if(values[position] == 0 && (candidates(used, position) & bit) != 0)
+                        {
+                            assign(values, used, position, bit);
+                            placed = true;
+                            break;
+                        }
+                    }
+
+                    // one position was the only place for two digits
+                    if(!placed)
+                        return -1;
+
+                    placedCount++;
+                    changed = true;
+                }
+            }
+        }
+        return placedCount;
+    }
+
+    /**
+     * @return digits used by the row, column and box of a position
+     */
+    static int usedMask(int[] used, int position)
+    {
+        return used[ROW_OF[position]] | used[9 + COL_OF[position]] | used[18 + BOX_OF[position]];
+    }
+
+    /**
+     * @return candidate digits of an empty position
+     */
+    static int candidates(int[] used, int position)
+    {
+        return ~usedMask(used, position) & ALL_DIGITS;
+    }
+
+    /**
+     * It places a digit (given as a single bit) at a position
+     */
+    static void assign(int[] values, int[] used, int position, int bit)
+    {
+        values[position] = Integer.numberOfTrailingZeros(bit) + 1;
+        used[ROW_OF[position]] |= bit;
+        used[9 + COL_OF[position]] |= bit;
+        used[18 + BOX_OF[position]] |= bit;
+    }
+}
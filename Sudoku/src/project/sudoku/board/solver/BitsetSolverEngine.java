@@ -0,0 +1,802 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Solver engine for Sudoku of any size N = B*B up to 64x64
+ * <p>
+ * It works like {@link BitboardSolverEngine}, but digits used by each row,
+ * column and box are kept in a <code>long</code>, so candidates of a position
+ * of a 16x16 or 25x25 Sudoku are still found with a few bitwise operations on
+ * one word. Both engines share the unit tables of {@link SudokuGeometry}.
+ * </p>
+ * <p>
+ * Besides naked and hidden singles it propagates locked candidates: when
+ * the candidates of a digit in a box lie in one row or column, the digit is
+ * removed from the rest of that row or column, and the other way round. Such
+ * removed candidates are kept in one mask per position. It branches on the
+ * empty position with fewest candidates per contradiction found in its units
+ * and tries first the digits that are candidates of the fewest other
+ * positions of its units. A search for one solution that exceeds its node
+ * limit restarts with new random ties and twice the limit, which keeps
+ * sparse 25x25 Sudoku from running into long dead ends.
+ * </p>
+ * <p>
+ * The grid has N*N values with index = N*row + col, where N is found from
+ * the length of the grid. Search stacks are allocated for the size of the
+ * last grid and reused while the size stays the same.
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class BitsetSolverEngine implements SolverEngine
+{
+    // name of this engine
+    public static final String NAME = "bitset";
+
+    // largest Sudoku size whose digits fit in a long
+    public static final int MAX_SIZE = SudokuGeometry.MAX_SIZE;
+
+    // nodes of the first search for one solution, each restart gets twice as many
+    static final long FIRST_RESTART_NODES = 1000;
+
+    // engine behind the default methods of SolverEngine, shared so its
+    // search stacks are allocated once
+    static final BitsetSolverEngine SHARED = new BitsetSolverEngine();
+
+    // search state for each depth
+    private Board board = null;
+    private SearchContext context = null;
+
+    // nodes after which the running search gives up for a restart
+    private long nodeLimit = Long.MAX_VALUE;
+    private boolean restarting = false;
+
+    // statistics of the running search
+    private long nodeCount = 0;
+    private long backtrackCount = 0;
+    private long propagationCount = 0;
+    private int maxDepth = 0;
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public boolean supportsSize(int size)
+    {
+        int boxSize = (int) Math.round(Math.sqrt(size));
+        return size > 0 && size <= MAX_SIZE && boxSize*boxSize == size;
+    }
+
+    @Override
+    public synchronized int[] solve(int[] grid)
+    {
+        SearchContext searchContext = new SearchContext(1);
+        searchWithRestarts(grid, searchContext);
+        return searchContext.getSolution();
+    }
+
+    @Override
+    public synchronized SolveResult solve(int[] grid, SolveControl control)
+    {
+        long startNanos = System.nanoTime(), startCpuNanos = SolveStatistics.getCpuTime();
+        SearchContext searchContext = new SearchContext(1, control);
+        searchWithRestarts(grid, searchContext);
+        return searchContext.getResult().withStatistics(
+                new SolveStatistics(NAME, searchContext, startNanos, startCpuNanos));
+    }
+
+    @Override
+    public synchronized int countSolutions(int[] grid, int limit)
+    {
+        SearchContext searchContext = new SearchContext(limit);
+        search(grid, searchContext);
+        return searchContext.getSolutionCount();
+    }
+
+    /**
+     * It returns the size N of a grid with N*N values
+     * @param grid the grid
+     * @return size of the grid
+     */
+    public static int getSize(int[] grid)
+    {
+        return (int) Math.round(Math.sqrt(grid.length));
+    }
+
+    /**
+     * Candidates after placing naked and hidden singles and removing
+     * locked candidates
+     */
+    @Override
+    public synchronized long[] getCandidates(int[] grid)
+    {
+        prepare(grid);
+        if(!board.load(grid) || board.propagate(0) < 0)
+            return null;
+
+        int[] values = board.valueStack[0];
+        long[] candidateMasks = new long[grid.length];
+        for(int position = 0; position < grid.length; position++)
+        {
+            candidateMasks[position] = values[position] != 0
+                    ? 1L << (values[position] - 1)
+                    : board.candidates(0, position);
+        }
+        return candidateMasks;
+    }
+
+    /**
+     * Solutions are enumerated with a search stack of the iterator, so
+     * iterating does not block other calls on this engine
+     */
+    @Override
+    public SolutionIterator iterateSolutions(int[] grid)
+    {
+        return new SolutionCursor(new Board(checkGrid(grid)), grid);
+    }
+
+    /**
+     * It checks size of the grid and returns its geometry
+     * @param grid the grid to be checked
+     * @return geometry of the grid size
+     */
+    static SudokuGeometry checkGrid(int[] grid)
+    {
+        int size = getSize(grid);
+        if(size < 1 || size*size != grid.length || size > MAX_SIZE)
+        {
+            throw new IllegalArgumentException("Sudoku grid of " + grid.length
+                    + " positions is not supported");
+        }
+        return SudokuGeometry.of(size);
+    }
+
+    // checks size of the grid and allocates stacks for it
+    private void prepare(int[] grid)
+    {
+        SudokuGeometry geometry = checkGrid(grid);
+        if(board == null || board.geometry != geometry)
+            board = new Board(geometry);
+    }
+
+    private void search(int[] grid, SearchContext searchContext)
+    {
+        prepare(grid);
+        board.clearWeights();
+        if(board.load(grid))
+            search(searchContext, 0);
+    }
+
+    /**
+     * It searches for one solution. A search that visits more than its
+     * node limit is given up and restarted with random tie breaks and twice
+     * the limit, so an early wrong branch of a sparse grid does not keep the
+     * search in a dead end. The limits add up to at most twice the nodes of
+     * the last search, which proves that there is no solution when it ends
+     * without one.
+     */
+    private void searchWithRestarts(int[] grid, SearchContext searchContext)
+    {
+        prepare(grid);
+        board.clearWeights();
+        if(!board.load(grid))
+            return;
+
+        long seed = Arrays.hashCode(grid);
+        nodeLimit = FIRST_RESTART_NODES;
+        try
+        {
+            for(int restart = 0; ; restart++)
+            {
+                restarting = false;
+                board.setRandom(restart == 0 ? null : new Random(seed + restart));
+                search(searchContext, 0);
+                if(!restarting)
+                    return;
+
+                nodeLimit *= 2;
+                board.load(grid);
+            }
+        }
+        finally
+        {
+            nodeLimit = Long.MAX_VALUE;
+            board.setRandom(null);
+        }
+    }
+
+    /**
+     * It searches from the given state, adding solutions to the context
+     * until the context is stopped
+     * @param state board whose state at depth 0 is searched, not modified
+     * @param depth depth of the given state in the whole search
+     * @param searchContext context of the search
+     */
+    synchronized void search(Board state, int depth, SearchContext searchContext)
+    {
+        if(board == null || board.geometry != state.geometry)
+            board = new Board(state.geometry);
+        board.copy(state, 0);
+        board.clearWeights();
+        search(searchContext, depth);
+    }
+
+    // searches from state at depth 0, which is the given depth of the whole search
+    private void search(SearchContext searchContext, int startDepth)
+    {
+        context = searchContext;
+        nodeCount = backtrackCount = propagationCount = 0;
+        maxDepth = 0;
+        if(!context.isStopped())
+            search(0);
+        context.addStatistics(nodeCount, backtrackCount, propagationCount, startDepth + maxDepth);
+        context = null;
+    }
+
+    private boolean search(int depth)
+    {
+        if(context.isStopped())
+            return true;
+
+        if(++nodeCount > nodeLimit)
+        {
+            restarting = true;
+            return true;
+        }
+        if(depth > maxDepth)
+            maxDepth = depth;
+
+        int placedCount = board.propagate(depth);
+        if(placedCount < 0)
+        {
+            backtrackCount++;
+            return false;
+        }
+        propagationCount += placedCount;
+
+        int branchPosition = board.chooseBranchPosition(depth);
+        if(branchPosition < 0)
+            return context.addSolution(board.valueStack[depth]);
+
+        long[] branchBits = board.orderedCandidates(depth, branchPosition);
+        for(long bit : branchBits)
+        {
+            board.branch(depth, branchPosition, bit);
+            if(search(depth + 1))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Iterator running the search of this engine with an explicit stack, so
+     * it can stop after each solution and resume from there
+     */
+    private static class SolutionCursor extends SolutionIterator
+    {
+        private final Board board;
+        // branching position and its untried candidates at each depth
+        private final int[] branchPositions;
+        private final long[][] branchBits;
+        private final int[] nextBranch;
+        private int depth = 0;
+        private boolean started = false;
+
+        private SolutionCursor(Board board, int[] grid)
+        {
+            this.board = board;
+            int depths = board.geometry.positions + 1;
+            branchPositions = new int[depths];
+            branchBits = new long[depths][];
+            nextBranch = new int[depths];
+
+            // depth -1 when the grid has no solution
+            if(!board.load(grid))
+                depth = -1;
+        }
+
+        @Override
+        protected int[] findNext()
+        {
+            if(!started && depth == 0)
+            {
+                // first call, search the root
+                started = true;
+                if(enter(0))
+                    return board.valueStack[0].clone();
+            }
+
+            while(depth >= 0)
+            {
+                if(branchBits[depth] == null || nextBranch[depth] == branchBits[depth].length)
+                {
+                    depth--;
+                    continue;
+                }
+
+                long bit = branchBits[depth][nextBranch[depth]++];
+                board.branch(depth, branchPositions[depth], bit);
+
+                depth++;
+                if(enter(depth))
+                    return board.valueStack[depth].clone();
+            }
+            return null;
+        }
+
+        // propagates at a depth and sets its branches, true if it is a solution
+        private boolean enter(int atDepth)
+        {
+            branchBits[atDepth] = null;
+
+            if(board.propagate(atDepth) < 0)
+                return false;
+
+            int branchPosition = board.chooseBranchPosition(atDepth);
+            if(branchPosition < 0)
+                return true;
+
+            branchPositions[atDepth] = branchPosition;
+            branchBits[atDepth] = board.orderedCandidates(atDepth, branchPosition);
+            nextBranch[atDepth] = 0;
+            return false;
+        }
+    }
+
+    /**
+     * Search states of one Sudoku size for each depth - values of positions,
+     * digits used by each unit and candidates removed from each position
+     */
+    static final class Board
+    {
+        final SudokuGeometry geometry;
+        final int[][] valueStack;
+        final long[][] usedStack;
+        final long[][] removedStack;
+
+        // candidates of the positions of a row (column) inside one box,
+        // index = B*row + box column (B*col + box row)
+        private final long[] rowSegments;
+        private final long[] colSegments;
+
+        // breaks ties of branching positions and digits, or null to take the first
+        private Random random = null;
+
+        // contradictions found in each unit, positions in units with many
+        // contradictions are branched on first
+        private final long[] unitWeights;
+
+        /**
+         * @param geometry geometry of the Sudoku size
+         */
+        Board(SudokuGeometry geometry)
+        {
+            this(geometry, geometry.positions + 1);
+        }
+
+        /**
+         * @param geometry geometry of the Sudoku size
+         * @param depths number of search states
+         */
+        Board(SudokuGeometry geometry, int depths)
+        {
+            this.geometry = geometry;
+            valueStack = new int[depths][geometry.positions];
+            usedStack = new long[depths][3*geometry.size];
+            removedStack = new long[depths][geometry.positions];
+            rowSegments = new long[geometry.size*geometry.boxSize];
+            colSegments = new long[geometry.size*geometry.boxSize];
+            unitWeights = new long[3*geometry.size];
+        }
+
+        /**
+         * It forgets the contradictions counted by earlier searches
+         */
+        void clearWeights()
+        {
+            Arrays.fill(unitWeights, 0L);
+        }
+
+        /**
+         * @param random random numbers breaking ties of branches, or null
+         * to take the first of equal branches
+         */
+        void setRandom(Random random)
+        {
+            this.random = random;
+        }
+
+        /**
+         * It assigns given values at depth 0
+         * @param grid the grid
+         * @return false if a value is out of range or repeated
+         */
+        boolean load(int[] grid)
+        {
+            int[] values = valueStack[0];
+            long[] used = usedStack[0];
+            Arrays.fill(used, 0L);
+            Arrays.fill(removedStack[0], 0L);
+
+            for(int position = 0; position < grid.length; position++)
+            {
+                int value = grid[position];
+                if(value < 1)
+                {
+                    values[position] = 0;
+                    continue;
+                }
+
+                if(value > geometry.size)
+                    return false;
+
+                long bit = 1L << (value - 1);
+                if((usedMask(used, position) & bit) != 0)
+                    return false;
+
+                assign(values, used, position, bit);
+            }
+            return true;
+        }
+
+        /**
+         * It copies the state of another board at a depth to depth 0
+         */
+        void copy(Board other, int depth)
+        {
+            System.arraycopy(other.valueStack[depth], 0, valueStack[0], 0, geometry.positions);
+            System.arraycopy(other.usedStack[depth], 0, usedStack[0], 0, usedStack[0].length);
+            System.arraycopy(other.removedStack[depth], 0, removedStack[0], 0, geometry.positions);
+        }
+
+        /**
+         * It copies the state at a depth to the next depth and places
+         * a digit (given as a single bit) there
+         */
+        void branch(int depth, int position, long bit)
+        {
+            System.arraycopy(valueStack[depth], 0, valueStack[depth + 1], 0, geometry.positions);
+            System.arraycopy(usedStack[depth], 0, usedStack[depth + 1], 0, usedStack[depth].length);
+            System.arraycopy(removedStack[depth], 0, removedStack[depth + 1], 0, geometry.positions);
+            assign(valueStack[depth + 1], usedStack[depth + 1], position, bit);
+        }
+
+        private long usedMask(long[] used, int position)
+        {
+            return used[geometry.rowOf[position]] | used[geometry.size + geometry.colOf[position]]
+                    | used[2*geometry.size + geometry.boxOf[position]];
+        }
+
+        /**
+         * @return candidate digits of an empty position at a depth
+         */
+        long candidates(int depth, int position)
+        {
+            return ~(usedMask(usedStack[depth], position) | removedStack[depth][position])
+                    & geometry.allDigits;
+        }
+
+        private void assign(int[] values, long[] used, int position, long bit)
+        {
+            values[position] = Long.numberOfTrailingZeros(bit) + 1;
+            used[geometry.rowOf[position]] |= bit;
+            used[geometry.size + geometry.colOf[position]] |= bit;
+            used[2*geometry.size + geometry.boxOf[position]] |= bit;
+        }
+
+        /**
+         * It chooses the empty position with the fewest remaining candidates
+         * per contradiction found in its units (plus one), so positions in
+         * units that often fail are decided early
+         * @return position to branch on or -1 if there is no empty position
+         */
+        int chooseBranchPosition(int depth)
+        {
+            int[] values = valueStack[depth];
+            int branchPosition = -1, branchCount = 0, ties = 0;
+            long branchWeight = 0;
+            for(int position = 0; position < geometry.positions; position++)
+            {
+                if(values[position] == 0)
+                {
+                    int count = Long.bitCount(candidates(depth, position));
+                    long weight = 1 + unitWeights[geometry.rowOf[position]]
+                            + unitWeights[geometry.size + geometry.colOf[position]]
+                            + unitWeights[2*geometry.size + geometry.boxOf[position]];
+
+                    // count / weight compared without division
+                    long compared = branchPosition < 0 ? -1 : count*branchWeight - branchCount*weight;
+                    if(compared < 0)
+                    {
+                        branchPosition = position;
+                        branchCount = count;
+                        branchWeight = weight;
+                        ties = 1;
+                    }
+                    else if(compared == 0 && random != null && random.nextInt(++ties) == 0)
+                    {
+                        // each of the tied positions is taken with the same chance
+                        branchPosition = position;
+                    }
+                }
+            }
+            return branchPosition;
+        }
+
+        /**
+         * It returns the candidates of a position as single bits, the digit
+         * that is a candidate of the fewest other empty positions of its
+         * row, column and box first
+         */
+        long[] orderedCandidates(int depth, int position)
+        {
+            long mask = candidates(depth, position);
+            long[] bits = new long[Long.bitCount(mask)];
+            int[] counts = new int[bits.length];
+            int[] values = valueStack[depth];
+            int row = geometry.rowOf[position], col = geometry.colOf[position];
+            int box = geometry.boxOf[position];
+
+            for(int index = 0; index < bits.length; index++)
+            {
+                long bit = mask & -mask;
+                mask ^= bit;
+
+                int count = 0;
+                for(int unit : new int[] {row, geometry.size + col, 2*geometry.size + box})
+                {
+                    for(int other : geometry.units[unit])
+                    {
+                        if(other != position && values[other] == 0
+                                && (candidates(depth, other) & bit) != 0)
+                            count++;
+                    }
+                }
+
+                // random tie breaks, counts are compared on the upper bits
+                count <<= 8;
+                if(random != null)
+                    count |= random.nextInt(256);
+
+                // insertion sort, candidates are few
+                int insert = index;
+                while(insert > 0 && counts[insert - 1] > count)
+                {
+                    bits[insert] = bits[insert - 1];
+                    counts[insert] = counts[insert - 1];
+                    insert--;
+                }
+                bits[insert] = bit;
+                counts[insert] = count;
+            }
+            return bits;
+        }
+
+        /**
+         * It places naked and hidden singles and removes locked candidates
+         * at a depth until nothing changes
+         * @return number of values placed or -1 if a contradiction is found
+         */
+        int propagate(int depth)
+        {
+            int[] values = valueStack[depth];
+            long[] used = usedStack[depth];
+            int placedCount = 0;
+            boolean changed = true;
+            while(changed)
+            {
+                changed = false;
+
+                // naked singles
+                for(int position = 0; position < geometry.positions; position++)
+                {
+                    if(values[position] == 0)
+                    {
+                        long mask = candidates(depth, position);
+                        if(mask == 0)
+                        {
+                            unitWeights[geometry.rowOf[position]]++;
+                            unitWeights[geometry.size + geometry.colOf[position]]++;
+                            unitWeights[2*geometry.size + geometry.boxOf[position]]++;
+                            return -1;
+                        }
+
+                        if((mask & (mask - 1)) == 0)
+                        {
+                            assign(values, used, position, mask);
+                            placedCount++;
+                            changed = true;
+                        }
+                    }
+                }
+
+                // hidden singles
+                for(int unit = 0; unit < geometry.units.length; unit++)
+                {
+                    long once = 0, twice = 0;
+                    for(int position : geometry.units[unit])
+                    {
+                        if(values[position] == 0)
+                        {
+                            long mask = candidates(depth, position);
+                            twice |= once & mask;
+                            once |= mask;
+                        }
+                    }
+
+                    // some digit has no place left in this unit
+                    if((once | used[unit]) != geometry.allDigits)
+                    {
+                        unitWeights[unit]++;
+                        return -1;
+                    }
+
+                    long singles = once & ~twice;
+                    while(singles != 0)
+                    {
+                        long bit = singles & -singles;
+                        singles ^= bit;
+
+                        boolean placed = false;
+                        for(int position : geometry.units[unit])
+                        {
+                            if(values[position] == 0 && (candidates(depth, position) & bit) != 0)
+                            {
+                                assign(values, used, position, bit);
+                                placed = true;
+                                break;
+                            }
+                        }
+
+                        // one position was the only place for two digits
+                        if(!placed)
+                        {
+                            unitWeights[unit]++;
+                            return -1;
+                        }
+
+                        placedCount++;
+                        changed = true;
+                    }
+                }
+
+                // locked candidates only when there are no singles
+                if(!changed)
+                    changed = removeLockedCandidates(depth);
+            }
+            return placedCount;
+        }
+
+        // removes locked candidates of all boxes, rows and columns,
+        // true if a candidate was removed
+        private boolean removeLockedCandidates(int depth)
+        {
+            int[] values = valueStack[depth];
+            int boxSize = geometry.boxSize;
+            Arrays.fill(rowSegments, 0L);
+            Arrays.fill(colSegments, 0L);
+            for(int position = 0; position < geometry.positions; position++)
+            {
+                if(values[position] == 0)
+                {
+                    long mask = candidates(depth, position);
+                    int row = geometry.rowOf[position], col = geometry.colOf[position];
+                    rowSegments[boxSize*row + col / boxSize] |= mask;
+                    colSegments[boxSize*col + row / boxSize] |= mask;
+                }
+            }
+
+            boolean removed = false;
+            for(int line = 0; line < geometry.size; line++)
+            {
+                int band = line / boxSize;
+                for(int segment = 0; segment < boxSize; segment++)
+                {
+                    removed |= removeLocked(depth, rowSegments, line, band, segment, true);
+                    removed |= removeLocked(depth, colSegments, line, band, segment, false);
+                }
+            }
+            return removed;
+        }
+
+        /**
+         * It removes digits that are locked to the segment of a line (row or
+         * column) inside a box - from the rest of the line when the box has the
+         * digit in no other segment, and from the rest of the box when the line
+         * has the digit in no other segment
+         * @param segments candidates of each segment of rows or columns
+         * @param line the row or column
+         * @param band band (stack) of boxes that contains the line
+         * @param segment index of the box along the line
+         * @param rows true for rows, false for columns
+         * @return true if a candidate was removed
+         */
+        private boolean removeLocked(int depth, long[] segments, int line, int band,
+                int segment, boolean rows)
+        {
+            int boxSize = geometry.boxSize;
+            long mask = segments[boxSize*line + segment];
+            if(mask == 0)
+                return false;
+
+            long inOtherLines = 0, inOtherSegments = 0;
+            for(int index = 0; index < boxSize; index++)
+            {
+                int otherLine = boxSize*band + index;
+                if(otherLine != line)
+                    inOtherLines |= segments[boxSize*otherLine + segment];
+                if(index != segment)
+                    inOtherSegments |= segments[boxSize*line + index];
+            }
+
+            boolean removed = false;
+
+            // pointing : digits of the box only in this line leave the rest of the line
+            long pointing = mask & ~inOtherLines & inOtherSegments;
+            if(pointing != 0)
+            {
+                for(int index = 0; index < boxSize; index++)
+                {
+                    if(index != segment)
+                        removed |= removeFromSegment(depth, line, index, pointing, rows);
+                }
+            }
+
+            // claiming : digits of the line only in this box leave the rest of the box
+            long claiming = mask & ~inOtherSegments & inOtherLines;
+            if(claiming != 0)
+            {
+                for(int index = 0; index < boxSize; index++)
+                {
+                    int otherLine = boxSize*band + index;
+                    if(otherLine != line)
+                        removed |= removeFromSegment(depth, otherLine, segment, claiming, rows);
+                }
+            }
+            return removed;
+        }
+
+        // removes digits from the empty positions of a segment of a row or column
+        private boolean removeFromSegment(int depth, int line, int segment, long digits, boolean rows)
+        {
+            int[] values = valueStack[depth];
+            long[] removed = removedStack[depth];
+            boolean changed = false;
+            for(int index = 0; index < geometry.boxSize; index++)
+            {
+                int other = geometry.boxSize*segment + index;
+                int position = rows ? geometry.size*line + other : geometry.size*other + line;
+                if(values[position] == 0 && (candidates(depth, position) & digits) != 0)
+                {
+                    removed[position] |= digits;
+                    changed = true;
+                }
+            }
+            return changed;
+        }
+    }
+}
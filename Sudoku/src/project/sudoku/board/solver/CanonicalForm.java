@@ -0,0 +1,337 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+/**
+ * Canonical form of a 9x9 Sudoku under its symmetries
+ * <p>
+ * Two grids have the same canonical form when one can be turned into the
+ * other by relabeling digits, permuting bands, rows inside a band, stacks
+ * and columns inside a stack, and transposing. Rotations and reflections
+ * are combinations of these. The form is the lexicographically smallest
+ * grid (empty positions first) over all 2*6^8 transforms, where digits are
+ * relabeled 1, 2, 3 ... in order of first appearance.
+ * </p>
+ * <p>
+ * Columns are permuted in an outer loop and rows are placed one at a
+ * time in a branch and bound search, so a row order is given up as soon as
+ * its prefix is larger than the best grid found so far. The transform of
+ * the best grid is kept to map solutions between the given grid and its
+ * canonical form.
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+final class CanonicalForm
+{
+    // all permutations of three bands, rows or columns
+    private static final int[][] PERMUTATIONS_OF_3 = {
+            {0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}};
+
+    // work limit of the search, grids with many symmetric transforms
+    // (nearly empty grids) are not worth a canonical form
+    static final int MAX_PLACED_ROWS = 200000;
+
+    // grids with fewer givens have no unique solution and are not searched,
+    // most of them would run into the work limit
+    static final int MIN_GIVENS = 17;
+
+    private final String key;
+    private final boolean transposed;
+    private final int[] rowOrder;
+    private final int[] colOrder;
+    // canonical label of each digit, 0 for digits not in the grid
+    private final int[] labels;
+
+    private CanonicalForm(int[] form, boolean transposed, int[] rowOrder, int[] colOrder, int[] labels)
+    {
+        char[] keyChars = new char[81];
+        for(int position = 0; position < 81; position++)
+        {
+            keyChars[position] = (char) ('0' + form[position]);
+        }
+        this.key = new String(keyChars);
+        this.transposed = transposed;
+        this.rowOrder = rowOrder;
+        this.colOrder = colOrder;
+        this.labels = labels;
+    }
+
+    /**
+     * It finds the canonical form of a grid
+     * @param grid 81 values (values less than 1 are empty)
+     * @return canonical form with its transform or null when the grid has
+     * fewer than {@value #MIN_GIVENS} givens or the search needs more than
+     * {@value #MAX_PLACED_ROWS} steps
+     */
+    static CanonicalForm of(int[] grid)
+    {
+        BitboardSolverEngine.checkGrid(grid);
+
+        Search search = new Search();
+        int[] transposedGrid = new int[81];
+        int givens = 0;
+        for(int position = 0; position < 81; position++)
+        {
+            int value = grid[position];
+            search.grids[0][position] = value < 1 ? 0 : value;
+            transposedGrid[9*(position % 9) + position / 9] = search.grids[0][position];
+            if(value > 0)
+                givens++;
+        }
+        search.grids[1] = transposedGrid;
+
+        if(givens < MIN_GIVENS)
+            return null;
+
+        for(int transpose = 0; transpose < 2; transpose++)
+        {
+            search.grid = search.grids[transpose];
+            search.transposed = transpose == 1;
+            for(int[] stacks : PERMUTATIONS_OF_3)
+            {
+                for(int[] cols0 : PERMUTATIONS_OF_3)
+                {
+                    for(int[] cols1 : PERMUTATIONS_OF_3)
+                    {
+                        for(int[] cols2 : PERMUTATIONS_OF_3)
+                        {
+                            int[][] cols = {cols0, cols1, cols2};
+                            for(int col = 0; col < 9; col++)
+                            {
+                                search.colOrder[col] = 3*stacks[col / 3] + cols[col / 3][col % 3];
+                            }
+                            search.placeRow(0, search.best != null);
+
+                            // stop at the work limit instead of trying the remaining transforms
+                            if(search.placedRows > MAX_PLACED_ROWS)
+                                return null;
+                        }
+                    }
+                }
+            }
+        }
+
+        return new CanonicalForm(search.best, search.bestTransposed,
+                search.bestRowOrder, search.bestColOrder, search.bestLabels);
+    }
+
+    /**
+     * @return the canonical form as 81 characters '0' to '9'
+     */
+    String getKey()
+    {
+        return key;
+    }
+
+    /**
+     * It maps a solution of the given grid to a solution of the canonical form.
+     * Digits that are not in the given grid are labeled in order of their
+     * first appearance in the canonical solution.
+     * @param solution solution of the given grid
+     * @return solution of the canonical form
+     */
+    int[] toCanonical(int[] solution)
+    {
+        int[] solutionLabels = labels.clone();
+        int nextLabel = 0;
+        for(int label : solutionLabels)
+        {
+            nextLabel = Math.max(nextLabel, label);
+        }
+
+        int[] canonicalSolution = new int[81];
+        for(int row = 0; row < 9; row++)
+        {
+            for(int col = 0; col < 9; col++)
+            {
+                int value = solution[position(rowOrder[row], colOrder[col])];
+                if(solutionLabels[value] == 0)
+                    solutionLabels[value] = ++nextLabel;
+                canonicalSolution[9*row + col] = solutionLabels[value];
+            }
+        }
+        return canonicalSolution;
+    }
+
+    /**
+     * It maps a solution of the canonical form back to the given grid.
+     * Labels of digits that are not in the given grid are mapped to the
+     * remaining digits in increasing order.
+     * @param canonicalSolution solution of the canonical form
+     * @return solution of the given grid
+     */
+    int[] fromCanonical(int[] canonicalSolution)
+    {
+        int[] digits = new int[10];
+        boolean[] usedDigits = new boolean[10];
+        for(int digit = 1; digit <= 9; digit++)
+        {
+            if(labels[digit] != 0)
+            {
+                digits[labels[digit]] = digit;
+                usedDigits[digit] = true;
+            }
+        }
+        int freeDigit = 1;
+        for(int label = 1; label <= 9; label++)
+        {
+            if(digits[label] == 0)
+            {
+                while(usedDigits[freeDigit])
+                {
+                    freeDigit++;
+                }
+                digits[label] = freeDigit;
+                usedDigits[freeDigit] = true;
+            }
+        }
+
+        int[] solution = new int[81];
+        for(int row = 0; row < 9; row++)
+        {
+            for(int col = 0; col < 9; col++)
+            {
+                solution[position(rowOrder[row], colOrder[col])] = digits[canonicalSolution[9*row + col]];
+            }
+        }
+        return solution;
+    }
+
+    // position in the given grid of a row and column of the (transposed) grid
+    private int position(int row, int col)
+    {
+        return transposed ? 9*col + row : 9*row + col;
+    }
+
+    /**
+     * State of the branch and bound search for the smallest grid
+     */
+    private static class Search
+    {
+        private final int[][] grids = new int[2][81];
+        private int[] grid = null;
+        private boolean transposed = false;
+        private final int[] colOrder = new int[9];
+
+        // grid being built and its transform
+        private final int[] current = new int[81];
+        private final int[] rowOrder = new int[9];
+        private final int[] labels = new int[10];
+        private int nextLabel = 0;
+        private int usedRows = 0;
+        private int placedRows = 0;
+
+        // smallest grid found and its transform
+        private int[] best = null;
+        private boolean bestTransposed = false;
+        private final int[] bestRowOrder = new int[9];
+        private final int[] bestColOrder = new int[9];
+        private final int[] bestLabels = new int[10];
+
+        /**
+         * It places a row at the given depth and all rows below it
+         * @param depth row of the grid being built
+         * @param equal true if rows above are equal to the best grid,
+         * false if they are smaller
+         * @return true if the best grid was replaced
+         */
+        private boolean placeRow(int depth, boolean equal)
+        {
+            if(depth == 9)
+            {
+                if(best != null && equal)
+                    return false;
+
+                if(best == null)
+                    best = new int[81];
+                System.arraycopy(current, 0, best, 0, 81);
+                System.arraycopy(rowOrder, 0, bestRowOrder, 0, 9);
+                System.arraycopy(colOrder, 0, bestColOrder, 0, 9);
+                System.arraycopy(labels, 0, bestLabels, 0, 10);
+                bestTransposed = transposed;
+                return true;
+            }
+
+            boolean replaced = false;
+            for(int row = 0; row < 9; row++)
+            {
+                if(!canPlace(depth, row))
+                    continue;
+
+                if(++placedRows > MAX_PLACED_ROWS)
+                    return replaced;
+
+                // relabel values of this row, remembering the labels to undo
+                int labelCount = nextLabel;
+                int offset = 9*depth;
+                int compared = equal && best != null ? 0 : -1;
+                for(int col = 0; col < 9; col++)
+                {
+                    int value = grid[9*row + colOrder[col]];
+                    if(value != 0)
+                    {
+                        if(labels[value] == 0)
+                            labels[value] = ++nextLabel;
+                        value = labels[value];
+                    }
+                    current[offset + col] = value;
+
+                    if(compared == 0 && value != best[offset + col])
+                        compared = value < best[offset + col] ? -1 : 1;
+                }
+
+                if(compared <= 0)
+                {
+                    rowOrder[depth] = row;
+                    usedRows |= 1 << row;
+                    if(placeRow(depth + 1, compared == 0))
+                    {
+                        // rows above are now equal to the new best grid
+                        replaced = true;
+                        equal = true;
+                    }
+                    usedRows &= ~(1 << row);
+                }
+
+                // undo labels of this row
+                for(int digit = 1; digit <= 9; digit++)
+                {
+                    if(labels[digit] > labelCount)
+                        labels[digit] = 0;
+                }
+                nextLabel = labelCount;
+            }
+            return replaced;
+        }
+
+        // first row of a band may come from any unused band, others from the same band
+        private boolean canPlace(int depth, int row)
+        {
+            if((usedRows & (1 << row)) != 0)
+                return false;
+
+            int band = row / 3;
+            if(depth % 3 == 0)
+                return (usedRows & (7 << 3*band)) == 0;
+            return band == rowOrder[depth - 1] / 3;
+        }
+    }
+}
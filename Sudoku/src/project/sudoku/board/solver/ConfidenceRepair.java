@@ -0,0 +1,307 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.logging.Logger;
+
+import project.sudoku.board.model.LikelyValue;
+import project.sudoku.board.model.Sudoku;
+import project.sudoku.exception.ResourceLoadingException;
+
+/**
+ * Repair of values misread from a Sudoku image
+ * <p>
+ * When the scanned givens have no solution or more than one, a misread
+ * is most likely at one of the low confidence positions
+ * ({@link Sudoku#isLowConfidencePosition(int)}). Each of these positions
+ * may take its read value or one of the next k most likely values of the
+ * classifier ({@link Sudoku#getTopLikelyValues(int, int)}, read from the
+ * kept distribution without classifying again). Boards are checked
+ * best-first in decreasing product of confidences, and the first board
+ * with a unique solution is returned with the positions it corrected.
+ * </p>
+ * <p>
+ * Every combination of choices is generated once: a board is expanded by
+ * taking the next alternative at its last changed position or at any
+ * later position, which never increases the likelihood. The read value is
+ * not always the first option (the classifier may rank another digit
+ * higher), so a board may have more corrections than its expansions that
+ * move back to read values. A board is dropped only when none of its
+ * expansions can be within the maximum number of corrections, boards over
+ * the maximum are expanded but not checked. The search gives up after the
+ * maximum number of candidate boards.
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class ConfidenceRepair
+{
+    private static Logger logger = Logger.getLogger(ConfidenceRepair.class.getName());
+
+    // alternatives tried at each low confidence position
+    public static final int DEFAULT_TOP_K = 3;
+
+    // positions that may be corrected at the same time
+    public static final int DEFAULT_MAX_CORRECTIONS = 3;
+
+    // candidate boards checked before giving up
+    public static final int DEFAULT_MAX_CANDIDATES = 20000;
+
+    // lower bound of a confidence for its logarithm
+    private static final double MIN_CONFIDENCE = 1e-9;
+
+    private final SolverEngine engine;
+    private final int topK;
+    private final int maxCorrections;
+    private final int maxCandidates;
+
+    /**
+     * It creates a repair with default limits checking boards with the
+     * in-JVM {@link BitboardSolverEngine}
+     */
+    public ConfidenceRepair()
+    {
+        this(new BitboardSolverEngine(), DEFAULT_TOP_K, DEFAULT_MAX_CORRECTIONS, DEFAULT_MAX_CANDIDATES);
+    }
+
+    /**
+     * It creates a repair
+     * @param engine engine counting solutions of candidate boards
+     * @param topK alternatives tried at each low confidence position
+     * @param maxCorrections positions that may be corrected at the same time
+     * @param maxCandidates candidate boards checked before giving up
+     */
+    public ConfidenceRepair(SolverEngine engine, int topK, int maxCorrections, int maxCandidates)
+    {
+        this.engine = engine;
+        this.topK = topK;
+        this.maxCorrections = maxCorrections;
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * It finds the most likely givens with a unique solution. Only fixed
+     * values of the Sudoku are used, values set by the user are ignored.
+     * The Sudoku is not modified.
+     * @param sudoku scanned Sudoku
+     * @return unique, repaired or not repaired result
+     * @throws ResourceLoadingException when a resource of the engine could not be loaded
+     */
+    public RepairResult repair(Sudoku sudoku) throws ResourceLoadingException
+    {
+        int[] givens = new int[sudoku.getPositionCount()];
+        List<Choice> choices = new ArrayList<Choice>();
+        for(int position = 0; position < givens.length; position++)
+        {
+            if(sudoku.hasFixedValueAt(position))
+            {
+                givens[position] = Math.max(0, sudoku.getValueAt(position));
+                if(sudoku.isLowConfidencePosition(position))
+                    choices.add(new Choice(position, givens[position],
+                            sudoku.getTopLikelyValues(position, topK + 1)));
+            }
+        }
+
+        // read values first
+        double likelihood = 1;
+        for(Choice choice : choices)
+        {
+            likelihood *= choice.options.get(choice.readOption).getConfidence();
+        }
+
+        if(engine.countSolutions(givens, 2) == 1)
+        {
+            return new RepairResult(RepairResult.Status.UNIQUE, engine.solve(givens),
+                    Collections.<Integer, LikelyValue>emptyMap(), likelihood, 1);
+        }
+
+        // best-first over combinations of options, most likely first
+        PriorityQueue<Candidate> queue = new PriorityQueue<Candidate>(11, new Comparator<Candidate>()
+        {
+            @Override
+            public int compare(Candidate first, Candidate second)
+            {
+                return Double.compare(second.score, first.score);
+            }
+        });
+        queue.add(new Candidate(new int[choices.size()], 0, score(choices, new int[choices.size()])));
+
+        int candidateCount = 0;
+        int[] board = givens.clone();
+        while(!queue.isEmpty() && candidateCount < maxCandidates)
+        {
+            Candidate candidate = queue.poll();
+            int corrections = countCorrections(choices, candidate.options);
+
+            // the read board is already checked
+            if(corrections > 0 && corrections <= maxCorrections)
+            {
+                candidateCount++;
+                for(int index = 0; index < choices.size(); index++)
+                {
+                    Choice choice = choices.get(index);
+                    board[choice.position] = choice.options.get(candidate.options[index]).getValue();
+                }
+
+                if(engine.countSolutions(board, 2) == 1)
+                {
+                    return getRepairedResult(choices, candidate, board, candidateCount);
+                }
+            }
+
+            for(int index = candidate.pivot; index < choices.size(); index++)
+            {
+                if(candidate.options[index] + 1 < choices.get(index).options.size())
+                {
+                    int[] nextOptions = candidate.options.clone();
+                    nextOptions[index]++;
+                    if(countFinalCorrections(choices, nextOptions, index) <= maxCorrections)
+                        queue.add(new Candidate(nextOptions, index, score(choices, nextOptions)));
+                }
+            }
+        }
+
+        logger.info("No repair found after " + candidateCount + " candidate boards");
+        return new RepairResult(RepairResult.Status.NOT_REPAIRED, null,
+                Collections.<Integer, LikelyValue>emptyMap(), 0, candidateCount);
+    }
+
+    private RepairResult getRepairedResult(List<Choice> choices, Candidate candidate,
+            int[] board, int candidateCount) throws ResourceLoadingException
+    {
+        Map<Integer, LikelyValue> corrections = new LinkedHashMap<Integer, LikelyValue>();
+        double likelihood = 1;
+        for(int index = 0; index < choices.size(); index++)
+        {
+            Choice choice = choices.get(index);
+            LikelyValue option = choice.options.get(candidate.options[index]);
+            likelihood *= option.getConfidence();
+            if(candidate.options[index] != choice.readOption)
+                corrections.put(choice.position, option);
+        }
+
+        logger.info("Repaired " + corrections.size() + " values after "
+                + candidateCount + " candidate boards");
+        return new RepairResult(RepairResult.Status.REPAIRED, engine.solve(board),
+                corrections, likelihood, candidateCount);
+    }
+
+    private static int countCorrections(List<Choice> choices, int[] options)
+    {
+        int corrections = 0;
+        for(int index = 0; index < options.length; index++)
+        {
+            if(options[index] != choices.get(index).readOption)
+                corrections++;
+        }
+        return corrections;
+    }
+
+    // fewest corrections of a combination and of all its expansions, which
+    // keep options before the pivot and can only move later options past
+    // their read options
+    private static int countFinalCorrections(List<Choice> choices, int[] options, int pivot)
+    {
+        int corrections = 0;
+        for(int index = 0; index < options.length; index++)
+        {
+            int readOption = choices.get(index).readOption;
+            if(index < pivot ? options[index] != readOption : options[index] > readOption)
+                corrections++;
+        }
+        return corrections;
+    }
+
+    // log likelihood of a combination of options
+    private static double score(List<Choice> choices, int[] options)
+    {
+        double score = 0;
+        for(int index = 0; index < options.length; index++)
+        {
+            double confidence = choices.get(index).options.get(options[index]).getConfidence();
+            score += Math.log(Math.max(confidence, MIN_CONFIDENCE));
+        }
+        return score;
+    }
+
+    /**
+     * Options of one low confidence position in decreasing confidence
+     */
+    private static class Choice
+    {
+        private final int position;
+        private final List<LikelyValue> options = new ArrayList<LikelyValue>();
+        private final int readOption;
+
+        private Choice(int position, int readValue, List<LikelyValue> topLikelyValues)
+        {
+            this.position = position;
+            int read = -1;
+            for(LikelyValue topLikelyValue : topLikelyValues)
+            {
+                if(topLikelyValue.getValue() == readValue)
+                    read = options.size();
+                options.add(topLikelyValue);
+            }
+
+            // read value even if it is not among the most likely values
+            if(read < 0)
+            {
+                read = options.size();
+                options.add(new LikelyValue(readValue, 0, 0));
+            }
+            LikelyValue readOptionValue = options.get(read);
+
+            Collections.sort(options, new Comparator<LikelyValue>()
+            {
+                @Override
+                public int compare(LikelyValue first, LikelyValue second)
+                {
+                    return Double.compare(second.getConfidence(), first.getConfidence());
+                }
+            });
+            this.readOption = options.indexOf(readOptionValue);
+        }
+    }
+
+    /**
+     * One combination of options and the position it was expanded at
+     */
+    private static class Candidate
+    {
+        private final int[] options;
+        private final int pivot;
+        private final double score;
+
+        private Candidate(int[] options, int pivot, double score)
+        {
+            this.options = options;
+            this.pivot = pivot;
+            this.score = score;
+        }
+    }
+}
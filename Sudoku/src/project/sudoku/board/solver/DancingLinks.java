@@ -0,0 +1,389 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+/**
+ * Exact cover matrix of Sudoku for Knuth's Algorithm X with Dancing Links
+ * <p>
+ * There are 729 rows, one for each digit at each position, and 324 columns for
+ * the constraints - a position has one digit, and a digit appears once in
+ * each row, column and box. Every matrix row has exactly 4 nodes.
+ * </p>
+ * <p>
+ * Links are kept in int arrays instead of node objects. The fully linked
+ * matrix is built once and copied back into working arrays by {@link #reset()},
+ * so the matrix is reused between puzzles without allocating. The search keeps
+ * its choices in an explicit stack and can be resumed with
+ * {@link #nextSolution()} to enumerate solutions one after another.
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+class DancingLinks
+{
+    private static final int COLUMNS = 324;
+    private static final int ROWS = 729;
+
+    // column headers are nodes 0-323, root is node 324 and row nodes follow
+    private static final int ROOT = COLUMNS;
+    private static final int FIRST_ROW_NODE = ROOT + 1;
+    private static final int NODES = FIRST_ROW_NODE + 4*ROWS;
+
+    // links of fully linked matrix
+    private static final int[] INITIAL_LEFT = new int[NODES];
+    private static final int[] INITIAL_RIGHT = new int[NODES];
+    private static final int[] INITIAL_UP = new int[NODES];
+    private static final int[] INITIAL_DOWN = new int[NODES];
+    private static final int[] INITIAL_SIZE = new int[COLUMNS];
+
+    // column header of each node
+    private static final int[] COLUMN = new int[NODES];
+
+    static
+    {
+        // circular list of column headers with root
+        for(int node = 0; node <= ROOT; node++)
+        {
+            INITIAL_LEFT[node] = node == 0 ? ROOT : node - 1;
+            INITIAL_RIGHT[node] = node == ROOT ? 0 : node + 1;
+            INITIAL_UP[node] = node;
+            INITIAL_DOWN[node] = node;
+            COLUMN[node] = node;
+        }
+
+        for(int row = 0; row < ROWS; row++)
+        {
+            int position = row / 9, digit = row % 9;
+            int[] columns = {
+                    position,
+                    81 + 9*BitboardSolverEngine.ROW_OF[position] + digit,
+                    162 + 9*BitboardSolverEngine.COL_OF[position] + digit,
+                    243 + 9*BitboardSolverEngine.BOX_OF[position] + digit};
+
+            int firstNode = FIRST_ROW_NODE + 4*row;
+            for(int k = 0; k < 4; k++)
+            {
+                int node = firstNode + k;
+                int column = columns[k];
+
+                // circular list of nodes in a row
+                INITIAL_LEFT[node] = firstNode + (k + 3) % 4;
+                INITIAL_RIGHT[node] = firstNode + (k + 1) % 4;
+
+                // append node at the bottom of its column
+                COLUMN[node] = column;
+                INITIAL_UP[node] = INITIAL_UP[column];
+                INITIAL_DOWN[node] = column;
+                INITIAL_DOWN[INITIAL_UP[column]] = node;
+                INITIAL_UP[column] = node;
+                INITIAL_SIZE[column]++;
+            }
+        }
+    }
+
+    // working links
+    private final int[] left = new int[NODES];
+    private final int[] right = new int[NODES];
+    private final int[] up = new int[NODES];
+    private final int[] down = new int[NODES];
+    private final int[] size = new int[COLUMNS];
+
+    // rows selected for given values and their count
+    private final int[] givenRows = new int[81];
+    private int givenCount = 0;
+
+    // chosen column and node at each search level
+    private final int[] levelColumn = new int[82];
+    private final int[] levelNode = new int[82];
+    private int level = 0;
+
+    // steps between checks of a solve control
+    private static final int CONTROL_CHECK_INTERVAL = 1024;
+
+    // state of the search
+    private boolean started = false;
+    private boolean exhausted = false;
+    private boolean interrupted = false;
+
+    // statistics of the search since the last reset
+    private long nodeCount = 0;
+    private long backtrackCount = 0;
+    private long coverCount = 0;
+    private int maxLevel = 0;
+
+    /**
+     * It resets the matrix to its fully linked state
+     */
+    void reset()
+    {
+        System.arraycopy(INITIAL_LEFT, 0, left, 0, NODES);
+        System.arraycopy(INITIAL_RIGHT, 0, right, 0, NODES);
+        System.arraycopy(INITIAL_UP, 0, up, 0, NODES);
+        System.arraycopy(INITIAL_DOWN, 0, down, 0, NODES);
+        System.arraycopy(INITIAL_SIZE, 0, size, 0, COLUMNS);
+
+        givenCount = 0;
+        level = 0;
+        started = false;
+        exhausted = false;
+        interrupted = false;
+        nodeCount = backtrackCount = coverCount = 0;
+        maxLevel = 0;
+    }
+
+    /**
+     * It resets the matrix and selects rows of given values of a grid
+     * @param grid 81 values (values less than 1 are empty)
+     * @return false if given values contradict each other
+     */
+    boolean load(int[] grid)
+    {
+        reset();
+        for(int position = 0; position < 81; position++)
+        {
+            int value = grid[position];
+            if(value < 1)
+                continue;
+
+            if(value > 9 || !selectRow(9*position + value - 1))
+            {
+                exhausted = true;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * It finds the next solution. The first call starts the search and
+     * later calls resume it after the previous solution.
+     * @return false if there are no more solutions
+     */
+    boolean nextSolution()
+    {
+        return nextSolution(null);
+    }
+
+    /**
+     * It finds the next solution until the control stops the search.
+     * A stopped search can not be resumed.
+     * @param control control of the search or null
+     * @return false if there are no more solutions or the search was stopped
+     * @see #isInterrupted()
+     */
+    boolean nextSolution(SolveControl control)
+    {
+        if(exhausted)
+            return false;
+
+        boolean forward = !started;
+        started = true;
+
+        int steps = 0;
+        while(true)
+        {
+            if(control != null && ++steps % CONTROL_CHECK_INTERVAL == 0 && control.isStopped())
+            {
+                interrupted = true;
+                exhausted = true;
+                return false;
+            }
+
+            if(forward)
+            {
+                // all columns are covered, this is a solution
+                if(right[ROOT] == ROOT)
+                    return true;
+
+                int column = chooseColumn();
+                if(size[column] == 0)
+                {
+                    forward = false;
+                    continue;
+                }
+
+                cover(column);
+                coverCount++;
+                levelColumn[level] = column;
+                levelNode[level] = down[column];
+            }
+            else
+            {
+                // backtrack to previous level and undo its row
+                if(level == 0)
+                {
+                    exhausted = true;
+                    return false;
+                }
+
+                level--;
+                backtrackCount++;
+                int node = levelNode[level];
+                for(int other = left[node]; other != node; other = left[other])
+                {
+                    uncover(COLUMN[other]);
+                }
+                levelNode[level] = down[node];
+            }
+
+            // try the current row of this level
+            int node = levelNode[level];
+            int column = levelColumn[level];
+            if(node == column)
+            {
+                // no more rows in this column
+                uncover(column);
+                forward = false;
+                continue;
+            }
+
+            for(int other = right[node]; other != node; other = right[other])
+            {
+                cover(COLUMN[other]);
+            }
+            nodeCount++;
+            coverCount += 3;
+            level++;
+            if(level > maxLevel)
+                maxLevel = level;
+            forward = true;
+        }
+    }
+
+    /**
+     * @return true if the last search was stopped by its control
+     */
+    boolean isInterrupted()
+    {
+        return interrupted;
+    }
+
+    /**
+     * It returns statistics of the search since the matrix was loaded, where
+     * a node is a row tried, a backtrack is a row undone and propagation
+     * steps are columns covered
+     * @param engineName name of the engine
+     * @param startNanos {@link System#nanoTime()} at start
+     * @param startCpuNanos {@link SolveStatistics#getCpuTime()} at start
+     * @return statistics of the search
+     */
+    SolveStatistics getStatistics(String engineName, long startNanos, long startCpuNanos)
+    {
+        long cpuNanos = startCpuNanos < 0 ? -1 : SolveStatistics.getCpuTime() - startCpuNanos;
+        return new SolveStatistics(engineName, nodeCount, backtrackCount, coverCount, maxLevel,
+                -1, System.nanoTime() - startNanos, cpuNanos);
+    }
+
+    /**
+     * It writes given values and values of the current solution to a grid
+     * @param grid grid of 81 values to be filled
+     */
+    void fillSolution(int[] grid)
+    {
+        for(int index = 0; index < givenCount; index++)
+        {
+            setRow(grid, givenRows[index]);
+        }
+        for(int index = 0; index < level; index++)
+        {
+            setRow(grid, (levelNode[index] - FIRST_ROW_NODE) / 4);
+        }
+    }
+
+    /**
+     * It returns number of rows selected by the search so far
+     * @return current search level
+     */
+    int getLevel()
+    {
+        return level;
+    }
+
+    private static void setRow(int[] grid, int row)
+    {
+        grid[row / 9] = row % 9 + 1;
+    }
+
+    // selects a row by covering all its columns
+    private boolean selectRow(int row)
+    {
+        int firstNode = FIRST_ROW_NODE + 4*row;
+        for(int k = 0; k < 4; k++)
+        {
+            // row is not available when one of its columns is already covered
+            int column = COLUMN[firstNode + k];
+            if(right[left[column]] != column)
+                return false;
+        }
+
+        for(int k = 0; k < 4; k++)
+        {
+            cover(COLUMN[firstNode + k]);
+        }
+        givenRows[givenCount++] = row;
+        return true;
+    }
+
+    // column with the fewest rows left
+    private int chooseColumn()
+    {
+        int bestColumn = right[ROOT];
+        int bestSize = size[bestColumn];
+        for(int column = right[bestColumn]; column != ROOT && bestSize > 1; column = right[column])
+        {
+            if(size[column] < bestSize)
+            {
+                bestColumn = column;
+                bestSize = size[column];
+            }
+        }
+        return bestColumn;
+    }
+
+    private void cover(int column)
+    {
+        right[left[column]] = right[column];
+        left[right[column]] = left[column];
+        for(int rowNode = down[column]; rowNode != column; rowNode = down[rowNode])
+        {
+            for(int node = right[rowNode]; node != rowNode; node = right[node])
+            {
+                down[up[node]] = down[node];
+                up[down[node]] = up[node];
+                size[COLUMN[node]]--;
+            }
+        }
+    }
+
+    private void uncover(int column)
+    {
+        for(int rowNode = up[column]; rowNode != column; rowNode = up[rowNode])
+        {
+            for(int node = left[rowNode]; node != rowNode; node = left[node])
+            {
+                size[COLUMN[node]]++;
+                down[up[node]] = node;
+                up[down[node]] = node;
+            }
+        }
+        right[left[column]] = column;
+        left[right[column]] = column;
+    }
+}
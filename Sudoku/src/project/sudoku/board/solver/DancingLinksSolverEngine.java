@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Solver engine that solves Sudoku as an exact cover problem
+ * <p>
+ * It uses Knuth's Algorithm X on a {@link DancingLinks} matrix, choosing the
+ * constraint column with fewest remaining rows at each step. The matrix is
+ * allocated once per engine and reset for every puzzle. Solving methods are
+ * synchronized as the matrix is shared by all calls on an instance.
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class DancingLinksSolverEngine implements SolverEngine
+{
+    // name of this engine
+    public static final String NAME = "dlx";
+
+    private final DancingLinks dancingLinks = new DancingLinks();
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public synchronized int[] solve(int[] grid)
+    {
+        BitboardSolverEngine.checkGrid(grid);
+
+        if(!dancingLinks.load(grid) || !dancingLinks.nextSolution())
+            return null;
+
+        int[] solvedGrid = new int[81];
+        dancingLinks.fillSolution(solvedGrid);
+        return solvedGrid;
+    }
+
+    @Override
+    public synchronized SolveResult solve(int[] grid, SolveControl control)
+    {
+        BitboardSolverEngine.checkGrid(grid);
+
+        if(control.isStopped())
+            return SolveResult.stopped(control);
+
+        long startNanos = System.nanoTime(), startCpuNanos = SolveStatistics.getCpuTime();
+        SolveResult result;
+        if(dancingLinks.load(grid) && dancingLinks.nextSolution(control))
+        {
+            int[] solvedGrid = new int[81];
+            dancingLinks.fillSolution(solvedGrid);
+            result = new SolveResult(SolveResult.Status.SOLVED, solvedGrid);
+        }
+        else if(dancingLinks.isInterrupted())
+        {
+            result = SolveResult.stopped(control);
+        }
+        else
+        {
+            result = new SolveResult(SolveResult.Status.UNSOLVABLE, null);
+        }
+        return result.withStatistics(dancingLinks.getStatistics(NAME, startNanos, startCpuNanos));
+    }
+
+    @Override
+    public synchronized int countSolutions(int[] grid, int limit)
+    {
+        BitboardSolverEngine.checkGrid(grid);
+
+        int count = 0;
+        if(dancingLinks.load(grid))
+        {
+            while(count < limit && dancingLinks.nextSolution())
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Solutions are enumerated on a matrix of the iterator, so iterating
+     * does not block other calls on this engine
+     */
+    @Override
+    public SolutionIterator iterateSolutions(int[] grid)
+    {
+        BitboardSolverEngine.checkGrid(grid);
+
+        final DancingLinks solutionLinks = new DancingLinks();
+        final boolean loaded = solutionLinks.load(grid);
+        return new SolutionIterator()
+        {
+            @Override
+            protected int[] findNext()
+            {
+                if(!loaded || !solutionLinks.nextSolution())
+                    return null;
+
+                int[] solvedGrid = new int[81];
+                solutionLinks.fillSolution(solvedGrid);
+                return solvedGrid;
+            }
+        };
+    }
+
+    /**
+     * It finds solutions of a grid and stops when limit is reached
+     * @param grid 81 values (values less than 1 are empty)
+     * @param limit maximum number of solutions to be found
+     * @return list of solved grids, at most limit
+     */
+    public synchronized List<int[]> findSolutions(int[] grid, int limit)
+    {
+        BitboardSolverEngine.checkGrid(grid);
+
+        List<int[]> solutions = new ArrayList<int[]>();
+        if(dancingLinks.load(grid))
+        {
+            while(solutions.size() < limit && dancingLinks.nextSolution())
+            {
+                int[] solvedGrid = new int[81];
+                dancingLinks.fillSolution(solvedGrid);
+                solutions.add(solvedGrid);
+            }
+        }
+        return solutions;
+    }
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import project.sudoku.board.solver.DifficultyGrader.Technique;
+
+/**
+ * Container class for the difficulty of a Sudoku
+ * <p>
+ * It stores the hardest technique a human solver needs, the {@link Level}
+ * of that technique and how many times each technique made progress
+ * while grading.
+ * </p>
+ *
+ * @see DifficultyGrader
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class DifficultyGrade
+{
+    /**
+     * Difficulty level of a Sudoku, from its hardest technique
+     */
+    public enum Level
+    {
+        // singles only
+        EASY,
+        // locked candidates, naked and hidden pairs
+        MEDIUM,
+        // naked and hidden triples, X-wing
+        HARD,
+        // swordfish, XY-wing
+        EXPERT,
+        // XY-chains
+        EXTREME,
+        // none of the techniques made progress, guessing is needed
+        GUESSING,
+        // the givens contradict each other
+        INVALID
+    }
+
+    private final Level level;
+    private final Technique hardestTechnique;
+    private final int[] techniqueUses;
+
+    /**
+     * The constructor for creating a grade
+     * @param level level of the Sudoku
+     * @param hardestTechnique hardest technique needed or null if no technique was needed
+     * @param techniqueUses number of times each technique made progress, by ordinal
+     */
+    public DifficultyGrade(Level level, Technique hardestTechnique, int[] techniqueUses)
+    {
+        this.level = level;
+        this.hardestTechnique = hardestTechnique;
+        this.techniqueUses = techniqueUses;
+    }
+
+    /**
+     * @return level of the Sudoku
+     */
+    public Level getLevel()
+    {
+        return level;
+    }
+
+    /**
+     * @return hardest technique needed, or null if the grid was already
+     * solved or is invalid
+     */
+    public Technique getHardestTechnique()
+    {
+        return hardestTechnique;
+    }
+
+    /**
+     * @param technique a technique
+     * @return number of times the technique made progress
+     */
+    public int getUses(Technique technique)
+    {
+        return techniqueUses[technique.ordinal()];
+    }
+
+    /**
+     * @return true if the Sudoku was solved by the techniques without guessing
+     */
+    public boolean isSolvedByLogic()
+    {
+        return level != Level.GUESSING && level != Level.INVALID;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "DifficultyGrade [level=" + level + ", hardestTechnique=" + hardestTechnique + "]";
+    }
+}
@@ -0,0 +1,825 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import project.sudoku.board.solver.DifficultyGrade.Level;
+
+/**
+ * Grader rating 9x9 Sudoku by the human solving techniques they need
+ * <p>
+ * Candidates of each position are kept in a 9 bit mask like in
+ * {@link BitboardSolverEngine}. Techniques are tried in increasing order of
+ * cost, and after any technique makes progress (places a value or removes a
+ * candidate) grading starts again with the easiest one. The hardest technique
+ * used gives the {@link Level}. When no technique makes progress the Sudoku
+ * needs guessing (also for grids with more than one solution).
+ * </p>
+ * <p>
+ * Calls, successful calls and time spent in each technique are counted per
+ * grader. A grader is not thread safe, {@link #gradeAll(List, int)} grades on
+ * several threads with a grader for each thread and adds up their counters.
+ * </p>
+ *
+ * @see SudokuSolver#grade(project.sudoku.board.model.Sudoku)
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class DifficultyGrader
+{
+    /**
+     * Human solving techniques in increasing order of difficulty
+     */
+    public enum Technique
+    {
+        NAKED_SINGLE(Level.EASY),
+        HIDDEN_SINGLE(Level.EASY),
+        LOCKED_CANDIDATES(Level.MEDIUM),
+        NAKED_PAIR(Level.MEDIUM),
+        HIDDEN_PAIR(Level.MEDIUM),
+        NAKED_TRIPLE(Level.HARD),
+        HIDDEN_TRIPLE(Level.HARD),
+        X_WING(Level.HARD),
+        SWORDFISH(Level.EXPERT),
+        XY_WING(Level.EXPERT),
+        XY_CHAIN(Level.EXTREME);
+
+        private final Level level;
+
+        private Technique(Level level)
+        {
+            this.level = level;
+        }
+
+        /**
+         * @return level of a Sudoku needing this technique
+         */
+        public Level getLevel()
+        {
+            return level;
+        }
+    }
+
+    // longest XY-chain searched, in positions
+    private static final int MAX_CHAIN_LENGTH = 10;
+
+    private static final Technique[] TECHNIQUES = Technique.values();
+
+    // the 20 positions sharing a row, column or box with each position
+    private static final int[][] PEERS = new int[81][20];
+    private static final boolean[][] IS_PEER = new boolean[81][81];
+
+    static
+    {
+        for(int position = 0; position < 81; position++)
+        {
+            int count = 0;
+            for(int other = 0; other < 81; other++)
+            {
+                if(other != position && (BitboardSolverEngine.ROW_OF[other] == BitboardSolverEngine.ROW_OF[position]
+                        || BitboardSolverEngine.COL_OF[other] == BitboardSolverEngine.COL_OF[position]
+                        || BitboardSolverEngine.BOX_OF[other] == BitboardSolverEngine.BOX_OF[position]))
+                {
+                    PEERS[position][count++] = other;
+                    IS_PEER[position][other] = true;
+                }
+            }
+        }
+    }
+
+    // state of the grid being graded
+    private final int[] values = new int[81];
+    private final int[] candidates = new int[81];
+    private int emptyCount = 0;
+
+    // XY-chain search state
+    private final boolean[] inChain = new boolean[81];
+
+    // counters of each technique
+    private final long[] calls = new long[TECHNIQUES.length];
+    private final long[] successes = new long[TECHNIQUES.length];
+    private final long[] nanos = new long[TECHNIQUES.length];
+
+    /**
+     * It grades a Sudoku
+     * @param grid 81 values (values less than 1 are empty)
+     * @return grade of the Sudoku
+     */
+    public DifficultyGrade grade(int[] grid)
+    {
+        BitboardSolverEngine.checkGrid(grid);
+
+        int[] uses = new int[TECHNIQUES.length];
+        if(!load(grid))
+            return new DifficultyGrade(Level.INVALID, null, uses);
+
+        Technique hardest = null;
+        while(emptyCount > 0)
+        {
+            Technique applied = null;
+            for(Technique technique : TECHNIQUES)
+            {
+                long startTime = System.nanoTime();
+                int progress = apply(technique);
+                nanos[technique.ordinal()] += System.nanoTime() - startTime;
+                calls[technique.ordinal()]++;
+
+                if(progress < 0)
+                    return new DifficultyGrade(Level.INVALID, hardest, uses);
+
+                if(progress > 0)
+                {
+                    successes[technique.ordinal()]++;
+                    uses[technique.ordinal()]++;
+                    applied = technique;
+                    break;
+                }
+            }
+
+            if(applied == null)
+                return new DifficultyGrade(Level.GUESSING, hardest, uses);
+
+            if(hardest == null || applied.ordinal() > hardest.ordinal())
+                hardest = applied;
+        }
+        return new DifficultyGrade(hardest == null ? Level.EASY : hardest.getLevel(), hardest, uses);
+    }
+
+    /**
+     * It grades Sudoku on several threads, counters of the worker graders
+     * are added to the counters of this grader
+     * @param grids grids of 81 values
+     * @param threads number of threads
+     * @return grade of each grid in the same order
+     * @throws InterruptedException when the calling thread is interrupted
+     */
+    public List<DifficultyGrade> gradeAll(final List<int[]> grids, int threads) throws InterruptedException
+    {
+        final DifficultyGrade[] grades = new DifficultyGrade[grids.size()];
+        final AtomicInteger nextIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try
+        {
+            List<Future<DifficultyGrader>> futures = new ArrayList<Future<DifficultyGrader>>(threads);
+            for(int worker = 0; worker < threads; worker++)
+            {
+                futures.add(executor.submit(new java.util.concurrent.Callable<DifficultyGrader>()
+                {
+                    @Override
+                    public DifficultyGrader call()
+                    {
+                        DifficultyGrader grader = new DifficultyGrader();
+                        for(int index = nextIndex.getAndIncrement(); index < grades.length;
+                                index = nextIndex.getAndIncrement())
+                        {
+                            grades[index] = grader.grade(grids.get(index));
+                        }
+                        return grader;
+                    }
+                }));
+            }
+
+            for(Future<DifficultyGrader> future : futures)
+            {
+                try
+                {
+                    addCounters(future.get());
+                }
+                catch (ExecutionException e)
+                {
+                    if(e.getCause() instanceof RuntimeException)
+                        throw (RuntimeException) e.getCause();
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        return Arrays.asList(grades);
+    }
+
+    /**
+     * @param technique a technique
+     * @return number of times the technique was tried
+     */
+    public long getCalls(Technique technique)
+    {
+        return calls[technique.ordinal()];
+    }
+
+    /**
+     * @param technique a technique
+     * @return number of times the technique made progress
+     */
+    public long getSuccesses(Technique technique)
+    {
+        return successes[technique.ordinal()];
+    }
+
+    /**
+     * @param technique a technique
+     * @return nanoseconds spent in the technique
+     */
+    public long getNanos(Technique technique)
+    {
+        return nanos[technique.ordinal()];
+    }
+
+    /**
+     * It clears counters of all techniques
+     */
+    public void resetCounters()
+    {
+        Arrays.fill(calls, 0);
+        Arrays.fill(successes, 0);
+        Arrays.fill(nanos, 0);
+    }
+
+    /**
+     * It prints counters of all techniques
+     * @param out stream to print to
+     */
+    public void printCounters(PrintStream out)
+    {
+        out.printf("%-18s %12s %12s %10s %10s%n", "Technique", "Calls", "Successes", "Total ms", "ns/call");
+        for(Technique technique : TECHNIQUES)
+        {
+            int index = technique.ordinal();
+            out.printf("%-18s %12d %12d %10.1f %10.0f%n", technique, calls[index], successes[index],
+                    nanos[index] / 1e6, calls[index] == 0 ? 0.0 : (double) nanos[index] / calls[index]);
+        }
+    }
+
+    private void addCounters(DifficultyGrader other)
+    {
+        for(int index = 0; index < TECHNIQUES.length; index++)
+        {
+            calls[index] += other.calls[index];
+            successes[index] += other.successes[index];
+            nanos[index] += other.nanos[index];
+        }
+    }
+
+    // sets values and candidates of the grid, false if givens contradict
+    private boolean load(int[] grid)
+    {
+        emptyCount = 81;
+        for(int position = 0; position < 81; position++)
+        {
+            values[position] = 0;
+            candidates[position] = BitboardSolverEngine.ALL_DIGITS;
+        }
+
+        for(int position = 0; position < 81; position++)
+        {
+            int value = grid[position];
+            if(value < 1)
+                continue;
+
+            int bit = 1 << (value - 1);
+            if(value > 9 || (candidates[position] & bit) == 0)
+                return false;
+            place(position, bit);
+        }
+        return true;
+    }
+
+    private void place(int position, int bit)
+    {
+        values[position] = Integer.numberOfTrailingZeros(bit) + 1;
+        candidates[position] = 0;
+        emptyCount--;
+        for(int peer : PEERS[position])
+        {
+            candidates[peer] &= ~bit;
+        }
+    }
+
+    // applies a technique, returns progress made or -1 for a contradiction
+    private int apply(Technique technique)
+    {
+        switch(technique)
+        {
+            case NAKED_SINGLE:
+                return nakedSingles();
+            case HIDDEN_SINGLE:
+                return hiddenSingles();
+            case LOCKED_CANDIDATES:
+                return lockedCandidates();
+            case NAKED_PAIR:
+                return nakedSubset(2);
+            case HIDDEN_PAIR:
+                return hiddenSubset(2);
+            case NAKED_TRIPLE:
+                return nakedSubset(3);
+            case HIDDEN_TRIPLE:
+                return hiddenSubset(3);
+            case X_WING:
+                return fish(2);
+            case SWORDFISH:
+                return fish(3);
+            case XY_WING:
+                return xyWing();
+            case XY_CHAIN:
+                return xyChain();
+            default:
+                return 0;
+        }
+    }
+
+    // places every position with a single candidate
+    private int nakedSingles()
+    {
+        int placed = 0;
+        for(int position = 0; position < 81; position++)
+        {
+            if(values[position] == 0)
+            {
+                int mask = candidates[position];
+                if(mask == 0)
+                    return -1;
+
+                if((mask & (mask - 1)) == 0)
+                {
+                    place(position, mask);
+                    placed++;
+                }
+            }
+        }
+        return placed;
+    }
+
+    // places every digit that has a single position in a unit
+    private int hiddenSingles()
+    {
+        int placed = 0;
+        for(int[] unit : BitboardSolverEngine.UNITS)
+        {
+            int once = 0, twice = 0, used = 0;
+            for(int position : unit)
+            {
+                if(values[position] != 0)
+                {
+                    used |= 1 << (values[position] - 1);
+                }
+                else
+                {
+                    twice |= once & candidates[position];
+                    once |= candidates[position];
+                }
+            }
+
+            // some digit has no place left in this unit
+            if((once | used) != BitboardSolverEngine.ALL_DIGITS)
+                return -1;
+
+            int singles = once & ~twice;
+            while(singles != 0)
+            {
+                int bit = singles & -singles;
+                singles ^= bit;
+
+                boolean found = false;
+                for(int position : unit)
+                {
+                    if((candidates[position] & bit) != 0)
+                    {
+                        place(position, bit);
+                        placed++;
+                        found = true;
+                        break;
+                    }
+                }
+
+                // one position was the only place for two digits
+                if(!found)
+                    return -1;
+            }
+        }
+        return placed;
+    }
+
+    // digits of a box confined to one line, or of a line confined to one box
+    private int lockedCandidates()
+    {
+        int eliminated = 0;
+        for(int unit = 0; unit < 27; unit++)
+        {
+            for(int bit = 1; bit < BitboardSolverEngine.ALL_DIGITS; bit <<= 1)
+            {
+                int rows = 0, cols = 0, boxes = 0;
+                for(int position : BitboardSolverEngine.UNITS[unit])
+                {
+                    if((candidates[position] & bit) != 0)
+                    {
+                        rows |= 1 << BitboardSolverEngine.ROW_OF[position];
+                        cols |= 1 << BitboardSolverEngine.COL_OF[position];
+                        boxes |= 1 << BitboardSolverEngine.BOX_OF[position];
+                    }
+                }
+                if(rows == 0)
+                    continue;
+
+                if(unit >= 18)
+                {
+                    // pointing, box digits in one row or column
+                    if(Integer.bitCount(rows) == 1)
+                        eliminated += eliminateOutside(Integer.numberOfTrailingZeros(rows), unit, bit);
+                    if(Integer.bitCount(cols) == 1)
+                        eliminated += eliminateOutside(9 + Integer.numberOfTrailingZeros(cols), unit, bit);
+                }
+                else if(Integer.bitCount(boxes) == 1)
+                {
+                    // claiming, line digits in one box
+                    eliminated += eliminateOutside(18 + Integer.numberOfTrailingZeros(boxes), unit, bit);
+                }
+
+                if(eliminated > 0)
+                    return eliminated;
+            }
+        }
+        return 0;
+    }
+
+    // removes candidate bit from positions of a unit that are not in another unit
+    private int eliminateOutside(int unit, int excludedUnit, int bit)
+    {
+        int eliminated = 0;
+        for(int position : BitboardSolverEngine.UNITS[unit])
+        {
+            if(!isInUnit(position, excludedUnit) && (candidates[position] & bit) != 0)
+            {
+                candidates[position] &= ~bit;
+                eliminated++;
+            }
+        }
+        return eliminated;
+    }
+
+    private static boolean isInUnit(int position, int unit)
+    {
+        if(unit < 9)
+            return BitboardSolverEngine.ROW_OF[position] == unit;
+        if(unit < 18)
+            return BitboardSolverEngine.COL_OF[position] == unit - 9;
+        return BitboardSolverEngine.BOX_OF[position] == unit - 18;
+    }
+
+    // k positions of a unit with only k candidates together
+    private int nakedSubset(int k)
+    {
+        int[] indexes = new int[9];
+        for(int unit = 0; unit < 27; unit++)
+        {
+            int[] positions = BitboardSolverEngine.UNITS[unit];
+            int count = 0;
+            for(int index = 0; index < 9; index++)
+            {
+                int size = Integer.bitCount(candidates[positions[index]]);
+                if(size >= 2 && size <= k)
+                    indexes[count++] = index;
+            }
+
+            for(int a = 0; a < count; a++)
+            {
+                for(int b = a + 1; b < count; b++)
+                {
+                    int pairMask = candidates[positions[indexes[a]]] | candidates[positions[indexes[b]]];
+                    int pairIndexes = (1 << indexes[a]) | (1 << indexes[b]);
+                    if(k == 2)
+                    {
+                        if(Integer.bitCount(pairMask) == 2)
+                        {
+                            int eliminated = eliminateInUnit(unit, pairMask, pairIndexes);
+                            if(eliminated > 0)
+                                return eliminated;
+                        }
+                        continue;
+                    }
+
+                    for(int c = b + 1; c < count; c++)
+                    {
+                        int tripleMask = pairMask | candidates[positions[indexes[c]]];
+                        if(Integer.bitCount(tripleMask) == 3)
+                        {
+                            int eliminated = eliminateInUnit(unit, tripleMask, pairIndexes | (1 << indexes[c]));
+                            if(eliminated > 0)
+                                return eliminated;
+                        }
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    // removes digits from positions of a unit except those at kept indexes
+    private int eliminateInUnit(int unit, int digitMask, int keptIndexes)
+    {
+        int eliminated = 0;
+        int[] positions = BitboardSolverEngine.UNITS[unit];
+        for(int index = 0; index < 9; index++)
+        {
+            int position = positions[index];
+            if((keptIndexes & (1 << index)) == 0 && (candidates[position] & digitMask) != 0)
+            {
+                candidates[position] &= ~digitMask;
+                eliminated++;
+            }
+        }
+        return eliminated;
+    }
+
+    // k digits of a unit confined to k positions
+    private int hiddenSubset(int k)
+    {
+        int[] places = new int[9];
+        int[] digits = new int[9];
+        for(int unit = 0; unit < 27; unit++)
+        {
+            int[] positions = BitboardSolverEngine.UNITS[unit];
+            int count = 0;
+            for(int digit = 0; digit < 9; digit++)
+            {
+                int place = 0;
+                for(int index = 0; index < 9; index++)
+                {
+                    if((candidates[positions[index]] & (1 << digit)) != 0)
+                        place |= 1 << index;
+                }
+
+                int size = Integer.bitCount(place);
+                if(size >= 1 && size <= k)
+                {
+                    places[count] = place;
+                    digits[count++] = digit;
+                }
+            }
+
+            for(int a = 0; a < count; a++)
+            {
+                for(int b = a + 1; b < count; b++)
+                {
+                    int pairPlaces = places[a] | places[b];
+                    int pairDigits = (1 << digits[a]) | (1 << digits[b]);
+                    if(k == 2)
+                    {
+                        if(Integer.bitCount(pairPlaces) == 2)
+                        {
+                            int eliminated = keepInUnit(unit, pairDigits, pairPlaces);
+                            if(eliminated > 0)
+                                return eliminated;
+                        }
+                        continue;
+                    }
+
+                    for(int c = b + 1; c < count; c++)
+                    {
+                        int triplePlaces = pairPlaces | places[c];
+                        if(Integer.bitCount(triplePlaces) == 3)
+                        {
+                            int eliminated = keepInUnit(unit, pairDigits | (1 << digits[c]), triplePlaces);
+                            if(eliminated > 0)
+                                return eliminated;
+                        }
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    // keeps only the given digits at positions of a unit with given indexes
+    private int keepInUnit(int unit, int digitMask, int indexes)
+    {
+        int eliminated = 0;
+        int[] positions = BitboardSolverEngine.UNITS[unit];
+        for(int index = 0; index < 9; index++)
+        {
+            int position = positions[index];
+            if((indexes & (1 << index)) != 0 && (candidates[position] & ~digitMask) != 0)
+            {
+                candidates[position] &= digitMask;
+                eliminated++;
+            }
+        }
+        return eliminated;
+    }
+
+    // X-wing (k = 2) and swordfish (k = 3), by rows and by columns
+    private int fish(int k)
+    {
+        int[] lines = new int[9];
+        int[] crosses = new int[9];
+        for(int bit = 1; bit < BitboardSolverEngine.ALL_DIGITS; bit <<= 1)
+        {
+            for(int byColumns = 0; byColumns < 2; byColumns++)
+            {
+                int count = 0;
+                for(int line = 0; line < 9; line++)
+                {
+                    int cross = 0;
+                    for(int index = 0; index < 9; index++)
+                    {
+                        int position = byColumns == 0 ? 9*line + index : 9*index + line;
+                        if((candidates[position] & bit) != 0)
+                            cross |= 1 << index;
+                    }
+
+                    int size = Integer.bitCount(cross);
+                    if(size >= 2 && size <= k)
+                    {
+                        lines[count] = line;
+                        crosses[count++] = cross;
+                    }
+                }
+
+                for(int a = 0; a < count; a++)
+                {
+                    for(int b = a + 1; b < count; b++)
+                    {
+                        int pairCross = crosses[a] | crosses[b];
+                        int pairLines = (1 << lines[a]) | (1 << lines[b]);
+                        if(k == 2)
+                        {
+                            if(Integer.bitCount(pairCross) == 2)
+                            {
+                                int eliminated = eliminateFish(bit, byColumns == 1, pairLines, pairCross);
+                                if(eliminated > 0)
+                                    return eliminated;
+                            }
+                            continue;
+                        }
+
+                        for(int c = b + 1; c < count; c++)
+                        {
+                            int tripleCross = pairCross | crosses[c];
+                            if(Integer.bitCount(tripleCross) == 3)
+                            {
+                                int eliminated = eliminateFish(bit, byColumns == 1,
+                                        pairLines | (1 << lines[c]), tripleCross);
+                                if(eliminated > 0)
+                                    return eliminated;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    // removes a digit from cross lines of a fish outside its base lines
+    private int eliminateFish(int bit, boolean byColumns, int baseLines, int crossLines)
+    {
+        int eliminated = 0;
+        for(int line = 0; line < 9; line++)
+        {
+            if((baseLines & (1 << line)) != 0)
+                continue;
+
+            for(int cross = 0; cross < 9; cross++)
+            {
+                if((crossLines & (1 << cross)) == 0)
+                    continue;
+
+                int position = byColumns ? 9*cross + line : 9*line + cross;
+                if((candidates[position] & bit) != 0)
+                {
+                    candidates[position] &= ~bit;
+                    eliminated++;
+                }
+            }
+        }
+        return eliminated;
+    }
+
+    // pivot {a,b} seeing pincers {a,c} and {b,c}, c is removed where both pincers are seen
+    private int xyWing()
+    {
+        for(int pivot = 0; pivot < 81; pivot++)
+        {
+            int pivotMask = candidates[pivot];
+            if(Integer.bitCount(pivotMask) != 2)
+                continue;
+
+            for(int first : PEERS[pivot])
+            {
+                int firstMask = candidates[first];
+                int shared = firstMask & pivotMask;
+                if(Integer.bitCount(firstMask) != 2 || Integer.bitCount(shared) != 1)
+                    continue;
+
+                int bit = firstMask & ~pivotMask;
+                int secondMask = (pivotMask & ~shared) | bit;
+                for(int second : PEERS[pivot])
+                {
+                    if(candidates[second] == secondMask && !IS_PEER[first][second])
+                    {
+                        int eliminated = eliminateSeenByBoth(first, second, bit);
+                        if(eliminated > 0)
+                            return eliminated;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    // chains of positions with two candidates, linked by shared digits
+    private int xyChain()
+    {
+        for(int start = 0; start < 81; start++)
+        {
+            int startMask = candidates[start];
+            if(Integer.bitCount(startMask) != 2)
+                continue;
+
+            // a chain ending in bit shows that either start or end is bit
+            int lowBit = startMask & -startMask;
+            for(int side = 0; side < 2; side++)
+            {
+                int bit = side == 0 ? lowBit : startMask ^ lowBit;
+                inChain[start] = true;
+                int eliminated = extendChain(start, start, startMask & ~bit, bit, 1);
+                inChain[start] = false;
+                if(eliminated > 0)
+                    return eliminated;
+            }
+        }
+        return 0;
+    }
+
+    // continues a chain at a position whose value is forced, ending where bit is forced
+    private int extendChain(int start, int position, int forced, int bit, int length)
+    {
+        if(length >= MAX_CHAIN_LENGTH)
+            return 0;
+
+        for(int next : PEERS[position])
+        {
+            int nextMask = candidates[next];
+            if(inChain[next] || Integer.bitCount(nextMask) != 2 || (nextMask & forced) == 0)
+                continue;
+
+            // next can not be the forced digit, so it is its other digit
+            int nextForced = nextMask & ~forced;
+            if(nextForced == bit && length >= 2)
+            {
+                int eliminated = eliminateSeenByBoth(start, next, bit);
+                if(eliminated > 0)
+                    return eliminated;
+            }
+
+            inChain[next] = true;
+            int eliminated = extendChain(start, next, nextForced, bit, length + 1);
+            inChain[next] = false;
+            if(eliminated > 0)
+                return eliminated;
+        }
+        return 0;
+    }
+
+    // removes a digit from positions seeing both given positions
+    private int eliminateSeenByBoth(int first, int second, int bit)
+    {
+        int eliminated = 0;
+        for(int position : PEERS[first])
+        {
+            if(position != second && IS_PEER[second][position] && (candidates[position] & bit) != 0)
+            {
+                candidates[position] &= ~bit;
+                eliminated++;
+            }
+        }
+        return eliminated;
+    }
+}
@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jpl7.Atom;
+import org.jpl7.Compound;
+import org.jpl7.Term;
+import org.jpl7.Util;
+
+/**
+ * Labeling strategy and propagation level of the CLP(FD) model of 'solver.pl'
+ * <p>
+ * A strategy chooses the order in which variables are labeled
+ * ({@code leftmost}, {@code ff}, {@code ffc}, {@code min} or {@code max}),
+ * how a variable is branched on ({@code step}, {@code enum} or {@code bisect})
+ * and the constraint posted on rows, columns and boxes ({@code all_distinct}
+ * or the weaker and cheaper {@code all_different}). These are the options of
+ * <code>labeling/2</code> of CLP(FD). The {@link #DEFAULT} strategy solves
+ * with <code>sudoku/1</code> (9x9) or <code>sudoku_n/1</code> as before.
+ * </p>
+ * <p>
+ * A strategy is written as text like {@code ff,bisect,all_different}, parts
+ * that are left out are {@code leftmost}, {@code step} and {@code all_distinct}.
+ * </p>
+ *
+ * @see PrologSolverEngine#setLabelingStrategy(LabelingStrategy)
+ * @see StrategySelector
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class LabelingStrategy
+{
+    /**
+     * Order in which variables are labeled
+     */
+    public enum VariableOrder
+    {
+        LEFTMOST, FF, FFC, MIN, MAX
+    }
+
+    /**
+     * Branching on the value of a variable
+     */
+    public enum Branching
+    {
+        STEP, ENUM, BISECT
+    }
+
+    /**
+     * Constraint posted on rows, columns and boxes
+     */
+    public enum Propagation
+    {
+        ALL_DISTINCT, ALL_DIFFERENT
+    }
+
+    // text of the default strategy
+    public static final String DEFAULT_NAME = "default";
+
+    /**
+     * Strategy of 'sudoku/1' and 'sudoku_n/1'
+     */
+    public static final LabelingStrategy DEFAULT = new LabelingStrategy(null, null, null);
+
+    private final VariableOrder order;
+    private final Branching branching;
+    private final Propagation propagation;
+
+    /**
+     * The constructor for creating a strategy
+     * @param order order in which variables are labeled
+     * @param branching branching on the value of a variable
+     * @param propagation constraint posted on rows, columns and boxes
+     */
+    public LabelingStrategy(VariableOrder order, Branching branching, Propagation propagation)
+    {
+        this.order = order;
+        this.branching = branching;
+        this.propagation = propagation;
+    }
+
+    /**
+     * It parses a strategy written like {@code ff,bisect,all_different}
+     * or {@code default}
+     * @param text comma separated options
+     * @return the strategy
+     * @throws IllegalArgumentException when an option is unknown
+     */
+    public static LabelingStrategy parse(String text)
+    {
+        if(text == null || text.trim().isEmpty() || DEFAULT_NAME.equalsIgnoreCase(text.trim()))
+            return DEFAULT;
+
+        VariableOrder order = VariableOrder.LEFTMOST;
+        Branching branching = Branching.STEP;
+        Propagation propagation = Propagation.ALL_DISTINCT;
+        for(String option : text.trim().split("\\s*,\\s*"))
+        {
+            String name = option.toUpperCase();
+            if(isConstant(VariableOrder.class, name))
+                order = VariableOrder.valueOf(name);
+            else if(isConstant(Branching.class, name))
+                branching = Branching.valueOf(name);
+            else if(isConstant(Propagation.class, name))
+                propagation = Propagation.valueOf(name);
+            else
+                throw new IllegalArgumentException("Unknown labeling option : " + option);
+        }
+        return new LabelingStrategy(order, branching, propagation);
+    }
+
+    /**
+     * It returns the strategies compared by {@link StrategySelector}
+     * @return first-fail and leftmost orders with both propagation levels,
+     * and other orders and branchings with <code>all_distinct</code>
+     */
+    public static List<LabelingStrategy> getStandardStrategies()
+    {
+        List<LabelingStrategy> strategies = new ArrayList<LabelingStrategy>();
+        strategies.add(new LabelingStrategy(VariableOrder.LEFTMOST, Branching.STEP, Propagation.ALL_DISTINCT));
+        strategies.add(new LabelingStrategy(VariableOrder.FF, Branching.STEP, Propagation.ALL_DISTINCT));
+        strategies.add(new LabelingStrategy(VariableOrder.FFC, Branching.STEP, Propagation.ALL_DISTINCT));
+        strategies.add(new LabelingStrategy(VariableOrder.MIN, Branching.STEP, Propagation.ALL_DISTINCT));
+        strategies.add(new LabelingStrategy(VariableOrder.FF, Branching.BISECT, Propagation.ALL_DISTINCT));
+        strategies.add(new LabelingStrategy(VariableOrder.FF, Branching.ENUM, Propagation.ALL_DISTINCT));
+        strategies.add(new LabelingStrategy(VariableOrder.LEFTMOST, Branching.STEP, Propagation.ALL_DIFFERENT));
+        strategies.add(new LabelingStrategy(VariableOrder.FF, Branching.STEP, Propagation.ALL_DIFFERENT));
+        return Collections.unmodifiableList(strategies);
+    }
+
+    /**
+     * @return true for the strategy of 'sudoku/1' and 'sudoku_n/1'
+     */
+    public boolean isDefault()
+    {
+        return order == null;
+    }
+
+    /**
+     * @return order in which variables are labeled, null for the default strategy
+     */
+    public VariableOrder getOrder()
+    {
+        return order;
+    }
+
+    /**
+     * @return branching on the value of a variable, null for the default strategy
+     */
+    public Branching getBranching()
+    {
+        return branching;
+    }
+
+    /**
+     * @return constraint on rows, columns and boxes, null for the default strategy
+     */
+    public Propagation getPropagation()
+    {
+        return propagation;
+    }
+
+    /**
+     * It returns the strategy argument of 'sudoku_strategy/2' of 'solver.pl',
+     * which is <code>default</code> or for example
+     * <code>strategy([ff, bisect], all_distinct)</code>
+     * @return the strategy term
+     */
+    public Term toTerm()
+    {
+        if(isDefault())
+            return new Atom(DEFAULT_NAME);
+
+        return new Compound("strategy", new Term[] {
+                Util.termArrayToList(new Term[] {
+                        new Atom(order.name().toLowerCase()), new Atom(branching.name().toLowerCase())}),
+                new Atom(propagation.name().toLowerCase())});
+    }
+
+    /**
+     * @return the strategy term as query text
+     */
+    public String toQueryText()
+    {
+        if(isDefault())
+            return DEFAULT_NAME;
+
+        return "strategy([" + order.name().toLowerCase() + ", " + branching.name().toLowerCase()
+                + "], " + propagation.name().toLowerCase() + ")";
+    }
+
+    private static <E extends Enum<E>> boolean isConstant(Class<E> enumClass, String name)
+    {
+        for(E constant : enumClass.getEnumConstants())
+        {
+            if(constant.name().equals(name))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return toString().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        return obj instanceof LabelingStrategy && toString().equals(obj.toString());
+    }
+
+    /**
+     * @return the strategy as text that can be parsed, like {@code ff,step,all_distinct}
+     */
+    @Override
+    public String toString()
+    {
+        if(isDefault())
+            return DEFAULT_NAME;
+
+        return order.name().toLowerCase() + "," + branching.name().toLowerCase() + ","
+                + propagation.name().toLowerCase();
+    }
+}
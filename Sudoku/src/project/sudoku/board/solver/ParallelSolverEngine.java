@@ -0,0 +1,313 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import project.sudoku.config.Config;
+
+/**
+ * Solver engine that searches in parallel with fork-join tasks
+ * <p>
+ * It uses the same propagation and branching as {@link BitboardSolverEngine}.
+ * The search tree is split into a {@link ForkJoinPool} task for every
+ * candidate of the first few branching positions (the split depth), and
+ * below that depth each task searches sequentially with a
+ * {@link BitboardSolverEngine} of its worker thread. Idle workers steal
+ * remaining tasks from busy ones.
+ * </p>
+ * <p>
+ * Larger Sudoku (16x16, 25x25 ...) are split the same way with the
+ * propagation and branching of {@link BitsetSolverEngine}, each task keeping
+ * its state in a board of one depth and worker threads searching below the
+ * split depth with their own bitset engine.
+ * </p>
+ * <p>
+ * All tasks of a search share a {@link SearchContext}. Once a solution is
+ * found (or the counting limit is reached) the context is stopped, and
+ * sibling tasks stop cooperatively at their next search step.
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class ParallelSolverEngine implements SolverEngine
+{
+    // name of this engine
+    public static final String NAME = "parallel";
+
+    // default number of branching levels split into tasks
+    public static final int DEFAULT_SPLIT_DEPTH = 3;
+
+    private final ForkJoinPool pool;
+    private final int splitDepth;
+
+    // sequential searcher of each worker thread
+    private final ThreadLocal<BitboardSolverEngine> searchers = new ThreadLocal<BitboardSolverEngine>()
+    {
+        @Override
+        protected BitboardSolverEngine initialValue()
+        {
+            return new BitboardSolverEngine();
+        }
+    };
+
+    // sequential searcher of each worker thread for Sudoku larger than 9x9
+    private final ThreadLocal<BitsetSolverEngine> bitsetSearchers = new ThreadLocal<BitsetSolverEngine>()
+    {
+        @Override
+        protected BitsetSolverEngine initialValue()
+        {
+            return new BitsetSolverEngine();
+        }
+    };
+
+    /**
+     * It creates an engine with parallelism and split depth from system
+     * properties, by default using all cores
+     */
+    public ParallelSolverEngine()
+    {
+        this(Integer.getInteger(Config.PARALLEL_SOLVER_THREADS_PROPERTY,
+                Runtime.getRuntime().availableProcessors()),
+                Integer.getInteger(Config.PARALLEL_SOLVER_SPLIT_DEPTH_PROPERTY,
+                        DEFAULT_SPLIT_DEPTH));
+    }
+
+    /**
+     * It creates an engine
+     * @param parallelism number of worker threads
+     * @param splitDepth number of branching levels split into tasks
+     */
+    public ParallelSolverEngine(int parallelism, int splitDepth)
+    {
+        this.pool = new ForkJoinPool(parallelism);
+        this.splitDepth = splitDepth;
+    }
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public boolean supportsSize(int size)
+    {
+        return size == 9 || bitsetSearchers.get().supportsSize(size);
+    }
+
+    @Override
+    public int[] solve(int[] grid)
+    {
+        SearchContext searchContext = new SearchContext(1);
+        search(grid, searchContext);
+        return searchContext.getSolution();
+    }
+
+    @Override
+    public SolveResult solve(int[] grid, SolveControl control)
+    {
+        long startNanos = System.nanoTime(), startCpuNanos = SolveStatistics.getCpuTime();
+        SearchContext searchContext = new SearchContext(1, control);
+        search(grid, searchContext);
+        return searchContext.getResult().withStatistics(
+                new SolveStatistics(NAME, searchContext, startNanos, startCpuNanos));
+    }
+
+    @Override
+    public int countSolutions(int[] grid, int limit)
+    {
+        SearchContext searchContext = new SearchContext(limit);
+        search(grid, searchContext);
+        return searchContext.getSolutionCount();
+    }
+
+    @Override
+    public long[] getCandidates(int[] grid)
+    {
+        if(grid.length != 81)
+            return bitsetSearchers.get().getCandidates(grid);
+        return searchers.get().getCandidates(grid);
+    }
+
+    /**
+     * @return number of worker threads
+     */
+    public int getParallelism()
+    {
+        return pool.getParallelism();
+    }
+
+    /**
+     * It shuts down worker threads of this engine
+     */
+    public void shutdown()
+    {
+        pool.shutdown();
+    }
+
+    private void search(int[] grid, SearchContext searchContext)
+    {
+        if(grid.length != 81)
+        {
+            // states of the split levels need one depth each
+            BitsetSolverEngine.Board state = new BitsetSolverEngine.Board(BitsetSolverEngine.checkGrid(grid), 2);
+            if(state.load(grid))
+            {
+                pool.invoke(new BitsetSearchTask(state, 0, searchContext));
+            }
+            return;
+        }
+
+        BitboardSolverEngine.checkGrid(grid);
+
+        int[] values = new int[81];
+        int[] used = new int[27];
+        if(BitboardSolverEngine.load(grid, values, used))
+        {
+            pool.invoke(new SearchTask(values, used, 0, searchContext));
+        }
+    }
+
+    /**
+     * Task searching below one branch of the search tree
+     */
+    private class SearchTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] values;
+        private final int[] used;
+        private final int depth;
+        private final SearchContext searchContext;
+
+        private SearchTask(int[] values, int[] used, int depth, SearchContext searchContext)
+        {
+            this.values = values;
+            this.used = used;
+            this.depth = depth;
+            this.searchContext = searchContext;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if(searchContext.isStopped())
+                return;
+
+            // search sequentially below split depth
+            if(depth >= splitDepth)
+            {
+                searchers.get().search(values, used, depth, searchContext);
+                return;
+            }
+
+            int placedCount = BitboardSolverEngine.propagate(values, used);
+            searchContext.addStatistics(1, placedCount < 0 ? 1 : 0, Math.max(placedCount, 0), depth);
+            if(placedCount < 0)
+                return;
+
+            int branchPosition = BitboardSolverEngine.chooseBranchPosition(values, used);
+            if(branchPosition < 0)
+            {
+                searchContext.addSolution(values);
+                return;
+            }
+
+            // a task for every candidate of the branching position
+            List<SearchTask> tasks = new ArrayList<SearchTask>();
+            int branchMask = BitboardSolverEngine.candidates(used, branchPosition);
+            while(branchMask != 0)
+            {
+                int bit = branchMask & -branchMask;
+                branchMask ^= bit;
+
+                int[] nextValues = values.clone();
+                int[] nextUsed = used.clone();
+                BitboardSolverEngine.assign(nextValues, nextUsed, branchPosition, bit);
+                tasks.add(new SearchTask(nextValues, nextUsed, depth + 1, searchContext));
+            }
+            invokeAll(tasks);
+        }
+    }
+
+    /**
+     * Task searching below one branch of the search tree of a Sudoku
+     * larger than 9x9
+     */
+    private class BitsetSearchTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        // state of this branch at depth 0 of the board
+        private final BitsetSolverEngine.Board state;
+        private final int depth;
+        private final SearchContext searchContext;
+
+        private BitsetSearchTask(BitsetSolverEngine.Board state, int depth, SearchContext searchContext)
+        {
+            this.state = state;
+            this.depth = depth;
+            this.searchContext = searchContext;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if(searchContext.isStopped())
+                return;
+
+            // search sequentially below split depth
+            if(depth >= splitDepth)
+            {
+                bitsetSearchers.get().search(state, depth, searchContext);
+                return;
+            }
+
+            int placedCount = state.propagate(0);
+            searchContext.addStatistics(1, placedCount < 0 ? 1 : 0, Math.max(placedCount, 0), depth);
+            if(placedCount < 0)
+                return;
+
+            int branchPosition = state.chooseBranchPosition(0);
+            if(branchPosition < 0)
+            {
+                searchContext.addSolution(state.valueStack[0]);
+                return;
+            }
+
+            // a task for every candidate of the branching position, the
+            // branch is made at depth 1 of this board and copied to depth 0
+            // of the board of the task
+            List<BitsetSearchTask> tasks = new ArrayList<BitsetSearchTask>();
+            for(long bit : state.orderedCandidates(0, branchPosition))
+            {
+                state.branch(0, branchPosition, bit);
+                BitsetSolverEngine.Board nextState = new BitsetSolverEngine.Board(state.geometry, 2);
+                nextState.copy(state, 1);
+                tasks.add(new BitsetSearchTask(nextState, depth + 1, searchContext));
+            }
+            invokeAll(tasks);
+        }
+    }
+}
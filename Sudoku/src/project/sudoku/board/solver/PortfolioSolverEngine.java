@@ -0,0 +1,519 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import project.sudoku.config.Config;
+import project.sudoku.exception.ResourceLoadingException;
+
+/**
+ * Solver engine that races several engines and returns the first answer
+ * <p>
+ * Each solve call runs all backends that support the size of the grid on a
+ * shared executor, every backend with its own {@link SolveControl}. The first
+ * backend that finds a solution or proves that there is none wins, and
+ * the controls of all other backends are cancelled, so in-JVM searches stop
+ * at their next check and Prolog queries are aborted.
+ * </p>
+ * <p>
+ * Wins, losses, errors and latencies are recorded for every backend in
+ * {@link BackendStatistics}, to tune which backends run by default. Backends
+ * are configured by name with the system property
+ * {@value Config#PORTFOLIO_ENGINES_PROPERTY} (default
+ * {@value Config#DEFAULT_PORTFOLIO_ENGINES}) and looked up in
+ * {@link SudokuSolver} on first use.
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class PortfolioSolverEngine implements SolverEngine
+{
+    private static Logger logger = Logger.getLogger(PortfolioSolverEngine.class.getName());
+
+    // name of this engine
+    public static final String NAME = "portfolio";
+
+    // executor shared by all portfolio engines, threads are created as needed
+    private static final ExecutorService sharedExecutor = Executors.newCachedThreadPool(
+            new ThreadFactory()
+            {
+                private final AtomicInteger threadCount = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable)
+                {
+                    Thread thread = new Thread(runnable,
+                            "sudoku-portfolio-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    private final String[] backendNames;
+    private final ExecutorService executor;
+    private volatile List<SolverEngine> backends = null;
+    private final Map<String, BackendStatistics> statistics =
+            Collections.synchronizedMap(new LinkedHashMap<String, BackendStatistics>());
+
+    /**
+     * It creates an engine racing the backends named in the system property
+     * {@value Config#PORTFOLIO_ENGINES_PROPERTY}
+     */
+    public PortfolioSolverEngine()
+    {
+        this.backendNames = System.getProperty(Config.PORTFOLIO_ENGINES_PROPERTY,
+                Config.DEFAULT_PORTFOLIO_ENGINES).split("\\s*,\\s*");
+        this.executor = sharedExecutor;
+    }
+
+    /**
+     * It creates an engine racing the given backends
+     * @param backends engines to be raced
+     * @param executor executor running the backends
+     */
+    public PortfolioSolverEngine(List<SolverEngine> backends, ExecutorService executor)
+    {
+        this.backendNames = null;
+        this.backends = new ArrayList<SolverEngine>(backends);
+        this.executor = executor;
+    }
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public boolean supportsSize(int size)
+    {
+        for(SolverEngine backend : getBackends())
+        {
+            if(backend.supportsSize(size))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int[] solve(int[] grid) throws ResourceLoadingException
+    {
+        return solve(grid, new SolveControl()).getSolution();
+    }
+
+    /**
+     * It counts solutions with the first backend that supports the size of
+     * the grid, as backends can not be stopped while counting.
+     */
+    @Override
+    public int countSolutions(int[] grid, int limit) throws ResourceLoadingException
+    {
+        int size = (int) Math.round(Math.sqrt(grid.length));
+        for(SolverEngine backend : getBackends())
+        {
+            if(backend.supportsSize(size))
+                return backend.countSolutions(grid, limit);
+        }
+        throw new IllegalArgumentException("No backend for Sudoku of size " + size);
+    }
+
+    @Override
+    public SolveResult solve(int[] grid, final SolveControl control) throws ResourceLoadingException
+    {
+        if(control.isStopped())
+            return SolveResult.stopped(control);
+
+        // start every backend that can solve this size
+        int size = (int) Math.round(Math.sqrt(grid.length));
+        CompletionService<Outcome> completionService = new ExecutorCompletionService<Outcome>(executor);
+        final List<Race> races = new ArrayList<Race>();
+        AtomicBoolean decided = new AtomicBoolean();
+        for(SolverEngine backend : getBackends())
+        {
+            if(backend.supportsSize(size))
+            {
+                Race race = new Race(backend, grid, control, decided);
+                completionService.submit(race);
+                races.add(race);
+            }
+        }
+
+        if(races.isEmpty())
+            throw new IllegalArgumentException("No backend for Sudoku of size " + size);
+
+        // cancelling the call cancels all backends
+        Runnable canceller = new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                cancelAll(races, null);
+            }
+        };
+        control.addCancelListener(canceller);
+
+        try
+        {
+            ResourceLoadingException firstError = null;
+            boolean backendStopped = false;
+            for(int pending = races.size(); pending > 0; pending--)
+            {
+                Future<Outcome> future;
+                try
+                {
+                    future = control.hasDeadline()
+                            ? completionService.poll(control.getRemainingMillis(), TimeUnit.MILLISECONDS)
+                            : completionService.take();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    control.cancel();
+                    return SolveResult.stopped(control);
+                }
+
+                // deadline passed while waiting
+                if(future == null)
+                {
+                    cancelAll(races, null);
+                    return SolveResult.stopped(control);
+                }
+
+                Outcome outcome = getOutcome(future);
+                if(outcome.error != null && firstError == null)
+                {
+                    firstError = outcome.error;
+                }
+                else if(outcome.won)
+                {
+                    cancelAll(races, outcome.race);
+                    logger.info("Portfolio won by " + outcome.race.backend.getName() + " in "
+                            + TimeUnit.NANOSECONDS.toMicros(outcome.nanos) + " us");
+                    return outcome.result;
+                }
+                else if(outcome.result != null && !isAnswer(outcome.result))
+                {
+                    backendStopped = true;
+                }
+            }
+
+            // no backend answered, backends stop only when the call is
+            // stopped, their deadline may pass just before that of the call
+            if(control.isStopped() || backendStopped)
+                return SolveResult.stopped(control);
+            if(firstError != null)
+                throw firstError;
+            return new SolveResult(SolveResult.Status.UNSOLVABLE, null);
+        }
+        finally
+        {
+            control.removeCancelListener(canceller);
+        }
+    }
+
+    /**
+     * @return backends raced by this engine
+     */
+    public List<SolverEngine> getBackends()
+    {
+        if(backends == null)
+        {
+            List<SolverEngine> namedBackends = new ArrayList<SolverEngine>();
+            for(String backendName : backendNames)
+            {
+                SolverEngine backend = SudokuSolver.getEngine(backendName);
+                if(backend == null || backend == this)
+                {
+                    logger.warning("Unknown portfolio backend : " + backendName);
+                    continue;
+                }
+                namedBackends.add(backend);
+            }
+            backends = namedBackends;
+        }
+        return Collections.unmodifiableList(backends);
+    }
+
+    /**
+     * @return statistics of each backend by its name
+     */
+    public Map<String, BackendStatistics> getStatistics()
+    {
+        synchronized (statistics)
+        {
+            return new LinkedHashMap<String, BackendStatistics>(statistics);
+        }
+    }
+
+    /**
+     * It clears statistics of all backends
+     */
+    public void resetStatistics()
+    {
+        statistics.clear();
+    }
+
+    private BackendStatistics getStatistics(String backendName)
+    {
+        synchronized (statistics)
+        {
+            BackendStatistics backendStatistics = statistics.get(backendName);
+            if(backendStatistics == null)
+            {
+                backendStatistics = new BackendStatistics(backendName);
+                statistics.put(backendName, backendStatistics);
+            }
+            return backendStatistics;
+        }
+    }
+
+    // cancels all races except the winner
+    private static void cancelAll(List<Race> races, Race winner)
+    {
+        for(Race race : races)
+        {
+            if(race != winner)
+                race.control.cancel();
+        }
+    }
+
+    // a solution or a proof that there is none
+    private static boolean isAnswer(SolveResult result)
+    {
+        return result.getStatus() == SolveResult.Status.SOLVED
+                || result.getStatus() == SolveResult.Status.UNSOLVABLE;
+    }
+
+    private static Outcome getOutcome(Future<Outcome> future)
+    {
+        try
+        {
+            return future.get();
+        }
+        catch (InterruptedException | ExecutionException e)
+        {
+            // Race.call() catches its own exceptions
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * One backend solving the grid of a solve call
+     */
+    private class Race implements Callable<Outcome>
+    {
+        private final SolverEngine backend;
+        private final int[] grid;
+        private final SolveControl control;
+        // set by the first race with an answer
+        private final AtomicBoolean decided;
+
+        private Race(SolverEngine backend, int[] grid, SolveControl callControl, AtomicBoolean decided)
+        {
+            this.backend = backend;
+            this.grid = grid;
+            this.decided = decided;
+            this.control = callControl.hasDeadline()
+                    ? new SolveControl(callControl.getRemainingMillis(), TimeUnit.MILLISECONDS)
+                    : new SolveControl();
+        }
+
+        @Override
+        public Outcome call()
+        {
+            long startTime = System.nanoTime();
+            Outcome outcome = new Outcome(this);
+            try
+            {
+                outcome.result = backend.solve(grid, control);
+            }
+            catch (ResourceLoadingException e)
+            {
+                outcome.error = e;
+            }
+            catch (RuntimeException e)
+            {
+                outcome.error = new ResourceLoadingException(
+                        "Portfolio backend " + backend.getName() + " failed", e);
+            }
+            outcome.nanos = System.nanoTime() - startTime;
+
+            BackendStatistics backendStatistics = getStatistics(backend.getName());
+            if(outcome.error != null)
+            {
+                logger.log(Level.WARNING, outcome.error.getMessage(), outcome.error);
+                backendStatistics.addError(outcome.nanos);
+            }
+            else if(isAnswer(outcome.result) && decided.compareAndSet(false, true))
+            {
+                outcome.won = true;
+                backendStatistics.addWin(outcome.nanos);
+            }
+            else
+            {
+                backendStatistics.addLoss(outcome.nanos);
+            }
+            return outcome;
+        }
+    }
+
+    /**
+     * Result or error of a backend
+     */
+    private static class Outcome
+    {
+        private final Race race;
+        private SolveResult result = null;
+        private ResourceLoadingException error = null;
+        private long nanos = 0;
+        private boolean won = false;
+
+        private Outcome(Race race)
+        {
+            this.race = race;
+        }
+    }
+
+    /**
+     * Wins, losses, errors and latencies of one backend
+     */
+    public static class BackendStatistics
+    {
+        private final String backendName;
+        private final AtomicLong wins = new AtomicLong();
+        private final AtomicLong losses = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong winNanos = new AtomicLong();
+        private final AtomicLong maxWinNanos = new AtomicLong();
+        private final AtomicLong runNanos = new AtomicLong();
+
+        private BackendStatistics(String backendName)
+        {
+            this.backendName = backendName;
+        }
+
+        private void addWin(long nanos)
+        {
+            wins.incrementAndGet();
+            winNanos.addAndGet(nanos);
+            runNanos.addAndGet(nanos);
+            long max;
+            while((max = maxWinNanos.get()) < nanos && !maxWinNanos.compareAndSet(max, nanos));
+        }
+
+        private void addLoss(long nanos)
+        {
+            losses.incrementAndGet();
+            runNanos.addAndGet(nanos);
+        }
+
+        private void addError(long nanos)
+        {
+            errors.incrementAndGet();
+            runNanos.addAndGet(nanos);
+        }
+
+        /**
+         * @return name of the backend
+         */
+        public String getBackendName()
+        {
+            return backendName;
+        }
+
+        /**
+         * @return number of races won
+         */
+        public long getWins()
+        {
+            return wins.get();
+        }
+
+        /**
+         * @return number of races lost (cancelled or finished after the winner)
+         */
+        public long getLosses()
+        {
+            return losses.get();
+        }
+
+        /**
+         * @return number of races ended with an error
+         */
+        public long getErrors()
+        {
+            return errors.get();
+        }
+
+        /**
+         * @return mean milliseconds of won races
+         */
+        public double getMeanWinMillis()
+        {
+            long count = wins.get();
+            return count == 0 ? 0 : winNanos.get() / 1e6 / count;
+        }
+
+        /**
+         * @return milliseconds of the slowest won race
+         */
+        public double getMaxWinMillis()
+        {
+            return maxWinNanos.get() / 1e6;
+        }
+
+        /**
+         * @return mean milliseconds of all races, including time lost
+         * until cancelled
+         */
+        public double getMeanRunMillis()
+        {
+            long count = wins.get() + losses.get() + errors.get();
+            return count == 0 ? 0 : runNanos.get() / 1e6 / count;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("%s [wins=%d, losses=%d, errors=%d, mean win=%.3f ms,"
+                    + " max win=%.3f ms, mean run=%.3f ms]", backendName, getWins(), getLosses(),
+                    getErrors(), getMeanWinMillis(), getMaxWinMillis(), getMeanRunMillis());
+        }
+    }
+}
@@ -0,0 +1,376 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import project.sudoku.config.Config;
+import project.sudoku.exception.ResourceLoadingException;
+import project.sudoku.util.SudokuLineFormat;
+
+/**
+ * Solver engine that solves Sudoku in separate SWI-Prolog processes
+ * <p>
+ * It keeps a pool of long-lived <code>swipl</code> child processes running
+ * 'solver_worker.pl', which consults 'solver.pl' once at start up. Requests
+ * and answers are single lines on standard input and output of a worker
+ * (see 'solver_worker.pl' for the protocol). Unlike the {@link PrologSolverEngine}
+ * no Prolog state lives inside the JVM, so a fault in Prolog only ends one
+ * worker process. Workers run in parallel, each solving one Sudoku at a time.
+ * </p>
+ * <p>
+ * Workers are started on first use. A worker whose process has died or
+ * closed its output is destroyed and started again, and its request is
+ * retried once.
+ * The SWI-Prolog binary and the number of workers are configured with
+ * system properties {@value Config#SWIPL_BINARY_PROPERTY} and
+ * {@value Config#PROCESS_POOL_SIZE_PROPERTY}.
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class ProcessSolverEngine implements SolverEngine
+{
+    private static Logger logger = Logger.getLogger(ProcessSolverEngine.class.getName());
+
+    // name of this engine
+    public static final String NAME = "process";
+
+    // destroys workers of requests whose deadline passed
+    private static final Timer deadlineTimer = new Timer("sudoku-process-solver-deadline", true);
+
+    private final String swiplBinary;
+    private final BlockingQueue<Worker> idleWorkers;
+    private final List<Worker> allWorkers = new ArrayList<Worker>();
+
+    /**
+     * It creates an engine with the binary and number of workers
+     * from system properties
+     */
+    public ProcessSolverEngine()
+    {
+        this(System.getProperty(Config.SWIPL_BINARY_PROPERTY, Config.SWIPL_BINARY),
+                Integer.getInteger(Config.PROCESS_POOL_SIZE_PROPERTY,
+                        Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * It creates an engine
+     * @param swiplBinary path to the swipl binary
+     * @param size number of worker processes
+     */
+    public ProcessSolverEngine(String swiplBinary, int size)
+    {
+        if(size < 1)
+            throw new IllegalArgumentException("Process solver needs at least one worker");
+
+        this.swiplBinary = swiplBinary;
+        idleWorkers = new ArrayBlockingQueue<Worker>(size);
+        for(int id = 0; id < size; id++)
+        {
+            Worker worker = new Worker(id);
+            allWorkers.add(worker);
+            idleWorkers.add(worker);
+        }
+
+        // do not leave worker processes behind
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                close();
+            }
+        }, "sudoku-process-solver-shutdown"));
+    }
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public int[] solve(int[] grid) throws ResourceLoadingException
+    {
+        BitboardSolverEngine.checkGrid(grid);
+
+        return getSolution(request("solve " + SudokuLineFormat.format(grid), null));
+    }
+
+    /**
+     * The worker solving the grid is destroyed when the control is cancelled
+     * or its deadline passes, and started again for its next request.
+     */
+    @Override
+    public SolveResult solve(int[] grid, SolveControl control) throws ResourceLoadingException
+    {
+        BitboardSolverEngine.checkGrid(grid);
+
+        long startNanos = System.nanoTime();
+        String answer = request("solve " + SudokuLineFormat.format(grid), control);
+        SolveResult result = answer == null
+                ? SolveResult.stopped(control)
+                : SolveResult.of(getSolution(answer));
+
+        // only wall time is known of a search in another process
+        return result.withStatistics(new SolveStatistics(NAME, -1, -1, -1, -1, -1,
+                System.nanoTime() - startNanos, -1));
+    }
+
+    // reads the answer of a solve request
+    private static int[] getSolution(String answer)
+    {
+        if(answer.startsWith("solved "))
+        {
+            return SudokuLineFormat.parse(answer.substring("solved ".length()));
+        }
+        else if(answer.equals("none"))
+        {
+            return null;
+        }
+        throw new IllegalStateException("Unexpected answer from Prolog worker : " + answer);
+    }
+
+    @Override
+    public int countSolutions(int[] grid, int limit) throws ResourceLoadingException
+    {
+        BitboardSolverEngine.checkGrid(grid);
+
+        String answer = request("count " + limit + " " + SudokuLineFormat.format(grid), null);
+        if(answer.startsWith("count "))
+        {
+            return Integer.parseInt(answer.substring("count ".length()).trim());
+        }
+        throw new IllegalStateException("Unexpected answer from Prolog worker : " + answer);
+    }
+
+    /**
+     * It destroys all worker processes. Workers are started again
+     * if the engine is used after closing.
+     */
+    public void close()
+    {
+        for(Worker worker : allWorkers)
+        {
+            worker.stop();
+        }
+    }
+
+    /**
+     * It sends a request line to a free worker and returns its answer line
+     * @param requestLine the request
+     * @param control control of the request or null
+     * @return the answer or null when the control stopped the request
+     * @throws ResourceLoadingException when no worker could answer
+     */
+    private String request(String requestLine, SolveControl control) throws ResourceLoadingException
+    {
+        final Worker worker;
+        try
+        {
+            if(control != null && control.hasDeadline())
+                worker = idleWorkers.poll(control.getRemainingMillis(), TimeUnit.MILLISECONDS);
+            else
+                worker = idleWorkers.take();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new ResourceLoadingException("Interrupted while waiting for Prolog worker", e);
+        }
+
+        if(worker == null)
+            return null;
+
+        // destroy the process of the worker when the control stops
+        Runnable killer = null;
+        TimerTask deadlineKiller = null;
+        if(control != null)
+        {
+            killer = new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    worker.kill();
+                }
+            };
+            control.addCancelListener(killer);
+
+            if(control.hasDeadline())
+            {
+                deadlineKiller = new TimerTask()
+                {
+                    @Override
+                    public void run()
+                    {
+                        worker.kill();
+                    }
+                };
+                deadlineTimer.schedule(deadlineKiller, Math.max(1, control.getRemainingMillis()));
+            }
+        }
+
+        try
+        {
+            String answer;
+            try
+            {
+                if(control != null && control.isStopped())
+                    return null;
+
+                answer = worker.request(requestLine);
+            }
+            catch (IOException e)
+            {
+                if(control != null && control.isStopped())
+                {
+                    logger.info("Prolog worker " + worker.id + " stopped by its control");
+                    worker.stop();
+                    return null;
+                }
+
+                // restart crashed worker and try once more
+                logger.log(Level.WARNING, "Prolog worker " + worker.id
+                        + " failed, restarting : " + e.getMessage(), e);
+                worker.stop();
+                try
+                {
+                    answer = worker.request(requestLine);
+                }
+                catch (IOException e1)
+                {
+                    worker.stop();
+                    throw new ResourceLoadingException("Prolog worker failed after restart", e1);
+                }
+            }
+
+            if(answer.startsWith("error"))
+            {
+                logger.severe("Prolog worker error : " + answer);
+            }
+            return answer;
+        }
+        finally
+        {
+            if(deadlineKiller != null)
+                deadlineKiller.cancel();
+            if(killer != null)
+                control.removeCancelListener(killer);
+            idleWorkers.offer(worker);
+        }
+    }
+
+    /**
+     * One swipl child process
+     */
+    private class Worker
+    {
+        private final int id;
+        private volatile Process process = null;
+        private BufferedWriter input = null;
+        private BufferedReader output = null;
+
+        private Worker(int id)
+        {
+            this.id = id;
+        }
+
+        // writes a request and reads its answer, starting the process if needed
+        private String request(String requestLine) throws IOException, ResourceLoadingException
+        {
+            if(process == null || !process.isAlive())
+                start();
+
+            input.write(requestLine);
+            input.newLine();
+            input.flush();
+
+            String answer = output.readLine();
+            if(answer == null)
+                throw new IOException("Prolog worker " + id + " closed its output");
+            return answer;
+        }
+
+        private void start() throws ResourceLoadingException
+        {
+            stop();
+
+            File workerFile = new File(Config.SUDOKU_WORKER_PL_FILE);
+            if(!workerFile.exists())
+            {
+                throw new ResourceLoadingException("Error Loading Prolog file "
+                        + workerFile.getAbsolutePath());
+            }
+
+            logger.info("start Prolog worker " + id + " : " + swiplBinary);
+            ProcessBuilder processBuilder = new ProcessBuilder(swiplBinary,
+                    "-q", "-g", "worker_main", "-t", "halt", workerFile.getAbsolutePath());
+            processBuilder.redirectError(ProcessBuilder.Redirect.appendTo(
+                    new File(Config.WORKER_LOG_FILE)));
+            try
+            {
+                process = processBuilder.start();
+            }
+            catch (IOException e)
+            {
+                throw new ResourceLoadingException("Error starting SWI-Prolog : " + swiplBinary, e);
+            }
+
+            input = new BufferedWriter(new OutputStreamWriter(
+                    process.getOutputStream(), StandardCharsets.US_ASCII));
+            output = new BufferedReader(new InputStreamReader(
+                    process.getInputStream(), StandardCharsets.US_ASCII));
+        }
+
+        // destroys the process from any thread, its request fails at once
+        private void kill()
+        {
+            Process currentProcess = process;
+            if(currentProcess != null)
+                currentProcess.destroy();
+        }
+
+        private void stop()
+        {
+            if(process != null)
+            {
+                process.destroy();
+                process = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,419 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import java.io.File;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jpl7.Atom;
+import org.jpl7.JPL;
+import org.jpl7.Query;
+import org.jpl7.Term;
+
+import project.sudoku.config.Config;
+import project.sudoku.exception.ResourceLoadingException;
+
+/**
+ * Bounded concurrent access to SWI-Prolog
+ * <p>
+ * JPL attaches a Prolog engine of its own engine pool to the Java thread
+ * that opens a query, and all engines share the database in which 'solver.pl'
+ * is consulted. The engines are not visible from Java, so this class does not
+ * pool them. It hands out a {@link Lease} for each solve call so that at most
+ * {@link #getSize()} queries run at the same time, which keeps the number of
+ * threads asking JPL for an engine within its {@value #JPL_MAX_ENGINES}
+ * engines. Callers that find no free lease wait in a bounded queue and are
+ * rejected when the queue is full or the lease timeout passes.
+ * </p>
+ * <p>
+ * The shared database is checked before a lease is handed out when a query
+ * of an earlier lease failed or after every {@value #DATABASE_CHECK_INTERVAL}
+ * leases. The check makes sure that the Sudoku predicates are still loaded and
+ * consults 'solver.pl' again if they are not.
+ * </p>
+ * <p>
+ * Prolog is started when the first lease is taken, or in the background
+ * by {@link #warmUp()}.
+ * </p>
+ * <p>
+ * Size, wait queue and lease timeout of the shared limiter are configured with
+ * system properties {@value Config#PROLOG_POOL_SIZE_PROPERTY},
+ * {@value Config#PROLOG_POOL_QUEUE_PROPERTY} and
+ * {@value Config#PROLOG_POOL_TIMEOUT_PROPERTY}.
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class PrologQueryLimiter
+{
+    private static Logger logger = Logger.getLogger(PrologQueryLimiter.class.getName());
+
+    // number of leases after which the shared database is checked
+    public static final int DATABASE_CHECK_INTERVAL = 100;
+
+    // engines that JPL can attach to threads at the same time
+    public static final int JPL_MAX_ENGINES = 10;
+
+    // limiter shared by Prolog solver engines
+    private static PrologQueryLimiter instance = null;
+
+    // Prolog database is shared by all engines, so it is consulted once
+    private static volatile boolean consulted = false;
+
+    // set when a query failed, the database is checked before the next lease
+    private static volatile boolean checkDatabase = false;
+
+    private final int size;
+    private final int maxWaiting;
+    private final long leaseTimeoutMillis;
+
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong leaseCount = new AtomicLong();
+
+    /**
+     * The constructor for creating a limiter
+     * @param size number of queries running at the same time
+     * @param maxWaiting maximum number of callers waiting for a lease
+     * @param leaseTimeoutMillis maximum time to wait for a lease in milliseconds
+     */
+    public PrologQueryLimiter(int size, int maxWaiting, long leaseTimeoutMillis)
+    {
+        if(size < 1)
+            throw new IllegalArgumentException("Prolog query limiter needs at least one lease");
+
+        if(size > JPL_MAX_ENGINES)
+        {
+            logger.warning("Prolog query limit " + size
+                    + " is more than engines available from JPL : " + JPL_MAX_ENGINES);
+        }
+
+        this.size = size;
+        this.maxWaiting = maxWaiting;
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+
+        permits = new Semaphore(size, true);
+    }
+
+    /**
+     * It returns the limiter shared by Prolog solver engines, which is created
+     * on first call using the system properties
+     * @return shared limiter
+     */
+    public static synchronized PrologQueryLimiter getInstance()
+    {
+        if(instance == null)
+        {
+            instance = new PrologQueryLimiter(
+                    Integer.getInteger(Config.PROLOG_POOL_SIZE_PROPERTY,
+                            Math.min(Runtime.getRuntime().availableProcessors(), JPL_MAX_ENGINES)),
+                    Integer.getInteger(Config.PROLOG_POOL_QUEUE_PROPERTY,
+                            Config.DEFAULT_PROLOG_POOL_QUEUE),
+                    Long.getLong(Config.PROLOG_POOL_TIMEOUT_PROPERTY,
+                            Config.DEFAULT_PROLOG_POOL_TIMEOUT));
+            logger.info("Prolog queries limited to " + instance.size);
+        }
+        return instance;
+    }
+
+    /**
+     * It takes a lease, waiting for one if all are taken. The lease
+     * must be released with {@link Lease#release()} after the query.
+     * @return the lease
+     * @throws ResourceLoadingException when Prolog could not be loaded, wait queue
+     * is full or no lease became free within the lease timeout
+     */
+    public Lease lease() throws ResourceLoadingException
+    {
+        if(!permits.tryAcquire())
+        {
+            if(waiting.incrementAndGet() > maxWaiting)
+            {
+                waiting.decrementAndGet();
+                throw new ResourceLoadingException("Prolog query wait queue is full ("
+                        + maxWaiting + " waiting)");
+            }
+
+            boolean acquired;
+            try
+            {
+                acquired = permits.tryAcquire(leaseTimeoutMillis, TimeUnit.MILLISECONDS);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new ResourceLoadingException("Interrupted while waiting for Prolog query lease", e);
+            }
+            finally
+            {
+                waiting.decrementAndGet();
+            }
+
+            if(!acquired)
+            {
+                throw new ResourceLoadingException("No Prolog query lease free within "
+                        + leaseTimeoutMillis + " ms");
+            }
+        }
+
+        try
+        {
+            checkDatabase(leaseCount.incrementAndGet());
+        }
+        catch (ResourceLoadingException | RuntimeException e)
+        {
+            // give the permit back for the next caller
+            permits.release();
+            throw e;
+        }
+        return new Lease();
+    }
+
+    /**
+     * @return number of queries running at the same time
+     */
+    public int getSize()
+    {
+        return size;
+    }
+
+    /**
+     * @return number of leases not taken
+     */
+    public int getAvailable()
+    {
+        return permits.availablePermits();
+    }
+
+    /**
+     * @return number of callers waiting for a lease
+     */
+    public int getWaiting()
+    {
+        return waiting.get();
+    }
+
+    // consults Prolog file and checks the shared database when needed
+    private static void checkDatabase(long leaseNumber) throws ResourceLoadingException
+    {
+        if(!consulted)
+            tryConsulting();
+
+        if(checkDatabase || leaseNumber % DATABASE_CHECK_INTERVAL == 0)
+        {
+            checkDatabase = false;
+            boolean loaded;
+            try
+            {
+                loaded = Query.hasSolution("current_predicate(sudoku/1)");
+            }
+            catch (RuntimeException e)
+            {
+                logger.log(Level.WARNING, e.getMessage(), e);
+                loaded = false;
+            }
+
+            if(!loaded)
+            {
+                logger.warning("Sudoku predicates missing from Prolog database, consult again");
+                synchronized (PrologQueryLimiter.class)
+                {
+                    consulted = false;
+                    tryConsulting();
+                }
+            }
+        }
+    }
+
+    /**
+     * loads JPL library and consults prolog file. When 'solver.pl' was
+     * precompiled by the Ant build, Prolog is started from the saved state
+     * (with CLP(FD) and the Sudoku predicates already loaded) or the
+     * '.qlf' file is loaded instead of the source. Precompiled files older
+     * than 'solver.pl' are ignored.
+     * @throws ResourceLoadingException
+     */
+    static synchronized void tryConsulting() throws ResourceLoadingException
+    {
+        if(!consulted)
+        {
+            long startTime = System.nanoTime();
+
+            File plFile = new File(Config.SUDOKU_PL_FILE);
+            if(!plFile.exists())
+            {
+                logger.severe("Error Loading Prolog file : " + plFile.getPath());
+                throw new ResourceLoadingException("Error Loading Prolog file "
+                        + plFile.getAbsolutePath());
+            }
+
+            boolean precompiled = Boolean.parseBoolean(
+                    System.getProperty(Config.PROLOG_PRECOMPILED_PROPERTY, "true"));
+            File stateFile = new File(Config.SUDOKU_STATE_FILE);
+            File qlfFile = new File(Config.SUDOKU_QLF_FILE);
+
+            // load SWI-Prolog-JPL library
+            try
+            {
+                logger.info("load Prolog JPL Library");
+                JPL.loadNativeLibrary();
+
+                // start Prolog from saved state, possible only before first query
+                if(precompiled && isUpToDate(stateFile, plFile) && JPL.getActualInitArgs() == null)
+                {
+                    logger.info("Prolog saved state : " + stateFile.getPath());
+                    JPL.setDefaultInitArgs(new String[] {"swipl", "-x",
+                            stateFile.getAbsolutePath(), "-g", "true", "--nosignals"});
+                }
+            }
+            catch (UnsatisfiedLinkError e)
+            {
+                throw new ResourceLoadingException("Error Loading JPL library", e);
+            }
+
+            String loadedFrom;
+            if(Query.hasSolution("current_predicate(sudoku/1)"))
+            {
+                loadedFrom = stateFile.getPath();
+                consulted = true;
+            }
+            else
+            {
+                // consult Prolog file, its .qlf if precompiled
+                File loadFile = precompiled && isUpToDate(qlfFile, plFile) ? qlfFile : plFile;
+                loadedFrom = loadFile.getPath();
+                logger.info("Prolog File : " + loadFile.getPath());
+                Query consultQuery = new Query("consult",
+                        new Term[] {new Atom(loadFile.getAbsolutePath())});
+
+                // set the variable if successfully consulted
+                consulted = consultQuery.hasSolution();
+            }
+
+            if(!consulted)
+            {
+                throw new ResourceLoadingException("consult to Prolog failed : "
+                        + plFile.getAbsolutePath());
+            }
+
+            logger.info("Prolog ready in " + (System.nanoTime() - startTime) / 1000000
+                    + " ms, loaded from " + loadedFrom);
+        }
+    }
+
+    // true if precompiled file exists and is not older than its source
+    private static boolean isUpToDate(File precompiledFile, File sourceFile)
+    {
+        if(!precompiledFile.exists())
+            return false;
+
+        if(precompiledFile.lastModified() < sourceFile.lastModified())
+        {
+            logger.warning("Ignoring " + precompiledFile.getPath() + ", it is older than "
+                    + sourceFile.getPath());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * It starts Prolog, loads the solver and runs a small query on a
+     * daemon thread, so that the first solve does not wait for it
+     * @return the started thread
+     */
+    public static Thread warmUp()
+    {
+        Thread warmUpThread = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                long startTime = System.nanoTime();
+                try
+                {
+                    Lease lease = getInstance().lease();
+                    try
+                    {
+                        // solving an empty 4x4 Sudoku loads what CLP(FD) needs
+                        Query.hasSolution("sudoku_n([[_,_,_,_],[_,_,_,_],[_,_,_,_],[_,_,_,_]])");
+                    }
+                    finally
+                    {
+                        lease.release();
+                    }
+                    logger.info("Prolog warm up done in "
+                            + (System.nanoTime() - startTime) / 1000000 + " ms");
+                }
+                catch (ResourceLoadingException | RuntimeException e)
+                {
+                    logger.log(Level.WARNING, "Prolog warm up failed", e);
+                }
+            }
+        }, "sudoku-prolog-warmup");
+        warmUpThread.setDaemon(true);
+        warmUpThread.start();
+        return warmUpThread;
+    }
+
+    /**
+     * Lease allowing one Prolog query, it is not tied to a Prolog engine
+     */
+    public class Lease
+    {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease()
+        {
+        }
+
+        /**
+         * It makes the limiter check the shared Prolog database before the
+         * next lease, callers do this when a query fails with an exception.
+         */
+        public void markFailed()
+        {
+            checkDatabase = true;
+        }
+
+        /**
+         * It returns the lease to the limiter, releasing it more than once
+         * has no effect
+         */
+        public void release()
+        {
+            if(released.compareAndSet(false, true))
+                permits.release();
+        }
+
+        /**
+         * @return true if the lease was released
+         */
+        public boolean isReleased()
+        {
+            return released.get();
+        }
+    }
+}
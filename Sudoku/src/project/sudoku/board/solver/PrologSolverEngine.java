@@ -0,0 +1,779 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jpl7.Atom;
+import org.jpl7.Compound;
+import org.jpl7.Query;
+import org.jpl7.Term;
+import org.jpl7.Util;
+import org.jpl7.Variable;
+
+import project.sudoku.config.Config;
+import project.sudoku.exception.ResourceLoadingException;
+
+/**
+ * Solver engine that queries SWI-PROLOG
+ * <p>
+ * It queries a
+ * {@link <a href=http://www.swi-prolog.org/>SWI-PROLOG</a>} system which uses its built-in
+ * {@link <a href="http://www.swi-prolog.org/man/clpfd.html">CLP(FD)</a>} library
+ * to solve Sudoku as a constraint satisfaction problem.
+ *
+ * Querying to Prolog system is done using Java API provided by SWI-PROLOG's
+ * {@link <a href="http://www.swi-prolog.org/FAQ/Java.html">JPL</a>}. JPL
+ * is integrated in SWI-Prolog distribution starting from 5.4.x (this project
+ * uses SWI-Prolog-7.4.2).</p>
+ * <p>
+ * Every query holds a lease of a {@link PrologQueryLimiter}, so several
+ * threads can solve with the same engine instance at the same time while
+ * the number of concurrent Prolog queries stays bounded.</p>
+ * <p>
+ * Variables are labeled with a {@link LabelingStrategy}, chosen with the
+ * system property {@value Config#PROLOG_LABELING_PROPERTY}. With the value
+ * {@value Config#ADAPTIVE_LABELING} the strategy of every grid is chosen by a
+ * {@link StrategySelector} from the statistics file
+ * {@value Config#LABELING_STATISTICS_FILE}.</p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class PrologSolverEngine implements SolverEngine
+{
+    private static Logger logger = Logger.getLogger(PrologSolverEngine.class.getName());
+
+    // name of this engine
+    public static final String NAME = "prolog";
+
+    // bounds the Prolog queries running at the same time
+    private final PrologQueryLimiter limiter;
+
+    // numbers for naming controlled queries
+    private static final AtomicLong tokenCounter = new AtomicLong();
+
+    // sends cancel queries, so the cancelling thread (often the UI thread)
+    // does not wait for a Prolog engine
+    private static final ExecutorService cancelExecutor = Executors.newSingleThreadExecutor(
+            new ThreadFactory()
+            {
+                @Override
+                public Thread newThread(Runnable runnable)
+                {
+                    Thread thread = new Thread(runnable, "sudoku-prolog-cancel");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    // labeling strategy of all grids, unless a selector chooses it for each grid
+    private volatile LabelingStrategy labelingStrategy = LabelingStrategy.DEFAULT;
+    private volatile StrategySelector strategySelector = null;
+
+    /**
+     * It creates an engine using the shared {@link PrologQueryLimiter}
+     */
+    public PrologSolverEngine()
+    {
+        this(PrologQueryLimiter.getInstance());
+    }
+
+    /**
+     * It creates an engine taking leases from the given limiter
+     * @param limiter limiter of concurrent Prolog queries
+     */
+    public PrologSolverEngine(PrologQueryLimiter limiter)
+    {
+        this.limiter = limiter;
+
+        String strategyText = System.getProperty(Config.PROLOG_LABELING_PROPERTY);
+        if(Config.ADAPTIVE_LABELING.equalsIgnoreCase(String.valueOf(strategyText)))
+        {
+            File statisticsFile = new File(Config.LABELING_STATISTICS_FILE);
+            try
+            {
+                setStrategySelector(StrategySelector.load(statisticsFile));
+            }
+            catch (IOException e)
+            {
+                logger.log(Level.WARNING, "Could not read labeling statistics : "
+                        + statisticsFile.getPath(), e);
+                setStrategySelector(new StrategySelector());
+            }
+        }
+        else
+        {
+            try
+            {
+                setLabelingStrategy(LabelingStrategy.parse(strategyText));
+            }
+            catch (IllegalArgumentException e)
+            {
+                logger.warning(e.getMessage() + ", default labeling is used");
+            }
+        }
+    }
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    /**
+     * It sets the labeling strategy of all grids and stops choosing
+     * strategies with a selector
+     * @param strategy the labeling strategy
+     */
+    public void setLabelingStrategy(LabelingStrategy strategy)
+    {
+        labelingStrategy = strategy;
+        strategySelector = null;
+    }
+
+    /**
+     * It sets a selector choosing the labeling strategy of each grid
+     * @param selector the selector or null to use the labeling strategy of all grids
+     */
+    public void setStrategySelector(StrategySelector selector)
+    {
+        strategySelector = selector;
+    }
+
+    /**
+     * @return selector choosing the labeling strategy of each grid, or null
+     */
+    public StrategySelector getStrategySelector()
+    {
+        return strategySelector;
+    }
+
+    /**
+     * It returns the labeling strategy used for a grid
+     * @param grid the Sudoku grid
+     * @return strategy chosen by the selector or the strategy of all grids
+     */
+    public LabelingStrategy getLabelingStrategy(int[] grid)
+    {
+        StrategySelector selector = strategySelector;
+        return selector != null ? selector.select(grid) : labelingStrategy;
+    }
+
+    /**
+     * Sudoku other than 9x9 are solved with 'sudoku_n/1' of 'solver.pl'
+     */
+    @Override
+    public boolean supportsSize(int size)
+    {
+        int boxSize = (int) Math.round(Math.sqrt(size));
+        return size > 0 && boxSize*boxSize == size;
+    }
+
+    /**
+     * It solves Sudoku. It queries SWI-PROLOG after consulting 'solver.pl',
+     * which uses in-built CLP(FD) library to find a solution. The solution are
+     * the instantiated row variables and each of these rows is parsed for integers.
+     * <p>
+     * The query is build as a text and passed to the constructor of {@link org.jpl7.Query}.
+     * An example sudoku query text is shown below:
+     * <pre>
+     *   String queryText = ""
+     *           + "Row0 = [3, _, _, _, _, _, _, _, 9],"
+     *           + "Row1 = [_, _, _, 4, _, 3, _, _, _],"
+     *           + "Row2 = [7, _, 4, 6, _, _, _, _, 5],"
+     *           + "Row3 = [9, _, _, _, 2, _, _, 6, _],"
+     *           + "Row4 = [_, _, 5, 8, 3, _, _, 4, _],"
+     *           + "Row5 = [_, _, 8, _, 1, _, 3, _, _],"
+     *           + "Row6 = [_, 8, 3, _, _, _, 6, _, _],"
+     *           + "Row7 = [6, _, 9, _, _, 5, 2, _, 4],"
+     *           + "Row8 = [_, _, _, _, _, 9, _, _, _],"
+     *           + "sudoku([Row0, Row1, Row2, Row3, Row4, Row5, Row6, Row7, Row8]).";
+     * </pre>
+     *
+     * The returned solution is a map of String to Term, where key String are
+     * the variable names from the query. Here is an example piece of code:
+     *
+     * <pre>
+     * Map<String, Term> solutions = sudokuQuery.oneSolution();
+     * Term row0Term = solutions.get("Row0");
+     * </pre>
+     *
+     * </p>
+     *
+     * @param grid the Sudoku grid to be solved.
+     * @throws ResourceLoadingException throws this Exception when SWI-Prolog-JPL
+     * native library could not be loaded or the prolog file is not loaded for solving Sudoku.
+     *
+     */
+    @Override
+    public int[] solve(int[] grid) throws ResourceLoadingException
+    {
+        String queryText = getQueryText(grid, getLabelingStrategy(grid));
+        logger.info("Sudoku query = " + queryText);
+
+        // make a query to Prolog holding a lease
+        Map<String, Term> solutions;
+        PrologQueryLimiter.Lease lease = limiter.lease();
+        try
+        {
+            Query sudokuQuery = new Query(queryText);
+            solutions = sudokuQuery.oneSolution();
+            sudokuQuery.close();
+        }
+        catch (RuntimeException e)
+        {
+            lease.markFailed();
+            throw e;
+        }
+        finally
+        {
+            lease.release();
+        }
+
+        // return if there is no solution
+        if(solutions == null)
+        {
+            logger.info("NO SOLUTION FOUND FOR THIS SUDOKU");
+            return null;
+        }
+
+        logger.info("Solution found");
+
+        return getSolvedGrid(solutions, getSize(grid));
+    }
+
+    /**
+     * It counts solutions by iterating over solutions of an open query,
+     * so Prolog finds only as many solutions as are counted.
+     * @see #solve(int[])
+     */
+    @Override
+    public int countSolutions(int[] grid, int limit) throws ResourceLoadingException
+    {
+        int count = 0;
+        PrologQueryLimiter.Lease lease = limiter.lease();
+        try
+        {
+            Query sudokuQuery = new Query(getQueryText(grid, getLabelingStrategy(grid)));
+            try
+            {
+                while(count < limit && sudokuQuery.hasMoreSolutions())
+                {
+                    sudokuQuery.nextSolution();
+                    count++;
+                }
+            }
+            finally
+            {
+                sudokuQuery.close();
+            }
+        }
+        catch (RuntimeException e)
+        {
+            lease.markFailed();
+            throw e;
+        }
+        finally
+        {
+            lease.release();
+        }
+
+        logger.info("Solutions counted : " + count + " (limit " + limit + ")");
+        return count;
+    }
+
+    /**
+     * It enumerates solutions from an open query, so Prolog searches the
+     * next solution only when it is read. The lease is released and
+     * the query closed when the iterator is closed or has no more solutions.
+     * @see SolutionIterator
+     */
+    @Override
+    public SolutionIterator iterateSolutions(int[] grid) throws ResourceLoadingException
+    {
+        final int size = getSize(grid);
+        final String queryText = getQueryText(grid, getLabelingStrategy(grid));
+        final PrologQueryLimiter.Lease lease = limiter.lease();
+        final Query sudokuQuery;
+        try
+        {
+            sudokuQuery = new Query(queryText);
+        }
+        catch (RuntimeException e)
+        {
+            lease.markFailed();
+            lease.release();
+            throw e;
+        }
+
+        return new SolutionIterator()
+        {
+            @Override
+            protected int[] findNext()
+            {
+                try
+                {
+                    if(!sudokuQuery.hasMoreSolutions())
+                        return null;
+                    return getSolvedGrid(sudokuQuery.nextSolution(), size);
+                }
+                catch (RuntimeException e)
+                {
+                    lease.markFailed();
+                    close();
+                    throw e;
+                }
+            }
+
+            @Override
+            protected void release()
+            {
+                try
+                {
+                    sudokuQuery.close();
+                }
+                finally
+                {
+                    lease.release();
+                }
+            }
+        };
+    }
+
+    /**
+     * It solves all grids with a single query to 'sudoku_batch/3' of 'solver.pl'.
+     * <p>
+     * The goal is built from terms instead of query text, so it is not parsed
+     * by Prolog and there is one query for all grids. Each result of the goal is
+     * either <code>solved(Rows)</code> or <code>failed</code>, an example goal
+     * for two grids is
+     * <pre>
+     * sudoku_batch([[[3, _, ...], ...], [[_, 8, ...], ...]], [default, default], Results)
+     * </pre>
+     * </p>
+     */
+    @Override
+    public List<SolveResult> solveBatch(List<int[]> grids) throws ResourceLoadingException
+    {
+        List<SolveResult> results = new ArrayList<SolveResult>(grids.size());
+        if(grids.isEmpty())
+            return results;
+
+        Term[] puzzleTerms = new Term[grids.size()];
+        Term[] strategyTerms = new Term[grids.size()];
+        for(int index = 0; index < puzzleTerms.length; index++)
+        {
+            puzzleTerms[index] = getRowsTerm(grids.get(index));
+            strategyTerms[index] = getLabelingStrategy(grids.get(index)).toTerm();
+        }
+
+        Map<String, Term> solutions;
+        PrologQueryLimiter.Lease lease = limiter.lease();
+        try
+        {
+            Query batchQuery = new Query(new Compound("sudoku_batch", new Term[] {
+                    Util.termArrayToList(puzzleTerms), Util.termArrayToList(strategyTerms),
+                    new Variable("Results")}));
+            try
+            {
+                solutions = batchQuery.oneSolution();
+            }
+            finally
+            {
+                batchQuery.close();
+            }
+        }
+        catch (RuntimeException e)
+        {
+            lease.markFailed();
+            throw e;
+        }
+        finally
+        {
+            lease.release();
+        }
+
+        if(solutions == null)
+        {
+            logger.severe("Batch query failed for " + grids.size() + " Sudoku");
+            return results;
+        }
+
+        for(Term resultTerm : solutions.get("Results").toTermArray())
+        {
+            results.add(getSolveResult(resultTerm));
+        }
+
+        logger.info("Batch of " + grids.size() + " Sudoku solved");
+        return results;
+    }
+
+    /**
+     * It solves with 'sudoku_controlled/5' of 'solver.pl', which runs the
+     * goal under <code>call_with_time_limit/2</code> for the remaining time
+     * of the control. Cancelling the control signals the Prolog thread of
+     * the query to abort with <code>sudoku_cancel/1</code>, which is sent from
+     * a thread of its own. The signal is ignored by Prolog when the goal of
+     * the query has already finished. The goal is run
+     * by 'sudoku_measured/3' to read its inferences and CPU time.
+     */
+    @Override
+    public SolveResult solve(int[] grid, SolveControl control) throws ResourceLoadingException
+    {
+        if(control.isStopped())
+            return SolveResult.stopped(control);
+
+        long startNanos = System.nanoTime();
+        LabelingStrategy strategy = getLabelingStrategy(grid);
+        final String token = "sudoku_" + tokenCounter.incrementAndGet();
+        long timeLimit = control.hasDeadline() ? Math.max(1, control.getRemainingMillis()) : 0;
+        final Runnable cancelQuery = new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    Query.hasSolution("sudoku_cancel(" + token + ")");
+                }
+                catch (RuntimeException e)
+                {
+                    logger.log(Level.WARNING, "Could not cancel Prolog query " + token, e);
+                }
+            }
+        };
+        Runnable canceller = new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                cancelExecutor.execute(cancelQuery);
+            }
+        };
+
+        Map<String, Term> solutions;
+        PrologQueryLimiter.Lease lease = limiter.lease();
+        control.addCancelListener(canceller);
+        try
+        {
+            Term controlledGoal = new Compound("sudoku_controlled", new Term[] {
+                    getRowsTerm(grid), strategy.toTerm(), new Atom(token),
+                    new org.jpl7.Integer(timeLimit), new Variable("Result")});
+            Query controlledQuery = new Query(new Compound("sudoku_measured", new Term[] {
+                    controlledGoal, new Variable("Inferences"), new Variable("CpuMillis")}));
+            try
+            {
+                solutions = controlledQuery.oneSolution();
+            }
+            finally
+            {
+                controlledQuery.close();
+            }
+        }
+        catch (RuntimeException e)
+        {
+            // cancel signal arrived after the goal had finished
+            if(control.isCancelled())
+                return SolveResult.stopped(control);
+
+            lease.markFailed();
+            throw e;
+        }
+        finally
+        {
+            control.removeCancelListener(canceller);
+            lease.release();
+        }
+
+        if(solutions == null)
+        {
+            logger.severe("Controlled query failed : " + token);
+            return new SolveResult(SolveResult.Status.UNSOLVABLE, null);
+        }
+
+        SolveResult result = getSolveResult(solutions.get("Result")).withStatistics(
+                new SolveStatistics(NAME, -1, -1, -1, -1, solutions.get("Inferences").longValue(),
+                        System.nanoTime() - startNanos,
+                        solutions.get("CpuMillis").longValue() * 1000000));
+        logger.info("Sudoku " + token + " : " + result.getStatus() + ", "
+                + result.getStatistics().getInferences() + " inferences, labeling " + strategy);
+        return result;
+    }
+
+    /**
+     * It posts the constraints of 'solver.pl' with 'sudoku_candidates/2' and
+     * reads the domain of every variable with <code>fd_dom/2</code>, so no
+     * labeling is done.
+     */
+    @Override
+    public long[] getCandidates(int[] grid) throws ResourceLoadingException
+    {
+        Map<String, Term> solutions;
+        PrologQueryLimiter.Lease lease = limiter.lease();
+        try
+        {
+            Query candidateQuery = new Query(new Compound("sudoku_candidates", new Term[] {
+                    getRowsTerm(grid), new Variable("Candidates")}));
+            try
+            {
+                solutions = candidateQuery.oneSolution();
+            }
+            finally
+            {
+                candidateQuery.close();
+            }
+        }
+        catch (RuntimeException e)
+        {
+            lease.markFailed();
+            throw e;
+        }
+        finally
+        {
+            lease.release();
+        }
+
+        // propagation failed
+        if(solutions == null)
+            return null;
+
+        long[] candidateMasks = new long[grid.length];
+        int position = 0;
+        for(Term valuesTerm : solutions.get("Candidates").toTermArray())
+        {
+            for(Integer value : getIntegers(valuesTerm.toTermArray()))
+            {
+                candidateMasks[position] |= 1L << (value - 1);
+            }
+            position++;
+        }
+        return candidateMasks;
+    }
+
+    /**
+     * It reads a result term of 'solver.pl', which is <code>solved(Rows)</code>,
+     * <code>timed_out</code>, <code>cancelled</code> or <code>failed</code>
+     * @param resultTerm the result term
+     * @return result of solving
+     */
+    static SolveResult getSolveResult(Term resultTerm)
+    {
+        if(resultTerm.isCompound() && "solved".equals(resultTerm.name()))
+        {
+            Term[] rowTerms = resultTerm.arg(1).toTermArray();
+            int size = rowTerms.length;
+            int[] solvedGrid = new int[size*size];
+            int rowNum = 0;
+            for(Term rowTerm : rowTerms)
+            {
+                int colNum = 0;
+                for(Integer colValue : getIntegers(rowTerm.toTermArray()))
+                {
+                    solvedGrid[size*rowNum + colNum] = colValue;
+                    colNum++;
+                }
+                rowNum++;
+            }
+            return new SolveResult(SolveResult.Status.SOLVED, solvedGrid);
+        }
+        else if("timed_out".equals(resultTerm.name()))
+        {
+            return new SolveResult(SolveResult.Status.TIMED_OUT, null);
+        }
+        else if("cancelled".equals(resultTerm.name()))
+        {
+            return new SolveResult(SolveResult.Status.CANCELLED, null);
+        }
+        return new SolveResult(SolveResult.Status.UNSOLVABLE, null);
+    }
+
+    /**
+     * It builds a list of row lists for a grid, empty positions are
+     * anonymous variables
+     * @param grid the Sudoku grid
+     * @return term for the rows of the grid
+     */
+    static Term getRowsTerm(int[] grid)
+    {
+        int size = getSize(grid);
+        Term[] rowTerms = new Term[size];
+        for(int rowNum = 0; rowNum < size; rowNum++)
+        {
+            Term[] colTerms = new Term[size];
+            for(int colNum = 0; colNum < size; colNum++)
+            {
+                int intValue = grid[size*rowNum + colNum];
+                colTerms[colNum] = intValue < 1
+                        ? new Variable("_")
+                        : new org.jpl7.Integer(intValue);
+            }
+            rowTerms[rowNum] = Util.termArrayToList(colTerms);
+        }
+        return Util.termArrayToList(rowTerms);
+    }
+
+    /**
+     * It builds the Sudoku query in String. With the default strategy a 9x9
+     * Sudoku is solved with 'sudoku/1', other sizes with 'sudoku_n/1'. Other
+     * strategies are solved with 'sudoku_strategy/2'.
+     * @param grid the Sudoku grid
+     * @param strategy labeling strategy of the query
+     * @return query text with a row variable for each row
+     */
+    static String getQueryText(int[] grid, LabelingStrategy strategy)
+    {
+        int size = getSize(grid);
+        StringBuilder queryTextBuilder = new StringBuilder(System.lineSeparator());
+        for(int rowNum = 0; rowNum < size; rowNum++)
+        {
+            //add row variable for each row
+            queryTextBuilder.append("Row").append(rowNum).append(" = [");
+            for(int colNum = 0; colNum < size; colNum++)
+            {
+                // get values for index 0 to N*N-1 by using index = N*row + col
+                int intValue = grid[size*rowNum + colNum];
+
+                // add "_" if value is < 1 else add the number
+                if(intValue < 1)
+                {
+                    queryTextBuilder.append("_");
+                }
+                else
+                {
+                    queryTextBuilder.append(intValue);
+                }
+
+                // append "," for column values unless it is the last column
+                if(colNum < size - 1)
+                    queryTextBuilder.append(", ");
+            }
+
+            // end row with "], " and add a new line
+            queryTextBuilder.append("], ").append(System.lineSeparator());
+        }
+
+        if(strategy.isDefault())
+            queryTextBuilder.append(size == 9 ? "sudoku([" : "sudoku_n([");
+        else
+            queryTextBuilder.append("sudoku_strategy([");
+        for(int rowNum = 0; rowNum < size; rowNum++)
+        {
+            if(rowNum > 0)
+                queryTextBuilder.append(", ");
+            queryTextBuilder.append("Row").append(rowNum);
+        }
+        if(strategy.isDefault())
+            queryTextBuilder.append("]).");
+        else
+            queryTextBuilder.append("], ").append(strategy.toQueryText()).append(").");
+
+        return queryTextBuilder.toString();
+    }
+
+    /**
+     * It returns the size N of a grid with N*N values
+     * @param grid the Sudoku grid
+     * @return number of rows of the grid
+     */
+    static int getSize(int[] grid)
+    {
+        int size = (int) Math.round(Math.sqrt(grid.length));
+        if(size*size != grid.length)
+        {
+            throw new IllegalArgumentException("Sudoku grid should have N*N values : "
+                    + grid.length);
+        }
+        return size;
+    }
+
+    /**
+     * It reads the instantiated row variables of a solution
+     * @param solutions map of query variable names to their terms
+     * @param size number of rows of the Sudoku
+     * @return solved grid
+     */
+    static int[] getSolvedGrid(Map<String, Term> solutions, int size)
+    {
+        int[] solvedGrid = new int[size*size];
+
+        // iterate over solution for each variable
+        List<Integer> rowValues;
+        Term term = null;
+        int colNum = 0;
+        for(int rowIndex = 0; rowIndex < size; rowIndex++)
+        {
+            term = solutions.get("Row" + rowIndex);
+            if(term != null)
+            {
+                rowValues = getIntegers(term.toTermArray());
+
+                logger.info("Row" + rowIndex + " = " + rowValues.toString());
+
+                // re-initialize columns for each row
+                colNum = 0;
+                for(Integer colValue : rowValues)
+                {
+                    // set this value at position index = N*row + column
+                    solvedGrid[size*rowIndex + colNum] = colValue;
+                    colNum++;
+                }
+            }
+            else
+            {
+                logger.severe("Null value for Row" + rowIndex);
+            }
+        }
+
+        return solvedGrid;
+    }
+
+    /**
+     * It returns list of integers from an array of Prolog terms.
+     * It adds 0 to the list when a term is not an integer.
+     * @param termArray array of {@link org.jpl7.Term}
+     * @return list of integers
+     */
+    static List<Integer> getIntegers(Term[] termArray)
+    {
+        List<Integer> integerTerms = new ArrayList<Integer>();
+        for(Term thisTerm : termArray)
+        {
+            if(thisTerm.isInteger())
+            {
+                integerTerms.add(thisTerm.intValue());
+            }
+            else // 0 symbolizes unknown value
+            {
+                integerTerms.add(Integer.valueOf(0));
+            }
+        }
+        return integerTerms;
+    }
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import project.sudoku.board.model.LikelyValue;
+
+/**
+ * Container class for the outcome of repairing misread values of a Sudoku
+ * <p>
+ * It stores the {@link Status} of repairing, the unique solution of the
+ * repaired givens, the corrected positions with the alternative value used
+ * at each of them and the likelihood of the repaired givens (product of
+ * confidences of the low confidence values).
+ * </p>
+ *
+ * @see ConfidenceRepair
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class RepairResult
+{
+    /**
+     * Status of repairing a Sudoku
+     */
+    public enum Status
+    {
+        // the givens already have a unique solution
+        UNIQUE,
+        // some low confidence values were replaced to get a unique solution
+        REPAIRED,
+        // no combination of alternatives has a unique solution
+        NOT_REPAIRED
+    }
+
+    private final Status status;
+    private final int[] solution;
+    private final Map<Integer, LikelyValue> corrections;
+    private final double likelihood;
+    private final int candidateCount;
+
+    /**
+     * The constructor for creating a result
+     * @param status status of repairing
+     * @param solution unique solution or null if not repaired
+     * @param corrections alternative value for each corrected position
+     * @param likelihood likelihood of the repaired givens
+     * @param candidateCount number of candidate boards checked
+     */
+    public RepairResult(Status status, int[] solution, Map<Integer, LikelyValue> corrections,
+            double likelihood, int candidateCount)
+    {
+        this.status = status;
+        this.solution = solution;
+        this.corrections = Collections.unmodifiableMap(
+                new LinkedHashMap<Integer, LikelyValue>(corrections));
+        this.likelihood = likelihood;
+        this.candidateCount = candidateCount;
+    }
+
+    /**
+     * @return the status of repairing
+     */
+    public Status getStatus()
+    {
+        return status;
+    }
+
+    /**
+     * @return unique solution of the (repaired) givens or null
+     */
+    public int[] getSolution()
+    {
+        return solution;
+    }
+
+    /**
+     * @return alternative value used at each corrected position
+     */
+    public Map<Integer, LikelyValue> getCorrections()
+    {
+        return corrections;
+    }
+
+    /**
+     * @return product of confidences of the low confidence values used
+     */
+    public double getLikelihood()
+    {
+        return likelihood;
+    }
+
+    /**
+     * @return number of candidate boards checked
+     */
+    public int getCandidateCount()
+    {
+        return candidateCount;
+    }
+
+    /**
+     * @return true if there is a unique solution, with or without corrections
+     */
+    public boolean isSolved()
+    {
+        return solution != null;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "RepairResult [status=" + status + ", corrections=" + corrections.size()
+                + ", likelihood=" + likelihood + ", candidates=" + candidateCount + "]";
+    }
+}
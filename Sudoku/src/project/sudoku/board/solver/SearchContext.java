@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * State shared by all parts of one search
+ * <p>
+ * It collects solutions until the solution limit is reached and then marks
+ * the search as stopped. Searches running on several threads check
+ * {@link #isStopped()} to give up their remaining work cooperatively.
+ * </p>
+ * <p>
+ * A search with a {@link SolveControl} also stops when the control is
+ * cancelled or its deadline passes. The control is checked on every
+ * {@value #CONTROL_CHECK_INTERVAL}th call of {@link #isStopped()}.
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+class SearchContext
+{
+    // calls of isStopped() between checks of the control
+    static final int CONTROL_CHECK_INTERVAL = 256;
+
+    private final int limit;
+    private final SolveControl control;
+    // not atomic, a lost update only delays a check
+    private int checkCount = 0;
+    private final AtomicInteger solutionCount = new AtomicInteger();
+    private volatile int[] solution = null;
+    private volatile boolean stopped;
+    private volatile boolean interrupted;
+
+    // statistics added by the parts of the search
+    private long nodeCount = 0;
+    private long backtrackCount = 0;
+    private long propagationCount = 0;
+    private int maxDepth = 0;
+
+    /**
+     * @param limit number of solutions after which the search stops
+     */
+    SearchContext(int limit)
+    {
+        this(limit, null);
+    }
+
+    /**
+     * @param limit number of solutions after which the search stops
+     * @param control control stopping the search or null
+     */
+    SearchContext(int limit, SolveControl control)
+    {
+        this.limit = limit;
+        this.control = control;
+        this.interrupted = control != null && control.isStopped();
+        this.stopped = limit < 1 || interrupted;
+    }
+
+    /**
+     * It records a solution
+     * @param values solved values, copied if this is the first solution
+     * @return true if the search should stop
+     */
+    boolean addSolution(int[] values)
+    {
+        int count = solutionCount.incrementAndGet();
+        if(count == 1)
+            solution = values.clone();
+
+        if(count >= limit)
+            stopped = true;
+        return stopped;
+    }
+
+    /**
+     * @return true if the search should stop
+     */
+    boolean isStopped()
+    {
+        if(!stopped && control != null && ++checkCount % CONTROL_CHECK_INTERVAL == 0
+                && control.isStopped())
+        {
+            interrupted = true;
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    /**
+     * @return true if the search was stopped by its control before
+     * the solution limit was reached
+     */
+    boolean isInterrupted()
+    {
+        return interrupted;
+    }
+
+    /**
+     * It returns the result of a search for one solution
+     * @return solved, unsolvable, timed out or cancelled result
+     */
+    SolveResult getResult()
+    {
+        if(solution != null)
+            return new SolveResult(SolveResult.Status.SOLVED, solution);
+        if(isInterrupted())
+            return SolveResult.stopped(control);
+        return new SolveResult(SolveResult.Status.UNSOLVABLE, null);
+    }
+
+    /**
+     * It stops the search
+     */
+    void stop()
+    {
+        stopped = true;
+    }
+
+    /**
+     * It adds statistics of a part of the search
+     * @param nodes search nodes visited
+     * @param backtracks failed search nodes
+     * @param propagations propagation steps
+     * @param depth maximum depth reached
+     */
+    synchronized void addStatistics(long nodes, long backtracks, long propagations, int depth)
+    {
+        nodeCount += nodes;
+        backtrackCount += backtracks;
+        propagationCount += propagations;
+        maxDepth = Math.max(maxDepth, depth);
+    }
+
+    synchronized long getNodeCount()
+    {
+        return nodeCount;
+    }
+
+    synchronized long getBacktrackCount()
+    {
+        return backtrackCount;
+    }
+
+    synchronized long getPropagationCount()
+    {
+        return propagationCount;
+    }
+
+    synchronized int getMaxDepth()
+    {
+        return maxDepth;
+    }
+
+    /**
+     * @return number of solutions found, at most the limit
+     */
+    int getSolutionCount()
+    {
+        return Math.min(solutionCount.get(), limit);
+    }
+
+    /**
+     * @return first solution found or null
+     */
+    int[] getSolution()
+    {
+        return solution;
+    }
+}
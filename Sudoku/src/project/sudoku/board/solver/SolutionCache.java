@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import project.sudoku.exception.ResourceLoadingException;
+
+/**
+ * LRU cache of solutions keyed by the {@link CanonicalForm} of the givens
+ * <p>
+ * A grid and any relabeled, permuted, transposed or rotated variant of it
+ * share one entry. The entry stores the solution of the canonical form (or
+ * that there is none), which is mapped back through the transform of the
+ * grid being looked up. At most capacity entries are kept, the least
+ * recently used entry is evicted first. Only 9x9 grids are cached.
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class SolutionCache
+{
+    private static Logger logger = Logger.getLogger(SolutionCache.class.getName());
+
+    // stored for canonical forms without a solution
+    private static final byte[] NO_SOLUTION = new byte[0];
+
+    private final int capacity;
+    private final Map<String, byte[]> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param capacity maximum number of cached solutions
+     */
+    public SolutionCache(final int capacity)
+    {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<String, byte[]>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest)
+            {
+                if(size() > capacity)
+                {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * It returns the cached result of a grid or solves it with the engine
+     * and caches a solved or unsolvable result
+     * @param grid grid to be solved
+     * @param engine engine solving grids that are not cached
+     * @param control control of solving or null to solve without one
+     * @return result of solving
+     * @throws ResourceLoadingException when a resource of the engine could not be loaded
+     */
+    public SolveResult solve(int[] grid, SolverEngine engine, SolveControl control)
+            throws ResourceLoadingException
+    {
+        CanonicalForm canonicalForm = grid.length == 81 ? CanonicalForm.of(grid) : null;
+        if(canonicalForm != null)
+        {
+            SolveResult cachedResult = get(canonicalForm);
+            if(cachedResult != null)
+            {
+                hits.incrementAndGet();
+                return cachedResult;
+            }
+        }
+        misses.incrementAndGet();
+
+        SolveResult result = engine.solve(grid, control == null ? new SolveControl() : control);
+
+        if(canonicalForm != null)
+            put(canonicalForm, result);
+        return result;
+    }
+
+    private SolveResult get(CanonicalForm canonicalForm)
+    {
+        byte[] entry;
+        synchronized (entries)
+        {
+            entry = entries.get(canonicalForm.getKey());
+        }
+
+        if(entry == null)
+            return null;
+        if(entry == NO_SOLUTION)
+            return new SolveResult(SolveResult.Status.UNSOLVABLE, null);
+
+        int[] canonicalSolution = new int[81];
+        for(int position = 0; position < 81; position++)
+        {
+            canonicalSolution[position] = entry[position];
+        }
+        logger.info("Solution cache hit");
+        return new SolveResult(SolveResult.Status.SOLVED, canonicalForm.fromCanonical(canonicalSolution));
+    }
+
+    private void put(CanonicalForm canonicalForm, SolveResult result)
+    {
+        byte[] entry;
+        if(result.getStatus() == SolveResult.Status.SOLVED)
+        {
+            int[] canonicalSolution = canonicalForm.toCanonical(result.getSolution());
+            entry = new byte[81];
+            for(int position = 0; position < 81; position++)
+            {
+                entry[position] = (byte) canonicalSolution[position];
+            }
+        }
+        else if(result.getStatus() == SolveResult.Status.UNSOLVABLE)
+        {
+            entry = NO_SOLUTION;
+        }
+        else
+        {
+            // timed out or cancelled results say nothing about the grid
+            return;
+        }
+
+        synchronized (entries)
+        {
+            entries.put(canonicalForm.getKey(), entry);
+        }
+    }
+
+    /**
+     * It removes all cached solutions, counters are kept
+     */
+    public void clear()
+    {
+        synchronized (entries)
+        {
+            entries.clear();
+        }
+    }
+
+    /**
+     * @return number of cached solutions
+     */
+    public int size()
+    {
+        synchronized (entries)
+        {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return maximum number of cached solutions
+     */
+    public int getCapacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * @return number of grids found in the cache
+     */
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    /**
+     * @return number of grids not found in the cache
+     */
+    public long getMisses()
+    {
+        return misses.get();
+    }
+
+    /**
+     * @return number of entries evicted to stay within capacity
+     */
+    public long getEvictions()
+    {
+        return evictions.get();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "SolutionCache [size=" + size() + ", capacity=" + capacity + ", hits=" + getHits()
+                + ", misses=" + getMisses() + ", evictions=" + getEvictions() + "]";
+    }
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy iterator over solutions of a grid
+ * <p>
+ * A solution is searched only when the caller asks for it, and the search
+ * keeps just its own state, so memory stays the same however many solutions
+ * are read. An iterator holds resources of its engine (an open Prolog query
+ * and its lease, or a search stack) until it is closed. It closes
+ * itself when there are no more solutions, and should be closed by the caller
+ * when it stops early, best with try-with-resources.
+ * </p>
+ * <p>
+ * An iterator is not thread safe. Iterators of the Prolog engine must be
+ * used and closed on the thread that created them, as JPL binds an open
+ * query to its thread.
+ * </p>
+ *
+ * @see SolverEngine#iterateSolutions(int[])
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public abstract class SolutionIterator implements Iterator<int[]>, AutoCloseable
+{
+    private int[] nextSolution = null;
+    private boolean closed = false;
+
+    /**
+     * It searches the next solution
+     * @return a new array with the next solved grid or null if there are no more solutions
+     */
+    protected abstract int[] findNext();
+
+    /**
+     * It frees resources of the search, called once when the iterator is closed
+     */
+    protected void release()
+    {
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if(nextSolution == null && !closed)
+        {
+            nextSolution = findNext();
+            if(nextSolution == null)
+                close();
+        }
+        return nextSolution != null;
+    }
+
+    @Override
+    public int[] next()
+    {
+        if(!hasNext())
+            throw new NoSuchElementException("No more solutions");
+
+        int[] solution = nextSolution;
+        nextSolution = null;
+        return solution;
+    }
+
+    /**
+     * It stops the search and frees its resources, later calls do nothing
+     */
+    @Override
+    public void close()
+    {
+        if(!closed)
+        {
+            closed = true;
+            nextSolution = null;
+            release();
+        }
+    }
+
+    /**
+     * @return true if the iterator was closed or has no more solutions
+     */
+    public boolean isClosed()
+    {
+        return closed;
+    }
+
+    /**
+     * It returns a sequential stream reading solutions from this iterator,
+     * closing the stream closes the iterator
+     * @return stream of solved grids
+     */
+    public Stream<int[]> stream()
+    {
+        Stream<int[]> solutions = StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+        return solutions.onClose(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                close();
+            }
+        });
+    }
+}
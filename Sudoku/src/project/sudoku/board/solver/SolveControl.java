@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline and cancellation of a solve call
+ * <p>
+ * A control is passed to {@link SolverEngine#solve(int[], SolveControl)}.
+ * In-JVM engines check {@link #isStopped()} while searching, the Prolog
+ * engines limit their goal to the remaining time and abort it from
+ * a cancel listener. {@link #cancel()} may be called from any thread.
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class SolveControl
+{
+    // deadline in System.nanoTime() or 0 for no deadline
+    private final long deadline;
+    private volatile boolean cancelled = false;
+    private final List<Runnable> cancelListeners = new CopyOnWriteArrayList<Runnable>();
+
+    /**
+     * It creates a control without a deadline
+     */
+    public SolveControl()
+    {
+        this.deadline = 0;
+    }
+
+    /**
+     * It creates a control with a deadline
+     * @param timeout time from now until the deadline
+     * @param unit unit of timeout
+     */
+    public SolveControl(long timeout, TimeUnit unit)
+    {
+        // avoid 0, which means no deadline
+        this.deadline = (System.nanoTime() + unit.toNanos(timeout)) | 1L;
+    }
+
+    /**
+     * It cancels solving and runs cancel listeners once
+     */
+    public void cancel()
+    {
+        if(cancelled)
+            return;
+
+        cancelled = true;
+        for(Runnable listener : cancelListeners)
+        {
+            // removed first, so a listener never runs twice
+            if(cancelListeners.remove(listener))
+                listener.run();
+        }
+    }
+
+    /**
+     * @return true if solving was cancelled
+     */
+    public boolean isCancelled()
+    {
+        return cancelled;
+    }
+
+    /**
+     * @return true if the deadline has passed
+     */
+    public boolean isExpired()
+    {
+        return deadline != 0 && System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * @return true if solving should stop, because it was cancelled or its
+     * deadline has passed
+     */
+    public boolean isStopped()
+    {
+        return cancelled || isExpired();
+    }
+
+    /**
+     * @return true if this control has a deadline
+     */
+    public boolean hasDeadline()
+    {
+        return deadline != 0;
+    }
+
+    /**
+     * @return milliseconds until the deadline (0 when passed),
+     * or Long.MAX_VALUE without a deadline
+     */
+    public long getRemainingMillis()
+    {
+        if(deadline == 0)
+            return Long.MAX_VALUE;
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    /**
+     * It adds a listener that is run by the cancelling thread. A listener
+     * added after cancelling is run at once.
+     * @param listener the listener
+     */
+    public void addCancelListener(Runnable listener)
+    {
+        cancelListeners.add(listener);
+        if(cancelled && cancelListeners.remove(listener))
+            listener.run();
+    }
+
+    /**
+     * @param listener listener to be removed
+     */
+    public void removeCancelListener(Runnable listener)
+    {
+        cancelListeners.remove(listener);
+    }
+}
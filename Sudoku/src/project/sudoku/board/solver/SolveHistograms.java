@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import project.sudoku.util.SudokuLineFormat;
+
+/**
+ * Histograms of {@link SolveStatistics} of many solve calls
+ * <p>
+ * For each engine there is a histogram of wall time, CPU time, nodes,
+ * backtracks, propagation steps, search depth and Prolog inferences. Buckets
+ * are powers of two, bucket k counting values from 2^(k-1) to 2^k - 1 (bucket
+ * 0 counts zero), so a histogram has a fixed size however many calls are
+ * recorded. The slowest grid of each engine is kept, to find pathological
+ * puzzles.
+ * </p>
+ * <p>
+ * Methods are synchronized, so solve calls of several threads can be recorded.
+ * </p>
+ *
+ * @see SudokuSolver#getSolveHistograms()
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class SolveHistograms
+{
+    /**
+     * Measures of a solve call kept in histograms
+     */
+    public enum Measure
+    {
+        WALL_MICROS, CPU_MICROS, NODES, BACKTRACKS, PROPAGATIONS, MAX_DEPTH, INFERENCES
+    }
+
+    // one bucket for zero and one for each bit of a long
+    private static final int BUCKETS = 64;
+
+    private final Map<String, EngineHistograms> engineHistograms =
+            new LinkedHashMap<String, EngineHistograms>();
+
+    /**
+     * It records statistics of a solve call
+     * @param grid the grid that was solved
+     * @param statistics statistics of the solve call
+     */
+    public synchronized void record(int[] grid, SolveStatistics statistics)
+    {
+        EngineHistograms histograms = engineHistograms.get(statistics.getEngineName());
+        if(histograms == null)
+        {
+            histograms = new EngineHistograms();
+            engineHistograms.put(statistics.getEngineName(), histograms);
+        }
+
+        histograms.calls++;
+        add(histograms, Measure.WALL_MICROS, statistics.getWallNanos() / 1000);
+        add(histograms, Measure.CPU_MICROS, statistics.getCpuNanos() < 0 ? -1 : statistics.getCpuNanos() / 1000);
+        add(histograms, Measure.NODES, statistics.getNodes());
+        add(histograms, Measure.BACKTRACKS, statistics.getBacktracks());
+        add(histograms, Measure.PROPAGATIONS, statistics.getPropagations());
+        add(histograms, Measure.MAX_DEPTH, statistics.getMaxDepth());
+        add(histograms, Measure.INFERENCES, statistics.getInferences());
+
+        if(statistics.getWallNanos() > histograms.slowestNanos)
+        {
+            histograms.slowestNanos = statistics.getWallNanos();
+            histograms.slowestGrid = SudokuLineFormat.format(grid);
+        }
+    }
+
+    // adds a value to its bucket, unknown values (-1) are not counted
+    private static void add(EngineHistograms histograms, Measure measure, long value)
+    {
+        if(value < 0)
+            return;
+
+        histograms.counts[measure.ordinal()][getBucket(value)]++;
+        histograms.maxima[measure.ordinal()] = Math.max(histograms.maxima[measure.ordinal()], value);
+    }
+
+    /**
+     * @param value a value of at least zero
+     * @return index of the bucket of the value
+     */
+    static int getBucket(long value)
+    {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value));
+    }
+
+    /**
+     * It returns counts of each bucket of a histogram
+     * @param engineName name of the engine
+     * @param measure the measure
+     * @return count of values in each bucket, bucket k has values below 2^k,
+     * or null if no call of the engine was recorded
+     */
+    public synchronized long[] getCounts(String engineName, Measure measure)
+    {
+        EngineHistograms histograms = engineHistograms.get(engineName);
+        return histograms == null ? null : histograms.counts[measure.ordinal()].clone();
+    }
+
+    /**
+     * @param engineName name of the engine
+     * @return grid in line format of the slowest recorded call of the engine or null
+     */
+    public synchronized String getSlowestGrid(String engineName)
+    {
+        EngineHistograms histograms = engineHistograms.get(engineName);
+        return histograms == null ? null : histograms.slowestGrid;
+    }
+
+    /**
+     * It clears all histograms
+     */
+    public synchronized void clear()
+    {
+        engineHistograms.clear();
+    }
+
+    /**
+     * It prints all histograms, one line per non empty bucket
+     * @param out stream to print to
+     */
+    public synchronized void dump(PrintStream out)
+    {
+        for(Map.Entry<String, EngineHistograms> entry : engineHistograms.entrySet())
+        {
+            EngineHistograms histograms = entry.getValue();
+            out.println("Engine " + entry.getKey() + " : " + histograms.calls + " calls");
+            for(Measure measure : Measure.values())
+            {
+                long[] counts = histograms.counts[measure.ordinal()];
+                long recorded = 0;
+                for(long count : counts)
+                {
+                    recorded += count;
+                }
+                if(recorded == 0)
+                    continue;
+
+                out.println("  " + measure + " (max " + histograms.maxima[measure.ordinal()] + ")");
+                for(int bucket = 0; bucket < BUCKETS; bucket++)
+                {
+                    if(counts[bucket] > 0)
+                    {
+                        long low = bucket == 0 ? 0 : 1L << (bucket - 1);
+                        long high = bucket == 0 ? 0 : (1L << bucket) - 1;
+                        out.printf("    %12d - %-12d : %d%n", low, high, counts[bucket]);
+                    }
+                }
+            }
+            out.println("  slowest (" + histograms.slowestNanos / 1000 + " us) : " + histograms.slowestGrid);
+        }
+    }
+
+    /**
+     * Histograms of one engine
+     */
+    private static class EngineHistograms
+    {
+        private long calls = 0;
+        private final long[][] counts = new long[Measure.values().length][BUCKETS];
+        private final long[] maxima = new long[Measure.values().length];
+        private long slowestNanos = -1;
+        private String slowestGrid = null;
+    }
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+/**
+ * Container class for the outcome of solving one Sudoku
+ * <p>
+ * It stores the {@link Status} of solving and the solved grid
+ * (N*N values with index = N*row + col) when a solution was found.
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class SolveResult
+{
+    /**
+     * Status of solving a Sudoku
+     */
+    public enum Status
+    {
+        // a solution was found
+        SOLVED,
+        // the Sudoku has no solution
+        UNSOLVABLE,
+        // the deadline passed before solving finished
+        TIMED_OUT,
+        // solving was cancelled
+        CANCELLED
+    }
+
+    private final Status status;
+    private final int[] solution;
+    private final SolveStatistics statistics;
+
+    /**
+     * The constructor for creating a result
+     * @param status status of solving
+     * @param solution solved grid or null if there is no solution
+     */
+    public SolveResult(Status status, int[] solution)
+    {
+        this(status, solution, null);
+    }
+
+    /**
+     * The constructor for creating a result with statistics
+     * @param status status of solving
+     * @param solution solved grid or null if there is no solution
+     * @param statistics statistics of the solve call or null
+     */
+    public SolveResult(Status status, int[] solution, SolveStatistics statistics)
+    {
+        this.status = status;
+        this.solution = solution;
+        this.statistics = statistics;
+    }
+
+    /**
+     * It returns this result with the given statistics
+     * @param solveStatistics statistics of the solve call
+     * @return a new result with same status and solution
+     */
+    SolveResult withStatistics(SolveStatistics solveStatistics)
+    {
+        return new SolveResult(status, solution, solveStatistics);
+    }
+
+    /**
+     * It creates the result for a solved grid or for no solution when
+     * the solved grid is null
+     * @param solution solved grid or null
+     * @return result of solving
+     */
+    public static SolveResult of(int[] solution)
+    {
+        return new SolveResult(solution != null ? Status.SOLVED : Status.UNSOLVABLE, solution);
+    }
+
+    /**
+     * It creates the result of a solve call stopped by its control
+     * @param control control that stopped solving
+     * @return result with status {@link Status#CANCELLED} or {@link Status#TIMED_OUT}
+     */
+    public static SolveResult stopped(SolveControl control)
+    {
+        return new SolveResult(control.isCancelled() ? Status.CANCELLED : Status.TIMED_OUT, null);
+    }
+
+    /**
+     * @return the status of solving
+     */
+    public Status getStatus()
+    {
+        return status;
+    }
+
+    /**
+     * @return the solved grid or null if no solution was found
+     */
+    public int[] getSolution()
+    {
+        return solution;
+    }
+
+    /**
+     * @return statistics of the solve call or null if the result was not
+     * found by a solve call (e.g. taken from the solution cache)
+     */
+    public SolveStatistics getStatistics()
+    {
+        return statistics;
+    }
+
+    /**
+     * @return true if a solution was found
+     */
+    public boolean isSolved()
+    {
+        return status == Status.SOLVED;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "SolveResult [status=" + status + "]";
+    }
+}
@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Container class for statistics of one solve call
+ * <p>
+ * In-JVM engines count search nodes (states propagated), backtracks (nodes
+ * that failed), propagation steps (values placed by propagation, or
+ * constraint columns covered by Dancing Links) and the maximum search
+ * depth. The Prolog engine reports inferences and CPU time of its goal from
+ * <code>statistics/2</code>. Counts an engine does not know are -1.
+ * </p>
+ * <p>
+ * Wall time is measured around the whole call. CPU time is that of the
+ * calling thread (or of the Prolog thread), so for the parallel engine it
+ * does not include its workers.
+ * </p>
+ *
+ * @see SolveResult#getStatistics()
+ * @see SolveHistograms
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class SolveStatistics
+{
+    private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+    private final String engineName;
+    private final long nodes;
+    private final long backtracks;
+    private final long propagations;
+    private final int maxDepth;
+    private final long inferences;
+    private final long wallNanos;
+    private final long cpuNanos;
+
+    /**
+     * The constructor for creating statistics
+     * @param engineName name of the engine that solved
+     * @param nodes search nodes visited or -1
+     * @param backtracks failed search nodes or -1
+     * @param propagations propagation steps or -1
+     * @param maxDepth maximum search depth or -1
+     * @param inferences Prolog inferences or -1
+     * @param wallNanos wall time in nanoseconds
+     * @param cpuNanos CPU time in nanoseconds or -1
+     */
+    public SolveStatistics(String engineName, long nodes, long backtracks, long propagations,
+            int maxDepth, long inferences, long wallNanos, long cpuNanos)
+    {
+        this.engineName = engineName;
+        this.nodes = nodes;
+        this.backtracks = backtracks;
+        this.propagations = propagations;
+        this.maxDepth = maxDepth;
+        this.inferences = inferences;
+        this.wallNanos = wallNanos;
+        this.cpuNanos = cpuNanos;
+    }
+
+    /**
+     * It creates statistics of a search from the counts of its context
+     * @param engineName name of the engine
+     * @param context context of the finished search
+     * @param startNanos {@link System#nanoTime()} at start
+     * @param startCpuNanos {@link #getCpuTime()} at start
+     */
+    SolveStatistics(String engineName, SearchContext context, long startNanos, long startCpuNanos)
+    {
+        this(engineName, context.getNodeCount(), context.getBacktrackCount(),
+                context.getPropagationCount(), context.getMaxDepth(), -1,
+                System.nanoTime() - startNanos, elapsedCpuTime(startCpuNanos));
+    }
+
+    /**
+     * It creates statistics with wall and CPU time only
+     * @param engineName name of the engine
+     * @param startNanos {@link System#nanoTime()} at start
+     * @param startCpuNanos {@link #getCpuTime()} at start
+     */
+    SolveStatistics(String engineName, long startNanos, long startCpuNanos)
+    {
+        this(engineName, -1, -1, -1, -1, -1,
+                System.nanoTime() - startNanos, elapsedCpuTime(startCpuNanos));
+    }
+
+    /**
+     * @return CPU time of the current thread in nanoseconds or -1 if it is not supported
+     */
+    static long getCpuTime()
+    {
+        return threadBean.isCurrentThreadCpuTimeSupported() ? threadBean.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long elapsedCpuTime(long startCpuNanos)
+    {
+        return startCpuNanos < 0 ? -1 : getCpuTime() - startCpuNanos;
+    }
+
+    /**
+     * @return name of the engine that solved
+     */
+    public String getEngineName()
+    {
+        return engineName;
+    }
+
+    /**
+     * @return search nodes visited or -1
+     */
+    public long getNodes()
+    {
+        return nodes;
+    }
+
+    /**
+     * @return failed search nodes or -1
+     */
+    public long getBacktracks()
+    {
+        return backtracks;
+    }
+
+    /**
+     * @return propagation steps or -1
+     */
+    public long getPropagations()
+    {
+        return propagations;
+    }
+
+    /**
+     * @return maximum search depth or -1
+     */
+    public int getMaxDepth()
+    {
+        return maxDepth;
+    }
+
+    /**
+     * @return Prolog inferences or -1
+     */
+    public long getInferences()
+    {
+        return inferences;
+    }
+
+    /**
+     * @return wall time in nanoseconds
+     */
+    public long getWallNanos()
+    {
+        return wallNanos;
+    }
+
+    /**
+     * @return CPU time in nanoseconds or -1
+     */
+    public long getCpuNanos()
+    {
+        return cpuNanos;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "SolveStatistics [engine=" + engineName + ", nodes=" + nodes
+                + ", backtracks=" + backtracks + ", propagations=" + propagations
+                + ", maxDepth=" + maxDepth + ", inferences=" + inferences
+                + ", wallMicros=" + wallNanos / 1000 + ", cpuMicros="
+                + (cpuNanos < 0 ? -1 : cpuNanos / 1000) + "]";
+    }
+}
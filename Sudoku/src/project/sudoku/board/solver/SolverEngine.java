@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import project.sudoku.exception.ResourceLoadingException;
+
+/**
+ * <p>
+ * Interface for a Sudoku solving backend
+ * </p>
+ * <p>
+ * An engine works on a plain grid of N*N integers where index = N*row + col
+ * and a value less than 1 marks an empty position. The given grid is never
+ * modified by an engine. Unless {@link #supportsSize(int)} is overridden an
+ * engine solves only 9x9 grids (N = 9).
+ * </p>
+ * <p>
+ * Any class implementing this interface should implement :
+ * <li>{@link #getName()}</li>
+ * <li>{@link #solve(int[])}</li>
+ * <li>{@link #countSolutions(int[], int)}</li>
+ * </p>
+ *
+ * @see SudokuSolver#setEngine(SolverEngine)
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public interface SolverEngine
+{
+    /**
+     * It returns the name by which this engine can be selected
+     * @return name of the engine
+     */
+    public abstract String getName();
+
+    /**
+     * It returns true if this engine can solve grids of the given size
+     * @param size number of rows N of a N*N grid
+     * @return true if the size is supported, by default only for 9
+     */
+    public default boolean supportsSize(int size)
+    {
+        return size == 9;
+    }
+
+    /**
+     * It solves the given grid.
+     * @param grid N*N values with index = N*row + col (values less than 1 are empty)
+     * @return a new array with the solved grid or null if there is no solution
+     * @throws ResourceLoadingException when a resource needed by the engine
+     * could not be loaded
+     */
+    public abstract int[] solve(int[] grid) throws ResourceLoadingException;
+
+    /**
+     * It counts solutions of the given grid. Search stops as soon as limit
+     * solutions are found, so a limit of 2 is enough to check if the grid
+     * has a unique solution.
+     * @param grid N*N values with index = N*row + col (values less than 1 are empty)
+     * @param limit maximum number of solutions to be counted
+     * @return number of solutions, at most limit
+     * @throws ResourceLoadingException when a resource needed by the engine
+     * could not be loaded
+     */
+    public abstract int countSolutions(int[] grid, int limit) throws ResourceLoadingException;
+
+    /**
+     * It solves the given grid until the control is cancelled or its
+     * deadline passes. By default the control is only checked before
+     * solving, engines that can abort their search override it. The result
+     * has {@link SolveStatistics} of the call, by default wall and CPU time only.
+     * @param grid N*N values with index = N*row + col (values less than 1 are empty)
+     * @param control deadline and cancellation of this call
+     * @return solved, unsolvable, timed out or cancelled result
+     * @throws ResourceLoadingException when a resource needed by the engine
+     * could not be loaded
+     */
+    public default SolveResult solve(int[] grid, SolveControl control) throws ResourceLoadingException
+    {
+        if(control.isStopped())
+            return SolveResult.stopped(control);
+
+        long startNanos = System.nanoTime(), startCpuNanos = SolveStatistics.getCpuTime();
+        SolveResult result = SolveResult.of(solve(grid));
+        return result.withStatistics(new SolveStatistics(getName(), startNanos, startCpuNanos));
+    }
+
+    /**
+     * It returns remaining candidates of every position after constraint
+     * propagation, without searching for a solution (pencil marks). By
+     * default candidates are found by one {@link BitsetSolverEngine} shared
+     * by all engines, so callers on several threads take turns. It cannot
+     * be cancelled, but propagation alone takes well under a millisecond.
+     * @param grid N*N values with index = N*row + col (values less than 1 are empty)
+     * @return for each position a mask with bit v-1 set if value v is a candidate
+     * (a single bit for positions with a value), or null if propagation
+     * shows that the grid has no solution
+     * @throws ResourceLoadingException when a resource needed by the engine
+     * could not be loaded
+     */
+    public default long[] getCandidates(int[] grid) throws ResourceLoadingException
+    {
+        return BitsetSolverEngine.SHARED.getCandidates(grid);
+    }
+
+    /**
+     * It returns a lazy iterator over all solutions of the given grid. Each
+     * solution is searched when it is read, so memory does not grow with the
+     * number of solutions. By default solutions are enumerated by the
+     * shared {@link BitsetSolverEngine}, each iterator with its own search
+     * state. The search for the next solution cannot be cancelled, a caller
+     * stops it by closing the iterator between solutions.
+     * @param grid N*N values with index = N*row + col (values less than 1 are empty)
+     * @return iterator over solved grids, it should be closed when not read to the end
+     * @throws ResourceLoadingException when a resource needed by the engine
+     * could not be loaded
+     */
+    public default SolutionIterator iterateSolutions(int[] grid) throws ResourceLoadingException
+    {
+        return BitsetSolverEngine.SHARED.iterateSolutions(grid);
+    }
+
+    /**
+     * It solves a list of grids. By default each grid is solved with
+     * {@link #solve(int[])}, engines with a cheaper way of solving many grids
+     * at once override it.
+     * @param grids list of grids to be solved
+     * @return result for each grid in the same order
+     * @throws ResourceLoadingException when a resource needed by the engine
+     * could not be loaded
+     */
+    public default List<SolveResult> solveBatch(List<int[]> grids) throws ResourceLoadingException
+    {
+        List<SolveResult> results = new ArrayList<SolveResult>(grids.size());
+        for(int[] grid : grids)
+        {
+            results.add(SolveResult.of(solve(grid)));
+        }
+        return results;
+    }
+
+    /**
+     * It solves a list of grids one after another with a shared control.
+     * Grids not solved before the control stops get its timed out or
+     * cancelled result.
+     * @param grids list of grids to be solved
+     * @param control deadline and cancellation of the whole batch
+     * @return result for each grid in the same order
+     * @throws ResourceLoadingException when a resource needed by the engine
+     * could not be loaded
+     */
+    public default List<SolveResult> solveBatch(List<int[]> grids, SolveControl control)
+            throws ResourceLoadingException
+    {
+        List<SolveResult> results = new ArrayList<SolveResult>(grids.size());
+        for(int[] grid : grids)
+        {
+            results.add(solve(grid, control));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,304 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+/**
+ * Adaptive choice of a {@link LabelingStrategy} from cheap board features
+ * <p>
+ * Grids are put in buckets by size, by the fraction of given values (in
+ * tenths) and by the mean number of candidates of an empty position when
+ * only the givens are eliminated. For every bucket and strategy the number
+ * of solves, Prolog inferences and CPU milliseconds are recorded, for
+ * example by the solver macro benchmark, and kept
+ * in a statistics file between runs. A grid is solved with the strategy
+ * with the fewest mean inferences in its bucket, or over all buckets of its
+ * size when its bucket has too few solves, or with {@link #FALLBACK}.
+ * </p>
+ * <p>
+ * The statistics file has one line per bucket and strategy
+ * <pre>
+ * # bucket   strategy   solves   inferences   cpu ms
+ * 9:2:4      ff,step,all_distinct   120   2200000   310
+ * </pre>
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class StrategySelector
+{
+    private static Logger logger = Logger.getLogger(StrategySelector.class.getName());
+
+    // strategy used when nothing was recorded for a grid size
+    public static final LabelingStrategy FALLBACK = LabelingStrategy.parse("ff,step,all_distinct");
+
+    // solves of a strategy needed before it is chosen
+    public static final int MIN_SOLVES = 5;
+
+    // indexes of the recorded totals
+    private static final int SOLVES = 0;
+    private static final int INFERENCES = 1;
+    private static final int CPU_MILLIS = 2;
+
+    // totals of each strategy for each bucket
+    private final Map<String, Map<LabelingStrategy, long[]>> totals =
+            new TreeMap<String, Map<LabelingStrategy, long[]>>();
+
+    /**
+     * It loads recorded statistics from a file, a missing file gives a
+     * selector with no statistics
+     * @param file the statistics file
+     * @return selector with the statistics of the file
+     * @throws IOException when the file could not be read
+     */
+    public static StrategySelector load(File file) throws IOException
+    {
+        StrategySelector selector = new StrategySelector();
+        if(!file.isFile())
+            return selector;
+
+        int lineNumber = 0;
+        for(String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8))
+        {
+            lineNumber++;
+            line = line.trim();
+            if(line.isEmpty() || line.startsWith("#"))
+                continue;
+
+            String[] fields = line.split("\\s+");
+            try
+            {
+                // a line is parsed before it is added, so a bad line adds no bucket
+                LabelingStrategy strategy = LabelingStrategy.parse(fields[1]);
+                long solves = Long.parseLong(fields[2]);
+                long inferences = Long.parseLong(fields[3]);
+                long cpuMillis = Long.parseLong(fields[4]);
+
+                long[] recorded = selector.getTotals(fields[0], strategy);
+                recorded[SOLVES] += solves;
+                recorded[INFERENCES] += inferences;
+                recorded[CPU_MILLIS] += cpuMillis;
+            }
+            catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e)
+            {
+                logger.warning("Skipped line " + lineNumber + " of " + file.getPath() + " : " + line);
+            }
+        }
+        logger.info("Labeling statistics loaded from " + file.getPath());
+        return selector;
+    }
+
+    /**
+     * It writes recorded statistics to a file
+     * @param file the statistics file
+     * @throws IOException when the file could not be written
+     */
+    public synchronized void save(File file) throws IOException
+    {
+        try (PrintWriter writer = new PrintWriter(file, "UTF-8"))
+        {
+            writer.println("# bucket (size:given tenths:mean candidates)  strategy  solves  inferences  cpu ms");
+            for(Map.Entry<String, Map<LabelingStrategy, long[]>> bucket : totals.entrySet())
+            {
+                for(Map.Entry<LabelingStrategy, long[]> strategy : bucket.getValue().entrySet())
+                {
+                    long[] recorded = strategy.getValue();
+                    writer.println(bucket.getKey() + "\t" + strategy.getKey() + "\t" + recorded[SOLVES]
+                            + "\t" + recorded[INFERENCES] + "\t" + recorded[CPU_MILLIS]);
+                }
+            }
+        }
+    }
+
+    /**
+     * It records a solve of a grid with a strategy. Solves without
+     * inferences (not solved by Prolog) are ignored.
+     * @param grid the solved grid
+     * @param strategy strategy of the solve
+     * @param statistics statistics of the solve
+     */
+    public void record(int[] grid, LabelingStrategy strategy, SolveStatistics statistics)
+    {
+        if(statistics == null || statistics.getInferences() < 0)
+            return;
+
+        String bucket = getBucket(grid);
+        synchronized (this)
+        {
+            long[] recorded = getTotals(bucket, strategy);
+            recorded[SOLVES]++;
+            recorded[INFERENCES] += statistics.getInferences();
+            recorded[CPU_MILLIS] += Math.max(0, statistics.getCpuNanos()) / 1000000;
+        }
+    }
+
+    /**
+     * It chooses the strategy with the fewest mean inferences for the grid
+     * @param grid N*N values (values less than 1 are empty)
+     * @return the chosen strategy
+     */
+    public LabelingStrategy select(int[] grid)
+    {
+        String bucket = getBucket(grid);
+        String sizePrefix = bucket.substring(0, bucket.indexOf(':') + 1);
+        synchronized (this)
+        {
+            LabelingStrategy strategy = getBest(totals.get(bucket));
+            if(strategy != null)
+                return strategy;
+
+            // all buckets of the same size
+            Map<LabelingStrategy, long[]> sizeTotals = new LinkedHashMap<LabelingStrategy, long[]>();
+            for(Map.Entry<String, Map<LabelingStrategy, long[]>> entry : totals.entrySet())
+            {
+                if(!entry.getKey().startsWith(sizePrefix))
+                    continue;
+
+                for(Map.Entry<LabelingStrategy, long[]> recorded : entry.getValue().entrySet())
+                {
+                    long[] sum = sizeTotals.get(recorded.getKey());
+                    if(sum == null)
+                        sizeTotals.put(recorded.getKey(), sum = new long[3]);
+                    for(int index = 0; index < sum.length; index++)
+                    {
+                        sum[index] += recorded.getValue()[index];
+                    }
+                }
+            }
+
+            strategy = getBest(sizeTotals);
+            return strategy != null ? strategy : FALLBACK;
+        }
+    }
+
+    /**
+     * It returns the mean inferences of a strategy in the bucket of a grid
+     * @param grid N*N values (values less than 1 are empty)
+     * @param strategy a strategy
+     * @return mean inferences or -1 if the strategy was not recorded for the bucket
+     */
+    public synchronized double getMeanInferences(int[] grid, LabelingStrategy strategy)
+    {
+        Map<LabelingStrategy, long[]> bucketTotals = totals.get(getBucket(grid));
+        long[] recorded = bucketTotals == null ? null : bucketTotals.get(strategy);
+        if(recorded == null || recorded[SOLVES] == 0)
+            return -1;
+        return (double) recorded[INFERENCES] / recorded[SOLVES];
+    }
+
+    /**
+     * It returns the bucket of a grid from its size, the given values in
+     * tenths and the mean number of candidates of its empty positions
+     * @param grid N*N values (values less than 1 are empty)
+     * @return bucket like {@code 9:2:4}
+     */
+    public static String getBucket(int[] grid)
+    {
+        int size = PrologSolverEngine.getSize(grid);
+        int boxSize = (int) Math.round(Math.sqrt(size));
+
+        // values used by each row, column and box
+        long[] rowUsed = new long[size], colUsed = new long[size], boxUsed = new long[size];
+        int givens = 0;
+        for(int position = 0; position < grid.length; position++)
+        {
+            int value = grid[position];
+            if(value < 1 || value > 64)
+                continue;
+
+            int row = position / size, col = position % size;
+            long bit = 1L << (value - 1);
+            rowUsed[row] |= bit;
+            colUsed[col] |= bit;
+            boxUsed[boxSize*(row / boxSize) + col / boxSize] |= bit;
+            givens++;
+        }
+
+        long candidates = 0;
+        for(int position = 0; position < grid.length; position++)
+        {
+            if(grid[position] >= 1)
+                continue;
+
+            int row = position / size, col = position % size;
+            long used = rowUsed[row] | colUsed[col] | boxUsed[boxSize*(row / boxSize) + col / boxSize];
+            candidates += size - Long.bitCount(used);
+        }
+
+        int empty = grid.length - givens;
+        long meanCandidates = empty == 0 ? 0 : Math.round((double) candidates / empty);
+        return size + ":" + (10*givens / grid.length) + ":" + meanCandidates;
+    }
+
+    // strategy with the fewest mean inferences and enough solves, or null
+    private static LabelingStrategy getBest(Map<LabelingStrategy, long[]> strategyTotals)
+    {
+        if(strategyTotals == null)
+            return null;
+
+        LabelingStrategy best = null;
+        double bestInferences = Double.MAX_VALUE;
+        for(Map.Entry<LabelingStrategy, long[]> entry : strategyTotals.entrySet())
+        {
+            long[] recorded = entry.getValue();
+            if(recorded[SOLVES] < MIN_SOLVES)
+                continue;
+
+            double meanInferences = (double) recorded[INFERENCES] / recorded[SOLVES];
+            if(meanInferences < bestInferences)
+            {
+                best = entry.getKey();
+                bestInferences = meanInferences;
+            }
+        }
+        return best;
+    }
+
+    private long[] getTotals(String bucket, LabelingStrategy strategy)
+    {
+        Map<LabelingStrategy, long[]> bucketTotals = totals.get(bucket);
+        if(bucketTotals == null)
+            totals.put(bucket, bucketTotals = new LinkedHashMap<LabelingStrategy, long[]>());
+
+        long[] recorded = bucketTotals.get(strategy);
+        if(recorded == null)
+            bucketTotals.put(strategy, recorded = new long[3]);
+        return recorded;
+    }
+
+    /**
+     * @return buckets with recorded solves
+     */
+    public synchronized List<String> getBuckets()
+    {
+        return new ArrayList<String>(totals.keySet());
+    }
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+/**
+ * Rows, columns and boxes of a Sudoku of size N = B*B
+ * <p>
+ * Units are rows 0 to N-1, columns N to 2N-1 and boxes 2N to 3N-1, and
+ * positions of a grid are index = N*row + col. The tables of each size are
+ * created once and shared by the in-JVM solver engines, so they must not be
+ * modified.
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+final class SudokuGeometry
+{
+    // largest Sudoku size whose digits fit in a long
+    static final int MAX_SIZE = 64;
+
+    // geometry of each box size, created when first needed
+    private static final SudokuGeometry[] geometries = new SudokuGeometry[9];
+
+    final int boxSize;
+    final int size;
+    final int positions;
+    // mask with all N digits, bit (d-1) stands for digit d
+    final long allDigits;
+
+    // row, column and box (0 to N-1) of each position
+    final int[] rowOf;
+    final int[] colOf;
+    final int[] boxOf;
+
+    // positions of the 3N units
+    final int[][] units;
+
+    private SudokuGeometry(int boxSize)
+    {
+        this.boxSize = boxSize;
+        size = boxSize*boxSize;
+        positions = size*size;
+        allDigits = size == 64 ? -1L : (1L << size) - 1;
+        rowOf = new int[positions];
+        colOf = new int[positions];
+        boxOf = new int[positions];
+        units = new int[3*size][size];
+
+        for(int position = 0; position < positions; position++)
+        {
+            int row = position / size, col = position % size;
+            int box = boxSize*(row / boxSize) + col / boxSize;
+            rowOf[position] = row;
+            colOf[position] = col;
+            boxOf[position] = box;
+
+            units[row][col] = position;
+            units[size + col][row] = position;
+            units[2*size + box][boxSize*(row % boxSize) + col % boxSize] = position;
+        }
+    }
+
+    /**
+     * It returns the geometry of a Sudoku size
+     * @param size number of rows N, a square up to {@value #MAX_SIZE}
+     * @return the shared geometry
+     */
+    static synchronized SudokuGeometry of(int size)
+    {
+        int boxSize = (int) Math.round(Math.sqrt(size));
+        if(size < 1 || size > MAX_SIZE || boxSize*boxSize != size)
+        {
+            throw new IllegalArgumentException("Sudoku size " + size + " is not supported");
+        }
+
+        if(geometries[boxSize] == null)
+        {
+            geometries[boxSize] = new SudokuGeometry(boxSize);
+        }
+        return geometries[boxSize];
+    }
+}
@@ -15,34 +15,51 @@
  ******************************************************************************/
 package project.sudoku.board.solver;
 
-import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
-import org.jpl7.Atom;
-import org.jpl7.JPL;
-import org.jpl7.Query;
-import org.jpl7.Term;
-
+import project.sudoku.board.model.LikelyValue;
 import project.sudoku.board.model.Sudoku;
+import project.sudoku.board.model.SudokuSnapshot;
 import project.sudoku.config.Config;
 import project.sudoku.exception.ResourceLoadingException;
 
 /**
  * Class that solves a given sudoku
  * <p>
- * It queries a
+ * Solving is delegated to a {@link SolverEngine}. By default it is the
+ * {@link PrologSolverEngine} that queries a
  * {@link <a href=http://www.swi-prolog.org/>SWI-PROLOG</a>} system which uses its built-in
  * {@link <a href="http://www.swi-prolog.org/man/clpfd.html">CLP(FD)</a>} library
- * to solve Sudoku as a constraint satisfaction problem.
- * 
- * Querying to Prolog system is done using Java API provided by SWI-PROLOG's
- * {@link <a href="http://www.swi-prolog.org/FAQ/Java.html">JPL</a>}. JPL
- * is integrated in SWI-Prolog distribution starting from 5.4.x (this project
- * uses SWI-Prolog-7.4.2).</p>
+ * to solve Sudoku as a constraint satisfaction problem. The
+ * {@link BitboardSolverEngine} and {@link DancingLinksSolverEngine} solve Sudoku
+ * inside the JVM without Prolog, and {@link ParallelSolverEngine} splits the
+ * bitboard search over several threads. The {@link ProcessSolverEngine} runs the same
+ * CLP(FD) model in separate SWI-Prolog processes. The {@link PortfolioSolverEngine}
+ * races several of these engines and returns the first answer.</p>
+ * <p>
+ * Solve calls look up a {@link SolutionCache} first, so a grid solved before,
+ * or a relabeled, permuted or rotated variant of it, is not solved again.
+ * Its size is set with the system property {@value Config#SOLUTION_CACHE_SIZE_PROPERTY}.</p>
+ * <p>
+ * Sudoku larger than 9x9 (16x16, 25x25 ...) are solved by the Prolog engine
+ * or by the {@link BitsetSolverEngine}. When the selected engine does not
+ * support the size of a Sudoku, the bitset engine is used instead.</p>
+ * <p>
+ * The engine can be chosen at runtime by its name with {@link #setEngine(String)}
+ * or at start up with the system property {@value Config#SOLVER_ENGINE_PROPERTY}
+ * (for example <code>-Dsudoku.solver.engine=bitboard</code>).</p>
  * 
  * @since
  * Dated - 30-Jun-2017
@@ -54,204 +71,623 @@ public class SudokuSolver
 {
     private static Logger logger = Logger.getLogger(SudokuSolver.class.getName());
 
-    private static boolean consulted = false;
+    // available engines by their name
+    private static final Map<String, SolverEngine> engines = new LinkedHashMap<String, SolverEngine>();
+
+    // engine used for solving
+    private static volatile SolverEngine engine = null;
+
+    // solutions of recently solved grids and their symmetric variants, or null
+    private static volatile SolutionCache solutionCache = null;
+
+    // names of engines whose solve calls use the solution cache
+    private static volatile Set<String> cachedEngineNames = Collections.emptySet();
+
+    // statistics of solve calls of all engines
+    private static final SolveHistograms solveHistograms = new SolveHistograms();
+
+    // difficulty grader of each thread
+    private static final ThreadLocal<DifficultyGrader> graders = new ThreadLocal<DifficultyGrader>()
+    {
+        @Override
+        protected DifficultyGrader initialValue()
+        {
+            return new DifficultyGrader();
+        }
+    };
+
+    static
+    {
+        registerEngine(new PrologSolverEngine());
+        registerEngine(new BitboardSolverEngine());
+        registerEngine(new DancingLinksSolverEngine());
+        registerEngine(new ProcessSolverEngine());
+        registerEngine(new ParallelSolverEngine());
+        registerEngine(new BitsetSolverEngine());
+        registerEngine(new PortfolioSolverEngine());
+
+        int cacheSize = Integer.getInteger(Config.SOLUTION_CACHE_SIZE_PROPERTY,
+                Config.DEFAULT_SOLUTION_CACHE_SIZE);
+        if(cacheSize > 0)
+            solutionCache = new SolutionCache(cacheSize);
+        setCachedEngines(System.getProperty(Config.SOLUTION_CACHE_ENGINES_PROPERTY,
+                Config.DEFAULT_SOLUTION_CACHE_ENGINES).split("\\s*,\\s*"));
+
+        String engineName = System.getProperty(Config.SOLVER_ENGINE_PROPERTY,
+                Config.DEFAULT_SOLVER_ENGINE);
+        if(!setEngine(engineName))
+        {
+            logger.warning("Unknown solver engine : " + engineName);
+            setEngine(Config.DEFAULT_SOLVER_ENGINE);
+        }
+    }
 
     /**
-     * It solves Sudoku. It queries SWI-PROLOG after consulting 'sudoku.pl',
-     * which uses in-built CLP(FD) library to find a solution. The solution are
-     * the instantiated row variables and each of these rows is parsed for integers.
-     * <p>
-     * The query is build as a text and passed to the constructor of {@link org.jpl7.Query}.
-     * An example sudoku query text is shown below:
-     * <pre>
-     *   String queryText = ""
-     *           + "Row0 = [3, _, _, _, _, _, _, _, 9],"
-     *           + "Row1 = [_, _, _, 4, _, 3, _, _, _],"
-     *           + "Row2 = [7, _, 4, 6, _, _, _, _, 5],"
-     *           + "Row3 = [9, _, _, _, 2, _, _, 6, _],"
-     *           + "Row4 = [_, _, 5, 8, 3, _, _, 4, _],"
-     *           + "Row5 = [_, _, 8, _, 1, _, 3, _, _],"
-     *           + "Row6 = [_, 8, 3, _, _, _, 6, _, _],"
-     *           + "Row7 = [6, _, 9, _, _, 5, 2, _, 4],"
-     *           + "Row8 = [_, _, _, _, _, 9, _, _, _],"
-     *           + "sudoku([Row0, Row1, Row2, Row3, Row4, Row5, Row6, Row7, Row8]).";
-     * </pre>
-     * 
-     * The returned solution is a map of String to Term, where key String are
-     * the variable names from the query. Here is an example piece of code:
-     * 
-     * <pre>
-     * Map<String, Term> solutions = sudokuQuery.oneSolution();
-     * Term row0Term = solutions.get("Row0");
-     * </pre>
-     *	
-     * </p>
+     * It solves Sudoku from its current values with the selected engine
+     * and sets the solution as values of the Sudoku.
      * 
      * @param sudoku the Sudoku to be solved.
-     * @throws ResourceLoadingException throws this Exception when SWI-Prolog-JPL
-     * native library could not be loaded or the prolog file is not loaded for solving Sudoku.
+     * @return true if a solution was found
+     * @throws ResourceLoadingException throws this Exception when a resource of
+     * the engine could not be loaded (for the Prolog engine SWI-Prolog-JPL
+     * native library or the prolog file for solving Sudoku).
      * 
      */
-    public static void solve(Sudoku sudoku) throws ResourceLoadingException
+    public static boolean solve(Sudoku sudoku) throws ResourceLoadingException
     {
-        logger.info("Solve Sudoku");
+        SolverEngine currentEngine = getEngineFor(sudoku.getSize());
+        logger.info("Solve Sudoku with engine : " + currentEngine.getName());
         try
         {
-            // first consult prolog file
-            if(!consulted)
-                tryConsulting();
+            int[] grid = getGrid(sudoku);
+            SolveResult result = solveWithCache(grid, currentEngine, new SolveControl());
+            recordStatistics(grid, result);
+            int[] solvedGrid = result.getSolution();
 
-            if(!consulted)
+            // return if there is no solution
+            if(solvedGrid == null)
             {
-                // consulting the prolog file failed
-                logger.severe("consult to Prolog failed");
-                return;
+                logger.info("NO SOLUTION FOUND FOR THIS SUDOKU");
+                return false;
             }
 
-            logger.info("consult succeeded");
+            setGrid(sudoku, solvedGrid);
+            return true;
+        }
+        catch (ResourceLoadingException rle)
+        {
+            logger.log(Level.SEVERE, rle.getMessage(), rle);
+            throw rle;
+        }
+    }
 
-            // build Sudoku query in String
-            StringBuilder queryTextBuilder = new StringBuilder(System.lineSeparator());
-            for(int rowNum = 0; rowNum < 9; rowNum++)
-            {
-                //add row variable for each row
-                queryTextBuilder.append("Row").append(rowNum).append(" = [");
-                for(int colNum = 0; colNum < 9; colNum++)
-                {
-                    // get values for index 0 to 80 by using index = 9*row + col
-                    Integer intValue = sudoku.getValueAt(9*rowNum + colNum);
-
-                    // add "_" if value is < 1 else add the number
-                    if(intValue < 1)
-                    {
-                        queryTextBuilder.append("_");
-                    }
-                    else
-                    {
-                        queryTextBuilder.append(intValue);
-                    }
-
-                    // append "," for column values unless it is the last column 
-                    if(colNum < 8)
-                        queryTextBuilder.append(", ");
-                }
-
-                // end row with "], " and add a new line
-                queryTextBuilder.append("], ").append(System.lineSeparator());
-            }
-            queryTextBuilder.append("sudoku([Row0, Row1, Row2, Row3, Row4, Row5, Row6, Row7, Row8]).");
+    /**
+     * It solves Sudoku from its current values with the selected engine until
+     * the control is cancelled or its deadline passes. A solution is set as
+     * values of the Sudoku.
+     * @param sudoku the Sudoku to be solved
+     * @param control deadline and cancellation of solving
+     * @return solved, unsolvable, timed out or cancelled result
+     * @throws ResourceLoadingException when a resource of the engine could not be loaded
+     */
+    public static SolveResult solve(Sudoku sudoku, SolveControl control) throws ResourceLoadingException
+    {
+        SolveResult result = solve(getGrid(sudoku), control);
+        if(result.isSolved())
+            setGrid(sudoku, result.getSolution());
+        return result;
+    }
 
-            String queryText = queryTextBuilder.toString();
-            logger.info("Sudoku query = " + queryText);
+    /**
+     * It solves Sudoku with a deadline
+     * @param sudoku the Sudoku to be solved
+     * @param timeoutMillis milliseconds until solving is given up
+     * @return solved, unsolvable or timed out result
+     * @throws ResourceLoadingException when a resource of the engine could not be loaded
+     * @see #solve(Sudoku, SolveControl)
+     */
+    public static SolveResult solve(Sudoku sudoku, long timeoutMillis) throws ResourceLoadingException
+    {
+        return solve(sudoku, new SolveControl(timeoutMillis, TimeUnit.MILLISECONDS));
+    }
 
-            // make a query to Prolog
-            Query sudokuQuery = new Query(queryText);
-            Map<String, Term> solutions = sudokuQuery.oneSolution();
-            sudokuQuery.close();
+    /**
+     * It solves a grid with the selected engine until the control is
+     * cancelled or its deadline passes. The grid is not modified, so it
+     * can be solved on a background thread.
+     * @param grid grid of N*N values with index = N*row + col (0 for empty)
+     * @param control deadline and cancellation of solving
+     * @return solved, unsolvable, timed out or cancelled result
+     * @throws ResourceLoadingException when a resource of the engine could not be loaded
+     */
+    public static SolveResult solve(int[] grid, SolveControl control) throws ResourceLoadingException
+    {
+        SolverEngine currentEngine = getEngineFor((int) Math.round(Math.sqrt(grid.length)));
+        logger.info("Solve Sudoku with engine : " + currentEngine.getName()
+                + (control.hasDeadline() ? ", deadline in " + control.getRemainingMillis() + " ms" : ""));
 
-            // return if there is no solution
-            if(solutions == null)
-            {
-                logger.info("NO SOLUTION FOUND FOR THIS SUDOKU");
-                return;
-            }
+        SolveResult result = solveWithCache(grid, currentEngine, control);
+        logger.info("Solve result : " + result.getStatus());
+        recordStatistics(grid, result);
+        return result;
+    }
 
-            logger.info("Solution found");
+    // solves through the solution cache if it is enabled for the engine
+    private static SolveResult solveWithCache(int[] grid, SolverEngine solverEngine,
+            SolveControl control) throws ResourceLoadingException
+    {
+        SolutionCache cache = solutionCache;
+        if(cache != null && cachedEngineNames.contains(solverEngine.getName()))
+            return cache.solve(grid, solverEngine, control);
+        return solverEngine.solve(grid, control);
+    }
 
-            // iterate over solution for each variable
-            List<Integer> rowValues;
-            Term term = null;
-            int colNum = 0;
-            for(int rowIndex = 0; rowIndex < 9; rowIndex++)
-            {
-                term = solutions.get("Row" + rowIndex);
-                if(term != null)
-                {
-                    rowValues = getIntegers(term.toTermArray());
-
-                    logger.info("Row" + rowIndex + " = " + rowValues.toString());
-
-                    // re-initialize columns for each row
-                    colNum = 0;
-                    for(Integer colValue : rowValues)
-                    {
-                        // set this value at position index = 9*row + column
-                        sudoku.setValueAt(9*rowIndex + colNum, colValue);
-                        colNum++;
-                    }
-                }
-                else
-                {
-                    logger.severe("Null value for Row" + rowIndex);
-                }
-            }
+    // adds statistics of a result found by an engine to the histograms
+    private static void recordStatistics(int[] grid, SolveResult result)
+    {
+        SolveStatistics statistics = result.getStatistics();
+        if(statistics != null)
+        {
+            logger.fine(statistics.toString());
+            solveHistograms.record(grid, statistics);
+        }
+    }
+
+    /**
+     * It returns histograms of statistics of all solve calls of this class
+     * that were not answered from the solution cache
+     * @return the histograms
+     */
+    public static SolveHistograms getSolveHistograms()
+    {
+        return solveHistograms;
+    }
 
+    /**
+     * It returns remaining candidates of every position of Sudoku after
+     * constraint propagation, using the given engine
+     * @param sudoku the Sudoku
+     * @param solverEngine engine propagating constraints
+     * @return for each position a mask with bit v-1 set if value v is a
+     * candidate, or null if the Sudoku has no solution
+     * @throws ResourceLoadingException when a resource of the engine could not be loaded
+     * @see SolverEngine#getCandidates(int[])
+     */
+    public static long[] getCandidates(Sudoku sudoku, SolverEngine solverEngine)
+            throws ResourceLoadingException
+    {
+        return solverEngine.getCandidates(getGrid(sudoku));
+    }
+
+    /**
+     * It returns remaining candidates of every position of a snapshot after
+     * constraint propagation, using the given engine. The snapshot does not
+     * change, so it can be called on a background thread.
+     * @see #getCandidates(Sudoku, SolverEngine)
+     */
+    public static long[] getCandidates(SudokuSnapshot snapshot, SolverEngine solverEngine)
+            throws ResourceLoadingException
+    {
+        return solverEngine.getCandidates(snapshot.getGrid());
+    }
+
+    /**
+     * It returns remaining candidates of every position of Sudoku after
+     * constraint propagation with the selected engine
+     * @see #getCandidates(Sudoku, SolverEngine)
+     */
+    public static long[] getCandidates(Sudoku sudoku) throws ResourceLoadingException
+    {
+        return getCandidates(sudoku, getEngineFor(sudoku.getSize()));
+    }
+
+    /**
+     * It returns values of a candidate mask in increasing order
+     * @param candidateMask mask with bit v-1 set for value v
+     * @return candidate values
+     */
+    public static int[] getCandidateValues(long candidateMask)
+    {
+        int[] values = new int[Long.bitCount(candidateMask)];
+        for(int index = 0; index < values.length; index++)
+        {
+            values[index] = Long.numberOfTrailingZeros(candidateMask) + 1;
+            candidateMask &= candidateMask - 1;
         }
-        catch (ResourceLoadingException rle)
+        return values;
+    }
+
+    /**
+     * It returns a lazy iterator over all solutions of Sudoku with the
+     * selected engine. Solutions are searched as they are read, and the
+     * iterator should be closed when it is not read to the end.
+     * @param sudoku the Sudoku
+     * @return iterator over solved grids with index = N*row + col
+     * @throws ResourceLoadingException when a resource of the engine could not be loaded
+     * @see SolverEngine#iterateSolutions(int[])
+     */
+    public static SolutionIterator iterateSolutions(Sudoku sudoku) throws ResourceLoadingException
+    {
+        return getEngineFor(sudoku.getSize()).iterateSolutions(getGrid(sudoku));
+    }
+
+    /**
+     * It returns a lazy stream of all solutions of Sudoku with the selected
+     * engine, for example
+     * <pre>
+     * try(Stream&lt;int[]&gt; solutions = SudokuSolver.streamSolutions(sudoku))
+     * {
+     *     solutions.limit(1000).forEach(...);
+     * }
+     * </pre>
+     * Closing the stream releases the search (and the Prolog query) even if
+     * not all solutions were read.
+     * @param sudoku the Sudoku
+     * @return stream of solved grids with index = N*row + col
+     * @throws ResourceLoadingException when a resource of the engine could not be loaded
+     */
+    public static Stream<int[]> streamSolutions(Sudoku sudoku) throws ResourceLoadingException
+    {
+        return iterateSolutions(sudoku).stream();
+    }
+
+    /**
+     * It repairs misread low confidence values of a scanned Sudoku with
+     * alternatives of the classifier, when its givens have no unique solution.
+     * The Sudoku is not modified, see {@link #applyRepair(Sudoku, RepairResult)}.
+     * @param sudoku scanned Sudoku
+     * @return unique, repaired or not repaired result
+     * @throws ResourceLoadingException when a resource of the engine could not be loaded
+     * @see ConfidenceRepair
+     */
+    public static RepairResult repair(Sudoku sudoku) throws ResourceLoadingException
+    {
+        RepairResult result = new ConfidenceRepair().repair(sudoku);
+        logger.info("Repair : " + result);
+        return result;
+    }
+
+    /**
+     * It replaces corrected fixed values of Sudoku and sets the solution
+     * of a repair as its values
+     * @param sudoku the repaired Sudoku
+     * @param result result of {@link #repair(Sudoku)}
+     */
+    public static void applyRepair(Sudoku sudoku, RepairResult result)
+    {
+        for(Map.Entry<Integer, LikelyValue> correction : result.getCorrections().entrySet())
         {
-            logger.log(Level.SEVERE, rle.getMessage(), rle);
-            throw rle;
+            sudoku.setFixedValueAt(correction.getKey(), correction.getValue());
         }
+
+        if(result.isSolved())
+            setGrid(sudoku, result.getSolution());
+    }
+
+    /**
+     * It solves a list of grids with the selected engine. The Prolog engine
+     * solves all grids with a single query, other engines solve one grid after
+     * another. Grids of a size the selected engine does not solve are solved
+     * as a separate batch by the engine of {@link #getEngineFor(int)}. Grids
+     * are not modified.
+     * @param grids grids of N*N values with index = N*row + col (0 for empty)
+     * @return result for each grid in the same order
+     * @throws ResourceLoadingException when a resource of the engine could not be loaded
+     */
+    public static List<SolveResult> solveBatch(List<int[]> grids) throws ResourceLoadingException
+    {
+        return solveBatchBySize(grids, null);
     }
 
     /**
-     * loads JPL library and consults prolog file
-     * @throws ResourceLoadingException 
+     * It solves a list of grids with the selected engine one after another
+     * until the control is cancelled or its deadline passes. Grids not solved
+     * by then get a timed out or cancelled result. Grids of a size the
+     * selected engine does not solve are solved by the engine of
+     * {@link #getEngineFor(int)}.
+     * @param grids grids of N*N values with index = N*row + col (0 for empty)
+     * @param control deadline and cancellation of the whole batch
+     * @return result for each grid in the same order
+     * @throws ResourceLoadingException when a resource of the engine could not be loaded
      */
-    private static void tryConsulting() throws ResourceLoadingException
+    public static List<SolveResult> solveBatch(List<int[]> grids, SolveControl control)
+            throws ResourceLoadingException
+    {
+        return solveBatchBySize(grids, control);
+    }
+
+    // solves grids of each size as one batch of the engine for that size,
+    // without a control when control is null
+    private static List<SolveResult> solveBatchBySize(List<int[]> grids, SolveControl control)
+            throws ResourceLoadingException
     {
-        if(!consulted)
+        // indexes of the grids of each size, in order of first appearance
+        Map<Integer, List<Integer>> indexesBySize = new LinkedHashMap<Integer, List<Integer>>();
+        for(int index = 0; index < grids.size(); index++)
         {
-            // load SWI-Prolog-JPL library
-            try
+            int size = (int) Math.round(Math.sqrt(grids.get(index).length));
+            List<Integer> indexes = indexesBySize.get(size);
+            if(indexes == null)
             {
-                logger.info("load Prolog JPL Library");
-                JPL.loadNativeLibrary();
+                indexes = new ArrayList<Integer>();
+                indexesBySize.put(size, indexes);
             }
-            catch (UnsatisfiedLinkError e)
+            indexes.add(index);
+        }
+
+        SolveResult[] results = new SolveResult[grids.size()];
+        for(Map.Entry<Integer, List<Integer>> entry : indexesBySize.entrySet())
+        {
+            List<Integer> indexes = entry.getValue();
+            List<int[]> sizeGrids = new ArrayList<int[]>(indexes.size());
+            for(int index : indexes)
             {
-                throw new ResourceLoadingException("Error Loading JPL library", e);
+                sizeGrids.add(grids.get(index));
             }
 
-            // consult Prolog file
-            File plFile = new File(Config.SUDOKU_PL_FILE);
-
-            if(!plFile.exists())
+            SolverEngine currentEngine = getEngineFor(entry.getKey());
+            logger.info("Solve batch of " + sizeGrids.size() + " Sudoku with engine : "
+                    + currentEngine.getName());
+            List<SolveResult> sizeResults = control == null
+                    ? currentEngine.solveBatch(sizeGrids)
+                    : currentEngine.solveBatch(sizeGrids, control);
+            for(int index = 0; index < indexes.size(); index++)
             {
-                logger.severe("Error Loading Prolog file : " + plFile.getPath());
-                throw new ResourceLoadingException("Error Loading Prolog file "
-                        + plFile.getAbsolutePath());
+                results[indexes.get(index)] = sizeResults.get(index);
             }
+        }
+        return new ArrayList<SolveResult>(Arrays.asList(results));
+    }
+
+    /**
+     * It counts solutions of Sudoku from its current values with the selected
+     * engine. Search stops as soon as limit solutions are found.
+     * @param sudoku the Sudoku
+     * @param limit maximum number of solutions to be counted
+     * @return number of solutions, at most limit
+     * @throws ResourceLoadingException when a resource of the engine could not be loaded
+     */
+    public static int countSolutions(Sudoku sudoku, int limit) throws ResourceLoadingException
+    {
+        return countSolutions(sudoku, limit, getEngineFor(sudoku.getSize()));
+    }
+
+    /**
+     * It counts solutions of Sudoku from its current values with the given engine.
+     * @see #countSolutions(Sudoku, int)
+     */
+    public static int countSolutions(Sudoku sudoku, int limit, SolverEngine solverEngine)
+            throws ResourceLoadingException
+    {
+        int count = solverEngine.countSolutions(getGrid(sudoku), limit);
+        logger.info("Solution count : " + count + " (limit " + limit
+                + ", engine " + solverEngine.getName() + ")");
+        return count;
+    }
+
+    /**
+     * It returns true if Sudoku has exactly one solution. Search stops
+     * as soon as a second solution is found.
+     * @param sudoku the Sudoku
+     * @return true if there is a unique solution
+     * @throws ResourceLoadingException when a resource of the engine could not be loaded
+     */
+    public static boolean isUnique(Sudoku sudoku) throws ResourceLoadingException
+    {
+        return countSolutions(sudoku, 2) == 1;
+    }
+
+    /**
+     * It returns true if Sudoku has exactly one solution using the given engine.
+     * @see #isUnique(Sudoku)
+     */
+    public static boolean isUnique(Sudoku sudoku, SolverEngine solverEngine)
+            throws ResourceLoadingException
+    {
+        return countSolutions(sudoku, 2, solverEngine) == 1;
+    }
+
+    /**
+     * It grades difficulty of Sudoku from its current values by the human
+     * solving techniques needed to solve it (9x9 only)
+     * @param sudoku the Sudoku
+     * @return grade of the Sudoku
+     * @see DifficultyGrader
+     */
+    public static DifficultyGrade grade(Sudoku sudoku)
+    {
+        if(sudoku.getSize() != 9)
+            throw new IllegalArgumentException("Only 9x9 Sudoku can be graded");
 
-            logger.info("Prolog File : " + plFile.getPath());
-            Query consultQuery = new Query("consult",
-                    new Term[] {new Atom(plFile.getAbsolutePath())});
+        DifficultyGrade grade = graders.get().grade(getGrid(sudoku));
+        logger.info("Difficulty : " + grade);
+        return grade;
+    }
 
-            // set the variable if successfully consulted
-            consulted = consultQuery.hasSolution();
+    /**
+     * It returns current values of Sudoku as a grid of N*N values,
+     * where index = N*row + col and 0 is an empty position
+     * @param sudoku the Sudoku
+     * @return grid of Sudoku values
+     */
+    public static int[] getGrid(Sudoku sudoku)
+    {
+        int[] grid = new int[sudoku.getPositionCount()];
+        sudoku.copyValuesTo(grid);
+        return grid;
+    }
+
+    /**
+     * It sets values of a grid to Sudoku (fixed values are not changed)
+     * @param sudoku the Sudoku
+     * @param grid grid of N*N values
+     */
+    public static void setGrid(Sudoku sudoku, int[] grid)
+    {
+        for(int position = 0; position < grid.length; position++)
+        {
+            sudoku.setValueAt(position, grid[position]);
         }
     }
 
     /**
-     * It returns list of integers from an array of Prolog terms.
-     * It adds 0 to the list when a term is not an integer.
-     * @param termArray array of {@link org.jpl7.Term}
-     * @return list of integers
+     * @return cache of solutions used by solve calls or null if disabled
      */
-    private static List<Integer> getIntegers(Term[] termArray)
+    public static SolutionCache getSolutionCache()
     {
-        List<Integer> integerTerms = new ArrayList<Integer>();
-        for(Term thisTerm : termArray)
+        return solutionCache;
+    }
+
+    /**
+     * It sets the cache of solutions used by solve calls
+     * @param cache the cache or null to solve without cache
+     */
+    public static void setSolutionCache(SolutionCache cache)
+    {
+        solutionCache = cache;
+    }
+
+    /**
+     * It sets the engines whose solve calls use the solution cache. Finding
+     * the canonical form of a grid takes milliseconds, so the cache is only
+     * worth it in front of slow engines.
+     * @param engineNames names of the engines
+     */
+    public static void setCachedEngines(String... engineNames)
+    {
+        Set<String> names = new HashSet<String>();
+        for(String engineName : engineNames)
         {
-            if(thisTerm.isInteger())
-            {
-                integerTerms.add(thisTerm.intValue());
-            }
-            else // 0 symbolizes unknown value
+            if(!engineName.isEmpty())
+                names.add(engineName);
+        }
+        cachedEngineNames = Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * @return names of the engines whose solve calls use the solution cache
+     */
+    public static Set<String> getCachedEngines()
+    {
+        return cachedEngineNames;
+    }
+
+    /**
+     * It adds an engine that can be selected by its name
+     * @param solverEngine the engine
+     */
+    public static synchronized void registerEngine(SolverEngine solverEngine)
+    {
+        engines.put(solverEngine.getName(), solverEngine);
+    }
+
+    /**
+     * It selects a registered engine for solving
+     * @param engineName name of the engine
+     * @return false if no engine is registered with this name
+     */
+    public static synchronized boolean setEngine(String engineName)
+    {
+        SolverEngine solverEngine = engines.get(engineName);
+        if(solverEngine == null)
+            return false;
+
+        setEngine(solverEngine);
+        return true;
+    }
+
+    /**
+     * It sets the engine used for solving
+     * @param solverEngine the engine
+     */
+    public static void setEngine(SolverEngine solverEngine)
+    {
+        logger.info("Solver engine : " + solverEngine.getName());
+        engine = solverEngine;
+    }
+
+    /**
+     * @return the engine used for solving
+     */
+    public static SolverEngine getEngine()
+    {
+        return engine;
+    }
+
+    /**
+     * It returns true if the selected engine solves with the in-process
+     * Prolog of JPL, itself or as a backend of a portfolio
+     * @return true if solving uses the {@link PrologSolverEngine}
+     */
+    public static boolean usesPrologEngine()
+    {
+        SolverEngine currentEngine = engine;
+        if(currentEngine instanceof PortfolioSolverEngine)
+        {
+            for(SolverEngine backend : ((PortfolioSolverEngine) currentEngine).getBackends())
             {
-                integerTerms.add(Integer.valueOf(0));
+                if(backend instanceof PrologSolverEngine)
+                    return true;
             }
+            return false;
         }
-        return integerTerms;
+        return currentEngine instanceof PrologSolverEngine;
+    }
+
+    /**
+     * It returns the selected engine, or the bitset engine when the selected
+     * engine can not solve Sudoku of the given size
+     * @param size number of rows of the Sudoku
+     * @return engine for this size
+     */
+    public static SolverEngine getEngineFor(int size)
+    {
+        SolverEngine currentEngine = engine;
+        if(currentEngine.supportsSize(size))
+            return currentEngine;
+
+        logger.info("Engine " + currentEngine.getName() + " does not solve "
+                + size + "x" + size + " Sudoku, using " + BitsetSolverEngine.NAME);
+        return getEngine(BitsetSolverEngine.NAME);
+    }
+
+    /**
+     * @param engineName name of the engine
+     * @return registered engine with this name or null
+     */
+    public static synchronized SolverEngine getEngine(String engineName)
+    {
+        return engines.get(engineName);
+    }
+
+    /**
+     * It sets the labeling strategy of the registered Prolog engine for all grids
+     * @param strategy the labeling strategy
+     * @see LabelingStrategy
+     */
+    public static void setLabelingStrategy(LabelingStrategy strategy)
+    {
+        ((PrologSolverEngine) getEngine(PrologSolverEngine.NAME)).setLabelingStrategy(strategy);
+        logger.info("Labeling strategy : " + strategy);
+    }
+
+    /**
+     * It lets a selector choose the labeling strategy of the registered
+     * Prolog engine for each grid (adaptive labeling)
+     * @param selector the selector or null to stop choosing strategies
+     * @see StrategySelector
+     */
+    public static void setStrategySelector(StrategySelector selector)
+    {
+        ((PrologSolverEngine) getEngine(PrologSolverEngine.NAME)).setStrategySelector(selector);
+    }
+
+    /**
+     * @return all registered engines
+     */
+    public static synchronized Collection<SolverEngine> getEngines()
+    {
+        return Collections.unmodifiableCollection(
+                new ArrayList<SolverEngine>(engines.values()));
     }
 }
@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.store;
+
+import java.nio.ByteBuffer;
+
+import project.sudoku.board.model.LikelyValue;
+import project.sudoku.board.model.Sudoku;
+
+/**
+ * Utility class for the fixed-width binary record of a {@link Sudoku}
+ * <p>
+ * A record of a Sudoku of size N (4 or 9) has
+ * <li>1 byte with the size N</li>
+ * <li>N*N values as nibbles (0 for empty), two positions per byte with
+ * the lower position in the high nibble</li>
+ * <li>a bitmap of fixed positions, bit (position % 8) of byte (position / 8)</li>
+ * <li>confidence of each position quantized to a byte (0 to 255 for 0 to 1)</li>
+ * <li>confidence margin of each position quantized to a byte</li>
+ * so a 9x9 record takes 1 + 41 + 11 + 81 + 81 = 215 bytes. Alternatives of
+ * likely values are not stored.
+ * </p>
+ * <p>
+ * Records are read and written with absolute positions of a
+ * {@link ByteBuffer}, so a buffer (for example a mapped file) can be shared
+ * by threads and single positions can be read without decoding the record.
+ * </p>
+ *
+ * @see SudokuStore
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class SudokuRecordCodec
+{
+    // largest size whose values fit in a nibble
+    public static final int MAX_SIZE = 9;
+
+    // largest quantized confidence
+    private static final int QUANTIZATION_LEVELS = 255;
+
+    /**
+     * It returns the number of bytes of a record
+     * @param size number of rows N of the Sudoku
+     * @return bytes of a record of a Sudoku of that size
+     */
+    public static int getRecordLength(int size)
+    {
+        checkSize(size);
+        int positions = size*size;
+        return 1 + (positions + 1) / 2 + (positions + 7) / 8 + 2*positions;
+    }
+
+    /**
+     * It returns the size of the Sudoku of a record
+     * @param buffer buffer with the record
+     * @param offset index of the first byte of the record
+     * @return number of rows N of the Sudoku
+     */
+    public static int getSize(ByteBuffer buffer, int offset)
+    {
+        return buffer.get(offset);
+    }
+
+    /**
+     * It writes the record of a Sudoku
+     * @param sudoku the Sudoku (4x4 or 9x9)
+     * @param buffer buffer to write to
+     * @param offset index of the first byte of the record
+     * @return number of bytes written
+     */
+    public static int encode(Sudoku sudoku, ByteBuffer buffer, int offset)
+    {
+        int size = sudoku.getSize();
+        int positions = sudoku.getPositionCount();
+        int recordLength = getRecordLength(size);
+        int valueOffset = offset + 1;
+        int fixedOffset = valueOffset + (positions + 1) / 2;
+        int confidenceOffset = fixedOffset + (positions + 7) / 8;
+        int marginOffset = confidenceOffset + positions;
+
+        buffer.put(offset, (byte) size);
+        for(int index = fixedOffset; index < confidenceOffset; index++)
+        {
+            buffer.put(index, (byte) 0);
+        }
+
+        for(int position = 0; position < positions; position += 2)
+        {
+            int high = Math.max(0, sudoku.getValueAt(position));
+            int low = position + 1 < positions ? Math.max(0, sudoku.getValueAt(position + 1)) : 0;
+            buffer.put(valueOffset + position / 2, (byte) (high << 4 | low));
+        }
+
+        for(int position = 0; position < positions; position++)
+        {
+            if(sudoku.hasFixedValueAt(position))
+            {
+                int index = fixedOffset + position / 8;
+                buffer.put(index, (byte) (buffer.get(index) | 1 << (position % 8)));
+            }
+            buffer.put(confidenceOffset + position, quantize(sudoku.getConfidenceAt(position)));
+            buffer.put(marginOffset + position, quantize(sudoku.getConfidenceMarginAt(position)));
+        }
+        return recordLength;
+    }
+
+    /**
+     * It reads the record of a Sudoku. Fixed values get a {@link LikelyValue}
+     * with their quantized confidence and confidence margin.
+     * @param buffer buffer with the record
+     * @param offset index of the first byte of the record
+     * @return the Sudoku
+     */
+    public static Sudoku decode(ByteBuffer buffer, int offset)
+    {
+        int size = getSize(buffer, offset);
+        checkSize(size);
+
+        Sudoku sudoku = new Sudoku(size);
+        for(int position = 0; position < sudoku.getPositionCount(); position++)
+        {
+            int value = getValueAt(buffer, offset, position);
+            if(isFixedAt(buffer, offset, position))
+            {
+                sudoku.setFixedValueAt(position, new LikelyValue(value,
+                        getConfidenceAt(buffer, offset, position),
+                        getConfidenceMarginAt(buffer, offset, position)));
+            }
+            else if(value > 0)
+            {
+                sudoku.setValueAt(position, value);
+            }
+        }
+        return sudoku;
+    }
+
+    /**
+     * It reads the value of a position without decoding the record
+     * @param buffer buffer with the record
+     * @param offset index of the first byte of the record
+     * @param position a position of the Sudoku
+     * @return value at the position, 0 for empty
+     */
+    public static int getValueAt(ByteBuffer buffer, int offset, int position)
+    {
+        int packed = buffer.get(offset + 1 + position / 2);
+        return (position % 2 == 0 ? packed >> 4 : packed) & 0xF;
+    }
+
+    /**
+     * It reads if a position is fixed without decoding the record
+     * @param buffer buffer with the record
+     * @param offset index of the first byte of the record
+     * @param position a position of the Sudoku
+     * @return true if the position has a fixed value
+     */
+    public static boolean isFixedAt(ByteBuffer buffer, int offset, int position)
+    {
+        int positions = getPositionCount(buffer, offset);
+        int fixedOffset = offset + 1 + (positions + 1) / 2;
+        return (buffer.get(fixedOffset + position / 8) & 1 << (position % 8)) != 0;
+    }
+
+    /**
+     * It reads the quantized confidence of a position without decoding the record
+     * @param buffer buffer with the record
+     * @param offset index of the first byte of the record
+     * @param position a position of the Sudoku
+     * @return confidence between 0 and 1
+     */
+    public static double getConfidenceAt(ByteBuffer buffer, int offset, int position)
+    {
+        int positions = getPositionCount(buffer, offset);
+        int confidenceOffset = offset + 1 + (positions + 1) / 2 + (positions + 7) / 8;
+        return dequantize(buffer.get(confidenceOffset + position));
+    }
+
+    /**
+     * It reads the quantized confidence margin of a position without decoding the record
+     * @param buffer buffer with the record
+     * @param offset index of the first byte of the record
+     * @param position a position of the Sudoku
+     * @return confidence margin between 0 and 1
+     */
+    public static double getConfidenceMarginAt(ByteBuffer buffer, int offset, int position)
+    {
+        int positions = getPositionCount(buffer, offset);
+        int marginOffset = offset + 1 + (positions + 1) / 2 + (positions + 7) / 8 + positions;
+        return dequantize(buffer.get(marginOffset + position));
+    }
+
+    /**
+     * @return a confidence between 0 and 1 as a byte
+     */
+    static byte quantize(double confidence)
+    {
+        double clamped = Math.max(0, Math.min(1, confidence));
+        return (byte) Math.round(clamped * QUANTIZATION_LEVELS);
+    }
+
+    /**
+     * @return confidence between 0 and 1 of a quantized byte
+     */
+    static double dequantize(byte quantized)
+    {
+        return (quantized & 0xFF) / (double) QUANTIZATION_LEVELS;
+    }
+
+    private static int getPositionCount(ByteBuffer buffer, int offset)
+    {
+        int size = buffer.get(offset);
+        return size*size;
+    }
+
+    private static void checkSize(int size)
+    {
+        if(size < 1 || size > MAX_SIZE)
+        {
+            throw new IllegalArgumentException("Only Sudoku up to " + MAX_SIZE + "x" + MAX_SIZE
+                    + " can be encoded : " + size);
+        }
+    }
+}
@@ -0,0 +1,377 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.store;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+import project.sudoku.board.model.Sudoku;
+
+/**
+ * Append-only store of Sudoku records in a memory-mapped file
+ * <p>
+ * Records written by {@link SudokuRecordCodec} are appended to a data file
+ * and the offset of each record is kept in an index file next to it
+ * (<code>&lt;data file&gt;.idx</code>), so a Sudoku is found by its id (the
+ * order in which it was appended) with one lookup. Both files are mapped in
+ * segments of up to 64 MB, a record that would cross the end of a segment
+ * starts at the next segment. The mapping of a new segment starts at 64 KB
+ * and doubles as records are appended, so a small store has small files.
+ * The number of records in the index header marks the end of the store.
+ * </p>
+ * <p>
+ * Appending is synchronized, reading is not and can be done from several
+ * threads while another thread appends. Records can be read without copying
+ * with {@link #getRecord(int)} or {@link #getValueAt(int, int)}. Stores larger
+ * than {@link Integer#MAX_VALUE} records are not supported.
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class SudokuStore implements Closeable
+{
+    private static Logger logger = Logger.getLogger(SudokuStore.class.getName());
+
+    // size of each mapped segment of the data and index files
+    static final int SEGMENT_SIZE = 1 << 26;
+    // first mapped length of a segment, doubled until it is a whole segment
+    static final int INITIAL_MAPPING = 1 << 16;
+
+    // headers of data and index files - magic number, version and for the
+    // index the number of records
+    private static final int DATA_MAGIC = 0x53445342;
+    private static final int INDEX_MAGIC = 0x53445349;
+    private static final int VERSION = 1;
+    private static final int HEADER_LENGTH = 16;
+    private static final int COUNT_OFFSET = 8;
+
+    private final File file;
+    private final SegmentedFile data;
+    private final SegmentedFile index;
+
+    // number of records, written after the record and its offset
+    private volatile int count;
+    // offset in the data file of the next record
+    private long end;
+
+    /**
+     * It opens a store, creating its files if they do not exist
+     * @param file data file of the store
+     * @throws IOException when the files could not be opened or are not a store
+     */
+    public SudokuStore(File file) throws IOException
+    {
+        this.file = file;
+        File indexFile = new File(file.getPath() + ".idx");
+        boolean created = !file.exists() || file.length() == 0;
+        if(created != (!indexFile.exists() || indexFile.length() == 0))
+            throw new IOException("Sudoku store and its index do not match : " + file.getPath());
+
+        data = new SegmentedFile(file);
+        try
+        {
+            index = new SegmentedFile(indexFile);
+        } catch (IOException e)
+        {
+            data.close();
+            throw e;
+        }
+
+        try
+        {
+            if(created)
+            {
+                writeHeader(data, DATA_MAGIC);
+                writeHeader(index, INDEX_MAGIC);
+                index.getSegment(0, HEADER_LENGTH).putLong(COUNT_OFFSET, 0);
+            }
+            else
+            {
+                checkHeader(data, DATA_MAGIC);
+                checkHeader(index, INDEX_MAGIC);
+            }
+            open();
+        } catch (IOException | RuntimeException e)
+        {
+            data.close();
+            index.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the data file of this store
+     */
+    public File getFile()
+    {
+        return file;
+    }
+
+    /**
+     * @return number of Sudoku in this store
+     */
+    public int size()
+    {
+        return count;
+    }
+
+    /**
+     * It appends a Sudoku to this store
+     * @param sudoku Sudoku to be stored (4x4 or 9x9)
+     * @return id of the stored Sudoku
+     * @throws IOException when the files could not be grown
+     */
+    public synchronized int append(Sudoku sudoku) throws IOException
+    {
+        int id = count;
+        if(id == Integer.MAX_VALUE)
+            throw new IOException("Sudoku store is full : " + file.getPath());
+
+        int recordLength = SudokuRecordCodec.getRecordLength(sudoku.getSize());
+        long offset = end;
+        if(offset % SEGMENT_SIZE + recordLength > SEGMENT_SIZE)
+        {
+            // records do not cross segments
+            offset += SEGMENT_SIZE - offset % SEGMENT_SIZE;
+        }
+
+        SudokuRecordCodec.encode(sudoku, data.getSegment(offset, recordLength),
+                (int) (offset % SEGMENT_SIZE));
+        long indexOffset = getIndexOffset(id);
+        index.getSegment(indexOffset, 8).putLong((int) (indexOffset % SEGMENT_SIZE), offset);
+        index.getSegment(0, HEADER_LENGTH).putLong(COUNT_OFFSET, id + 1);
+
+        end = offset + recordLength;
+        count = id + 1;
+        return id;
+    }
+
+    /**
+     * It decodes a stored Sudoku
+     * @param id id of the Sudoku
+     * @return a new Sudoku with values, fixed positions and confidences of the record
+     */
+    public Sudoku read(int id)
+    {
+        long offset = getOffset(id);
+        return SudokuRecordCodec.decode(data.segments[(int) (offset / SEGMENT_SIZE)],
+                (int) (offset % SEGMENT_SIZE));
+    }
+
+    /**
+     * It returns a stored record without copying it
+     * @param id id of the Sudoku
+     * @return read-only buffer starting at the record, its limit is the end of the record
+     */
+    public ByteBuffer getRecord(int id)
+    {
+        long offset = getOffset(id);
+        ByteBuffer record = data.segments[(int) (offset / SEGMENT_SIZE)].duplicate();
+        int start = (int) (offset % SEGMENT_SIZE);
+        record.limit(start + SudokuRecordCodec.getRecordLength(SudokuRecordCodec.getSize(record, start)));
+        record.position(start);
+        return record.slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * It reads a value of a stored Sudoku without decoding its record
+     * @param id id of the Sudoku
+     * @param position position in the Sudoku
+     * @return value at the position, 0 for empty
+     */
+    public int getValueAt(int id, int position)
+    {
+        long offset = getOffset(id);
+        return SudokuRecordCodec.getValueAt(data.segments[(int) (offset / SEGMENT_SIZE)],
+                (int) (offset % SEGMENT_SIZE), position);
+    }
+
+    /**
+     * It writes changes of the mapped files to the disk
+     */
+    public synchronized void force()
+    {
+        // records before the count that refers to them
+        data.force();
+        index.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException
+    {
+        force();
+        data.close();
+        index.close();
+    }
+
+    // reads number of records and finds the end of the last record
+    private void open() throws IOException
+    {
+        long storedCount = index.getSegment(0, HEADER_LENGTH).getLong(COUNT_OFFSET);
+        if(storedCount < 0 || storedCount > Integer.MAX_VALUE
+                || getIndexOffset(storedCount) > index.length())
+            throw new IOException("Sudoku store index is damaged : " + file.getPath());
+
+        // map every segment holding a record before readers can see it
+        long indexEnd = getIndexOffset(storedCount);
+        index.map(indexEnd);
+
+        end = HEADER_LENGTH;
+        if(storedCount > 0)
+        {
+            long indexOffset = getIndexOffset(storedCount - 1);
+            long offset = index.getSegment(indexOffset, 8).getLong((int) (indexOffset % SEGMENT_SIZE));
+            if(offset < HEADER_LENGTH || offset >= data.length())
+                throw new IOException("Sudoku store index is damaged : " + file.getPath());
+
+            ByteBuffer segment = data.getSegment(offset, 1);
+            end = offset + SudokuRecordCodec.getRecordLength(
+                    SudokuRecordCodec.getSize(segment, (int) (offset % SEGMENT_SIZE)));
+            data.map(end);
+        }
+        count = (int) storedCount;
+        logger.fine("Opened Sudoku store with " + count + " Sudoku : " + file.getPath());
+    }
+
+    // offset of a record in the data file
+    private long getOffset(int id)
+    {
+        if(id < 0 || id >= count)
+            throw new IndexOutOfBoundsException("Sudoku " + id + " of " + count);
+
+        long indexOffset = getIndexOffset(id);
+        return index.segments[(int) (indexOffset / SEGMENT_SIZE)].getLong(
+                (int) (indexOffset % SEGMENT_SIZE));
+    }
+
+    // offset in the index file of the offset of a record
+    private static long getIndexOffset(long id)
+    {
+        return HEADER_LENGTH + 8*id;
+    }
+
+    private static void writeHeader(SegmentedFile segmentedFile, int magic) throws IOException
+    {
+        ByteBuffer segment = segmentedFile.getSegment(0, HEADER_LENGTH);
+        segment.putInt(0, magic);
+        segment.putInt(4, VERSION);
+    }
+
+    private static void checkHeader(SegmentedFile segmentedFile, int magic) throws IOException
+    {
+        ByteBuffer segment = segmentedFile.getSegment(0, HEADER_LENGTH);
+        if(segment.getInt(0) != magic)
+            throw new IOException("Not a Sudoku store file : " + segmentedFile.file.getPath());
+        if(segment.getInt(4) != VERSION)
+            throw new IOException("Unsupported Sudoku store version " + segment.getInt(4)
+                    + " : " + segmentedFile.file.getPath());
+    }
+
+    /**
+     * File mapped in segments of {@link SudokuStore#SEGMENT_SIZE} bytes, the
+     * last mapped segment can be shorter and is mapped again when it grows
+     */
+    private static class SegmentedFile
+    {
+        private final File file;
+        private final RandomAccessFile randomAccessFile;
+        private final FileChannel channel;
+        // mapped segments, replaced by a new array when the file grows
+        private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+
+        private SegmentedFile(File file) throws IOException
+        {
+            this.file = file;
+            randomAccessFile = new RandomAccessFile(file, "rw");
+            channel = randomAccessFile.getChannel();
+        }
+
+        private long length() throws IOException
+        {
+            return channel.size();
+        }
+
+        // segment holding length bytes from an offset, mapping it and those
+        // before it if needed
+        private synchronized ByteBuffer getSegment(long offset, int length) throws IOException
+        {
+            int segmentIndex = (int) (offset / SEGMENT_SIZE);
+            long required = offset % SEGMENT_SIZE + length;
+            if(segmentIndex >= segments.length || segments[segmentIndex].capacity() < required)
+            {
+                MappedByteBuffer[] grown = Arrays.copyOf(segments,
+                        Math.max(segments.length, segmentIndex + 1));
+                for(int mapped = Math.max(0, segments.length - 1); mapped <= segmentIndex; mapped++)
+                {
+                    long mappedLength = mapped < segmentIndex ? SEGMENT_SIZE : required;
+                    if(grown[mapped] == null || grown[mapped].capacity() < mappedLength)
+                        grown[mapped] = mapSegment(mapped, grown[mapped], mappedLength);
+                }
+                segments = grown;
+            }
+            return segments[segmentIndex];
+        }
+
+        // maps the segments holding all bytes before an offset
+        private void map(long offset) throws IOException
+        {
+            if(offset > 0)
+                getSegment(offset - 1, 1);
+        }
+
+        // maps a segment with twice its mapped length, at least the required
+        // length and the length of the file in the segment
+        private MappedByteBuffer mapSegment(int segmentIndex, MappedByteBuffer segment,
+                long required) throws IOException
+        {
+            long start = (long) segmentIndex * SEGMENT_SIZE;
+            long mappedLength = segment == null ? INITIAL_MAPPING : 2L * segment.capacity();
+            mappedLength = Math.max(mappedLength, Math.min(channel.size() - start, SEGMENT_SIZE));
+            while(mappedLength < required)
+            {
+                mappedLength *= 2;
+            }
+
+            // mapping past the end grows the file
+            return channel.map(FileChannel.MapMode.READ_WRITE, start,
+                    Math.min(mappedLength, SEGMENT_SIZE));
+        }
+
+        private void force()
+        {
+            for(MappedByteBuffer segment : segments)
+            {
+                segment.force();
+            }
+        }
+
+        private void close() throws IOException
+        {
+            randomAccessFile.close();
+        }
+    }
+}
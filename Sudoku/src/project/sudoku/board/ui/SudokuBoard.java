@@ -28,24 +28,42 @@ import java.awt.Insets;
 import java.awt.Toolkit;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
 import java.io.File;
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.swing.AbstractAction;
 import javax.swing.BorderFactory;
+import javax.swing.InputMap;
 import javax.swing.JButton;
+import javax.swing.JComponent;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
+import javax.swing.KeyStroke;
+import javax.swing.SwingWorker;
 
 import project.sudoku.board.model.LikelyValue;
 import project.sudoku.board.model.Sudoku;
+import project.sudoku.board.model.SudokuHistory;
+import project.sudoku.board.model.SudokuSnapshot;
 import project.sudoku.board.scanner.SudokuScanner;
+import project.sudoku.board.solver.BitboardSolverEngine;
+import project.sudoku.board.solver.BitsetSolverEngine;
+import project.sudoku.board.solver.RepairResult;
+import project.sudoku.board.solver.SolveControl;
+import project.sudoku.board.solver.SolveResult;
+import project.sudoku.board.solver.SolverEngine;
 import project.sudoku.board.solver.SudokuSolver;
+import project.sudoku.board.store.SudokuStore;
 import project.sudoku.config.Config;
-import project.sudoku.exception.ResourceLoadingException;
+import project.sudoku.util.SudokuLineFormat;
 
 /**
  * Frame for Sudoku Window
@@ -62,10 +80,23 @@ public class SudokuBoard extends JFrame
 
     private static Logger logger = Logger.getLogger(SudokuBoard.class.getName());
 
-    // 9x9 grid for Sudoku
+    // alternatives of a low confidence value shown in its tooltip
+    private static final int ALTERNATIVES_SHOWN = 3;
+
+    // NxN grid for Sudoku, 9x9 until a Sudoku of another size is set
     private JPanel sudokuGrid = null;
     // Sudoku object
     private Sudoku sudoku = null;
+    // undo history of values set on the board, new for each Sudoku
+    private SudokuHistory history = null;
+    // in-JVM engine for checking scanned Sudoku without starting Prolog
+    private SolverEngine scanCheckEngine = new BitboardSolverEngine();
+    // engine for candidates of empty positions shown as tooltips
+    private SolverEngine candidateEngine = new BitsetSolverEngine();
+    // control of the running solve, null when not solving
+    private SolveControl solveControl = null;
+    // store of scanned Sudoku, opened at the first scan if an archive file is set
+    private SudokuStore scanArchive = null;
 
     /**
      * @throws HeadlessException
@@ -135,8 +166,8 @@ public class SudokuBoard extends JFrame
             public void actionPerformed(ActionEvent e)
             {
                 logger.info("clear filled sudoku values");
-                // clear map for values that are not fixed
-                sudoku.clear();
+                // clear values that are not fixed, as one undoable step
+                history.clear();
                 // reset the board to display these values
                 resetSudokuBoard();
             }
@@ -153,20 +184,17 @@ public class SudokuBoard extends JFrame
             @Override
             public void actionPerformed(ActionEvent e)
             {
-                try
-                {
-                    // sudoku.clear();
-                    logger.info("solve this Sudoku with given values");
-                    // solve sudoku from the current state of sudoku
-                    SudokuSolver.solve(sudoku);
-                } catch (ResourceLoadingException e1)
-                {
-                    logger.severe(e1.getMessage());
-                } catch (Exception e1)
+                // a second click cancels solving
+                if(solveControl != null)
                 {
-                    logger.severe(e1.getMessage());
+                    logger.info("cancel solving this Sudoku");
+                    solveControl.cancel();
+                    return;
                 }
-                resetSudokuBoard();
+
+                logger.info("solve this Sudoku with given values");
+                // solve sudoku from the current state of sudoku
+                solveInBackground((JButton) e.getSource());
             }
         });
         add(solveButton, solveButtonGridConstraints);
@@ -195,10 +223,49 @@ public class SudokuBoard extends JFrame
         });
         add(aboutButton, aboutButtonGridConstraints);
 
+        addUndoKeyBindings();
+
         // initialize with default sudoku
         setSudokuImageFile(new File(Config.DEFAULT_SUDOKU_IMAGE_FILE));
     }
 
+    /**
+     * It binds Ctrl+Z to undo and Ctrl+Y or Ctrl+Shift+Z to redo (Cmd on Mac)
+     */
+    // getMenuShortcutKeyMaskEx is not available in Java 8, which this project targets
+    @SuppressWarnings("deprecation")
+    private void addUndoKeyBindings()
+    {
+        int shortcutMask = Toolkit.getDefaultToolkit().getMenuShortcutKeyMask();
+        InputMap inputMap = getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW);
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, shortcutMask), "undo");
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_Y, shortcutMask), "redo");
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, shortcutMask | InputEvent.SHIFT_MASK), "redo");
+
+        getRootPane().getActionMap().put("undo", new AbstractAction()
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void actionPerformed(ActionEvent e)
+            {
+                if(history != null && solveControl == null && history.undo())
+                    resetSudokuBoard();
+            }
+        });
+        getRootPane().getActionMap().put("redo", new AbstractAction()
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void actionPerformed(ActionEvent e)
+            {
+                if(history != null && solveControl == null && history.redo())
+                    resetSudokuBoard();
+            }
+        });
+    }
+
     // creates a bag constraint of given parameters
     private GridBagConstraints createGridBagConstraints(
             int fill, int gridx, int gridy, int gridWidth, int gridHeight)
@@ -229,41 +296,55 @@ public class SudokuBoard extends JFrame
     private JPanel createSudokuGrid()
     {
         // panel with 9x9 grid
-        JPanel sudokuBox = new JPanel(new GridLayout(9, 9));
+        JPanel sudokuBox = new JPanel();
         sudokuBox.setPreferredSize(new Dimension(350, 350));
         sudokuBox.setMinimumSize(new Dimension(350, 350));
+        addSudokuGrids(sudokuBox, Sudoku.DEFAULT_SIZE);
+
+        return sudokuBox;
+    }
+
+    /**
+     * It (re)creates text fields of a Sudoku board for the given size
+     * @param sudokuBox panel of the Sudoku board
+     * @param size number of rows and columns
+     */
+    private void addSudokuGrids(JPanel sudokuBox, int size)
+    {
+        sudokuBox.removeAll();
+        sudokuBox.setLayout(new GridLayout(size, size));
 
+        int boxSize = (int) Math.round(Math.sqrt(size));
         JTextField textField = null;
-        for(int row = 0; row < 9; row++)
+        for(int row = 0; row < size; row++)
         {
-            for(int col = 0; col < 9; col++)
+            for(int col = 0; col < size; col++)
             {
-                textField = createSudokuGrid(sudokuBox, row, col);
+                textField = createSudokuGrid(size, boxSize, row, col);
                 textField.addKeyListener(new SudokuGridListener(this));
                 sudokuBox.add(textField);
             }
         }
-
-        return sudokuBox;
     }
 
     // grid is a textfield with 4 borders
-    // bold borders for 3x3 blocks and outside of Sudoku box
-    private JTextField createSudokuGrid(JPanel board, int row, int col)
+    // bold borders for blocks and outside of Sudoku box
+    private JTextField createSudokuGrid(int size, int boxSize, int row, int col)
     {
         JTextField textField = new JTextField();
 
-        // thicker top and left borders for 3x3 blocks
+        // thicker top and left borders for blocks
         // and for remaining bottom row and right columns of Sudoku box
-        int topBorder = row%3 == 0 ? 4 : 1;
-        int leftBorder = col%3 == 0 ? 4 : 1;
-        int rightBorder = col == 8 ? 4 : 1;
-        int bottomBorder = row == 8 ? 4 : 1;
+        int topBorder = row%boxSize == 0 ? 4 : 1;
+        int leftBorder = col%boxSize == 0 ? 4 : 1;
+        int rightBorder = col == size - 1 ? 4 : 1;
+        int bottomBorder = row == size - 1 ? 4 : 1;
 
         textField.setBorder(BorderFactory.createMatteBorder(
                 topBorder, leftBorder, bottomBorder, rightBorder, Color.BLACK));
 
-        Font font = new Font(Config.SUDOKU_FONT, Font.BOLD, 20);
+        // smaller font for larger Sudoku, 20 for 9x9
+        Font font = new Font(Config.SUDOKU_FONT, Font.BOLD, Math.max(8, 180/size));
         textField.setFont(font);
         textField.setForeground(Color.BLACK);
         textField.setBackground(Color.WHITE);
@@ -274,6 +355,83 @@ public class SudokuBoard extends JFrame
         return textField;
     }
 
+    /**
+     * It solves the current Sudoku on a background thread, so the board
+     * stays responsive. Solving is given up after the solve timeout and
+     * the solve button cancels it while running. The solution is only set
+     * if the Sudoku was not changed while solving.
+     * @param solveButton the solve button
+     */
+    private void solveInBackground(final JButton solveButton)
+    {
+        final long timeout = Long.getLong(Config.SOLVE_TIMEOUT_PROPERTY,
+                Config.DEFAULT_SOLVE_TIMEOUT);
+        final SolveControl control = new SolveControl(timeout, TimeUnit.MILLISECONDS);
+        final Sudoku solvingSudoku = sudoku;
+        final SudokuHistory solvingHistory = history;
+        final SudokuSnapshot snapshot = solvingSudoku.snapshot();
+
+        solveControl = control;
+        solveButton.setText("Cancel");
+        solveButton.setToolTipText("Cancel solving this sudoku");
+
+        new SwingWorker<SolveResult, Void>()
+        {
+            @Override
+            protected SolveResult doInBackground() throws Exception
+            {
+                return SudokuSolver.solve(snapshot.getGrid(), control);
+            }
+
+            @Override
+            protected void done()
+            {
+                solveControl = null;
+                solveButton.setText("Solve");
+                solveButton.setToolTipText("Solve this sudoku");
+
+                SolveResult result;
+                try
+                {
+                    result = get();
+                }
+                catch (Exception e)
+                {
+                    logger.log(Level.SEVERE, e.getMessage(), e);
+                    return;
+                }
+
+                if(result.isSolved() && solvingSudoku.hasChangedSince(snapshot))
+                {
+                    logger.info("Sudoku was changed while solving, solution not set");
+                    JOptionPane.showMessageDialog(SudokuBoard.this,
+                            "The Sudoku was changed while it was being solved."
+                                    + " Please solve it again.",
+                                    "Sudoku changed",
+                                    JOptionPane.INFORMATION_MESSAGE);
+                }
+                else if(result.isSolved())
+                {
+                    // the whole fill is one undoable step
+                    solvingHistory.setValues(result.getSolution());
+                    resetSudokuBoard();
+                }
+                else if(result.getStatus() == SolveResult.Status.TIMED_OUT)
+                {
+                    JOptionPane.showMessageDialog(SudokuBoard.this,
+                            "No solution was found within " + timeout/1000.0 + " seconds."
+                                    + " Some values may contradict each other.",
+                                    "Solving timed out",
+                                    JOptionPane.WARNING_MESSAGE);
+                }
+                else
+                {
+                    logger.info("Sudoku not solved : " + result.getStatus());
+                }
+            }
+        }.execute();
+    }
+
     /**
      * It lets user choose Sudoku image file
      * @throws IOException
@@ -354,9 +512,14 @@ public class SudokuBoard extends JFrame
 
                 if(currentSudoku != null)
                 {
+                    // keep values and confidences before they are checked or repaired
+                    archiveScannedSudoku(currentSudoku);
+
                     // set sudoku and reset board
-                    sudoku = currentSudoku;
-                    resetSudokuBoard();
+                    setSudoku(currentSudoku);
+
+                    // misread digits often leave no solution or many solutions
+                    checkSolutionCount(currentSudoku);
                 }
                 else
                 {
@@ -381,6 +544,165 @@ public class SudokuBoard extends JFrame
         }
     }
 
+    /**
+     * It appends a scanned Sudoku to the store set by
+     * {@link Config#SCAN_ARCHIVE_PROPERTY}, if any
+     * @param scannedSudoku Sudoku loaded from an image file
+     */
+    private void archiveScannedSudoku(Sudoku scannedSudoku)
+    {
+        String archiveFile = System.getProperty(Config.SCAN_ARCHIVE_PROPERTY);
+        if(archiveFile == null || scannedSudoku.getSize() > 9)
+            return;
+
+        try
+        {
+            if(scanArchive == null)
+                scanArchive = new SudokuStore(new File(archiveFile));
+
+            int id = scanArchive.append(scannedSudoku);
+            scanArchive.force();
+            logger.info("Scanned Sudoku archived with id " + id + " : " + archiveFile);
+        } catch (IOException e)
+        {
+            logger.log(Level.WARNING, "Scanned Sudoku could not be archived : " + archiveFile, e);
+        }
+    }
+
+    /**
+     * It warns when a scanned Sudoku does not have a unique solution. Solutions
+     * are counted, repaired and graded in background from a snapshot of the Sudoku.
+     * @param scannedSudoku Sudoku loaded from an image file
+     */
+    private void checkSolutionCount(final Sudoku scannedSudoku)
+    {
+        final SudokuSnapshot snapshot = scannedSudoku.snapshot();
+
+        new SwingWorker<RepairResult, Void>()
+        {
+            private int solutionCount;
+
+            @Override
+            protected RepairResult doInBackground() throws Exception
+            {
+                Sudoku checkedSudoku = snapshot.toSudoku();
+                solutionCount = SudokuSolver.countSolutions(checkedSudoku, 2, scanCheckEngine);
+                if(solutionCount != 1)
+                {
+                    // try alternatives of low confidence values first
+                    return SudokuSolver.repair(checkedSudoku);
+                }
+
+                if(checkedSudoku.getSize() == 9)
+                {
+                    // rate the scanned Sudoku by techniques needed to solve it
+                    SudokuSolver.grade(checkedSudoku);
+                }
+                return null;
+            }
+
+            @Override
+            protected void done()
+            {
+                RepairResult repairResult;
+                try
+                {
+                    repairResult = get();
+                }
+                catch (Exception e)
+                {
+                    logger.log(Level.SEVERE, e.getMessage(), e);
+                    return;
+                }
+
+                if(repairResult == null)
+                    return;
+
+                String message = solutionCount == 0
+                        ? "The scanned Sudoku has no solution."
+                        : "The scanned Sudoku has more than one solution.";
+                logger.warning(message);
+
+                if(sudoku != scannedSudoku || scannedSudoku.hasChangedSince(snapshot))
+                {
+                    logger.info("Sudoku was changed while checking, repair not offered");
+                    return;
+                }
+
+                if(repairResult.getStatus() == RepairResult.Status.REPAIRED)
+                {
+                    offerRepair(scannedSudoku, repairResult, message);
+                    return;
+                }
+
+                JOptionPane.showMessageDialog(SudokuBoard.this,
+                        message + " Some digits may have been read incorrectly,"
+                                + " check the values marked in red.",
+                                "Check scanned Sudoku",
+                                JOptionPane.WARNING_MESSAGE);
+            }
+        }.execute();
+    }
+
+    /**
+     * It asks the user to apply corrections of misread values
+     * @param scannedSudoku Sudoku loaded from an image file
+     * @param repairResult corrections with a unique solution
+     * @param message problem of the scanned Sudoku
+     */
+    private void offerRepair(Sudoku scannedSudoku, RepairResult repairResult, String message)
+    {
+        StringBuilder correctionText = new StringBuilder();
+        for(Map.Entry<Integer, LikelyValue> correction : repairResult.getCorrections().entrySet())
+        {
+            int position = correction.getKey();
+            correctionText.append(String.format("%n    row %d, column %d : %d -> %d (confidence %.2f)",
+                    position / scannedSudoku.getSize() + 1, position % scannedSudoku.getSize() + 1,
+                    scannedSudoku.getValueAt(position), correction.getValue().getValue(),
+                    correction.getValue().getConfidence()));
+        }
+
+        int answer = JOptionPane.showConfirmDialog(this,
+                message + " These values were probably read incorrectly :"
+                        + correctionText + "\n\nCorrect them?",
+                        "Check scanned Sudoku",
+                        JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+        if(answer == JOptionPane.YES_OPTION)
+        {
+            // corrected givens only, the user still solves the Sudoku
+            for(Map.Entry<Integer, LikelyValue> correction : repairResult.getCorrections().entrySet())
+            {
+                scannedSudoku.setFixedValueAt(correction.getKey(), correction.getValue());
+            }
+            resetSudokuBoard();
+        }
+    }
+
+    /**
+     * It sets Sudoku of the board, the board is recreated when the size
+     * of Sudoku changes
+     * @param currentSudoku Sudoku of any size
+     */
+    public void setSudoku(final Sudoku currentSudoku)
+    {
+        if(sudokuGrid.getComponentCount() != currentSudoku.getPositionCount())
+        {
+            EventQueue.invokeLater(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    addSudokuGrids(sudokuGrid, currentSudoku.getSize());
+                    sudokuGrid.revalidate();
+                }
+            });
+        }
+
+        sudoku = currentSudoku;
+        history = new SudokuHistory(currentSudoku);
+        resetSudokuBoard();
+    }
+
     /**
      * It returns current sudoku for the Sudoku board
      * @return
@@ -390,14 +712,27 @@ public class SudokuBoard extends JFrame
         return sudoku;
     }
 
+    /**
+     * It returns undo history of the current Sudoku, values entered on the
+     * board should be set through it
+     * @return history of the current Sudoku
+     */
+    public SudokuHistory getHistory()
+    {
+        return history;
+    }
+
     private Runnable sudokuBoardResetter = new Runnable()
     {
         public void run()
         {
+            // consistent values even if the Sudoku is changed meanwhile
+            SudokuSnapshot snapshot = sudoku.snapshot();
+
             // set appropriate colors for values
             JTextField textField = null;
-            Integer valueAtPosition = -1;
-            for(int index = 0; index < 81; index++)
+            int valueAtPosition = -1;
+            for(int index = 0; index < snapshot.getPositionCount(); index++)
             {
                 textField = ((JTextField) sudokuGrid.getComponent(index));
 
@@ -407,18 +742,18 @@ public class SudokuBoard extends JFrame
                 textField.setEditable(true);
                 textField.setForeground(Color.GRAY);
 
-                valueAtPosition = sudoku.getValueAt(index);
+                valueAtPosition = snapshot.getValueAt(index);
                 if(valueAtPosition > 0)
                 {
                     // set the value if it is non-empty
-                    textField.setText(valueAtPosition + "");
+                    textField.setText(SudokuLineFormat.toSymbol(valueAtPosition) + "");
 
-                    if(sudoku.hasFixedValueAt(index)) // given fixed values
+                    if(snapshot.hasFixedValueAt(index)) // given fixed values
                     {
                         // fixed values are not editable
                         textField.setEditable(false);
 
-                        LikelyValue lowConfidenceLikelyValue = sudoku.getLowConfidenceValue(index);
+                        LikelyValue lowConfidenceLikelyValue = snapshot.getLowConfidenceValue(index);
                         if(lowConfidenceLikelyValue != null)
                             // fixed values classified with low confidence
                         {
@@ -429,7 +764,8 @@ public class SudokuBoard extends JFrame
                                     + String.format("       "
                                             + "Confidence Margin : %.2f"
                                             + "    ",
-                                            lowConfidenceLikelyValue.getConfidenceMargin());
+                                            lowConfidenceLikelyValue.getConfidenceMargin())
+                                    + getAlternativesText(snapshot, index, valueAtPosition);
                             textField.setToolTipText(tooltip);
                         }
                         else
@@ -440,7 +776,97 @@ public class SudokuBoard extends JFrame
                     }
                 }
             }
+            updateCandidateHints();
         }
     };
 
+    /**
+     * It returns next most likely values of a fixed position for its tooltip
+     * @param snapshot values of the board
+     * @param position a fixed position
+     * @param value value read at the position
+     * @return text with alternatives and their confidence, empty if none
+     */
+    private static String getAlternativesText(SudokuSnapshot snapshot, int position, int value)
+    {
+        StringBuilder text = new StringBuilder();
+        for(LikelyValue likelyValue : snapshot.getTopLikelyValues(position, ALTERNATIVES_SHOWN + 1))
+        {
+            if(likelyValue.getValue() != value)
+                text.append(String.format(" %c (%.2f)",
+                        SudokuLineFormat.toSymbol(likelyValue.getValue()), likelyValue.getConfidence()));
+        }
+        return text.length() == 0 ? "" : "   Alternatives :" + text + "    ";
+    }
+
+    /**
+     * It shows remaining candidates of each empty position as its tooltip
+     * (pencil marks), found by constraint propagation without solving.
+     * Candidates are found on a background thread from a snapshot of the
+     * Sudoku, and are not shown if the Sudoku was changed meanwhile.
+     */
+    public void updateCandidateHints()
+    {
+        if(sudoku == null || sudokuGrid.getComponentCount() != sudoku.getPositionCount())
+            return;
+
+        final Sudoku hintSudoku = sudoku;
+        final SudokuSnapshot snapshot = hintSudoku.snapshot();
+        new SwingWorker<long[], Void>()
+        {
+            @Override
+            protected long[] doInBackground() throws Exception
+            {
+                return SudokuSolver.getCandidates(snapshot, candidateEngine);
+            }
+
+            @Override
+            protected void done()
+            {
+                // a later change updates candidates again
+                if(sudoku != hintSudoku || hintSudoku.hasChangedSince(snapshot)
+                        || sudokuGrid.getComponentCount() != snapshot.getPositionCount())
+                    return;
+
+                try
+                {
+                    showCandidateHints(snapshot, get());
+                }
+                catch (Exception e)
+                {
+                    logger.log(Level.WARNING, "Could not find candidates", e);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * It sets candidates of each empty position as its tooltip
+     * @param snapshot values for which candidates were found
+     * @param candidateMasks candidates of each position, null if there is no solution
+     */
+    private void showCandidateHints(SudokuSnapshot snapshot, long[] candidateMasks)
+    {
+        for(int index = 0; index < snapshot.getPositionCount(); index++)
+        {
+            if(snapshot.getValueAt(index) > 0)
+                continue;
+
+            JTextField textField = ((JTextField) sudokuGrid.getComponent(index));
+            if(candidateMasks == null)
+            {
+                // values on the board leave no solution
+                textField.setToolTipText("    No candidates    ");
+                continue;
+            }
+
+            StringBuilder tooltip = new StringBuilder("    Candidates :");
+            for(int value : SudokuSolver.getCandidateValues(candidateMasks[index]))
+            {
+                tooltip.append(' ').append(SudokuLineFormat.toSymbol(value));
+            }
+            textField.setToolTipText(tooltip.append("    ").toString());
+        }
+    }
+
 }
@@ -23,6 +23,9 @@ import java.util.logging.Logger;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
 
+import project.sudoku.board.model.Sudoku;
+import project.sudoku.util.SudokuLineFormat;
+
 /**
  * Listener for editing a value in Sudoku
  * 
@@ -48,14 +51,16 @@ public class SudokuGridListener extends KeyAdapter
         JTextField textField = (JTextField) e.getSource();
         if(textField.getText().isEmpty())
         {
-            int charValue = (int) e.getKeyChar();
+            // digits 1-9 and letters for values above 9
+            int value = SudokuLineFormat.toValue(e.getKeyChar());
 
-            // set values between 1-9
-            if(charValue >= (int) '1' && charValue <= (int) '9')
+            // set values between 1 and size of Sudoku
+            if(value >= 1 && value <= getSize())
             {
+                e.setKeyChar(SudokuLineFormat.toSymbol(value));
                 setValueAndMove(e);
             }
-            else // number not between 1-9, do nothing
+            else // value not between 1 and size, do nothing
             {
                 logger.fine((int) e.getKeyChar() + "");
                 e.consume();
@@ -67,6 +72,13 @@ public class SudokuGridListener extends KeyAdapter
         }
     }
 
+    // size of Sudoku on the board
+    private int getSize()
+    {
+        Sudoku sudoku = sudokuBoard.getSudoku();
+        return sudoku == null ? Sudoku.DEFAULT_SIZE : sudoku.getSize();
+    }
+
     /**
      * It sets value and focuses to next empty grid
      * @param e
@@ -91,8 +103,10 @@ public class SudokuGridListener extends KeyAdapter
             // set value at current position
             else if(component.equals(textField))
             {
-                Integer value = Integer.parseInt((char) e.getKeyChar() + "");
-                sudokuBoard.getSudoku().setValueAt(index, value);
+                Integer value = SudokuLineFormat.toValue(e.getKeyChar());
+                sudokuBoard.getHistory().setValueAt(index, value);
+                textField.setToolTipText("");
+                sudokuBoard.updateCandidateHints();
                 valueSet = true;
             }
             index++;
@@ -59,4 +59,107 @@ public interface Config
     public static final String SUDOKU_PL_FILE = RESOURCES_FOLDER
             + File.separator + "solver.pl";
 
+    // precompiled 'solver.pl' and saved state with it, created by the Ant build
+    public static final String SUDOKU_QLF_FILE = RESOURCES_FOLDER
+            + File.separator + "solver.qlf";
+    public static final String SUDOKU_STATE_FILE = RESOURCES_FOLDER
+            + File.separator + "solver.state";
+
+    // Prolog file for solving Sudoku in a separate SWI-Prolog process
+    public static final String SUDOKU_WORKER_PL_FILE = RESOURCES_FOLDER
+            + File.separator + "solver_worker.pl";
+
+    // log file for error output of SWI-Prolog processes
+    public static final String WORKER_LOG_FILE = ".sudoku-worker-log.txt";
+
+    // SWI-Prolog binary bundled in lib folder
+    public static final String SWIPL_BINARY = "lib" + File.separator + "swipl-7.4.2"
+            + File.separator + "bin" + File.separator + "swipl";
+
+    // Sudoku puzzles in 81 character line format for benchmarks
+    public static final String BENCHMARK_PUZZLES_FILE = RESOURCES_FOLDER
+            + File.separator + "puzzles.txt";
+
+    // system property for choosing the solver engine by its name
+    public static final String SOLVER_ENGINE_PROPERTY = "sudoku.solver.engine";
+
+    // solver engine used when no engine is chosen
+    public static final String DEFAULT_SOLVER_ENGINE = "prolog";
+
+    // system properties for number of concurrent Prolog queries, callers that
+    // may wait for a lease and milliseconds to wait for a lease
+    public static final String PROLOG_POOL_SIZE_PROPERTY = "sudoku.prolog.pool.size";
+    public static final String PROLOG_POOL_QUEUE_PROPERTY = "sudoku.prolog.pool.queue";
+    public static final String PROLOG_POOL_TIMEOUT_PROPERTY = "sudoku.prolog.pool.timeout";
+
+    // system properties for SWI-Prolog binary and number of SWI-Prolog processes
+    public static final String SWIPL_BINARY_PROPERTY = "sudoku.swipl.binary";
+    public static final String PROCESS_POOL_SIZE_PROPERTY = "sudoku.process.pool.size";
+
+    // system properties for worker threads and split depth of parallel solver
+    public static final String PARALLEL_SOLVER_THREADS_PROPERTY = "sudoku.parallel.threads";
+    public static final String PARALLEL_SOLVER_SPLIT_DEPTH_PROPERTY = "sudoku.parallel.split.depth";
+
+    // system properties for using precompiled Prolog files and for starting
+    // Prolog in the background when the application starts
+    public static final String PROLOG_PRECOMPILED_PROPERTY = "sudoku.prolog.precompiled";
+    public static final String PROLOG_WARMUP_PROPERTY = "sudoku.prolog.warmup";
+
+    // system property for the labeling strategy of the Prolog solver, like
+    // ff,bisect,all_distinct, or adaptive for choosing it from recorded statistics
+    public static final String PROLOG_LABELING_PROPERTY = "sudoku.prolog.labeling";
+
+    // value of the labeling property choosing a strategy for each grid
+    public static final String ADAPTIVE_LABELING = "adaptive";
+
+    // statistics of labeling strategies recorded by benchmark runs
+    public static final String LABELING_STATISTICS_FILE = ".sudoku-labeling-stats.txt";
+
+    // default callers that may wait for a Prolog query lease
+    public static final int DEFAULT_PROLOG_POOL_QUEUE = 64;
+
+    // default milliseconds to wait for a Prolog query lease
+    public static final long DEFAULT_PROLOG_POOL_TIMEOUT = 30000;
+
+    // system property for comma separated names of engines raced by the portfolio engine
+    public static final String PORTFOLIO_ENGINES_PROPERTY = "sudoku.portfolio.engines";
+
+    // engines raced by the portfolio engine when none are configured
+    public static final String DEFAULT_PORTFOLIO_ENGINES = "bitboard,dlx,prolog";
+
+    // system property for number of solutions kept in the solution cache (0 disables it)
+    public static final String SOLUTION_CACHE_SIZE_PROPERTY = "sudoku.solution.cache.size";
+
+    // default number of solutions kept in the solution cache
+    public static final int DEFAULT_SOLUTION_CACHE_SIZE = 1024;
+
+    // system property for comma separated names of engines whose solve calls
+    // use the solution cache, canonical forms cost more than in-JVM searches
+    public static final String SOLUTION_CACHE_ENGINES_PROPERTY = "sudoku.solution.cache.engines";
+
+    // engines using the solution cache when none are configured
+    public static final String DEFAULT_SOLUTION_CACHE_ENGINES = "prolog,process";
+
+    // system property for milliseconds the Solve button may take
+    public static final String SOLVE_TIMEOUT_PROPERTY = "sudoku.solve.timeout";
+
+    // default milliseconds the Solve button may take
+    public static final long DEFAULT_SOLVE_TIMEOUT = 10000;
+
+    // system properties for comma separated names of engines, number of threads
+    // and milliseconds allowed for each puzzle in the solver macro benchmark
+    public static final String BENCHMARK_ENGINES_PROPERTY = "sudoku.benchmark.engines";
+    public static final String BENCHMARK_THREADS_PROPERTY = "sudoku.benchmark.threads";
+    public static final String BENCHMARK_TIMEOUT_PROPERTY = "sudoku.benchmark.timeout";
+
+    // default milliseconds allowed for each puzzle in the solver macro benchmark
+    public static final long DEFAULT_BENCHMARK_TIMEOUT = 10000;
+
+    // system property for a labeling statistics file to which the solver macro
+    // benchmark adds inferences of every labeling strategy
+    public static final String BENCHMARK_LABELING_PROPERTY = "sudoku.benchmark.labeling";
+
+    // system property for a Sudoku store file to which scanned Sudoku are appended
+    public static final String SCAN_ARCHIVE_PROPERTY = "sudoku.scan.archive";
+
 }
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Memory-mapped file of Sudoku in line format
+ * <p>
+ * The file is mapped read-only and only the offset and length of each
+ * Sudoku line are kept on the heap, so large corpora (hundreds of thousands
+ * of puzzles) are opened without reading them into strings. A grid is parsed
+ * from the mapped bytes when it is requested. Lines that are not a Sudoku and
+ * lines starting with '#' are skipped like in {@link SudokuLineFormat#readFile(File)}.
+ * </p>
+ * <p>
+ * Grids can be read from several threads at once. Files larger than 2 GB
+ * are not supported.
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class PuzzleCorpus
+{
+    private final File file;
+    private final MappedByteBuffer buffer;
+
+    // offset and length of each Sudoku line in the file
+    private int[] offsets = new int[1024];
+    private int[] lengths = new int[1024];
+    private int size = 0;
+
+    /**
+     * It maps a file and indexes its Sudoku lines
+     * @param file text file with a Sudoku on each line
+     * @throws IOException when the file could not be mapped
+     */
+    public PuzzleCorpus(File file) throws IOException
+    {
+        this.file = file;
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+                FileChannel channel = randomAccessFile.getChannel())
+        {
+            if(channel.size() > Integer.MAX_VALUE)
+                throw new IOException("Puzzle file is larger than 2 GB : " + file.getPath());
+
+            // the mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        index();
+    }
+
+    /**
+     * @return the mapped file
+     */
+    public File getFile()
+    {
+        return file;
+    }
+
+    /**
+     * @return number of Sudoku in the file
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * It parses a Sudoku of the file
+     * @param index index of the Sudoku among Sudoku lines of the file
+     * @return grid with index = N*row + col (0 for empty)
+     */
+    public int[] getGrid(int index)
+    {
+        if(index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Puzzle " + index + " of " + size);
+
+        int offset = offsets[index];
+        int[] grid = new int[lengths[index]];
+        for(int position = 0; position < grid.length; position++)
+        {
+            // absolute reads do not change the buffer, so threads can share it
+            grid[position] = SudokuLineFormat.toValue((char) buffer.get(offset + position));
+        }
+        return grid;
+    }
+
+    // finds offset and length of every Sudoku line
+    private void index()
+    {
+        int limit = buffer.limit();
+        int lineStart = 0;
+        while(lineStart < limit)
+        {
+            int lineEnd = lineStart;
+            while(lineEnd < limit && buffer.get(lineEnd) != '\n')
+            {
+                lineEnd++;
+            }
+
+            // skip leading white space, the Sudoku ends at the next white space
+            int start = lineStart;
+            while(start < lineEnd && Character.isWhitespace(buffer.get(start)))
+            {
+                start++;
+            }
+            int end = start;
+            while(end < lineEnd && !Character.isWhitespace(buffer.get(end)))
+            {
+                end++;
+            }
+
+            // trailing white space (and '\r' of Windows line ends) is not part of the line
+            int trimmedEnd = lineEnd;
+            while(trimmedEnd > end && Character.isWhitespace(buffer.get(trimmedEnd - 1)))
+            {
+                trimmedEnd--;
+            }
+
+            int length = end - start;
+            if(length > 0 && buffer.get(start) != '#')
+            {
+                if(SudokuLineFormat.isGridLength(length))
+                    add(start, length);
+                else if(trimmedEnd - start >= SudokuLineFormat.LINE_LENGTH)
+                    add(start, SudokuLineFormat.LINE_LENGTH);
+            }
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    private void add(int offset, int length)
+    {
+        if(size == offsets.length)
+        {
+            offsets = Arrays.copyOf(offsets, 2*size);
+            lengths = Arrays.copyOf(lengths, 2*size);
+        }
+        offsets[size] = offset;
+        lengths[size++] = length;
+    }
+}
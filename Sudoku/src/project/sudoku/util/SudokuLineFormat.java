@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class for the line format of Sudoku
+ * <p>
+ * A Sudoku of size N is written as one line of N*N characters in row order.
+ * Digits '1' to '9' are values 1 to 9, letters 'A' to 'Z' (or 'a' to 'z')
+ * are values 10 to 35 and any other character ('0' or '.') is an empty
+ * position. Size is found from the length of the line, so a line of 81
+ * characters is a 9x9 Sudoku and a line of 256 characters is a 16x16 Sudoku.
+ * For example
+ * <pre>
+ * 003020600900305001001806400008102900700000008006708200002609500800203009005010300
+ * </pre>
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class SudokuLineFormat
+{
+    // number of characters of a 9x9 Sudoku line
+    public static final int LINE_LENGTH = 81;
+
+    // largest size with a symbol for every value
+    public static final int MAX_SIZE = 35;
+
+    /**
+     * It parses a Sudoku line to a grid (0 for empty). The size is found from
+     * the characters up to the first white space, when these are not the
+     * positions of a square Sudoku the first 81 characters are parsed.
+     * @param line line of N*N characters
+     * @return grid with index = N*row + col
+     */
+    public static int[] parse(CharSequence line)
+    {
+        int length = getGridLength(line);
+        if(length < 0)
+        {
+            throw new IllegalArgumentException("Sudoku line should have "
+                    + LINE_LENGTH + " characters : " + line);
+        }
+
+        int[] grid = new int[length];
+        for(int position = 0; position < length; position++)
+        {
+            grid[position] = toValue(line.charAt(position));
+        }
+        return grid;
+    }
+
+    /**
+     * It formats a grid as a Sudoku line, '.' is used for empty positions
+     * @param grid grid of N*N values
+     * @return line of N*N characters
+     */
+    public static String format(int[] grid)
+    {
+        char[] line = new char[grid.length];
+        for(int position = 0; position < grid.length; position++)
+        {
+            line[position] = toSymbol(grid[position]);
+        }
+        return new String(line);
+    }
+
+    /**
+     * It returns the symbol of a value
+     * @param value value of a position
+     * @return '1' to '9' and 'A' to 'Z' for values 1 to 35, otherwise '.'
+     */
+    public static char toSymbol(int value)
+    {
+        if(value >= 1 && value <= 9)
+            return (char) ('0' + value);
+        if(value >= 10 && value <= MAX_SIZE)
+            return (char) ('A' + value - 10);
+        return '.';
+    }
+
+    /**
+     * It returns the value of a symbol
+     * @param symbol a character of a Sudoku line
+     * @return value 1 to 35 or 0 when the symbol is an empty position
+     */
+    public static int toValue(char symbol)
+    {
+        if(symbol >= '1' && symbol <= '9')
+            return symbol - '0';
+        if(symbol >= 'A' && symbol <= 'Z')
+            return symbol - 'A' + 10;
+        if(symbol >= 'a' && symbol <= 'z')
+            return symbol - 'a' + 10;
+        return 0;
+    }
+
+    /**
+     * It reads all Sudoku lines of a file. Lines that are not a Sudoku
+     * and lines starting with '#' are skipped.
+     * @param file text file with a Sudoku on each line
+     * @return list of grids
+     * @throws IOException when the file could not be read
+     */
+    public static List<int[]> readFile(File file) throws IOException
+    {
+        List<int[]> grids = new ArrayList<int[]>();
+        for(String line : Files.readAllLines(file.toPath(), StandardCharsets.US_ASCII))
+        {
+            line = line.trim();
+            if(!line.startsWith("#") && getGridLength(line) > 0)
+            {
+                grids.add(parse(line));
+            }
+        }
+        return grids;
+    }
+
+    // number of positions in the line or -1 when it is not a Sudoku line
+    private static int getGridLength(CharSequence line)
+    {
+        int length = 0;
+        while(length < line.length() && !Character.isWhitespace(line.charAt(length)))
+        {
+            length++;
+        }
+
+        if(isGridLength(length))
+            return length;
+
+        return line.length() >= LINE_LENGTH ? LINE_LENGTH : -1;
+    }
+
+    /**
+     * @param length number of characters
+     * @return true if it is the number of positions of a N*N Sudoku with N = B*B
+     */
+    static boolean isGridLength(int length)
+    {
+        int size = (int) Math.round(Math.sqrt(length));
+        int boxSize = (int) Math.round(Math.sqrt(size));
+        return size*size == length && boxSize*boxSize == size && size > 1 && size <= MAX_SIZE;
+    }
+}
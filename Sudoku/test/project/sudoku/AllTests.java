@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import project.sudoku.board.generator.SudokuGeneratorTest;
+import project.sudoku.board.model.SudokuHistoryTest;
+import project.sudoku.board.model.SudokuTest;
+import project.sudoku.board.solver.BitsetSolverEngineTest;
+import project.sudoku.board.solver.CandidatesTest;
+import project.sudoku.board.solver.CanonicalFormTest;
+import project.sudoku.board.solver.ConfidenceRepairTest;
+import project.sudoku.board.solver.DancingLinksSolverEngineTest;
+import project.sudoku.board.solver.DifficultyGraderTest;
+import project.sudoku.board.solver.PortfolioSolverEngineTest;
+import project.sudoku.board.solver.SolutionIteratorTest;
+import project.sudoku.board.solver.SolveControlTest;
+import project.sudoku.board.solver.SolverEngineTest;
+import project.sudoku.board.solver.StrategySelectorTest;
+import project.sudoku.board.store.SudokuStoreTest;
+import project.sudoku.util.PuzzleCorpusTest;
+
+/**
+ * Runs the tests of the project without a test framework
+ * <p>
+ * Every public static method without parameters whose name starts with
+ * <code>test</code> of the listed classes is a test. A test fails when it
+ * throws, and the process exits with status 1 if any test failed.
+ * </p>
+ * <p>
+ * Usage (or <code>ant test</code>) :
+ * <pre>
+ * java -cp Sudoku.jar:test-bin project.sudoku.AllTests
+ * </pre>
+ * </p>
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class AllTests
+{
+    // classes with tests
+    private static final Class<?>[] TEST_CLASSES = {
+        SolverEngineTest.class,
+        DancingLinksSolverEngineTest.class,
+        SolutionIteratorTest.class,
+        BitsetSolverEngineTest.class,
+        CandidatesTest.class,
+        CanonicalFormTest.class,
+        ConfidenceRepairTest.class,
+        DifficultyGraderTest.class,
+        SolveControlTest.class,
+        PortfolioSolverEngineTest.class,
+        StrategySelectorTest.class,
+        SudokuGeneratorTest.class,
+        SudokuStoreTest.class,
+        SudokuTest.class,
+        SudokuHistoryTest.class,
+        PuzzleCorpusTest.class,
+    };
+
+    public static void main(String[] args) throws IllegalAccessException
+    {
+        int testCount = 0, failureCount = 0;
+        for(Class<?> testClass : TEST_CLASSES)
+        {
+            for(Method method : testClass.getMethods())
+            {
+                if(!method.getName().startsWith("test") || method.getParameterCount() != 0
+                        || !Modifier.isStatic(method.getModifiers()))
+                    continue;
+
+                testCount++;
+                String name = testClass.getSimpleName() + "." + method.getName();
+                try
+                {
+                    method.invoke(null);
+                    System.out.println("ok     " + name);
+                }
+                catch (InvocationTargetException e)
+                {
+                    failureCount++;
+                    System.out.println("FAILED " + name);
+                    e.getCause().printStackTrace(System.out);
+                }
+            }
+        }
+
+        System.out.println(testCount + " tests, " + failureCount + " failed");
+        if(failureCount > 0)
+            System.exit(1);
+    }
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku;
+
+import java.util.Arrays;
+
+/**
+ * Assertions of the tests, failing with an {@link AssertionError}
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public final class Assert
+{
+    private Assert()
+    {
+    }
+
+    public static void assertTrue(String message, boolean condition)
+    {
+        if(!condition)
+            throw new AssertionError(message);
+    }
+
+    public static void assertEquals(String message, long expected, long actual)
+    {
+        if(expected != actual)
+            throw new AssertionError(message + " : expected " + expected + " but was " + actual);
+    }
+
+    public static void assertEquals(String message, Object expected, Object actual)
+    {
+        if(expected == null ? actual != null : !expected.equals(actual))
+            throw new AssertionError(message + " : expected " + expected + " but was " + actual);
+    }
+
+    public static void assertArrayEquals(String message, int[] expected, int[] actual)
+    {
+        if(!Arrays.equals(expected, actual))
+        {
+            throw new AssertionError(message + " : expected " + Arrays.toString(expected)
+                    + " but was " + Arrays.toString(actual));
+        }
+    }
+
+    public static void assertArrayEquals(String message, long[] expected, long[] actual)
+    {
+        if(!Arrays.equals(expected, actual))
+        {
+            throw new AssertionError(message + " : expected " + Arrays.toString(expected)
+                    + " but was " + Arrays.toString(actual));
+        }
+    }
+
+    public static void assertArrayEquals(String message, byte[] expected, byte[] actual)
+    {
+        if(!Arrays.equals(expected, actual))
+        {
+            throw new AssertionError(message + " : expected " + Arrays.toString(expected)
+                    + " but was " + Arrays.toString(actual));
+        }
+    }
+
+    public static void assertNull(String message, Object object)
+    {
+        if(object != null)
+            throw new AssertionError(message + " : expected null but was " + object);
+    }
+
+    /**
+     * It checks that a solution is a valid Sudoku keeping the givens of a grid
+     * @param message message of the failure
+     * @param grid N*N values with index = N*row + col (values less than 1 are empty)
+     * @param solution the solution
+     */
+    public static void assertSolves(String message, int[] grid, int[] solution)
+    {
+        assertTrue(message + " : no solution", solution != null);
+        assertEquals(message + " : solution length", grid.length, solution.length);
+
+        int size = (int) Math.round(Math.sqrt(grid.length));
+        int boxSize = (int) Math.round(Math.sqrt(size));
+        for(int position = 0; position < grid.length; position++)
+        {
+            if(grid[position] > 0)
+                assertEquals(message + " : given at " + position, grid[position], solution[position]);
+        }
+
+        for(int unit = 0; unit < size; unit++)
+        {
+            long row = 0, col = 0, box = 0;
+            int boxRow = boxSize*(unit / boxSize), boxCol = boxSize*(unit % boxSize);
+            for(int index = 0; index < size; index++)
+            {
+                row |= 1L << (solution[size*unit + index] - 1);
+                col |= 1L << (solution[size*index + unit] - 1);
+                box |= 1L << (solution[size*(boxRow + index / boxSize) + boxCol + index % boxSize] - 1);
+            }
+            long allDigits = size == 64 ? -1L : (1L << size) - 1;
+            assertTrue(message + " : row " + unit, row == allDigits);
+            assertTrue(message + " : column " + unit, col == allDigits);
+            assertTrue(message + " : box " + unit, box == allDigits);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.generator;
+
+import static project.sudoku.Assert.assertArrayEquals;
+import static project.sudoku.Assert.assertEquals;
+import static project.sudoku.Assert.assertSolves;
+import static project.sudoku.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import project.sudoku.board.model.Sudoku;
+import project.sudoku.board.solver.BitboardSolverEngine;
+import project.sudoku.board.solver.DancingLinksSolverEngine;
+import project.sudoku.util.SudokuLineFormat;
+
+/**
+ * Tests of {@link SudokuGenerator}: every puzzle has exactly the asked
+ * number of clues and a unique solution, checked with another engine than
+ * the one that generated it
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class SudokuGeneratorTest
+{
+    private static int clueCount(int[] puzzle)
+    {
+        int clues = 0;
+        for(int value : puzzle)
+        {
+            if(value > 0)
+                clues++;
+        }
+        return clues;
+    }
+
+    private static void assertUnique(String message, int[] puzzle, int clues)
+    {
+        assertEquals(message + " length", 81, puzzle.length);
+        assertEquals(message + " clues", clues, clueCount(puzzle));
+        assertEquals(message + " solutions", 1, new DancingLinksSolverEngine().countSolutions(puzzle, 2));
+    }
+
+    public static void testGeneratedPuzzlesAreUnique() throws InterruptedException
+    {
+        for(int clues : new int[] {SudokuGenerator.MIN_CLUES + 4, 30, 40})
+        {
+            List<int[]> puzzles = new SudokuGenerator(2, clues).generate(10, clues);
+            assertEquals("puzzles with " + clues + " clues", 10, puzzles.size());
+            for(int index = 0; index < puzzles.size(); index++)
+            {
+                assertUnique("puzzle " + index + " with " + clues + " clues", puzzles.get(index), clues);
+            }
+        }
+    }
+
+    public static void testCluesComeFromSolution()
+    {
+        Random random = new Random(17);
+        BitboardSolverEngine engine = new BitboardSolverEngine();
+        for(int round = 0; round < 10; round++)
+        {
+            int[] solution = SudokuGenerator.generateSolution(random, engine);
+            assertSolves("solution " + round, new int[81], solution);
+
+            int[] puzzle = SudokuGenerator.removeClues(solution, 30, random, engine);
+            if(puzzle == null)
+                continue;
+            assertUnique("puzzle " + round, puzzle, 30);
+            assertArrayEquals("unique solution " + round, solution,
+                    new DancingLinksSolverEngine().solve(puzzle));
+        }
+    }
+
+    public static void testSameSeedSamePuzzle()
+    {
+        int[] first = SudokuGenerator.generatePuzzle(28, new Random(7), new BitboardSolverEngine());
+        int[] second = SudokuGenerator.generatePuzzle(28, new Random(7), new BitboardSolverEngine());
+        assertUnique("puzzle", first, 28);
+        assertArrayEquals("same seed", first, second);
+    }
+
+    public static void testRejectsClueCounts() throws InterruptedException
+    {
+        for(int clues : new int[] {SudokuGenerator.MIN_CLUES - 1, 82})
+        {
+            try
+            {
+                new SudokuGenerator(1, 1).generate(1, clues);
+                throw new AssertionError("accepted " + clues + " clues");
+            }
+            catch (IllegalArgumentException e)
+            {
+                // expected
+            }
+        }
+    }
+
+    public static void testSudokuAndFileOutput() throws IOException, InterruptedException
+    {
+        SudokuGenerator generator = new SudokuGenerator(2, 3);
+        for(Sudoku sudoku : generator.generateSudoku(3, 32))
+        {
+            int fixed = 0;
+            for(int position = 0; position < sudoku.getPositionCount(); position++)
+            {
+                if(sudoku.hasFixedValueAt(position))
+                    fixed++;
+            }
+            assertEquals("fixed values", 32, fixed);
+        }
+
+        File file = File.createTempFile("sudoku-puzzles", ".txt");
+        try
+        {
+            generator.generate(5, 32, file);
+            List<int[]> puzzles = SudokuLineFormat.readFile(file);
+            assertEquals("puzzles in file", 5, puzzles.size());
+            for(int[] puzzle : puzzles)
+            {
+                assertUnique("puzzle of file", puzzle, 32);
+            }
+        }
+        finally
+        {
+            assertTrue("file deleted", file.delete());
+        }
+    }
+}
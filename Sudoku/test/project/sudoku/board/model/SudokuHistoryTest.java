@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.model;
+
+import static project.sudoku.Assert.assertArrayEquals;
+import static project.sudoku.Assert.assertEquals;
+import static project.sudoku.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests of undo, redo, goTo and serialization of {@link SudokuHistory}
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class SudokuHistoryTest
+{
+    private static int[] grid(Sudoku sudoku)
+    {
+        int[] grid = new int[sudoku.getPositionCount()];
+        sudoku.copyValuesTo(grid);
+        return grid;
+    }
+
+    // a Sudoku with a fixed value at the first position
+    private static Sudoku sudoku(int size)
+    {
+        Sudoku sudoku = new Sudoku(size);
+        sudoku.setFixedValueAt(0, new LikelyValue(1));
+        return sudoku;
+    }
+
+    // random steps of single values, fills and clears, with the grid after each step
+    private static List<int[]> randomSteps(SudokuHistory history, int steps, Random random)
+    {
+        Sudoku sudoku = history.getSudoku();
+        int size = sudoku.getSize(), positions = sudoku.getPositionCount();
+        List<int[]> grids = new ArrayList<int[]>();
+        grids.add(grid(sudoku));
+        while(grids.size() <= steps)
+        {
+            boolean changed;
+            int kind = random.nextInt(10);
+            if(kind == 0)
+            {
+                int[] fill = new int[positions];
+                for(int position = 0; position < positions; position++)
+                {
+                    fill[position] = random.nextInt(size + 1);
+                }
+                changed = history.setValues(fill);
+            }
+            else if(kind == 1)
+            {
+                changed = history.clear();
+            }
+            else
+            {
+                changed = history.setValueAt(random.nextInt(positions), random.nextInt(size + 1));
+            }
+
+            if(changed)
+                grids.add(grid(sudoku));
+        }
+        return grids;
+    }
+
+    public static void testUndoRedo()
+    {
+        Sudoku sudoku = sudoku(9);
+        SudokuHistory history = new SudokuHistory(sudoku);
+        assertTrue("nothing to undo", !history.undo());
+
+        history.setValueAt(10, 5);
+        history.setValueAt(11, 6);
+        assertTrue("same value is no step", !history.setValueAt(11, 6));
+        assertTrue("fixed value is no step", !history.setValueAt(0, 2));
+        assertEquals("steps", 2, history.getStepCount());
+
+        assertTrue("undo", history.undo());
+        assertEquals("undone value", -1, sudoku.getValueAt(11));
+        assertEquals("kept value", 5, sudoku.getValueAt(10));
+        assertTrue("redo", history.redo());
+        assertEquals("redone value", 6, sudoku.getValueAt(11));
+        assertTrue("nothing to redo", !history.redo());
+
+        // a new value after undo drops the undone step
+        history.undo();
+        history.setValueAt(12, 7);
+        assertEquals("steps after new value", 2, history.getStepCount());
+        assertTrue("no redo", !history.canRedo());
+        assertEquals("dropped value", -1, sudoku.getValueAt(11));
+        assertEquals("fixed value", 1, sudoku.getValueAt(0));
+    }
+
+    public static void testFillAndClearAreOneStep()
+    {
+        Sudoku sudoku = sudoku(9);
+        SudokuHistory history = new SudokuHistory(sudoku);
+        history.setValueAt(3, 4);
+        int[] before = grid(sudoku);
+
+        int[] fill = new int[81];
+        for(int position = 0; position < 81; position++)
+        {
+            fill[position] = position % 9 + 1;
+        }
+        history.setValues(fill);
+        int[] filled = grid(sudoku);
+        assertEquals("fixed value kept", 1, filled[0]);
+
+        history.clear();
+        assertEquals("steps", 3, history.getStepCount());
+        history.undo();
+        assertArrayEquals("clear undone", filled, grid(sudoku));
+        history.undo();
+        assertArrayEquals("fill undone", before, grid(sudoku));
+    }
+
+    public static void testGoTo()
+    {
+        SudokuHistory history = new SudokuHistory(sudoku(9));
+        Random random = new Random(1);
+        List<int[]> grids = randomSteps(history, 200, random);
+
+        for(int count = 0; count < 100; count++)
+        {
+            int step = random.nextInt(grids.size());
+            history.goTo(step);
+            assertEquals("current step", step, history.getCurrentStep());
+            assertArrayEquals("grid of step " + step, grids.get(step), grid(history.getSudoku()));
+        }
+
+        try
+        {
+            history.goTo(grids.size());
+            throw new AssertionError("went past the last step");
+        }
+        catch (IndexOutOfBoundsException e)
+        {
+            // expected
+        }
+    }
+
+    public static void testWriteAndRead() throws IOException
+    {
+        for(int size : new int[] {9, 16})
+        {
+            SudokuHistory history = new SudokuHistory(sudoku(size));
+            Random random = new Random(size);
+            List<int[]> grids = randomSteps(history, 100, random);
+            history.goTo(60);
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            history.write(new DataOutputStream(bytes));
+
+            // a Sudoku with the values of the current step
+            Sudoku sudoku = sudoku(size);
+            int[] current = grid(history.getSudoku());
+            for(int position = 1; position < current.length; position++)
+            {
+                sudoku.setValueAt(position, current[position]);
+            }
+
+            SudokuHistory readHistory = SudokuHistory.read(
+                    new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), sudoku);
+            assertEquals(size + " steps", history.getStepCount(), readHistory.getStepCount());
+            assertEquals(size + " current step", 60, readHistory.getCurrentStep());
+            assertEquals(size + " changes", history.getChangeCount(), readHistory.getChangeCount());
+            for(int step : new int[] {0, 100, 17, 60, 99})
+            {
+                readHistory.goTo(step);
+                assertArrayEquals(size + " grid of step " + step, grids.get(step), grid(sudoku));
+            }
+        }
+    }
+
+    public static void testReadRejectsOtherSize() throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new SudokuHistory(sudoku(9)).write(new DataOutputStream(bytes));
+        try
+        {
+            SudokuHistory.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), sudoku(16));
+            throw new AssertionError("history of a 9x9 Sudoku read for 16x16");
+        }
+        catch (IOException e)
+        {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.model;
+
+import static project.sudoku.Assert.assertArrayEquals;
+import static project.sudoku.Assert.assertEquals;
+import static project.sudoku.Assert.assertTrue;
+
+import java.util.Random;
+
+/**
+ * Tests of the unit masks of {@link Sudoku}, which are updated by each change
+ * instead of being recomputed, and of its copy-on-write snapshots
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class SudokuTest
+{
+    // values of the row, column and box of a position, recomputed from all values
+    private static int usedMask(int[] grid, int size, int boxSize, int position)
+    {
+        int row = position / size, col = position % size;
+        int mask = 0;
+        for(int other = 0; other < grid.length; other++)
+        {
+            int otherRow = other / size, otherCol = other % size;
+            boolean sameBox = otherRow / boxSize == row / boxSize && otherCol / boxSize == col / boxSize;
+            if(grid[other] > 0 && (otherRow == row || otherCol == col || sameBox))
+                mask |= 1 << (grid[other] - 1);
+        }
+        return mask;
+    }
+
+    private static void assertMasks(String message, Sudoku sudoku)
+    {
+        int size = sudoku.getSize();
+        int[] grid = new int[sudoku.getPositionCount()];
+        sudoku.copyValuesTo(grid);
+        for(int position = 0; position < grid.length; position++)
+        {
+            int usedMask = usedMask(grid, size, sudoku.getBoxSize(), position);
+            assertEquals(message + " used mask of " + position, usedMask, sudoku.getUsedMask(position));
+            assertEquals(message + " candidate mask of " + position,
+                    grid[position] == 0 ? ~usedMask & ((1 << size) - 1) : 0,
+                    sudoku.getCandidateMask(position));
+        }
+    }
+
+    private static void assertMasks(String message, SudokuSnapshot snapshot)
+    {
+        int size = snapshot.getSize();
+        int[] grid = snapshot.getGrid();
+        for(int position = 0; position < grid.length; position++)
+        {
+            assertEquals(message + " used mask of " + position,
+                    usedMask(grid, size, snapshot.getBoxSize(), position), snapshot.getUsedMask(position));
+        }
+    }
+
+    public static void testMasksMatchRecomputation()
+    {
+        Random random = new Random(21);
+        for(int size : new int[] {4, 9, 16, 25})
+        {
+            Sudoku sudoku = new Sudoku(size);
+            int positions = sudoku.getPositionCount();
+            for(int step = 0; step < 400; step++)
+            {
+                int position = random.nextInt(positions);
+                int kind = random.nextInt(20);
+                if(kind == 0)
+                {
+                    sudoku.clear();
+                }
+                else if(kind == 1)
+                {
+                    sudoku.setFixedValueAt(position, new LikelyValue(1 + random.nextInt(size)));
+                }
+                else if(kind < 8)
+                {
+                    // emptied positions, also of values used twice in a unit
+                    sudoku.setValueAt(position, 0);
+                }
+                else
+                {
+                    // values may repeat in a unit, their bit stays until the last one goes
+                    sudoku.setValueAt(position, 1 + random.nextInt(size));
+                }
+
+                // arrays shared with a snapshot are copied by the next change
+                if(random.nextInt(5) == 0)
+                    sudoku.snapshot();
+
+                if(step % 10 == 0 || size <= 9)
+                    assertMasks(size + "x" + size + " step " + step, sudoku);
+            }
+            assertMasks(size + "x" + size, sudoku);
+        }
+    }
+
+    public static void testSnapshotMasksMatchRecomputation()
+    {
+        Random random = new Random(210);
+        Sudoku sudoku = new Sudoku(9);
+        for(int round = 0; round < 50; round++)
+        {
+            SudokuSnapshot snapshot = sudoku.snapshot();
+            for(int step = 0; step < 10; step++)
+            {
+                sudoku.setValueAt(random.nextInt(81), random.nextInt(10));
+            }
+            assertMasks("snapshot of round " + round, snapshot);
+            assertMasks("round " + round, sudoku);
+        }
+    }
+
+    public static void testSnapshotKeepsValues()
+    {
+        Sudoku sudoku = new Sudoku(9);
+        double[] distribution = {0.1, 0.6, 0.3, 0, 0, 0, 0, 0, 0};
+        LikelyValue misread = new LikelyValue(2, 0.6, 0.3);
+        misread.setDistribution(distribution);
+        sudoku.setFixedValueAt(0, misread);
+        sudoku.setFixedValueAt(10, new LikelyValue(5, 0.5, 0.1));
+        sudoku.setValueAt(40, 7);
+
+        SudokuSnapshot snapshot = sudoku.snapshot();
+        assertTrue("same snapshot without a change", snapshot == sudoku.snapshot());
+        assertTrue("not changed", !sudoku.hasChangedSince(snapshot));
+        int[] grid = snapshot.getGrid();
+        double probability = snapshot.getProbabilityAt(0, 3);
+        double confidence = snapshot.getConfidenceAt(10);
+
+        // every kind of change copies the shared arrays first
+        sudoku.setValueAt(40, 8);
+        sudoku.setValueAt(41, 7);
+        assertTrue("changed", sudoku.hasChangedSince(snapshot));
+        assertTrue("new snapshot after a change", snapshot != sudoku.snapshot());
+        sudoku.setFixedValueAt(0, new LikelyValue(3));
+        sudoku.setFixedValueAt(10, new LikelyValue(6, 0.9, 0.9));
+        sudoku.setFixedValueAt(20, new LikelyValue(4));
+        sudoku.clear();
+
+        assertArrayEquals("values", grid, snapshot.getGrid());
+        assertTrue("fixed position", snapshot.hasFixedValueAt(0) && !snapshot.hasFixedValueAt(20));
+        assertTrue("distribution", snapshot.hasDistributionAt(0));
+        assertEquals("probability", Math.round(probability*255),
+                Math.round(snapshot.getProbabilityAt(0, 3)*255));
+        assertEquals("confidence", Math.round(confidence*255),
+                Math.round(snapshot.getConfidenceAt(10)*255));
+        assertEquals("used mask of box", 1 << 6, snapshot.getUsedMask(30) & 1 << 6);
+        assertMasks("snapshot", snapshot);
+
+        // a Sudoku from the snapshot is changed without changing the snapshot
+        Sudoku copy = snapshot.toSudoku();
+        copy.setValueAt(40, 1);
+        copy.setFixedValueAt(0, new LikelyValue(9));
+        assertArrayEquals("values after changing a copy", grid, snapshot.getGrid());
+        assertEquals("copy", 1, copy.getValueAt(40));
+        assertTrue("the board is not changed by its copy", sudoku.getValueAt(40) == -1);
+    }
+}
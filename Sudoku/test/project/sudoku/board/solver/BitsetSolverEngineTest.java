@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import static project.sudoku.Assert.assertEquals;
+import static project.sudoku.Assert.assertNull;
+import static project.sudoku.Assert.assertSolves;
+import static project.sudoku.Assert.assertTrue;
+
+import java.util.Random;
+
+import project.sudoku.util.SudokuLineFormat;
+
+/**
+ * Tests of {@link BitsetSolverEngine} on 16x16 and 25x25 Sudoku, from
+ * dense to empty grids
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class BitsetSolverEngineTest
+{
+    // fractions of empty positions, half empty grids are the hardest
+    private static final double[] EMPTY_FRACTIONS = {0.45, 0.55, 0.8, 1.0};
+
+    // a solved grid of a pattern, shuffled inside bands and stacks, with
+    // random positions emptied
+    static int[] puzzle(int size, double emptyFraction, Random random)
+    {
+        int boxSize = (int) Math.round(Math.sqrt(size));
+        int rowShift = random.nextInt(boxSize), digitShift = random.nextInt(size);
+        int[] grid = new int[size*size];
+        for(int row = 0; row < size; row++)
+        {
+            int r = boxSize*((row / boxSize + rowShift) % boxSize) + row % boxSize;
+            for(int col = 0; col < size; col++)
+            {
+                grid[size*row + col] = (boxSize*(r % boxSize) + r / boxSize + col + digitShift) % size + 1;
+            }
+        }
+
+        for(int position = 0; position < grid.length; position++)
+        {
+            if(random.nextDouble() < emptyFraction)
+                grid[position] = 0;
+        }
+        return grid;
+    }
+
+    public static void testSolvesLargerSudoku()
+    {
+        BitsetSolverEngine engine = new BitsetSolverEngine();
+        Random random = new Random(42);
+        for(int size : new int[] {16, 25})
+        {
+            assertTrue(size + " supported", engine.supportsSize(size));
+            for(double emptyFraction : EMPTY_FRACTIONS)
+            {
+                for(int count = 0; count < 5; count++)
+                {
+                    int[] grid = puzzle(size, emptyFraction, random);
+                    assertSolves(size + "x" + size + " empty " + emptyFraction, grid, engine.solve(grid));
+                }
+            }
+        }
+    }
+
+    public static void testUnsolvableLargerSudoku()
+    {
+        BitsetSolverEngine engine = new BitsetSolverEngine();
+        int[] grid = puzzle(16, 0.5, new Random(7));
+
+        // the first empty position gets a digit of its row
+        int position = 0;
+        while(grid[position] != 0)
+        {
+            position++;
+        }
+        int row = position / 16;
+        for(int col = 0; col < 16 && grid[position] == 0; col++)
+        {
+            grid[position] = grid[16*row + col];
+        }
+
+        assertNull("solve", engine.solve(grid));
+        assertEquals("count", 0, engine.countSolutions(grid, 2));
+    }
+
+    public static void testCountStopsAtLimit()
+    {
+        BitsetSolverEngine engine = new BitsetSolverEngine();
+        assertEquals("empty 16x16", 5, engine.countSolutions(new int[256], 5));
+        assertEquals("empty 25x25", 3, engine.countSolutions(new int[625], 3));
+
+        int[] solved = engine.solve(new int[256]);
+        assertEquals("solved 16x16", 1, engine.countSolutions(solved, 5));
+    }
+
+    public static void testCandidatesAgreeWithBitboard()
+    {
+        BitboardSolverEngine bitboard = new BitboardSolverEngine();
+        BitsetSolverEngine bitset = new BitsetSolverEngine();
+        for(String puzzle : SolverEngineTest.PUZZLES)
+        {
+            int[] grid = SudokuLineFormat.parse(puzzle);
+            long[] bitboardCandidates = bitboard.getCandidates(grid);
+            long[] bitsetCandidates = bitset.getCandidates(grid);
+
+            // bitset also removes locked candidates, so it may only keep fewer
+            for(int position = 0; position < grid.length; position++)
+            {
+                assertTrue("subset at " + position,
+                        (bitsetCandidates[position] & ~bitboardCandidates[position]) == 0);
+                assertTrue("not empty at " + position, bitsetCandidates[position] != 0);
+            }
+        }
+    }
+
+    public static void testRejectsUnsupportedSize()
+    {
+        try
+        {
+            new BitsetSolverEngine().solve(new int[80]);
+            throw new AssertionError("grid of 80 positions solved");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // expected
+        }
+    }
+}
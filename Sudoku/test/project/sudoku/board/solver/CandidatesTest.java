@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import static project.sudoku.Assert.assertArrayEquals;
+import static project.sudoku.Assert.assertEquals;
+import static project.sudoku.Assert.assertNull;
+import static project.sudoku.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import project.sudoku.board.model.LikelyValue;
+import project.sudoku.board.model.Sudoku;
+import project.sudoku.exception.ResourceLoadingException;
+import project.sudoku.util.SudokuLineFormat;
+
+/**
+ * Tests of candidates after propagation (pencil marks) of the in-JVM engines:
+ * they keep every value of the solution, never keep a value used in the row,
+ * column or box, and show contradictions
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class CandidatesTest
+{
+    // engines finding candidates, dlx uses the shared bitset engine of SolverEngine
+    private static List<SolverEngine> engines()
+    {
+        List<SolverEngine> engines = new ArrayList<SolverEngine>(SolverEngineTest.engines());
+        engines.add(new ParallelSolverEngine(2, 2));
+        return engines;
+    }
+
+    // values of the row, column and box of a position
+    private static long usedMask(int[] grid, int position)
+    {
+        int size = (int) Math.round(Math.sqrt(grid.length));
+        int boxSize = (int) Math.round(Math.sqrt(size));
+        int row = position / size, col = position % size;
+        long mask = 0;
+        for(int other = 0; other < grid.length; other++)
+        {
+            int otherRow = other / size, otherCol = other % size;
+            boolean sameBox = otherRow / boxSize == row / boxSize && otherCol / boxSize == col / boxSize;
+            if(other != position && grid[other] > 0 && (otherRow == row || otherCol == col || sameBox))
+                mask |= 1L << (grid[other] - 1);
+        }
+        return mask;
+    }
+
+    private static void assertCandidates(String message, int[] grid, int[] solution, long[] candidates)
+    {
+        assertEquals(message + " length", grid.length, candidates.length);
+        for(int position = 0; position < grid.length; position++)
+        {
+            long solutionBit = 1L << (solution[position] - 1);
+            if(grid[position] > 0)
+                assertEquals(message + " given at " + position, solutionBit, candidates[position]);
+            assertTrue(message + " solution value at " + position, (candidates[position] & solutionBit) != 0);
+            assertTrue(message + " used value at " + position,
+                    (candidates[position] & usedMask(grid, position)) == 0);
+        }
+    }
+
+    public static void testCandidatesKeepSolution() throws ResourceLoadingException
+    {
+        for(SolverEngine engine : engines())
+        {
+            for(String puzzle : SolverEngineTest.PUZZLES)
+            {
+                int[] grid = SudokuLineFormat.parse(puzzle);
+                int[] copy = grid.clone();
+                int[] solution = new BitboardSolverEngine().solve(grid);
+
+                long[] candidates = engine.getCandidates(grid);
+                assertArrayEquals(engine.getName() + " grid not modified", copy, grid);
+                assertCandidates(engine.getName(), grid, solution, candidates);
+            }
+        }
+    }
+
+    public static void testEasyPuzzleIsSolvedByPropagation() throws ResourceLoadingException
+    {
+        // the first puzzle needs only singles
+        int[] grid = SudokuLineFormat.parse(SolverEngineTest.PUZZLES[0]);
+        int[] solution = new BitboardSolverEngine().solve(grid);
+        for(SolverEngine engine : engines())
+        {
+            long[] candidates = engine.getCandidates(grid);
+            for(int position = 0; position < grid.length; position++)
+            {
+                assertEquals(engine.getName() + " single at " + position,
+                        1L << (solution[position] - 1), candidates[position]);
+            }
+        }
+    }
+
+    public static void testContradictionHasNoCandidates() throws ResourceLoadingException
+    {
+        // no digit is left for the first position
+        int[] blocked = new int[81];
+        for(int col = 1; col < 9; col++)
+        {
+            blocked[col] = col;
+        }
+        blocked[9*4] = 9;
+
+        for(SolverEngine engine : engines())
+        {
+            assertNull(engine.getName(), engine.getCandidates(blocked));
+        }
+    }
+
+    public static void testLargerSudoku()
+    {
+        Random random = new Random(13);
+        BitsetSolverEngine bitset = new BitsetSolverEngine();
+        for(int size : new int[] {16, 25})
+        {
+            int[] grid = BitsetSolverEngineTest.puzzle(size, 0.55, random);
+            int[] solution = bitset.solve(grid);
+            assertCandidates(size + "x" + size, grid, solution, bitset.getCandidates(grid));
+        }
+    }
+
+    public static void testCandidatesOfSudoku() throws ResourceLoadingException
+    {
+        int[] grid = SudokuLineFormat.parse(SolverEngineTest.PUZZLES[1]);
+        Sudoku sudoku = new Sudoku(9);
+        for(int position = 0; position < grid.length; position++)
+        {
+            if(grid[position] > 0)
+                sudoku.setFixedValueAt(position, new LikelyValue(grid[position]));
+        }
+
+        BitboardSolverEngine bitboard = new BitboardSolverEngine();
+        assertArrayEquals("from Sudoku", bitboard.getCandidates(grid),
+                SudokuSolver.getCandidates(sudoku, bitboard));
+        assertArrayEquals("from snapshot", bitboard.getCandidates(grid),
+                SudokuSolver.getCandidates(sudoku.snapshot(), bitboard));
+    }
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import static project.sudoku.Assert.assertArrayEquals;
+import static project.sudoku.Assert.assertEquals;
+import static project.sudoku.Assert.assertNull;
+import static project.sudoku.Assert.assertSolves;
+import static project.sudoku.Assert.assertTrue;
+
+import java.util.Random;
+
+import project.sudoku.exception.ResourceLoadingException;
+import project.sudoku.util.SudokuLineFormat;
+
+/**
+ * Tests of {@link CanonicalForm} and of the {@link SolutionCache} keyed by it
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class CanonicalFormTest
+{
+    // random relabeling, band, row, stack and column permutation, transposition and rotation
+    private static int[] randomVariant(int[] grid, Random random)
+    {
+        int[] labels = permutation(9, random);
+        int[] rows = bandPermutation(random);
+        int[] cols = bandPermutation(random);
+        boolean transpose = random.nextBoolean();
+
+        int[] variant = new int[81];
+        for(int row = 0; row < 9; row++)
+        {
+            for(int col = 0; col < 9; col++)
+            {
+                int position = transpose ? 9*cols[col] + rows[row] : 9*rows[row] + cols[col];
+                int value = grid[position];
+                variant[9*row + col] = value > 0 ? labels[value - 1] + 1 : 0;
+            }
+        }
+
+        // quarter turns clockwise
+        for(int turn = random.nextInt(4); turn > 0; turn--)
+        {
+            int[] turned = new int[81];
+            for(int position = 0; position < 81; position++)
+            {
+                turned[9*(position % 9) + 8 - position / 9] = variant[position];
+            }
+            variant = turned;
+        }
+        return variant;
+    }
+
+    private static int[] bandPermutation(Random random)
+    {
+        int[] bands = permutation(3, random);
+        int[] result = new int[9];
+        for(int band = 0; band < 3; band++)
+        {
+            int[] inside = permutation(3, random);
+            for(int index = 0; index < 3; index++)
+            {
+                result[3*band + index] = 3*bands[band] + inside[index];
+            }
+        }
+        return result;
+    }
+
+    private static int[] permutation(int n, Random random)
+    {
+        int[] result = new int[n];
+        for(int index = 0; index < n; index++)
+        {
+            int other = random.nextInt(index + 1);
+            result[index] = result[other];
+            result[other] = index;
+        }
+        return result;
+    }
+
+    public static void testVariantsHaveSameForm()
+    {
+        Random random = new Random(3);
+        for(String puzzle : SolverEngineTest.PUZZLES)
+        {
+            int[] grid = SudokuLineFormat.parse(puzzle);
+            String key = CanonicalForm.of(grid).getKey();
+            for(int count = 0; count < 10; count++)
+            {
+                assertEquals(puzzle, key, CanonicalForm.of(randomVariant(grid, random)).getKey());
+            }
+        }
+    }
+
+    public static void testDifferentPuzzlesHaveDifferentForms()
+    {
+        String first = CanonicalForm.of(SudokuLineFormat.parse(SolverEngineTest.PUZZLES[1])).getKey();
+        String second = CanonicalForm.of(SudokuLineFormat.parse(SolverEngineTest.PUZZLES[2])).getKey();
+        assertTrue("different forms", !first.equals(second));
+    }
+
+    public static void testMapsSolutionsBack()
+    {
+        Random random = new Random(5);
+        BitboardSolverEngine engine = new BitboardSolverEngine();
+        for(String puzzle : SolverEngineTest.PUZZLES)
+        {
+            int[] grid = SudokuLineFormat.parse(puzzle);
+            int[] solution = engine.solve(grid);
+            CanonicalForm form = CanonicalForm.of(grid);
+
+            int[] canonicalSolution = form.toCanonical(solution);
+            assertSolves("canonical solution", SudokuLineFormat.parse(form.getKey()), canonicalSolution);
+            assertArrayEquals("round trip", solution, form.fromCanonical(canonicalSolution));
+
+            // a variant is solved by the canonical solution of the original
+            int[] variant = randomVariant(grid, random);
+            int[] variantSolution = CanonicalForm.of(variant).fromCanonical(canonicalSolution);
+            assertSolves("variant solution", variant, variantSolution);
+            assertArrayEquals("unique variant solution", engine.solve(variant), variantSolution);
+        }
+    }
+
+    public static void testSkipsSparseGrids()
+    {
+        int[] grid = SudokuLineFormat.parse(SolverEngineTest.PUZZLES[0]);
+        int givens = 0;
+        for(int position = 0; position < 81; position++)
+        {
+            if(grid[position] > 0 && ++givens >= CanonicalForm.MIN_GIVENS)
+                grid[position] = 0;
+        }
+        assertNull("sparse grid", CanonicalForm.of(grid));
+        assertNull("empty grid", CanonicalForm.of(new int[81]));
+    }
+
+    public static void testCacheAnswersVariants() throws ResourceLoadingException
+    {
+        SolutionCache cache = new SolutionCache(1);
+        BitboardSolverEngine engine = new BitboardSolverEngine();
+        int[] grid = SudokuLineFormat.parse(SolverEngineTest.PUZZLES[1]);
+        int[] variant = randomVariant(grid, new Random(11));
+
+        assertSolves("miss", grid, cache.solve(grid, engine, null).getSolution());
+        assertSolves("hit", variant, cache.solve(variant, engine, null).getSolution());
+        assertEquals("hits", 1, cache.getHits());
+        assertEquals("misses", 1, cache.getMisses());
+
+        // a second puzzle evicts the first one
+        cache.solve(SudokuLineFormat.parse(SolverEngineTest.PUZZLES[2]), engine, null);
+        assertEquals("evictions", 1, cache.getEvictions());
+        cache.solve(grid, engine, null);
+        assertEquals("misses after eviction", 3, cache.getMisses());
+    }
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import static project.sudoku.Assert.assertArrayEquals;
+import static project.sudoku.Assert.assertEquals;
+import static project.sudoku.Assert.assertTrue;
+
+import java.util.Map;
+
+import project.sudoku.board.model.LikelyValue;
+import project.sudoku.board.model.Sudoku;
+import project.sudoku.exception.ResourceLoadingException;
+import project.sudoku.util.SudokuLineFormat;
+
+/**
+ * Tests of {@link ConfidenceRepair} on Sudoku with seeded misreads
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class ConfidenceRepairTest
+{
+    // a unique puzzle, its solution and two given positions of the first row
+    private static final int[] PUZZLE = SudokuLineFormat.parse(SolverEngineTest.PUZZLES[0]);
+    private static final int[] SOLUTION = new BitboardSolverEngine().solve(PUZZLE);
+    private static final int FIRST = 2, SECOND = 4;
+
+    // the puzzle with certain givens, except the given read values and distributions
+    private static Sudoku scan(int[] readValues, double[][] distributions)
+    {
+        Sudoku sudoku = new Sudoku();
+        for(int position = 0; position < 81; position++)
+        {
+            if(PUZZLE[position] > 0 && distributions[position] == null)
+            {
+                sudoku.setFixedValueAt(position, new LikelyValue(PUZZLE[position]));
+            }
+            else if(distributions[position] != null)
+            {
+                LikelyValue likelyValue = new LikelyValue(readValues[position], 0, 0);
+                likelyValue.setDistribution(distributions[position]);
+                sudoku.setFixedValueAt(position, likelyValue);
+            }
+        }
+        return sudoku;
+    }
+
+    // distribution with two digits, the first one more likely
+    private static double[] distribution(int likely, int lessLikely)
+    {
+        double[] distribution = new double[9];
+        distribution[likely - 1] = 0.5;
+        distribution[lessLikely - 1] = 0.4;
+        return distribution;
+    }
+
+    // a digit given in the first row other than the given value
+    private static int conflictingDigit(int value)
+    {
+        for(int col = 0; col < 9; col++)
+        {
+            if(PUZZLE[col] > 0 && PUZZLE[col] != value)
+                return PUZZLE[col];
+        }
+        throw new AssertionError("no other digit in the first row");
+    }
+
+    public static void testUniqueBoardIsNotRepaired() throws ResourceLoadingException
+    {
+        RepairResult result = new ConfidenceRepair().repair(scan(new int[81], new double[81][]));
+        assertEquals("status", RepairResult.Status.UNIQUE, result.getStatus());
+        assertTrue("no corrections", result.getCorrections().isEmpty());
+        assertArrayEquals("solution", SOLUTION, result.getSolution());
+    }
+
+    public static void testRepairsMisread() throws ResourceLoadingException
+    {
+        int[] readValues = new int[81];
+        double[][] distributions = new double[81][];
+        int wrong = conflictingDigit(PUZZLE[FIRST]);
+        readValues[FIRST] = wrong;
+        distributions[FIRST] = distribution(wrong, PUZZLE[FIRST]);
+
+        RepairResult result = new ConfidenceRepair().repair(scan(readValues, distributions));
+        assertEquals("status", RepairResult.Status.REPAIRED, result.getStatus());
+        Map<Integer, LikelyValue> corrections = result.getCorrections();
+        assertEquals("corrections", 1, corrections.size());
+        assertEquals("corrected value", PUZZLE[FIRST], corrections.get(FIRST).getValue().intValue());
+        assertArrayEquals("solution", SOLUTION, result.getSolution());
+    }
+
+    public static void testRepairsWhenReadValueIsNotMostLikely() throws ResourceLoadingException
+    {
+        // the first given is misread, the second is read right although
+        // the classifier ranked a wrong digit higher
+        int[] readValues = new int[81];
+        double[][] distributions = new double[81][];
+        int wrong = conflictingDigit(PUZZLE[FIRST]);
+        readValues[FIRST] = wrong;
+        distributions[FIRST] = distribution(wrong, PUZZLE[FIRST]);
+        readValues[SECOND] = PUZZLE[SECOND];
+        distributions[SECOND] = distribution(conflictingDigit(PUZZLE[SECOND]), PUZZLE[SECOND]);
+
+        // one correction is enough, though the most likely board has two
+        RepairResult result = new ConfidenceRepair(new BitboardSolverEngine(),
+                ConfidenceRepair.DEFAULT_TOP_K, 1, ConfidenceRepair.DEFAULT_MAX_CANDIDATES)
+                .repair(scan(readValues, distributions));
+        assertEquals("status", RepairResult.Status.REPAIRED, result.getStatus());
+        Map<Integer, LikelyValue> corrections = result.getCorrections();
+        assertEquals("corrections", 1, corrections.size());
+        assertEquals("corrected value", PUZZLE[FIRST], corrections.get(FIRST).getValue().intValue());
+        assertArrayEquals("solution", SOLUTION, result.getSolution());
+    }
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import static project.sudoku.Assert.assertEquals;
+import static project.sudoku.Assert.assertSolves;
+import static project.sudoku.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import project.sudoku.util.SudokuLineFormat;
+
+/**
+ * Tests of enumerating solutions with {@link DancingLinksSolverEngine}
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class DancingLinksSolverEngineTest
+{
+    // a puzzle with its first row removed, so it has a few solutions
+    static int[] fewSolutionsGrid()
+    {
+        int[] grid = SudokuLineFormat.parse(SolverEngineTest.PUZZLES[0]);
+        for(int col = 0; col < 9; col++)
+        {
+            grid[col] = 0;
+        }
+        return grid;
+    }
+
+    public static void testFindsDistinctSolutionsUpToLimit()
+    {
+        int[] grid = fewSolutionsGrid();
+        int count = new BitboardSolverEngine().countSolutions(grid, 1000);
+        assertTrue("more than one solution", count > 1);
+
+        DancingLinksSolverEngine engine = new DancingLinksSolverEngine();
+        List<int[]> solutions = engine.findSolutions(grid, 1000);
+        assertEquals("solutions", count, solutions.size());
+
+        Set<String> distinct = new HashSet<String>();
+        for(int[] solution : solutions)
+        {
+            assertSolves("solution", grid, solution);
+            distinct.add(SudokuLineFormat.format(solution));
+        }
+        assertEquals("distinct solutions", count, distinct.size());
+        assertEquals("cut off", count - 1, engine.findSolutions(grid, count - 1).size());
+    }
+
+    public static void testIteratesAllSolutions()
+    {
+        int[] grid = fewSolutionsGrid();
+        int count = 0;
+        try (SolutionIterator solutions = new DancingLinksSolverEngine().iterateSolutions(grid))
+        {
+            while(solutions.hasNext())
+            {
+                assertSolves("solution", grid, solutions.next());
+                count++;
+            }
+        }
+        assertEquals("solutions", new BitboardSolverEngine().countSolutions(grid, 1000), count);
+    }
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import static project.sudoku.Assert.assertEquals;
+import static project.sudoku.Assert.assertNull;
+import static project.sudoku.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import project.sudoku.board.generator.SudokuGenerator;
+import project.sudoku.board.model.Sudoku;
+import project.sudoku.board.solver.DifficultyGrade.Level;
+import project.sudoku.board.solver.DifficultyGrader.Technique;
+import project.sudoku.exception.ResourceLoadingException;
+import project.sudoku.util.SudokuLineFormat;
+
+/**
+ * Tests of {@link DifficultyGrader}: levels follow the hardest technique,
+ * and no technique removes the value of the unique solution
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class DifficultyGraderTest
+{
+    // generated puzzles of a fixed seed, together they need every technique
+    private static List<int[]> generatedPuzzles()
+    {
+        Random random = new Random(18);
+        BitboardSolverEngine engine = new BitboardSolverEngine();
+        List<int[]> puzzles = new ArrayList<int[]>();
+        for(int index = 0; index < 200; index++)
+        {
+            puzzles.add(SudokuGenerator.generatePuzzle(24, random, engine));
+        }
+        return puzzles;
+    }
+
+    private static void assertConsistent(String message, DifficultyGrade grade)
+    {
+        Technique hardest = grade.getHardestTechnique();
+        for(Technique technique : Technique.values())
+        {
+            if(hardest == null || technique.ordinal() > hardest.ordinal())
+                assertEquals(message + " uses of " + technique, 0, grade.getUses(technique));
+        }
+        if(hardest != null)
+            assertTrue(message + " uses of hardest", grade.getUses(hardest) > 0);
+        if(grade.isSolvedByLogic())
+            assertEquals(message + " level", hardest == null ? Level.EASY : hardest.getLevel(), grade.getLevel());
+    }
+
+    public static void testEasyPuzzleNeedsSingles() throws ResourceLoadingException
+    {
+        DifficultyGrade grade = new DifficultyGrader().grade(SudokuLineFormat.parse(SolverEngineTest.PUZZLES[0]));
+        assertEquals("level", Level.EASY, grade.getLevel());
+        assertTrue("solved by logic", grade.isSolvedByLogic());
+        assertTrue("hardest " + grade.getHardestTechnique(),
+                grade.getHardestTechnique().ordinal() <= Technique.HIDDEN_SINGLE.ordinal());
+        assertConsistent("easy puzzle", grade);
+    }
+
+    public static void testLastCellIsNakedSingle() throws ResourceLoadingException
+    {
+        int[] grid = new BitboardSolverEngine().solve(SudokuLineFormat.parse(SolverEngineTest.PUZZLES[1]));
+        DifficultyGrade solved = new DifficultyGrader().grade(grid);
+        assertEquals("solved level", Level.EASY, solved.getLevel());
+        assertNull("solved hardest", solved.getHardestTechnique());
+
+        grid[40] = 0;
+        DifficultyGrade grade = new DifficultyGrader().grade(grid);
+        assertEquals("level", Level.EASY, grade.getLevel());
+        assertEquals("hardest", Technique.NAKED_SINGLE, grade.getHardestTechnique());
+        assertEquals("uses", 1, grade.getUses(Technique.NAKED_SINGLE));
+    }
+
+    public static void testInvalidAndEmptyGrids() throws ResourceLoadingException
+    {
+        int[] repeated = SudokuLineFormat.parse(SolverEngineTest.PUZZLES[0]);
+        repeated[1] = repeated[2];
+        assertEquals("repeated level", Level.INVALID, new DifficultyGrader().grade(repeated).getLevel());
+
+        DifficultyGrade empty = new DifficultyGrader().grade(new int[81]);
+        assertEquals("empty level", Level.GUESSING, empty.getLevel());
+        assertNull("empty hardest", empty.getHardestTechnique());
+    }
+
+    public static void testTechniquesKeepUniqueSolution()
+    {
+        DifficultyGrader grader = new DifficultyGrader();
+        int[] puzzlesUsing = new int[Technique.values().length];
+        List<int[]> puzzles = generatedPuzzles();
+        for(int index = 0; index < puzzles.size(); index++)
+        {
+            DifficultyGrade grade = grader.grade(puzzles.get(index));
+            assertTrue("puzzle " + index + " graded invalid", grade.getLevel() != Level.INVALID);
+            assertConsistent("puzzle " + index, grade);
+            for(Technique technique : Technique.values())
+            {
+                if(grade.getUses(technique) > 0)
+                    puzzlesUsing[technique.ordinal()]++;
+            }
+        }
+        for(Technique technique : Technique.values())
+        {
+            assertTrue(technique + " never used", puzzlesUsing[technique.ordinal()] > 0);
+        }
+    }
+
+    public static void testCounters() throws InterruptedException
+    {
+        DifficultyGrader grader = new DifficultyGrader();
+        List<int[]> puzzles = generatedPuzzles().subList(0, 40);
+        List<DifficultyGrade> grades = grader.gradeAll(puzzles, 3);
+        assertEquals("grades", puzzles.size(), grades.size());
+
+        long[] uses = new long[Technique.values().length];
+        for(int index = 0; index < puzzles.size(); index++)
+        {
+            DifficultyGrade grade = new DifficultyGrader().grade(puzzles.get(index));
+            assertEquals("puzzle " + index, grade.toString(), grades.get(index).toString());
+            for(Technique technique : Technique.values())
+            {
+                uses[technique.ordinal()] += grade.getUses(technique);
+            }
+        }
+        for(Technique technique : Technique.values())
+        {
+            assertEquals("successes of " + technique, uses[technique.ordinal()], grader.getSuccesses(technique));
+            assertTrue("calls of " + technique, grader.getCalls(technique) >= grader.getSuccesses(technique));
+        }
+        assertTrue("naked single calls", grader.getCalls(Technique.NAKED_SINGLE) > 0);
+
+        grader.resetCounters();
+        for(Technique technique : Technique.values())
+        {
+            assertEquals("reset calls of " + technique, 0, grader.getCalls(technique));
+            assertEquals("reset nanos of " + technique, 0, grader.getNanos(technique));
+        }
+    }
+
+    public static void testSolverGradesOnly9x9()
+    {
+        try
+        {
+            SudokuSolver.grade(new Sudoku(16));
+            throw new AssertionError("graded a 16x16 Sudoku");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // expected
+        }
+    }
+}
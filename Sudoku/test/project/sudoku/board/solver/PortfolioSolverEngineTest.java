@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import static project.sudoku.Assert.assertEquals;
+import static project.sudoku.Assert.assertSolves;
+import static project.sudoku.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import project.sudoku.exception.ResourceLoadingException;
+import project.sudoku.util.SudokuLineFormat;
+
+/**
+ * Tests of the race of {@link PortfolioSolverEngine}: the first answer wins,
+ * other backends are cancelled, errors do not win, and the control of the
+ * call stops all backends
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class PortfolioSolverEngineTest
+{
+    private static final int[] PUZZLE = SudokuLineFormat.parse(SolverEngineTest.PUZZLES[1]);
+
+    /**
+     * Backend that never answers, it waits until its control stops it
+     */
+    private static class WaitingEngine implements SolverEngine
+    {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch stopped = new CountDownLatch(1);
+        private volatile boolean cancelled = false;
+
+        @Override
+        public String getName()
+        {
+            return "waiting";
+        }
+
+        @Override
+        public int[] solve(int[] grid)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int countSolutions(int[] grid, int limit)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SolveResult solve(int[] grid, SolveControl control)
+        {
+            started.countDown();
+            try
+            {
+                while(!control.isStopped())
+                {
+                    Thread.sleep(1);
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            cancelled = control.isCancelled();
+            stopped.countDown();
+            return SolveResult.stopped(control);
+        }
+    }
+
+    /**
+     * Backend that fails on every call
+     */
+    private static class FailingEngine implements SolverEngine
+    {
+        @Override
+        public String getName()
+        {
+            return "failing";
+        }
+
+        @Override
+        public int[] solve(int[] grid)
+        {
+            throw new IllegalStateException("failing backend");
+        }
+
+        @Override
+        public int countSolutions(int[] grid, int limit)
+        {
+            throw new IllegalStateException("failing backend");
+        }
+    }
+
+    private static PortfolioSolverEngine portfolio(ExecutorService executor, SolverEngine... backends)
+    {
+        return new PortfolioSolverEngine(Arrays.asList(backends), executor);
+    }
+
+    // statistics are recorded after a backend returns, which may be after the race was decided
+    private static PortfolioSolverEngine.BackendStatistics statistics(PortfolioSolverEngine portfolio,
+            String backendName, int races) throws InterruptedException
+    {
+        for(int attempt = 0; attempt < 500; attempt++)
+        {
+            PortfolioSolverEngine.BackendStatistics backendStatistics =
+                    portfolio.getStatistics().get(backendName);
+            if(backendStatistics != null && backendStatistics.getWins() + backendStatistics.getLosses()
+                    + backendStatistics.getErrors() >= races)
+                return backendStatistics;
+            Thread.sleep(10);
+        }
+        throw new AssertionError("no statistics of " + backendName);
+    }
+
+    public static void testFirstAnswerWinsAndCancelsOthers() throws Exception
+    {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try
+        {
+            WaitingEngine waiting = new WaitingEngine();
+            PortfolioSolverEngine portfolio = portfolio(executor, waiting, new BitboardSolverEngine());
+
+            SolveResult result = portfolio.solve(PUZZLE, new SolveControl());
+            assertEquals("status", SolveResult.Status.SOLVED, result.getStatus());
+            assertSolves("solution", PUZZLE, result.getSolution());
+
+            assertTrue("loser stopped", waiting.stopped.await(5, TimeUnit.SECONDS));
+            assertTrue("loser cancelled", waiting.cancelled);
+            assertEquals("wins", 1, statistics(portfolio, "bitboard", 1).getWins());
+            assertEquals("losses", 1, statistics(portfolio, "waiting", 1).getLosses());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    public static void testUnsolvableAnswerWins() throws Exception
+    {
+        int[] repeated = PUZZLE.clone();
+        repeated[1] = repeated[0];
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try
+        {
+            WaitingEngine waiting = new WaitingEngine();
+            PortfolioSolverEngine portfolio = portfolio(executor, waiting, new DancingLinksSolverEngine());
+
+            assertEquals("status", SolveResult.Status.UNSOLVABLE,
+                    portfolio.solve(repeated, new SolveControl()).getStatus());
+            assertTrue("loser cancelled", waiting.stopped.await(5, TimeUnit.SECONDS) && waiting.cancelled);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    public static void testErrorsDoNotWin() throws Exception
+    {
+        // errors of backends are logged with their stack trace
+        Logger logger = Logger.getLogger(PortfolioSolverEngine.class.getName());
+        Level level = logger.getLevel();
+        logger.setLevel(Level.SEVERE);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try
+        {
+            PortfolioSolverEngine portfolio = portfolio(executor, new FailingEngine(),
+                    new BitboardSolverEngine());
+            for(int race = 0; race < 5; race++)
+            {
+                SolveResult result = portfolio.solve(PUZZLE, new SolveControl());
+                assertSolves("solution of race " + race, PUZZLE, result.getSolution());
+            }
+            // a backend cancelled before it starts loses instead of failing
+            PortfolioSolverEngine.BackendStatistics failingStatistics = statistics(portfolio, "failing", 5);
+            assertEquals("wins of failing", 0, failingStatistics.getWins());
+            assertEquals("wins", 5, statistics(portfolio, "bitboard", 5).getWins());
+
+            // an error is thrown when no backend answers
+            PortfolioSolverEngine failing = portfolio(executor, new FailingEngine());
+            try
+            {
+                failing.solve(PUZZLE, new SolveControl());
+                throw new AssertionError("no error");
+            }
+            catch (ResourceLoadingException e)
+            {
+                assertTrue("cause", e.getCause() instanceof IllegalStateException);
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+            logger.setLevel(level);
+        }
+    }
+
+    public static void testControlStopsAllBackends() throws Exception
+    {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try
+        {
+            WaitingEngine first = new WaitingEngine(), second = new WaitingEngine();
+            PortfolioSolverEngine portfolio = portfolio(executor, first, second);
+            SolveResult timedOut = portfolio.solve(PUZZLE, new SolveControl(50, TimeUnit.MILLISECONDS));
+            assertEquals("deadline", SolveResult.Status.TIMED_OUT, timedOut.getStatus());
+            assertTrue("stopped by deadline", first.stopped.await(5, TimeUnit.SECONDS)
+                    && second.stopped.await(5, TimeUnit.SECONDS));
+
+            final WaitingEngine waiting = new WaitingEngine();
+            final SolveControl control = new SolveControl();
+            executor.submit(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        waiting.started.await(5, TimeUnit.SECONDS);
+                    }
+                    catch (InterruptedException e)
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                    control.cancel();
+                }
+            });
+            SolveResult cancelled = portfolio(executor, waiting).solve(PUZZLE, control);
+            assertEquals("cancel", SolveResult.Status.CANCELLED, cancelled.getStatus());
+            assertTrue("backend cancelled", waiting.stopped.await(5, TimeUnit.SECONDS) && waiting.cancelled);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import static project.sudoku.Assert.assertEquals;
+import static project.sudoku.Assert.assertSolves;
+import static project.sudoku.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+import project.sudoku.exception.ResourceLoadingException;
+
+/**
+ * Tests of lazy search and close semantics of {@link SolutionIterator}
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class SolutionIteratorTest
+{
+    /**
+     * Iterator over given solutions, counting searches and releases
+     */
+    private static class CountingIterator extends SolutionIterator
+    {
+        private final Iterator<int[]> solutions;
+        private int searches = 0;
+        private int releases = 0;
+
+        private CountingIterator(int[]... solutions)
+        {
+            this.solutions = Arrays.asList(solutions).iterator();
+        }
+
+        @Override
+        protected int[] findNext()
+        {
+            searches++;
+            return solutions.hasNext() ? solutions.next() : null;
+        }
+
+        @Override
+        protected void release()
+        {
+            releases++;
+        }
+    }
+
+    private static void assertNoMoreSolutions(String message, SolutionIterator iterator)
+    {
+        assertTrue(message + " closed", iterator.isClosed());
+        assertTrue(message + " no next", !iterator.hasNext());
+        try
+        {
+            iterator.next();
+            throw new AssertionError(message + " : next after close");
+        }
+        catch (NoSuchElementException e)
+        {
+            // expected
+        }
+    }
+
+    public static void testSearchesOnlyWhenAsked()
+    {
+        CountingIterator iterator = new CountingIterator(new int[] {1}, new int[] {2});
+        assertEquals("no search before asked", 0, iterator.searches);
+
+        assertTrue("has next", iterator.hasNext() && iterator.hasNext());
+        assertEquals("one search for repeated hasNext", 1, iterator.searches);
+        assertEquals("first", 1, iterator.next()[0]);
+        assertEquals("second", 2, iterator.next()[0]);
+        assertEquals("searches", 2, iterator.searches);
+        assertTrue("open until no solution is found", !iterator.isClosed());
+    }
+
+    public static void testClosesItselfWhenExhausted()
+    {
+        CountingIterator iterator = new CountingIterator(new int[] {1});
+        iterator.next();
+        assertTrue("no more", !iterator.hasNext());
+        assertEquals("released", 1, iterator.releases);
+        assertNoMoreSolutions("exhausted", iterator);
+
+        iterator.close();
+        assertEquals("released once", 1, iterator.releases);
+    }
+
+    public static void testCloseStopsSearch()
+    {
+        CountingIterator iterator = new CountingIterator(new int[] {1}, new int[] {2}, new int[] {3});
+        assertTrue("has next", iterator.hasNext());
+        iterator.close();
+        iterator.close();
+        assertEquals("released once", 1, iterator.releases);
+        assertNoMoreSolutions("closed", iterator);
+        assertEquals("no search after close", 1, iterator.searches);
+    }
+
+    public static void testClosingStreamClosesIterator()
+    {
+        CountingIterator iterator = new CountingIterator(new int[] {1}, new int[] {2}, new int[] {3});
+        try (Stream<int[]> solutions = iterator.stream())
+        {
+            assertEquals("first two", 2, solutions.limit(2).count());
+        }
+        assertEquals("released", 1, iterator.releases);
+        assertNoMoreSolutions("stream closed", iterator);
+    }
+
+    public static void testEnginesCloseEarly() throws ResourceLoadingException
+    {
+        int[] grid = DancingLinksSolverEngineTest.fewSolutionsGrid();
+        List<SolverEngine> engines = Arrays.<SolverEngine>asList(new DancingLinksSolverEngine(),
+                new BitsetSolverEngine(), new BitboardSolverEngine());
+        for(SolverEngine engine : engines)
+        {
+            SolutionIterator iterator = engine.iterateSolutions(grid);
+            assertSolves(engine.getName() + " first", grid, iterator.next());
+            iterator.close();
+            assertNoMoreSolutions(engine.getName() + " closed early", iterator);
+
+            // a new iterator starts again after one was closed
+            int count = 0;
+            try (SolutionIterator all = engine.iterateSolutions(grid))
+            {
+                while(all.hasNext())
+                {
+                    assertSolves(engine.getName() + " solution", grid, all.next());
+                    count++;
+                }
+                assertTrue(engine.getName() + " closed when exhausted", all.isClosed());
+            }
+            assertEquals(engine.getName() + " solutions", engine.countSolutions(grid, 1000), count);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import static project.sudoku.Assert.assertEquals;
+import static project.sudoku.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import project.sudoku.exception.ResourceLoadingException;
+import project.sudoku.util.SudokuLineFormat;
+
+/**
+ * Tests of cancellation and deadlines of {@link SolveControl}, and how
+ * {@link SearchContext} and the in-JVM engines stop on them
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class SolveControlTest
+{
+    // a control cancelled or expired before solving starts
+    private static SolveControl stopped(boolean cancelled)
+    {
+        if(!cancelled)
+            return new SolveControl(0, TimeUnit.MILLISECONDS);
+
+        SolveControl control = new SolveControl();
+        control.cancel();
+        return control;
+    }
+
+    public static void testCancelRunsListenersOnce()
+    {
+        final AtomicInteger runs = new AtomicInteger();
+        Runnable listener = new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                runs.incrementAndGet();
+            }
+        };
+        Runnable removed = new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                runs.addAndGet(100);
+            }
+        };
+
+        SolveControl control = new SolveControl();
+        control.addCancelListener(listener);
+        control.addCancelListener(removed);
+        control.removeCancelListener(removed);
+        assertTrue("not stopped", !control.isStopped());
+
+        control.cancel();
+        control.cancel();
+        assertTrue("cancelled", control.isCancelled() && control.isStopped());
+        assertEquals("listener runs", 1, runs.get());
+
+        // a listener added after cancelling runs at once
+        control.addCancelListener(listener);
+        assertEquals("late listener runs", 2, runs.get());
+    }
+
+    public static void testDeadline() throws InterruptedException
+    {
+        SolveControl unlimited = new SolveControl();
+        assertTrue("no deadline", !unlimited.hasDeadline() && !unlimited.isExpired());
+        assertEquals("remaining without deadline", Long.MAX_VALUE, unlimited.getRemainingMillis());
+
+        SolveControl distant = new SolveControl(1, TimeUnit.HOURS);
+        assertTrue("distant deadline", distant.hasDeadline() && !distant.isStopped());
+        assertTrue("remaining", distant.getRemainingMillis() > TimeUnit.MINUTES.toMillis(59));
+
+        SolveControl near = new SolveControl(20, TimeUnit.MILLISECONDS);
+        Thread.sleep(40);
+        assertTrue("expired", near.isExpired() && near.isStopped() && !near.isCancelled());
+        assertEquals("remaining after deadline", 0, near.getRemainingMillis());
+    }
+
+    public static void testSearchContextChecksControlAtInterval()
+    {
+        SolveControl control = new SolveControl();
+        SearchContext context = new SearchContext(1, control);
+        assertTrue("running", !context.isStopped());
+
+        control.cancel();
+        int calls = 0;
+        while(!context.isStopped())
+        {
+            calls++;
+        }
+        assertTrue("checked within an interval", calls < SearchContext.CONTROL_CHECK_INTERVAL);
+        assertTrue("interrupted", context.isInterrupted());
+        assertEquals("result", SolveResult.Status.CANCELLED, context.getResult().getStatus());
+    }
+
+    public static void testSearchContextWithStoppedControl()
+    {
+        SearchContext expired = new SearchContext(1, stopped(false));
+        assertTrue("stopped at once", expired.isStopped() && expired.isInterrupted());
+        assertEquals("expired", SolveResult.Status.TIMED_OUT, expired.getResult().getStatus());
+
+        // a found solution is the result, the control did not stop the search
+        SearchContext solved = new SearchContext(2, new SolveControl());
+        solved.addSolution(new int[] {1});
+        assertEquals("solved", SolveResult.Status.SOLVED, solved.getResult().getStatus());
+    }
+
+    public static void testEnginesStopOnStoppedControl() throws ResourceLoadingException
+    {
+        List<SolverEngine> engines = new ArrayList<SolverEngine>(SolverEngineTest.engines());
+        ParallelSolverEngine parallel = new ParallelSolverEngine(2, 2);
+        engines.add(parallel);
+        try
+        {
+            int[] grid = SudokuLineFormat.parse(SolverEngineTest.PUZZLES[1]);
+            for(SolverEngine engine : engines)
+            {
+                assertEquals(engine.getName() + " cancelled", SolveResult.Status.CANCELLED,
+                        engine.solve(grid, stopped(true)).getStatus());
+                assertEquals(engine.getName() + " timed out", SolveResult.Status.TIMED_OUT,
+                        engine.solve(grid, stopped(false)).getStatus());
+
+                SolveResult result = engine.solve(grid, new SolveControl(1, TimeUnit.MINUTES));
+                assertEquals(engine.getName() + " solved", SolveResult.Status.SOLVED, result.getStatus());
+            }
+        }
+        finally
+        {
+            parallel.shutdown();
+        }
+    }
+}
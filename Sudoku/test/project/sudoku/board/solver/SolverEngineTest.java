@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import static project.sudoku.Assert.assertArrayEquals;
+import static project.sudoku.Assert.assertEquals;
+import static project.sudoku.Assert.assertNull;
+import static project.sudoku.Assert.assertSolves;
+
+import java.util.Arrays;
+import java.util.List;
+
+import project.sudoku.exception.ResourceLoadingException;
+import project.sudoku.util.SudokuLineFormat;
+
+/**
+ * Tests of the in-JVM 9x9 solver engines, which must agree with each other
+ * on solved, unsolvable and multi-solution grids
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class SolverEngineTest
+{
+    // puzzles with a unique solution, the first one is easy and the others are hard
+    static final String[] PUZZLES = {
+        "003020600900305001001806400008102900700000008006708200002609500800203009005010300",
+        "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......",
+        "52...6.........7.13...........4..8..6......5...........418.........3..2...87.....",
+    };
+
+    // engines under test, each test creates new ones
+    static List<SolverEngine> engines()
+    {
+        return Arrays.<SolverEngine>asList(new BitboardSolverEngine(), new DancingLinksSolverEngine(),
+                new BitsetSolverEngine());
+    }
+
+    public static void testSolvesUniquePuzzles() throws ResourceLoadingException
+    {
+        for(String puzzle : PUZZLES)
+        {
+            int[] grid = SudokuLineFormat.parse(puzzle);
+            int[] expected = null;
+            for(SolverEngine engine : engines())
+            {
+                int[] solution = engine.solve(grid);
+                assertSolves(engine.getName() + " " + puzzle, grid, solution);
+                if(expected == null)
+                    expected = solution;
+                assertArrayEquals(engine.getName() + " agrees " + puzzle, expected, solution);
+                assertEquals(engine.getName() + " unique " + puzzle, 1, engine.countSolutions(grid, 2));
+            }
+        }
+    }
+
+    public static void testDoesNotModifyGrid() throws ResourceLoadingException
+    {
+        int[] grid = SudokuLineFormat.parse(PUZZLES[1]);
+        for(SolverEngine engine : engines())
+        {
+            engine.solve(grid);
+            engine.countSolutions(grid, 2);
+            assertArrayEquals(engine.getName(), SudokuLineFormat.parse(PUZZLES[1]), grid);
+        }
+    }
+
+    public static void testReturnsSolvedGrid() throws ResourceLoadingException
+    {
+        int[] solved = new BitboardSolverEngine().solve(SudokuLineFormat.parse(PUZZLES[0]));
+        for(SolverEngine engine : engines())
+        {
+            assertArrayEquals(engine.getName(), solved, engine.solve(solved));
+            assertEquals(engine.getName() + " count", 1, engine.countSolutions(solved, 10));
+        }
+    }
+
+    public static void testUnsolvableGrids() throws ResourceLoadingException
+    {
+        // the same digit twice in the first row
+        int[] repeated = SudokuLineFormat.parse(PUZZLES[0]);
+        repeated[0] = 3;
+
+        // no digit is left for the first position
+        int[] blocked = new int[81];
+        for(int col = 1; col < 9; col++)
+        {
+            blocked[col] = col;
+        }
+        blocked[9*4] = 9;
+
+        // no repeated digit, but a wrong digit at an empty position of a
+        // puzzle with a unique solution
+        int[] contradicting = SudokuLineFormat.parse(PUZZLES[0]);
+        int[] solution = new BitboardSolverEngine().solve(contradicting);
+        for(int position = 0; position < 81; position++)
+        {
+            if(contradicting[position] == 0)
+            {
+                int value = firstAllowedValue(contradicting, position, solution[position]);
+                if(value > 0)
+                {
+                    contradicting[position] = value;
+                    break;
+                }
+            }
+        }
+
+        for(SolverEngine engine : engines())
+        {
+            for(int[] grid : new int[][] {repeated, blocked, contradicting})
+            {
+                assertNull(engine.getName() + " solve", engine.solve(grid));
+                assertEquals(engine.getName() + " count", 0, engine.countSolutions(grid, 2));
+            }
+        }
+    }
+
+    // smallest value not in the row, column and box of a position, other than a value to skip
+    private static int firstAllowedValue(int[] grid, int position, int skippedValue)
+    {
+        int row = position / 9, col = position % 9;
+        int boxStart = 9*(3*(row / 3)) + 3*(col / 3);
+        for(int value = 1; value <= 9; value++)
+        {
+            boolean allowed = value != skippedValue;
+            for(int index = 0; index < 9 && allowed; index++)
+            {
+                allowed = grid[9*row + index] != value && grid[9*index + col] != value
+                        && grid[boxStart + 9*(index / 3) + index % 3] != value;
+            }
+            if(allowed)
+                return value;
+        }
+        return 0;
+    }
+
+    public static void testMultipleSolutions() throws ResourceLoadingException
+    {
+        // only the first three rows of a solution are given
+        int[] solution = new BitboardSolverEngine().solve(SudokuLineFormat.parse(PUZZLES[0]));
+        int[] grid = new int[81];
+        System.arraycopy(solution, 0, grid, 0, 27);
+
+        for(SolverEngine engine : engines())
+        {
+            assertSolves(engine.getName(), grid, engine.solve(grid));
+            assertEquals(engine.getName() + " count", 2, engine.countSolutions(grid, 2));
+        }
+    }
+
+    public static void testCountStopsAtLimit() throws ResourceLoadingException
+    {
+        int[] empty = new int[81];
+        for(SolverEngine engine : engines())
+        {
+            for(int limit : new int[] {1, 2, 7, 100})
+            {
+                assertEquals(engine.getName() + " limit " + limit, limit, engine.countSolutions(empty, limit));
+            }
+            assertEquals(engine.getName() + " unique", 1,
+                    engine.countSolutions(SudokuLineFormat.parse(PUZZLES[2]), 100));
+        }
+    }
+}
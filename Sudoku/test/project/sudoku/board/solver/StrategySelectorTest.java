@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.solver;
+
+import static project.sudoku.Assert.assertEquals;
+import static project.sudoku.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import project.sudoku.exception.ResourceLoadingException;
+import project.sudoku.util.SudokuLineFormat;
+
+/**
+ * Tests of {@link StrategySelector}: grids are put in buckets by their
+ * features, and the cheapest strategy of a bucket or of all buckets of the
+ * size is chosen
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class StrategySelectorTest
+{
+    private static final LabelingStrategy LEFTMOST = LabelingStrategy.parse("leftmost,step,all_distinct");
+    private static final LabelingStrategy BISECT = LabelingStrategy.parse("ff,bisect,all_distinct");
+
+    private static SolveStatistics statistics(long inferences)
+    {
+        return new SolveStatistics("prolog", -1, -1, -1, -1, inferences, 2000000, 1000000);
+    }
+
+    private static void record(StrategySelector selector, int[] grid, LabelingStrategy strategy, int solves,
+            long inferences)
+    {
+        for(int solve = 0; solve < solves; solve++)
+        {
+            selector.record(grid, strategy, statistics(inferences));
+        }
+    }
+
+    // 9x9 grid with the first row filled
+    private static int[] firstRowGrid()
+    {
+        int[] grid = new int[81];
+        for(int col = 0; col < 9; col++)
+        {
+            grid[col] = col + 1;
+        }
+        return grid;
+    }
+
+    public static void testBuckets() throws ResourceLoadingException
+    {
+        assertEquals("empty 4x4", "4:0:4", StrategySelector.getBucket(new int[16]));
+        assertEquals("empty 9x9", "9:0:9", StrategySelector.getBucket(new int[81]));
+        assertEquals("empty 16x16", "16:0:16", StrategySelector.getBucket(new int[256]));
+
+        // 20 positions with 8 candidates and 60 with 9
+        int[] oneGiven = new int[81];
+        oneGiven[0] = 5;
+        assertEquals("one given", "9:0:9", StrategySelector.getBucket(oneGiven));
+
+        // 18 positions with 6 candidates and 54 with 8
+        assertEquals("first row", "9:1:8", StrategySelector.getBucket(firstRowGrid()));
+
+        int[] solved = new BitboardSolverEngine().solve(
+                SudokuLineFormat.parse(SolverEngineTest.PUZZLES[0]));
+        assertEquals("solved", "9:10:0", StrategySelector.getBucket(solved));
+
+        try
+        {
+            StrategySelector.getBucket(new int[80]);
+            throw new AssertionError("bucket of 80 values");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // expected
+        }
+    }
+
+    public static void testSelectsFewestMeanInferences()
+    {
+        StrategySelector selector = new StrategySelector();
+        int[] grid = firstRowGrid();
+        assertEquals("nothing recorded", StrategySelector.FALLBACK, selector.select(grid));
+
+        record(selector, grid, LEFTMOST, StrategySelector.MIN_SOLVES, 200);
+        record(selector, grid, BISECT, StrategySelector.MIN_SOLVES, 100);
+        assertEquals("fewest inferences", BISECT, selector.select(grid));
+        assertEquals("mean inferences", 200.0, selector.getMeanInferences(grid, LEFTMOST));
+
+        // too few solves and solves without inferences are not counted
+        LabelingStrategy cheap = LabelingStrategy.parse("min,step,all_different");
+        record(selector, grid, cheap, StrategySelector.MIN_SOLVES - 1, 10);
+        record(selector, grid, cheap, 10, -1);
+        assertEquals("too few solves", BISECT, selector.select(grid));
+        assertEquals("mean of too few", 10.0, selector.getMeanInferences(grid, cheap));
+        assertEquals("ignored statistics", BISECT, selector.select(grid));
+
+        selector.record(grid, cheap, null);
+        record(selector, grid, cheap, 1, 10);
+        assertEquals("enough solves", cheap, selector.select(grid));
+        assertEquals("one bucket", Arrays.asList("9:1:8"), selector.getBuckets());
+    }
+
+    public static void testFallsBackToSizeBuckets() throws ResourceLoadingException
+    {
+        StrategySelector selector = new StrategySelector();
+        int[] oneGiven = new int[81];
+        oneGiven[0] = 5;
+        int[] firstRow = firstRowGrid();
+
+        // solves of each bucket are too few, together they are enough
+        record(selector, oneGiven, LEFTMOST, 3, 100);
+        record(selector, firstRow, LEFTMOST, 3, 300);
+        record(selector, firstRow, BISECT, StrategySelector.MIN_SOLVES, 250);
+        assertEquals("bucket", BISECT, selector.select(firstRow));
+        assertEquals("size buckets", LEFTMOST, selector.select(oneGiven));
+        int[] puzzle = SudokuLineFormat.parse(SolverEngineTest.PUZZLES[0]);
+        assertEquals("other bucket of the size", LEFTMOST, selector.select(puzzle));
+        assertEquals("other size", StrategySelector.FALLBACK, selector.select(new int[256]));
+        assertEquals("mean of other bucket", -1.0, selector.getMeanInferences(puzzle, LEFTMOST));
+    }
+
+    public static void testSaveAndLoad() throws IOException
+    {
+        StrategySelector selector = new StrategySelector();
+        int[] firstRow = firstRowGrid();
+        record(selector, firstRow, LEFTMOST, 7, 300);
+        record(selector, firstRow, BISECT, StrategySelector.MIN_SOLVES, 250);
+        record(selector, new int[256], LabelingStrategy.DEFAULT, StrategySelector.MIN_SOLVES, 900);
+
+        File file = File.createTempFile("sudoku-labeling", ".txt");
+        Logger logger = Logger.getLogger(StrategySelector.class.getName());
+        Level level = logger.getLevel();
+        logger.setLevel(Level.SEVERE);
+        try
+        {
+            assertTrue("deleted before run", file.delete());
+            assertEquals("missing file", 0, StrategySelector.load(file).getBuckets().size());
+
+            selector.save(file);
+            Files.write(file.toPath(), "9:1:8 unknown_option 5 1 1\n9:0:9 ff\n".getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.APPEND);
+            StrategySelector loaded = StrategySelector.load(file);
+            assertEquals("buckets", selector.getBuckets(), loaded.getBuckets());
+            for(LabelingStrategy strategy : Arrays.asList(LEFTMOST, BISECT))
+            {
+                assertEquals("mean of " + strategy, selector.getMeanInferences(firstRow, strategy),
+                        loaded.getMeanInferences(firstRow, strategy));
+            }
+            assertEquals("selected 9x9", BISECT, loaded.select(firstRow));
+            assertEquals("selected 16x16", LabelingStrategy.DEFAULT, loaded.select(new int[256]));
+        }
+        finally
+        {
+            logger.setLevel(level);
+            file.delete();
+        }
+    }
+}
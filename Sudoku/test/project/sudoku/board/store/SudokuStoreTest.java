@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.board.store;
+
+import static project.sudoku.Assert.assertEquals;
+import static project.sudoku.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+import project.sudoku.board.model.LikelyValue;
+import project.sudoku.board.model.Sudoku;
+
+/**
+ * Tests of {@link SudokuRecordCodec} and {@link SudokuStore}
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class SudokuStoreTest
+{
+    // difference allowed between a confidence and its quantized value
+    private static final double QUANTIZATION_ERROR = 0.5 / 255 + 1e-9;
+
+    // a Sudoku with fixed values of several confidences, entered values and empty positions
+    private static Sudoku sudoku(int size, int seed)
+    {
+        Sudoku sudoku = new Sudoku(size);
+        for(int position = 0; position < sudoku.getPositionCount(); position++)
+        {
+            int row = position / size, col = position % size;
+            int boxSize = sudoku.getBoxSize();
+            int value = (boxSize*(row % boxSize) + row / boxSize + col + seed) % size + 1;
+            switch((position + seed) % 4)
+            {
+            case 0:
+                sudoku.setFixedValueAt(position, new LikelyValue(value));
+                break;
+            case 1:
+                sudoku.setFixedValueAt(position, new LikelyValue(value, 0.3 + 0.01*(position % 50), 0.2));
+                break;
+            case 2:
+                sudoku.setValueAt(position, value);
+                break;
+            default:
+                break;
+            }
+        }
+        return sudoku;
+    }
+
+    private static void assertSameSudoku(String message, Sudoku expected, Sudoku actual)
+    {
+        assertEquals(message + " size", expected.getSize(), actual.getSize());
+        for(int position = 0; position < expected.getPositionCount(); position++)
+        {
+            String at = message + " at " + position;
+            assertEquals(at + " value", expected.getValueAt(position), actual.getValueAt(position));
+            assertEquals(at + " fixed", expected.hasFixedValueAt(position), actual.hasFixedValueAt(position));
+            assertTrue(at + " confidence", Math.abs(expected.getConfidenceAt(position)
+                    - actual.getConfidenceAt(position)) <= QUANTIZATION_ERROR);
+            assertTrue(at + " margin", Math.abs(expected.getConfidenceMarginAt(position)
+                    - actual.getConfidenceMarginAt(position)) <= QUANTIZATION_ERROR);
+        }
+    }
+
+    private static void delete(File file)
+    {
+        new File(file.getPath() + ".idx").delete();
+        file.delete();
+        file.getParentFile().delete();
+    }
+
+    public static void testCodecRoundTrip()
+    {
+        for(int size : new int[] {4, 9})
+        {
+            Sudoku sudoku = sudoku(size, 1);
+            int recordLength = SudokuRecordCodec.getRecordLength(size);
+            ByteBuffer buffer = ByteBuffer.allocate(recordLength + 10);
+
+            assertEquals("written", recordLength, SudokuRecordCodec.encode(sudoku, buffer, 7));
+            assertEquals("size", size, SudokuRecordCodec.getSize(buffer, 7));
+            assertSameSudoku(size + "x" + size, sudoku, SudokuRecordCodec.decode(buffer, 7));
+            for(int position = 0; position < sudoku.getPositionCount(); position++)
+            {
+                assertEquals("value at " + position, Math.max(0, sudoku.getValueAt(position)),
+                        SudokuRecordCodec.getValueAt(buffer, 7, position));
+            }
+        }
+    }
+
+    public static void testStoreRoundTrip() throws IOException
+    {
+        File file = new File(Files.createTempDirectory("sudoku-store").toFile(), "store.dat");
+        try
+        {
+            try (SudokuStore store = new SudokuStore(file))
+            {
+                assertEquals("empty", 0, store.size());
+                assertEquals("first id", 0, store.append(sudoku(9, 0)));
+                assertEquals("second id", 1, store.append(sudoku(4, 1)));
+                assertEquals("third id", 2, store.append(sudoku(9, 2)));
+            }
+
+            try (SudokuStore store = new SudokuStore(file))
+            {
+                assertEquals("size", 3, store.size());
+                assertSameSudoku("first", sudoku(9, 0), store.read(0));
+                assertSameSudoku("second", sudoku(4, 1), store.read(1));
+                assertSameSudoku("third", sudoku(9, 2), store.read(2));
+                assertEquals("record length", SudokuRecordCodec.getRecordLength(4),
+                        store.getRecord(1).remaining());
+                assertEquals("value", Math.max(0, sudoku(9, 2).getValueAt(40)), store.getValueAt(2, 40));
+
+                // appending continues after the last record
+                assertEquals("appended id", 3, store.append(sudoku(9, 3)));
+                assertSameSudoku("appended", sudoku(9, 3), store.read(3));
+            }
+        }
+        finally
+        {
+            delete(file);
+        }
+    }
+
+    public static void testSmallStoreHasSmallFiles() throws IOException
+    {
+        File file = new File(Files.createTempDirectory("sudoku-store").toFile(), "store.dat");
+        File indexFile = new File(file.getPath() + ".idx");
+        try
+        {
+            int count = 3*SudokuStore.INITIAL_MAPPING / SudokuRecordCodec.getRecordLength(9);
+            try (SudokuStore store = new SudokuStore(file))
+            {
+                assertEquals("new data file", SudokuStore.INITIAL_MAPPING, file.length());
+                assertEquals("new index file", SudokuStore.INITIAL_MAPPING, indexFile.length());
+
+                for(int id = 0; id < count; id++)
+                {
+                    store.append(sudoku(9, id));
+                }
+                assertTrue("data file grown", file.length() > 2*SudokuStore.INITIAL_MAPPING);
+                assertTrue("data file not a segment", file.length() <= 4*SudokuStore.INITIAL_MAPPING);
+                assertEquals("index file", SudokuStore.INITIAL_MAPPING, indexFile.length());
+                assertSameSudoku("last record", sudoku(9, count - 1), store.read(count - 1));
+            }
+
+            try (SudokuStore store = new SudokuStore(file))
+            {
+                assertEquals("size", count, store.size());
+                assertSameSudoku("reopened last record", sudoku(9, count - 1), store.read(count - 1));
+                assertEquals("appended id", count, store.append(sudoku(9, 1)));
+                assertSameSudoku("appended", sudoku(9, 1), store.read(count));
+            }
+        }
+        finally
+        {
+            delete(file);
+        }
+    }
+
+    public static void testGrowsPastSegment() throws IOException
+    {
+        int recordLength = SudokuRecordCodec.getRecordLength(9);
+        int perSegment = (SudokuStore.SEGMENT_SIZE - 16) / recordLength;
+        int count = perSegment + 100;
+        Sudoku[] sudokus = {sudoku(9, 0), sudoku(9, 1), sudoku(9, 2)};
+
+        File file = new File(Files.createTempDirectory("sudoku-store").toFile(), "store.dat");
+        try
+        {
+            try (SudokuStore store = new SudokuStore(file))
+            {
+                for(int id = 0; id < count; id++)
+                {
+                    store.append(sudokus[id % 3]);
+                }
+                assertTrue("second segment", file.length() > SudokuStore.SEGMENT_SIZE);
+            }
+
+            try (SudokuStore store = new SudokuStore(file))
+            {
+                assertEquals("size", count, store.size());
+                for(int id = perSegment - 2; id < count; id++)
+                {
+                    assertSameSudoku("record " + id, sudokus[id % 3], store.read(id));
+                }
+                assertSameSudoku("first record", sudokus[0], store.read(0));
+
+                assertEquals("appended id", count, store.append(sudokus[1]));
+                assertSameSudoku("appended", sudokus[1], store.read(count));
+            }
+        }
+        finally
+        {
+            delete(file);
+        }
+    }
+}
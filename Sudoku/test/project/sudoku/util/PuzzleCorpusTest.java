@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright 2017 M.S.Khan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ ******************************************************************************/
+package project.sudoku.util;
+
+import static project.sudoku.Assert.assertArrayEquals;
+import static project.sudoku.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests of {@link PuzzleCorpus}: the mapped file has the same Sudoku lines
+ * as {@link SudokuLineFormat#readFile(File)} reads
+ *
+ * @since
+ * Dated - 16-Oct-2026
+ *
+ * @author S.Khan
+ *
+ */
+public class PuzzleCorpusTest
+{
+    private static final String PUZZLE =
+            "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......";
+
+    private static String randomLine(Random random, int size)
+    {
+        int[] grid = new int[size*size];
+        for(int position = 0; position < grid.length; position++)
+        {
+            grid[position] = random.nextInt(size + 1);
+        }
+        return SudokuLineFormat.format(grid);
+    }
+
+    // compares the corpus of a file with the grids read from it
+    private static void assertSameGrids(String message, String text, int expectedSize) throws IOException
+    {
+        File file = File.createTempFile("sudoku-corpus", ".txt");
+        try
+        {
+            Files.write(file.toPath(), text.getBytes(StandardCharsets.US_ASCII));
+            List<int[]> grids = SudokuLineFormat.readFile(file);
+            PuzzleCorpus corpus = new PuzzleCorpus(file);
+            assertEquals(message + " read grids", expectedSize, grids.size());
+            assertEquals(message + " size", expectedSize, corpus.size());
+            for(int index = 0; index < grids.size(); index++)
+            {
+                assertArrayEquals(message + " grid " + index, grids.get(index), corpus.getGrid(index));
+            }
+        }
+        finally
+        {
+            // a mapped file can not be deleted on some platforms
+            if(!file.delete())
+                file.deleteOnExit();
+        }
+    }
+
+    public static void testSkipsOtherLines() throws IOException
+    {
+        Random random = new Random(19);
+        String text = "# comment line\n"
+                + "\n"
+                + "   \t\n"
+                + PUZZLE + "\r\n"
+                + "  " + PUZZLE.replace('.', '0') + "  rated 9.2\r\n"
+                + "not a Sudoku\n"
+                + "#" + PUZZLE + "\n"
+                + randomLine(random, 16) + "\n"
+                + PUZZLE.substring(0, 40) + " " + PUZZLE.substring(40, 79) + "   \r\n"
+                + PUZZLE.substring(0, 40) + " " + PUZZLE.substring(40) + "\n"
+                + PUZZLE.toLowerCase().replace('4', 'a') + "\n"
+                + "1234341221434321";
+        assertSameGrids("mixed lines", text, 6);
+    }
+
+    public static void testManyLines() throws IOException
+    {
+        Random random = new Random(19);
+        StringBuilder text = new StringBuilder();
+        for(int line = 0; line < 3000; line++)
+        {
+            text.append(randomLine(random, line % 3 == 0 ? 16 : 9)).append(line % 2 == 0 ? "\n" : "\r\n");
+        }
+        assertSameGrids("many lines", text.toString(), 3000);
+        assertSameGrids("empty file", "", 0);
+    }
+
+    public static void testRejectsIndex() throws IOException
+    {
+        File file = File.createTempFile("sudoku-corpus", ".txt");
+        try
+        {
+            Files.write(file.toPath(), (PUZZLE + "\n").getBytes(StandardCharsets.US_ASCII));
+            PuzzleCorpus corpus = new PuzzleCorpus(file);
+            for(int index : new int[] {-1, 1})
+            {
+                try
+                {
+                    corpus.getGrid(index);
+                    throw new AssertionError("read puzzle " + index);
+                }
+                catch (IndexOutOfBoundsException e)
+                {
+                    // expected
+                }
+            }
+        }
+        finally
+        {
+            if(!file.delete())
+                file.deleteOnExit();
+        }
+    }
+}